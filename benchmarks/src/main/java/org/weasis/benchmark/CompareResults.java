@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH results written with {@code -rf json}, typically of two commits:
+ *
+ * <pre>
+ * java -cp ... org.weasis.benchmark.CompareResults baseline.json current.json [threshold%]
+ * </pre>
+ *
+ * <p>Prints the change of each benchmark present in both files and exits with the status 1 when a
+ * benchmark is slower than the baseline by more than the threshold (10% by default) and by more
+ * than the error margins of both scores.
+ */
+public final class CompareResults {
+
+  static final double DEFAULT_THRESHOLD = 10.0;
+
+  /** The primary score of a benchmark with a set of parameters. */
+  record Score(String mode, double score, double error, String unit) {
+
+    boolean higherIsBetter() {
+      return "thrpt".equals(mode); // NON-NLS
+    }
+
+    /** Returns the change of this score relative to the baseline in %, positive when better. */
+    double improvement(Score baseline) {
+      double change = (score - baseline.score) / baseline.score * 100.0;
+      return higherIsBetter() ? change : -change;
+    }
+
+    boolean isRegression(Score baseline, double threshold) {
+      return improvement(baseline) < -threshold
+          && Math.abs(score - baseline.score) > error + baseline.error;
+    }
+  }
+
+  private CompareResults() {}
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2) {
+      System.err.println(
+          "Usage: CompareResults <baseline.json> <current.json> [threshold%]"); // NON-NLS
+      System.exit(2);
+    }
+    double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD;
+    Map<String, Score> baseline = read(Path.of(args[0]));
+    Map<String, Score> current = read(Path.of(args[1]));
+    int regressions = compare(baseline, current, threshold, System.out);
+    System.exit(regressions == 0 ? 0 : 1);
+  }
+
+  /**
+   * Reads the scores of a JMH JSON result.
+   *
+   * @return the scores by benchmark name with its parameters, in the order of the file
+   */
+  static Map<String, Score> read(Path file) throws IOException {
+    Map<String, Score> scores = new LinkedHashMap<>();
+    for (JsonNode run : new ObjectMapper().readTree(file.toFile())) {
+      StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+      JsonNode params = run.path("params");
+      if (params.isObject()) {
+        // Sorted to get the same key whatever the order of the parameters
+        Map<String, String> sorted = new TreeMap<>();
+        params.properties().forEach(e -> sorted.put(e.getKey(), e.getValue().asText()));
+        key.append(sorted);
+      }
+      JsonNode metric = run.path("primaryMetric");
+      double error = metric.path("scoreError").asDouble(0.0);
+      scores.put(
+          key.toString(),
+          new Score(
+              run.path("mode").asText(),
+              metric.path("score").asDouble(),
+              Double.isNaN(error) ? 0.0 : error,
+              metric.path("scoreUnit").asText()));
+    }
+    return scores;
+  }
+
+  /**
+   * Prints the comparison of the benchmarks present in both results.
+   *
+   * @return the number of regressions
+   */
+  static int compare(
+      Map<String, Score> baseline, Map<String, Score> current, double threshold, PrintStream out) {
+    int regressions = 0;
+    for (Map.Entry<String, Score> entry : current.entrySet()) {
+      Score base = baseline.get(entry.getKey());
+      Score score = entry.getValue();
+      if (base == null || base.score() == 0.0 || !base.unit().equals(score.unit())) {
+        out.printf("%-90s %12.3f %-10s (new)%n", entry.getKey(), score.score(), score.unit());
+        continue;
+      }
+      boolean regression = score.isRegression(base, threshold);
+      if (regression) {
+        regressions++;
+      }
+      out.printf(
+          "%-90s %12.3f -> %12.3f %-10s %+7.1f%%%s%n",
+          entry.getKey(),
+          base.score(),
+          score.score(),
+          score.unit(),
+          score.improvement(base),
+          regression ? "  REGRESSION" : ""); // NON-NLS
+    }
+    out.printf("%d regression(s) above %.1f%%%n", regressions, threshold);
+    return regressions;
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.io.DicomOutputStream;
+
+/**
+ * The DICOM files read by the benchmarks. The value {@link #SYNTHETIC} of a fixture parameter
+ * builds a CT slice with a fixed seed, so the results of two commits are comparable without any
+ * data in the repository. Any other value is the path of a DICOM file, for instance to measure a
+ * compressed transfer syntax: {@code -p fixture=/data/ct-j2k.dcm,/data/mr-jpegls.dcm}.
+ */
+public final class DicomFixtures {
+
+  public static final String SYNTHETIC = "synthetic"; // NON-NLS
+
+  /** Size in pixels of the synthetic slice, the usual CT matrix. */
+  public static final int SYNTHETIC_SIZE = 512;
+
+  private static final String STUDY_UID = "1.2.826.0.1.3680043.2.1143.9001";
+  private static final String SERIES_UID = STUDY_UID + ".1";
+
+  private DicomFixtures() {}
+
+  /**
+   * @param fixture {@link #SYNTHETIC} or the path of a DICOM file
+   * @return the DICOM file of the fixture
+   */
+  public static Path resolve(String fixture) throws IOException {
+    if (SYNTHETIC.equals(fixture)) {
+      Path file = Files.createTempFile("weasis-bench-", ".dcm"); // NON-NLS
+      file.toFile().deleteOnExit();
+      return write(file, syntheticCt(SYNTHETIC_SIZE, 1));
+    }
+    Path file = Path.of(fixture);
+    if (!Files.isReadable(file)) {
+      throw new IllegalArgumentException("Cannot read the DICOM fixture: " + file);
+    }
+    return file;
+  }
+
+  /**
+   * Builds a signed 16-bit CT slice in Hounsfield units: a water disk with denser structures and a
+   * low noise, in air.
+   *
+   * @param size the number of rows and columns
+   * @param instanceNumber the instance number, which also defines the position of the slice
+   */
+  public static Attributes syntheticCt(int size, int instanceNumber) {
+    Attributes dcm = new Attributes();
+    dcm.setString(Tag.SOPClassUID, VR.UI, UID.CTImageStorage);
+    dcm.setString(Tag.SOPInstanceUID, VR.UI, SERIES_UID + "." + instanceNumber);
+    dcm.setString(Tag.StudyInstanceUID, VR.UI, STUDY_UID);
+    dcm.setString(Tag.SeriesInstanceUID, VR.UI, SERIES_UID);
+    dcm.setString(Tag.PatientID, VR.LO, "BENCH-1");
+    dcm.setString(Tag.PatientName, VR.PN, "Benchmark^Phantom");
+    dcm.setString(Tag.Modality, VR.CS, "CT");
+    dcm.setInt(Tag.InstanceNumber, VR.IS, instanceNumber);
+    dcm.setDouble(Tag.ImagePositionPatient, VR.DS, -128.0, -128.0, instanceNumber * 1.25);
+    dcm.setDouble(Tag.ImageOrientationPatient, VR.DS, 1, 0, 0, 0, 1, 0);
+    dcm.setDouble(Tag.PixelSpacing, VR.DS, 0.5, 0.5);
+    dcm.setDouble(Tag.SliceThickness, VR.DS, 1.25);
+    dcm.setString(Tag.PhotometricInterpretation, VR.CS, "MONOCHROME2");
+    dcm.setInt(Tag.Rows, VR.US, size);
+    dcm.setInt(Tag.Columns, VR.US, size);
+    dcm.setInt(Tag.SamplesPerPixel, VR.US, 1);
+    dcm.setInt(Tag.BitsAllocated, VR.US, 16);
+    dcm.setInt(Tag.BitsStored, VR.US, 16);
+    dcm.setInt(Tag.HighBit, VR.US, 15);
+    dcm.setInt(Tag.PixelRepresentation, VR.US, 1);
+    dcm.setDouble(Tag.RescaleIntercept, VR.DS, 0.0);
+    dcm.setDouble(Tag.RescaleSlope, VR.DS, 1.0);
+    dcm.setDouble(Tag.WindowCenter, VR.DS, 40.0);
+    dcm.setDouble(Tag.WindowWidth, VR.DS, 400.0);
+    dcm.setBytes(Tag.PixelData, VR.OW, phantom(size, instanceNumber));
+    return dcm;
+  }
+
+  private static byte[] phantom(int size, long seed) {
+    SplittableRandom random = new SplittableRandom(seed);
+    byte[] pixels = new byte[size * size * 2];
+    double center = size / 2.0;
+    double radius = size * 0.42;
+    for (int y = 0; y < size; y++) {
+      for (int x = 0; x < size; x++) {
+        double dx = x - center;
+        double dy = y - center;
+        double r = Math.sqrt(dx * dx + dy * dy);
+        int hu;
+        if (r > radius) {
+          hu = -1000;
+        } else if (r > radius - 6) {
+          hu = 700; // cortical ring
+        } else {
+          hu = (int) (40 + 60 * Math.sin(dx / 17.0) * Math.cos(dy / 23.0));
+        }
+        hu += random.nextInt(-20, 21);
+        int i = (y * size + x) * 2;
+        pixels[i] = (byte) hu;
+        pixels[i + 1] = (byte) (hu >> 8);
+      }
+    }
+    return pixels;
+  }
+
+  private static Path write(Path file, Attributes dcm) throws IOException {
+    try (DicomOutputStream dos = new DicomOutputStream(file.toFile())) {
+      dos.writeDataset(dcm.createFileMetaInformation(UID.ExplicitVRLittleEndian), dcm);
+    }
+    return file;
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.benchmark;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.dcm4che3.img.DicomImageAdapter;
+import org.dcm4che3.img.DicomImageReadParam;
+import org.dcm4che3.img.DicomMetaData;
+import org.dcm4che3.img.ImageRendering;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.weasis.dicom.codec.DicomImageElement;
+import org.weasis.dicom.codec.DicomMediaIO;
+import org.weasis.opencv.data.PlanarImage;
+
+/**
+ * Decoding of a frame with {@link DicomMediaIO#getImageFragment} and rendering of the window/level
+ * with {@link ImageRendering#getVoiLutImage}, the two steps of displaying a new slice.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DicomImageBenchmark {
+
+  @Param(DicomFixtures.SYNTHETIC)
+  public String fixture;
+
+  private DicomMediaIO reader;
+  private DicomImageElement image;
+  private PlanarImage decoded;
+  private DicomImageAdapter adapter;
+  private DicomImageReadParam readParams;
+
+  @Setup
+  public void setup() throws Exception {
+    OpenCvNative.load();
+    Path file = DicomFixtures.resolve(fixture);
+    reader = new DicomMediaIO(file);
+    DicomImageElement[] images = reader.getMediaElement();
+    if (images == null || images.length == 0) {
+      throw new IllegalArgumentException("Not a DICOM image: " + file);
+    }
+    image = images[0];
+    decoded = reader.getImageFragment(image);
+    if (decoded == null) {
+      throw new IllegalArgumentException("Cannot decode the DICOM image: " + file);
+    }
+    DicomMetaData meta = reader.getDicomMetaData();
+    adapter = new DicomImageAdapter(decoded, meta.getImageDescriptor(), 0);
+    // The default window of the file, as for the first display of an image
+    readParams = new DicomImageReadParam();
+  }
+
+  @TearDown
+  public void tearDown() {
+    decoded.release();
+    reader.close();
+  }
+
+  @Benchmark
+  public void getImageFragment(Blackhole bh) throws Exception {
+    PlanarImage img = reader.getImageFragment(image);
+    bh.consume(img);
+    img.release();
+  }
+
+  @Benchmark
+  public void getVoiLutImage(Blackhole bh) {
+    PlanarImage img = ImageRendering.getVoiLutImage(decoded, adapter, readParams);
+    bh.consume(img);
+    if (img != decoded) {
+      img.release();
+    }
+  }
+}
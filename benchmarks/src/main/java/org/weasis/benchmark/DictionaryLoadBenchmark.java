@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.xml.stream.XMLStreamException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.weasis.dicom.codec.DicomImageElement;
+import org.weasis.dicom.codec.DicomMediaIO;
+import org.weasis.dicom.codec.utils.DataElementDictionary;
+import org.weasis.dicom.codec.utils.DataElementDictionary.Element;
+
+/**
+ * Reading of the DICOM dictionary done when {@code TagD} is initialized, before the first DICOM
+ * file is opened: parsing {@code dataelements.xml} against reading its compiled form.
+ *
+ * <p>{@code firstLoad} runs each load once in a fresh JVM, which is what a launch pays;
+ * {@code warm} gives the steady-state cost once the code is compiled. {@code firstOpen} measures
+ * the whole path in a fresh JVM: the initialization of {@code TagD} and the first {@link
+ * DicomMediaIO} reading a file into the tags of its image. Being written with public API only, it
+ * can be run on a former commit to compare both.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DictionaryLoadBenchmark {
+
+  /** The file of {@link #firstOpen()}, written with dcm4che only so that TagD is not loaded. */
+  private Path file;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    OpenCvNative.load();
+    file = DicomFixtures.resolve(DicomFixtures.SYNTHETIC);
+  }
+
+  private static InputStream open(String resource) {
+    return DataElementDictionary.class.getResourceAsStream(resource);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @Fork(10)
+  @Warmup(iterations = 0)
+  @Measurement(iterations = 1)
+  public List<Element> firstLoadXml() throws IOException, XMLStreamException {
+    try (InputStream in = open(DataElementDictionary.XML_RESOURCE)) {
+      return DataElementDictionary.readXml(in);
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @Fork(10)
+  @Warmup(iterations = 0)
+  @Measurement(iterations = 1)
+  public List<Element> firstLoadBinary() throws IOException {
+    try (InputStream in = open(DataElementDictionary.BINARY_RESOURCE)) {
+      return DataElementDictionary.read(in);
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @Fork(10)
+  @Warmup(iterations = 0)
+  @Measurement(iterations = 1)
+  public DicomImageElement[] firstOpen() {
+    DicomMediaIO reader = new DicomMediaIO(file);
+    try {
+      return reader.getMediaElement();
+    } finally {
+      reader.close();
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @Fork(1)
+  @Warmup(iterations = 3, time = 1)
+  @Measurement(iterations = 5, time = 1)
+  public List<Element> warmXml() throws IOException, XMLStreamException {
+    try (InputStream in = open(DataElementDictionary.XML_RESOURCE)) {
+      return DataElementDictionary.readXml(in);
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @Fork(1)
+  @Warmup(iterations = 3, time = 1)
+  @Measurement(iterations = 5, time = 1)
+  public List<Element> warmBinary() throws IOException {
+    try (InputStream in = open(DataElementDictionary.BINARY_RESOURCE)) {
+      return DataElementDictionary.read(in);
+    }
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.benchmark;
+
+import java.awt.Point;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Ellipse2D;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.opencv.core.Core;
+import org.opencv.core.CvType;
+import org.opencv.core.Mat;
+import org.opencv.core.Scalar;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.weasis.core.api.image.measure.MeasurementsAdapter;
+import org.weasis.core.api.image.util.MeasurableLayer;
+import org.weasis.core.api.image.util.Unit;
+import org.weasis.core.api.media.data.TagW;
+import org.weasis.core.ui.editor.image.HistogramData;
+import org.weasis.core.ui.editor.image.ImageRegionStatistics;
+import org.weasis.core.ui.model.utils.bean.MeasureItem;
+import org.weasis.opencv.data.ImageCV;
+import org.weasis.opencv.data.PlanarImage;
+import org.weasis.opencv.op.ImageAnalyzer;
+
+/**
+ * Statistics of a region with {@link ImageRegionStatistics}: the histogram of an elliptic ROI and
+ * all the measures of the whole image, on a 12-bit slice with a CT modality LUT.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImageRegionStatisticsBenchmark {
+
+  @Param({"512"})
+  public int size;
+
+  private ImageCV image;
+  private List<Mat> roi;
+  private MeasurableLayer layer;
+
+  @Setup
+  public void setup() {
+    OpenCvNative.load();
+    Core.setRNGSeed(7);
+    image = new ImageCV(size, size, CvType.CV_16UC1);
+    Core.randu(image, new Scalar(0), new Scalar(4096));
+    layer = new SliceLayer(image);
+    Ellipse2D ellipse = new Ellipse2D.Double(size * 0.2, size * 0.25, size * 0.5, size * 0.4);
+    Integer noPadding = null;
+    roi = ImageAnalyzer.getMaskImage(image, ellipse, noPadding, noPadding);
+  }
+
+  @TearDown
+  public void tearDown() {
+    roi.forEach(Mat::release);
+    image.release();
+  }
+
+  @Benchmark
+  public List<HistogramData> roiHistogram() {
+    return ImageRegionStatistics.getHistogram(roi.get(0), roi.get(1), layer);
+  }
+
+  @Benchmark
+  public List<MeasureItem> imageStatistics() {
+    return ImageRegionStatistics.getImageStatistics(null, layer, true);
+  }
+
+  /** The layer of an unsigned 12-bit CT slice, with a rescale intercept of -1024. */
+  private record SliceLayer(PlanarImage image) implements MeasurableLayer {
+
+    @Override
+    public boolean hasContent() {
+      return true;
+    }
+
+    @Override
+    public MeasurementsAdapter getMeasurementAdapter(Unit displayUnit) {
+      return null;
+    }
+
+    @Override
+    public AffineTransform getShapeTransform() {
+      return null;
+    }
+
+    @Override
+    public Object getSourceTagValue(TagW tagW) {
+      return null;
+    }
+
+    @Override
+    public String getPixelValueUnit() {
+      return "HU"; // NON-NLS
+    }
+
+    @Override
+    public Point getOffset() {
+      return null;
+    }
+
+    @Override
+    public void setOffset(Point offset) {
+      // No offset
+    }
+
+    @Override
+    public PlanarImage getSourceRenderedImage() {
+      return image;
+    }
+
+    @Override
+    public double pixelToRealValue(Number pixelValue) {
+      return pixelValue.doubleValue() - 1024;
+    }
+
+    @Override
+    public double getPixelMin() {
+      return 0;
+    }
+
+    @Override
+    public double getPixelMax() {
+      return 4095;
+    }
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.opencv.core.Core;
+import org.opencv.core.CvType;
+import org.opencv.core.Scalar;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.weasis.core.api.image.op.ImageStackOperations;
+import org.weasis.opencv.data.ImageCV;
+import org.weasis.opencv.data.PlanarImage;
+
+/** Projections of a stack of CT slices with {@link ImageStackOperations}, as for a MIP. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImageStackBenchmark {
+
+  @Param({"16", "128"})
+  public int slices;
+
+  @Param({"512"})
+  public int size;
+
+  private List<PlanarImage> stack;
+
+  @Setup
+  public void setup() {
+    OpenCvNative.load();
+    Core.setRNGSeed(3);
+    stack = new ArrayList<>(slices);
+    for (int i = 0; i < slices; i++) {
+      ImageCV slice = new ImageCV(size, size, CvType.CV_16SC1);
+      Core.randu(slice, new Scalar(-1024), new Scalar(3000));
+      stack.add(slice);
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    stack.forEach(PlanarImage::release);
+  }
+
+  @Benchmark
+  public void max(Blackhole bh) {
+    PlanarImage result = ImageStackOperations.max(stack);
+    bh.consume(result);
+    result.release();
+  }
+
+  @Benchmark
+  public void mean(Blackhole bh) {
+    PlanarImage result = ImageStackOperations.mean(stack);
+    bh.consume(result);
+    result.release();
+  }
+}
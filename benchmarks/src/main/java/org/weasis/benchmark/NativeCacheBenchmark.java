@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.benchmark;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.opencv.core.CvType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.weasis.core.api.media.data.NativeCache;
+import org.weasis.opencv.data.ImageCV;
+
+/**
+ * Access to a {@link NativeCache} shared by several threads, as the image cache read by the views
+ * and filled by the loading and prefetching threads. The cache holds half of the images, so the
+ * puts also evict. Most of the accesses hit a small set of keys, like the slices around the
+ * displayed one.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NativeCacheBenchmark {
+
+  @Param({"512"})
+  public int keys;
+
+  private ImageCV[] images;
+  private NativeCache<Integer, ImageCV> cache;
+
+  /** The keys accessed by a thread: 90% of them in the first eighth of the key space. */
+  @State(Scope.Thread)
+  public static class Keys {
+    private final SplittableRandom random = new SplittableRandom();
+
+    int next(int keys) {
+      int hot = Math.max(1, keys / 8);
+      return random.nextInt(10) < 9 ? random.nextInt(hot) : random.nextInt(keys);
+    }
+  }
+
+  @Setup
+  public void setup() {
+    OpenCvNative.load();
+    images = new ImageCV[keys];
+    for (int i = 0; i < keys; i++) {
+      images[i] = new ImageCV(128, 128, CvType.CV_16SC1);
+    }
+    long budget = images[0].physicalBytes() * keys / 2;
+    cache =
+        new NativeCache<>(budget) {
+          @Override
+          protected void afterEntryRemove(Integer key, ImageCV val) {
+            // The images are reused by the next puts
+          }
+        };
+  }
+
+  @TearDown
+  public void tearDown() {
+    cache.clear();
+    for (ImageCV image : images) {
+      image.release();
+    }
+  }
+
+  @Benchmark
+  @Group("readersAndWriter")
+  @GroupThreads(3)
+  public ImageCV get(Keys k) {
+    return cache.get(k.next(keys));
+  }
+
+  @Benchmark
+  @Group("readersAndWriter")
+  @GroupThreads(1)
+  public void put(Keys k) {
+    int key = k.next(keys);
+    cache.put(key, images[key]);
+  }
+
+  /** A view reading an image and loading it on a miss, on four threads. */
+  @Benchmark
+  @Threads(4)
+  public ImageCV getOrPut(Keys k) {
+    int key = k.next(keys);
+    ImageCV image = cache.get(key);
+    if (image == null) {
+      image = images[key];
+      cache.put(key, image);
+    }
+    return image;
+  }
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.benchmark;
+
+/**
+ * Loads the OpenCV native library outside the OSGi framework. The library is copied to {@code
+ * target/lib} by the build and found with {@code java.library.path}, which the benchmark JVMs
+ * inherit from the JMH launcher.
+ */
+public final class OpenCvNative {
+
+  private static boolean loaded;
+
+  private OpenCvNative() {}
+
+  public static synchronized void load() {
+    if (!loaded) {
+      System.loadLibrary("opencv_java"); // NON-NLS
+      loaded = true;
+    }
+  }
+}
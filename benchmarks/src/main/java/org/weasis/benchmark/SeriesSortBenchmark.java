@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.benchmark;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.dcm4che3.data.Tag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.weasis.core.api.media.data.TagW;
+import org.weasis.dicom.codec.DicomImageElement;
+import org.weasis.dicom.codec.DicomMediaIO;
+import org.weasis.dicom.codec.DicomSeries;
+import org.weasis.dicom.codec.SortSeriesStack;
+import org.weasis.dicom.codec.TagD;
+
+/**
+ * Sorting of a series with {@link DicomSeries#getSortedMedias}. The images arrive in a random
+ * order, as from several download threads, and the view reads the series sorted by slice position
+ * every {@code refresh} images, i.e. after every added image when {@code refresh} is 1. The slice
+ * position decreases with the instance number (feet first), so the order of the series is not the
+ * sorted order.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeriesSortBenchmark {
+
+  @Param({"300", "5000"})
+  public int images;
+
+  @Param({"1", "16"})
+  public int refresh;
+
+  private List<DicomImageElement> arrivals;
+
+  @Setup
+  public void setup() {
+    TagW instanceNumber = TagD.get(Tag.InstanceNumber);
+    arrivals = new ArrayList<>(images);
+    for (int i = 1; i <= images; i++) {
+      DicomMediaIO reader = new DicomMediaIO(URI.create("data:1.2.3." + i)); // NON-NLS
+      DicomImageElement image = new DicomImageElement(reader, 0);
+      image.setTag(instanceNumber, i);
+      image.setTag(TagW.SlicePosition, -1.25 * i);
+      arrivals.add(image);
+    }
+    Collections.shuffle(arrivals, new Random(5));
+  }
+
+  /** Adds the images one by one and reads the sorted series after every {@code refresh} images. */
+  @Benchmark
+  public void sortWhileLoading(Blackhole bh) {
+    DicomSeries series = new DicomSeries("1.2.3"); // NON-NLS
+    for (int i = 0; i < arrivals.size(); i++) {
+      series.addMedia(arrivals.get(i));
+      if (i % refresh == 0) {
+        bh.consume(series.getSortedMedias(SortSeriesStack.slicePosition));
+      }
+    }
+    bh.consume(series.getSortedMedias(SortSeriesStack.slicePosition));
+  }
+
+  /** Reads the sorted series once all the images are loaded, e.g. from the local cache. */
+  @Benchmark
+  public List<DicomImageElement> sortLoaded() {
+    DicomSeries series = new DicomSeries("1.2.3"); // NON-NLS
+    for (DicomImageElement image : arrivals) {
+      series.addMedia(image);
+    }
+    return series.getSortedMedias(SortSeriesStack.slicePosition);
+  }
+}
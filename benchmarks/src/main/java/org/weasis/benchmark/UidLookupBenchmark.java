@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.benchmark;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.weasis.core.api.media.data.MediaSeriesGroup;
+import org.weasis.core.api.media.data.MediaSeriesGroupNode;
+import org.weasis.core.api.media.data.Series;
+import org.weasis.core.api.media.data.TagW;
+import org.weasis.dicom.codec.DicomImageElement;
+import org.weasis.dicom.codec.DicomMediaIO;
+import org.weasis.dicom.codec.DicomSeries;
+import org.weasis.dicom.codec.TagD;
+import org.weasis.dicom.explorer.DicomModel;
+import org.weasis.dicom.explorer.HangingProtocols.OpeningViewer;
+import org.weasis.dicom.explorer.LoadDicom;
+import org.weasis.dicom.explorer.PluginOpeningStrategy;
+
+/**
+ * The UID lookups of the import of a study in {@link DicomModel}. For every arriving instance, the
+ * study and the series are found by UID and the SOP Instance UID is checked before the image is
+ * added, as done by {@link LoadDicom}. The study is split in series of {@code seriesSize} images
+ * whose instances arrive in a random order.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UidLookupBenchmark {
+
+  private static final String STUDY_UID = "1.2.826.0.1.3680043.2.1143.9002"; // NON-NLS
+  private static final String PATIENT_UID = "BENCH-2"; // NON-NLS
+
+  @Param({"5000", "50000"})
+  public int instances;
+
+  @Param({"500"})
+  public int seriesSize;
+
+  private record Instance(String seriesUID, String sopUID, DicomImageElement image) {}
+
+  /** Gives access to the duplicate check of the import tasks. */
+  private static final class ImportTask extends LoadDicom {
+
+    ImportTask(DicomModel model) {
+      super(model, false, new PluginOpeningStrategy(OpeningViewer.NONE, false));
+    }
+
+    @Override
+    protected Boolean doInBackground() {
+      return true;
+    }
+
+    boolean exists(MediaSeriesGroup study, Series<?> series, String sopUID) {
+      return isSOPInstanceUIDExist(study, series, sopUID);
+    }
+  }
+
+  /** A new model for each import of the study. */
+  @State(Scope.Thread)
+  public static class NewModel {
+    DicomModel model;
+    ImportTask task;
+
+    @Setup(Level.Invocation)
+    public void setup() {
+      model = new DicomModel();
+      task = new ImportTask(model);
+    }
+  }
+
+  private List<Instance> arrivals;
+
+  /** The study once imported, read by the lookup benchmarks. */
+  private DicomModel loaded;
+
+  private ImportTask loadedTask;
+  private int next;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    TagW sopTag = TagD.getUID(TagD.Level.INSTANCE);
+    arrivals = new ArrayList<>(instances);
+    for (int i = 1; i <= instances; i++) {
+      String seriesUID = STUDY_UID + "." + (1 + (i - 1) / seriesSize);
+      String sopUID = seriesUID + "." + i;
+      DicomMediaIO reader = new DicomMediaIO(URI.create("data:" + sopUID)); // NON-NLS
+      DicomImageElement image = new DicomImageElement(reader, 0);
+      image.setTag(sopTag, sopUID);
+      arrivals.add(new Instance(seriesUID, sopUID, image));
+    }
+    Collections.shuffle(arrivals, new Random(6));
+
+    loaded = new DicomModel();
+    loadedTask = new ImportTask(loaded);
+    importStudy(loaded, loadedTask);
+  }
+
+  private int importStudy(DicomModel dicomModel, ImportTask importTask) {
+    MediaSeriesGroup patient =
+        dicomModel.getHierarchyNode(MediaSeriesGroupNode.rootNode, PATIENT_UID);
+    if (patient == null) {
+      patient =
+          new MediaSeriesGroupNode(
+              TagW.PatientPseudoUID, PATIENT_UID, DicomModel.patient.tagView());
+      dicomModel.addHierarchyNode(MediaSeriesGroupNode.rootNode, patient);
+    }
+    int added = 0;
+    for (Instance instance : arrivals) {
+      MediaSeriesGroup study = dicomModel.getStudyNode(STUDY_UID);
+      if (study == null) {
+        study =
+            new MediaSeriesGroupNode(
+                TagD.getUID(TagD.Level.STUDY), STUDY_UID, DicomModel.study.tagView());
+        dicomModel.addHierarchyNode(patient, study);
+      }
+      DicomSeries series = (DicomSeries) dicomModel.getSeriesNode(instance.seriesUID());
+      if (series == null) {
+        series = new DicomSeries(instance.seriesUID());
+        dicomModel.addHierarchyNode(study, series);
+      }
+      if (!importTask.exists(study, series, instance.sopUID())) {
+        series.addMedia(instance.image());
+        added++;
+      }
+    }
+    return added;
+  }
+
+  private Instance nextInstance() {
+    Instance instance = arrivals.get(next);
+    next = (next + 1) % arrivals.size();
+    return instance;
+  }
+
+  /** Imports the whole study in a new model. */
+  @Benchmark
+  public int importStudy(NewModel target) {
+    return importStudy(target.model, target.task);
+  }
+
+  /** Imports the whole study again: every instance is found already stored. */
+  @Benchmark
+  public int importStoredStudy() {
+    return importStudy(loaded, loadedTask);
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public MediaSeriesGroup getStudyNode() {
+    return loaded.getStudyNode(STUDY_UID);
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public MediaSeriesGroup getSeriesNode() {
+    return loaded.getSeriesNode(nextInstance().seriesUID());
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public boolean hasMediaContains() {
+    Instance instance = nextInstance();
+    Series<?> series = (Series<?>) loaded.getSeriesNode(instance.seriesUID());
+    return series.hasMediaContains(TagD.getUID(TagD.Level.INSTANCE), instance.sopUID());
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public boolean isSOPInstanceUIDExist() {
+    Instance instance = nextInstance();
+    MediaSeriesGroup study = loaded.getStudyNode(STUDY_UID);
+    Series<?> series = (Series<?>) loaded.getSeriesNode(instance.seriesUID());
+    return loadedTask.exists(study, series, instance.sopUID());
+  }
+}
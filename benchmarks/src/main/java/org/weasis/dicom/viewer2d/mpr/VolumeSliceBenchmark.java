@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.viewer2d.mpr;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.joml.Matrix4d;
+import org.joml.Vector3d;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.weasis.benchmark.OpenCvNative;
+import org.weasis.opencv.data.PlanarImage;
+
+/**
+ * Reslicing of a CT volume by {@link Volume#getVolumeSlice(Matrix4d, int)}, for the planes built
+ * as {@link MprAxis#getRealVolumeTransformation} does with the crosshair at the center. A
+ * decimation of 2 is the image rendered while the user drags the crosshair.
+ *
+ * <p>The benchmark is in the package of the volume to fill the voxels directly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VolumeSliceBenchmark {
+
+  public enum Plane {
+    AXIAL,
+    CORONAL,
+    OBLIQUE
+  }
+
+  @Param({"AXIAL", "CORONAL", "OBLIQUE"})
+  public Plane plane;
+
+  @Param({"1", "2"})
+  public int decimation;
+
+  @Param({"256"})
+  public int size;
+
+  private VolumeShort volume;
+  private Matrix4d transform;
+
+  @Setup
+  public void setup() {
+    OpenCvNative.load();
+    int depth = size * 3 / 4;
+    volume = new VolumeShort(size, size, depth, true, 1, null);
+    // A water cylinder with noise, in air
+    SplittableRandom random = new SplittableRandom(11);
+    int radius2 = size * size / 6;
+    for (int z = 0; z < depth; z++) {
+      for (int y = 0; y < size; y++) {
+        int dy = y - size / 2;
+        for (int x = 0; x < size; x++) {
+          int dx = x - size / 2;
+          int hu = dx * dx + dy * dy < radius2 ? 40 + random.nextInt(-20, 21) : -1000;
+          volume.setChannelValue(x, y, z, 0, (short) hu);
+        }
+      }
+    }
+    transform = planeTransform(volume, plane);
+  }
+
+  private static Matrix4d planeTransform(Volume<?, ?> volume, Plane plane) {
+    Vector3d center = new Vector3d(volume.getSize()).mul(volume.getVoxelRatio()).mul(0.5);
+    double halfSlice = volume.getSliceSize() / 2.0;
+    Matrix4d matrix = new Matrix4d().translate(center);
+    switch (plane) {
+      case AXIAL -> {}
+      case CORONAL -> matrix.rotateX(-Math.toRadians(90)).scale(1.0, -1.0, 1.0);
+      case OBLIQUE -> matrix.rotateXYZ(0.3, -0.4, 0.5);
+    }
+    return matrix.translate(-halfSlice, -halfSlice, 0);
+  }
+
+  @TearDown
+  public void tearDown() {
+    volume.removeData();
+  }
+
+  @Benchmark
+  public void getVolumeSlice(Blackhole bh) {
+    PlanarImage slice = volume.getVolumeSlice(transform, decimation);
+    bh.consume(slice);
+    slice.release();
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.weasis.benchmark.CompareResults.Score;
+
+/**
+ * Tests the comparison of two JMH results: a benchmark is matched with its parameters, and a
+ * regression depends on the mode of the benchmark, the threshold and the error margins.
+ */
+class CompareResultsTest {
+
+  private static final String RESULT =
+      """
+      [
+        {
+          "benchmark": "org.weasis.benchmark.ImageStackBenchmark.max",
+          "mode": "avgt",
+          "params": { "slices": "16", "size": "512" },
+          "primaryMetric": { "score": 4.0, "scoreError": 0.1, "scoreUnit": "ms/op" }
+        },
+        {
+          "benchmark": "org.weasis.benchmark.NativeCacheBenchmark.getOrPut",
+          "mode": "thrpt",
+          "primaryMetric": { "score": 20.0, "scoreError": "NaN", "scoreUnit": "ops/us" }
+        }
+      ]
+      """;
+
+  @TempDir Path tempDir;
+
+  @Test
+  void readsTheScoresWithTheirParameters() throws IOException {
+    Path file = Files.writeString(tempDir.resolve("result.json"), RESULT);
+
+    Map<String, Score> scores = CompareResults.read(file);
+
+    assertEquals(
+        new Score("avgt", 4.0, 0.1, "ms/op"),
+        scores.get("org.weasis.benchmark.ImageStackBenchmark.max{size=512, slices=16}"));
+    assertEquals(
+        new Score("thrpt", 20.0, 0.0, "ops/us"),
+        scores.get("org.weasis.benchmark.NativeCacheBenchmark.getOrPut"));
+  }
+
+  @Test
+  void slowerAverageTimeIsARegression() {
+    Score baseline = new Score("avgt", 10.0, 0.1, "ms/op");
+
+    assertTrue(new Score("avgt", 12.0, 0.1, "ms/op").isRegression(baseline, 10.0));
+    assertFalse(new Score("avgt", 10.5, 0.1, "ms/op").isRegression(baseline, 10.0));
+    assertFalse(new Score("avgt", 8.0, 0.1, "ms/op").isRegression(baseline, 10.0));
+  }
+
+  @Test
+  void lowerThroughputIsARegression() {
+    Score baseline = new Score("thrpt", 100.0, 1.0, "ops/us");
+
+    assertTrue(new Score("thrpt", 80.0, 1.0, "ops/us").isRegression(baseline, 10.0));
+    assertFalse(new Score("thrpt", 120.0, 1.0, "ops/us").isRegression(baseline, 10.0));
+  }
+
+  @Test
+  void changeWithinTheErrorMarginsIsNotARegression() {
+    Score baseline = new Score("avgt", 10.0, 3.0, "ms/op");
+
+    assertFalse(new Score("avgt", 12.0, 3.0, "ms/op").isRegression(baseline, 10.0));
+  }
+
+  @Test
+  void countsOnlyTheRegressionsOfTheCommonBenchmarks() {
+    Map<String, Score> baseline =
+        Map.of(
+            "a", new Score("avgt", 1.0, 0.0, "ms/op"),
+            "b", new Score("avgt", 1.0, 0.0, "ms/op"));
+    Map<String, Score> current =
+        Map.of(
+            "a", new Score("avgt", 2.0, 0.0, "ms/op"),
+            "b", new Score("avgt", 1.0, 0.0, "ms/op"),
+            "c", new Score("avgt", 9.0, 0.0, "ms/op"));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    int regressions =
+        CompareResults.compare(
+            baseline, current, 10.0, new PrintStream(out, true, StandardCharsets.UTF_8));
+
+    assertEquals(1, regressions);
+    assertTrue(out.toString(StandardCharsets.UTF_8).contains("REGRESSION"));
+  }
+}
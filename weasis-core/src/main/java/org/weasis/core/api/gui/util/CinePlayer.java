@@ -0,0 +1,342 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.core.api.gui.util;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import javax.swing.SwingUtilities;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cine playback engine running off the EDT.
+ *
+ * <p>A pacing thread follows a {@link System#nanoTime()} clock at the requested frame rate. Ahead
+ * of the clock, the upcoming frames are decoded by worker threads into a bounded ring buffer. At
+ * each tick, the next decoded frame is handed over to the EDT; when the decoder falls behind, the
+ * late frames are dropped in favour of the first ready one instead of blocking the display, and
+ * when no frame is ready the current image simply stays on screen for one more period.
+ *
+ * <p>The frame numbers are the values of the cine slider, so the display still goes through the
+ * slider model and therefore through the usual synchronization of the views.
+ */
+public final class CinePlayer {
+  private static final Logger LOGGER = LoggerFactory.getLogger(CinePlayer.class);
+
+  /** Loads a frame and returns a handle keeping it ready for display, or null if not readable. */
+  public interface FrameLoader {
+    Object load(int frame);
+
+    /** Releases a handle returned by {@link #load(int)}. */
+    default void release(Object handle) {}
+  }
+
+  /** Displays a frame, always called on the EDT. */
+  public interface FrameDisplay {
+    void display(int frame);
+  }
+
+  /** Bounds and stepping mode of the sequence, evaluated by the decoding side. */
+  public interface FrameRange {
+    int getMin();
+
+    int getMax();
+
+    boolean isSweeping();
+  }
+
+  static final int DEFAULT_CAPACITY = 8;
+  private static final double RATE_SMOOTHING = 0.1;
+
+  private final Executor decoder;
+  private final FrameLoader loader;
+  private final FrameDisplay display;
+  private final FrameRange range;
+  private final int capacity;
+
+  private final AtomicReference<Frame> pendingDisplay = new AtomicReference<>();
+  private final AtomicLong droppedFrames = new AtomicLong();
+
+  private volatile Thread pacer;
+  private volatile long periodNanos;
+  private volatile double achievedRate;
+
+  public CinePlayer(
+      Executor decoder, FrameLoader loader, FrameDisplay display, FrameRange range, int capacity) {
+    this.decoder = Objects.requireNonNull(decoder);
+    this.loader = Objects.requireNonNull(loader);
+    this.display = Objects.requireNonNull(display);
+    this.range = Objects.requireNonNull(range);
+    this.capacity = Math.max(1, capacity);
+  }
+
+  /**
+   * Starts the playback after the given frame.
+   *
+   * @param currentFrame the frame currently displayed
+   * @param fps the target frame rate
+   */
+  public synchronized void start(int currentFrame, double fps) {
+    if (pacer != null) {
+      return;
+    }
+    setFrameRate(fps);
+    droppedFrames.set(0);
+    achievedRate = 0.0;
+    Thread thread = new Thread(() -> run(currentFrame), "CinePlayer");
+    thread.setDaemon(true);
+    thread.setPriority(Thread.NORM_PRIORITY + 1);
+    pacer = thread;
+    thread.start();
+  }
+
+  public void stop() {
+    Thread thread;
+    synchronized (this) {
+      thread = pacer;
+      pacer = null;
+    }
+    if (thread != null) {
+      LockSupport.unpark(thread);
+    }
+  }
+
+  public boolean isRunning() {
+    return pacer != null;
+  }
+
+  public void setFrameRate(double fps) {
+    this.periodNanos = (long) (1.0e9 / Math.max(0.001, fps));
+  }
+
+  /**
+   * @return the frame rate actually displayed, or 0 when the playback is not running.
+   */
+  public double getAchievedFrameRate() {
+    return isRunning() ? achievedRate : 0.0;
+  }
+
+  /**
+   * @return the number of frames dropped since the playback has been started.
+   */
+  public long getDroppedFrames() {
+    return droppedFrames.get();
+  }
+
+  private void run(int currentFrame) {
+    Thread current = Thread.currentThread();
+    // The ring and the sequence belong to this run, a restarted player never shares them
+    ArrayDeque<Frame> ring = new ArrayDeque<>(capacity);
+    int[] sequence =
+        nextFrame(currentFrame, false, range.getMin(), range.getMax(), range.isSweeping());
+    long deadline = System.nanoTime();
+    long lastDisplay = 0L;
+    double meanInterval = 0.0;
+    try {
+      while (pacer == current) {
+        while (ring.size() < capacity) {
+          Frame frame = new Frame(sequence[0]);
+          ring.addLast(frame);
+          decoder.execute(frame);
+          sequence =
+              nextFrame(
+                  sequence[0],
+                  sequence[1] == 1,
+                  range.getMin(),
+                  range.getMax(),
+                  range.isSweeping());
+        }
+        long period = periodNanos;
+        deadline += period;
+        long wait;
+        while ((wait = deadline - System.nanoTime()) > 0 && pacer == current) {
+          LockSupport.parkNanos(this, wait);
+        }
+        if (pacer != current) {
+          break;
+        }
+        long now = System.nanoTime();
+        if (now - deadline > period * capacity) {
+          // Resynchronize the clock after a long pause (e.g. system sleep)
+          deadline = now;
+        }
+
+        Frame frame = takeReadyFrame(ring);
+        if (frame != null) {
+          post(frame);
+          if (lastDisplay != 0L) {
+            // Smooth the interval rather than the rate, which would overweight the short intervals
+            long interval = now - lastDisplay;
+            meanInterval =
+                meanInterval == 0.0
+                    ? interval
+                    : meanInterval + RATE_SMOOTHING * (interval - meanInterval);
+            achievedRate = 1.0e9 / meanInterval;
+          }
+          lastDisplay = now;
+        }
+      }
+    } finally {
+      Frame f;
+      while ((f = ring.pollFirst()) != null) {
+        f.discard();
+      }
+    }
+  }
+
+  /**
+   * @return the first decoded frame of the ring, dropping the late frames before it, or null when
+   *     none is ready yet.
+   */
+  private Frame takeReadyFrame(ArrayDeque<Frame> ring) {
+    while (true) {
+      int readyPosition = -1;
+      int k = 0;
+      for (Frame f : ring) {
+        if (f.done) {
+          readyPosition = k;
+          break;
+        }
+        k++;
+      }
+      if (readyPosition < 0) {
+        return null;
+      }
+      for (int i = 0; i < readyPosition; i++) {
+        drop(ring.pollFirst());
+      }
+      Frame frame = ring.pollFirst();
+      if (frame == null || frame.hasResult()) {
+        return frame;
+      }
+      // Unreadable frame: skip it without waiting one more period
+      drop(frame);
+    }
+  }
+
+  private void post(Frame frame) {
+    Frame previous = pendingDisplay.getAndSet(frame);
+    if (previous != null) {
+      // The EDT has not consumed the previous frame yet: replace it instead of queuing
+      drop(previous);
+      return;
+    }
+    SwingUtilities.invokeLater(
+        () -> {
+          Frame f = pendingDisplay.getAndSet(null);
+          if (f != null) {
+            try {
+              if (isRunning()) {
+                display.display(f.frame);
+              }
+            } finally {
+              f.discard();
+            }
+          }
+        });
+  }
+
+  private void drop(Frame frame) {
+    if (frame != null) {
+      droppedFrames.incrementAndGet();
+      frame.discard();
+    }
+  }
+
+  /**
+   * Computes the frame following the given one, looping back to the first frame or sweeping back
+   * and forth between the bounds.
+   *
+   * @return the next frame and the new direction (1 when going backward)
+   */
+  static int[] nextFrame(int frame, boolean backward, int min, int max, boolean sweeping) {
+    boolean back = backward && sweeping;
+    int next = frame + (back ? -1 : 1);
+    if (next > max) {
+      if (sweeping && max > min) {
+        back = true;
+        next = max - 1;
+      } else {
+        next = min;
+      }
+    } else if (next < min) {
+      back = false;
+      next = Math.min(min + 1, max);
+    }
+    return new int[] {next, back ? 1 : 0};
+  }
+
+  /** Slot of the ring buffer, decoded by a worker thread. */
+  private final class Frame implements Runnable {
+    private final int frame;
+    private volatile boolean done;
+    private Object result;
+    private boolean discarded;
+
+    private Frame(int frame) {
+      this.frame = frame;
+    }
+
+    @Override
+    public void run() {
+      synchronized (this) {
+        if (discarded) {
+          return;
+        }
+      }
+      Object handle = null;
+      try {
+        handle = loader.load(frame);
+      } catch (RuntimeException e) {
+        LOGGER.debug("Cannot load cine frame {}", frame, e);
+      }
+      synchronized (this) {
+        if (discarded) {
+          loader.release(handle);
+        } else {
+          result = handle;
+        }
+        done = true;
+      }
+    }
+
+    private synchronized boolean hasResult() {
+      return result != null;
+    }
+
+    /** Releases the decoded frame, or makes the worker release it when it completes. */
+    private void discard() {
+      Object handle;
+      synchronized (this) {
+        discarded = true;
+        handle = result;
+        result = null;
+      }
+      if (handle != null) {
+        loader.release(handle);
+      }
+    }
+  }
+
+  /**
+   * Creates a player decoding on the given executor.
+   *
+   * @see #CinePlayer(Executor, FrameLoader, FrameDisplay, FrameRange, int)
+   */
+  public static CinePlayer of(
+      ExecutorService decoder, FrameLoader loader, FrameDisplay display, FrameRange range) {
+    return new CinePlayer(decoder, loader, display, range, DEFAULT_CAPACITY);
+  }
+}
@@ -9,13 +9,12 @@
  */
 package org.weasis.core.api.gui.util;
 
-import java.util.concurrent.atomic.AtomicInteger;
 import javax.swing.SpinnerNumberModel;
-import javax.swing.Timer;
 import javax.swing.UIManager;
 import javax.swing.border.TitledBorder;
 import org.weasis.core.Messages;
 import org.weasis.core.api.gui.util.GuiUtils.IconColor;
+import org.weasis.core.api.media.data.ImageElement;
 import org.weasis.core.util.MathUtil;
 import org.weasis.core.util.StringUtil;
 
@@ -30,49 +29,46 @@ public enum TIME {
   private static final double DEFAULT_MIN = 0.01;
   private static final double DEFAULT_MAX = 90.0;
 
-  protected volatile boolean sweeping = false;
-  private volatile boolean backward = false;
-
-  private volatile long startTime;
-  private volatile long spentTime;
+  /** Number of frames decoded ahead of the displayed one during cine playback. */
+  public static final int CINE_BUFFER_SIZE = 8;
 
-  private final AtomicInteger iteration = new AtomicInteger(0);
+  protected volatile boolean sweeping = false;
 
   private final TIME time;
   private final SpinnerNumberModel speedModel;
 
-  private final Timer timer =
-      new Timer(
-          50,
-          _ -> {
-            int step = (int) (getSpeed() / 5);
-            if (step <= 0) {
-              step = 1;
+  private final CinePlayer player =
+      new CinePlayer(
+          ImageElement.IMAGE_LOADER,
+          new CinePlayer.FrameLoader() {
+            @Override
+            public Object load(int frame) {
+              return loadCineFrame(frame);
+            }
+
+            @Override
+            public void release(Object handle) {
+              releaseCineFrame(handle);
+            }
+          },
+          this::setSliderValue,
+          new CinePlayer.FrameRange() {
+            @Override
+            public int getMin() {
+              return getSliderMin();
             }
-            if (iteration.getAndIncrement() % step == 0) {
-              long prevStartTime = startTime;
-              startTime = System.currentTimeMillis();
-              if (iteration.get() > step) {
-                spentTime = (System.currentTimeMillis() - prevStartTime) / 1000;
-              } else {
-                spentTime = 0;
-              }
+
+            @Override
+            public int getMax() {
+              return getSliderMax();
             }
-            int offset = backward ? -1 : 1;
-            int frameIndex = getSliderValue() + offset;
-            if (frameIndex > getSliderMax()) {
-              if (sweeping) {
-                backward = true;
-                frameIndex = frameIndex - 2;
-              } else {
-                frameIndex = getSliderMin();
-              }
-            } else if (frameIndex < getSliderMin()) {
-              backward = false;
-              frameIndex = getSliderMin();
+
+            @Override
+            public boolean isSweeping() {
+              return sweeping;
             }
-            setSliderValue(frameIndex);
-          });
+          },
+          CINE_BUFFER_SIZE);
 
   protected SliderCineListener(
       Feature<? extends ActionState> action,
@@ -95,21 +91,44 @@ protected SliderCineListener(
   }
 
   public void start() {
-    if (!timer.isRunning() && getSliderMax() - getSliderMin() > 0) {
-      timer.setDelay((int) (1000 / getSpeed()));
-      iteration.set(0);
-      timer.start();
+    if (!player.isRunning() && getSliderMax() - getSliderMin() > 0) {
+      player.start(getSliderValue(), getSpeed());
     }
   }
 
   public void stop() {
-    if (timer.isRunning()) {
-      timer.stop();
-    }
+    player.stop();
   }
 
   public boolean isCining() {
-    return timer.isRunning();
+    return player.isRunning();
+  }
+
+  /**
+   * Prepares the frame of the given slider value for display. This method is called on a worker
+   * thread ahead of the display (e.g. to decode the image), so that showing the frame on the EDT
+   * does not block.
+   *
+   * @param value the slider value of the frame
+   * @return a handle passed to {@link #releaseCineFrame(Object)} once the frame has been displayed
+   *     or dropped, or null if the frame cannot be displayed
+   */
+  protected Object loadCineFrame(int value) {
+    return value;
+  }
+
+  /**
+   * Releases the resources held for a frame prepared by {@link #loadCineFrame(int)}.
+   *
+   * @param handle the handle returned by {@link #loadCineFrame(int)}, can be null
+   */
+  protected void releaseCineFrame(Object handle) {}
+
+  /**
+   * @return the number of frames dropped by the running cine because they were not decoded in time.
+   */
+  public long getDroppedCineFrames() {
+    return player.getDroppedFrames();
   }
 
   public double getSpeed() {
@@ -147,13 +166,14 @@ public void updateSliderProperties(JSliderW slider) {
     }
   }
 
+  /**
+   * @return the achieved frame rate of the running cine (the target rate until enough frames have
+   *     been displayed), or 0 when the cine is stopped.
+   */
   public double getCurrentCineRate() {
     if (isCining()) {
-      double time = spentTime;
-      if (time == 0) {
-        return 1000.0 / timer.getDelay();
-      }
-      return spentTime;
+      double rate = player.getAchievedFrameRate();
+      return MathUtil.isEqualToZero(rate) ? getSpeed() : rate;
     }
     return 0.0;
   }
@@ -163,10 +183,7 @@ public void setSpeed(double speed) {
   }
 
   protected void updateSpeed() {
-    if (timer.isRunning()) {
-      iteration.set(0);
-      timer.setDelay((int) (1000 / getSpeed()));
-    }
+    player.setFrameRate(getSpeed());
   }
 
   public SpinnerNumberModel getSpeedModel() {
@@ -17,6 +17,9 @@
 /**
  * Base implementation for image operations providing parameter management. Thread-safe
  * implementation using ConcurrentHashMap.
+ *
+ * <p>Every change of a parameter other than the input and output images increments the {@link
+ * #getParamVersion() version}, so that the operation manager processes the node again.
  */
 public abstract class AbstractOp implements ImageOpNode {
 
@@ -24,6 +27,7 @@ public abstract class AbstractOp implements ImageOpNode {
   protected static final String OUTPUT_PREFIX = "op.output";
 
   protected final Map<String, Object> params;
+  private long paramVersion;
 
   protected AbstractOp() {
     this.params = new HashMap<>();
@@ -37,6 +41,7 @@ protected AbstractOp(AbstractOp op) {
   @Override
   public void clearParams() {
     params.clear();
+    paramVersion++;
   }
 
   @Override
@@ -48,6 +53,17 @@ private boolean isIOCacheKey(String key) {
     return key.startsWith(INPUT_PREFIX) || key.startsWith(OUTPUT_PREFIX);
   }
 
+  private void paramChanged(String key) {
+    if (!isIOCacheKey(key)) {
+      paramVersion++;
+    }
+  }
+
+  @Override
+  public long getParamVersion() {
+    return paramVersion;
+  }
+
   @Override
   public Object getParam(String key) {
     return params.get(key);
@@ -57,6 +73,7 @@ public Object getParam(String key) {
   public void setParam(String key, Object value) {
     if (key != null) {
       params.put(key, value);
+      paramChanged(key);
     }
   }
 
@@ -75,12 +92,15 @@ protected <T> T getParam(String key, Class<T> type, T defaultValue) {
   public void setAllParameters(Map<String, Object> map) {
     if (map != null) {
       params.putAll(map);
+      paramVersion++;
     }
   }
 
   @Override
   public void removeParam(String key) {
-    params.remove(key);
+    if (key != null && params.remove(key) != null) {
+      paramChanged(key);
+    }
   }
 
   @Override
@@ -91,6 +111,7 @@ public boolean isEnabled() {
   @Override
   public void setEnabled(boolean enabled) {
     params.put(Param.ENABLE, enabled);
+    paramVersion++;
   }
 
   @Override
@@ -84,6 +84,18 @@ default Optional<Object> getParamOptional(String key) {
   /** Clears cached input and output images to force reprocessing. */
   void clearIOCache();
 
+  /**
+   * Returns the version of the parameters, which changes whenever a parameter other than the input
+   * and output images is modified. While the version and the input image are unchanged, the output
+   * of the previous processing is reused.
+   *
+   * @return the version of the parameters, or a negative value when the output depends on a state
+   *     that is not in the parameters and must never be reused
+   */
+  default long getParamVersion() {
+    return -1;
+  }
+
   /**
    * Handles image operation events.
    *
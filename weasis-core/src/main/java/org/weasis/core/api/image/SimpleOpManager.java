@@ -11,6 +11,8 @@
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -27,6 +29,12 @@
  * <p>This class maintains operations in both a list (for ordered processing) and a map (for
  * name-based lookup). Operations can be added, removed, and processed in sequence.
  *
+ * <p>The processing is incremental: a node whose input image (the same instance) and {@link
+ * ImageOpNode#getParamVersion() parameters} are unchanged since its last execution keeps its
+ * output, so the pipeline is actually executed from the earliest modified node. For instance, a
+ * window/level change does not execute again the operations placed before the window/level node.
+ * The execution time of each node is available with {@link #getLastProcessingTimes()}.
+ *
  * @see OpManager
  * @see ImageOpNode
  */
@@ -45,8 +53,16 @@ public enum Position {
 
   private final Map<String, ImageOpNode> nodesByName;
   private final List<ImageOpNode> operations;
+  private final Map<ImageOpNode, NodeRun> runs;
   private volatile String name;
 
+  /** The input and parameter version of the last execution of a node, and its duration. */
+  private static final class NodeRun {
+    private Object input;
+    private long paramVersion;
+    private long nanos;
+  }
+
   /** Creates a new SimpleOpManager with default name. */
   public SimpleOpManager() {
     this(IMAGE_OP_NAME);
@@ -60,6 +76,7 @@ public SimpleOpManager() {
   public SimpleOpManager(String name) {
     this.operations = new ArrayList<>();
     this.nodesByName = new HashMap<>();
+    this.runs = new IdentityHashMap<>();
     setName(name);
   }
 
@@ -163,6 +180,7 @@ public void removeImageOperationAction(ImageOpNode action) {
       return;
     }
     operations.remove(action);
+    runs.remove(action);
 
     nodesByName.values().removeIf(node -> node == action);
   }
@@ -172,6 +190,7 @@ public void removeAllImageOperationAction() {
     clearNodeParams();
     operations.clear();
     nodesByName.clear();
+    runs.clear();
   }
 
   @Override
@@ -235,20 +254,59 @@ public Optional<PlanarImage> process() {
       }
       executeOperation(current);
     }
+    if (LOGGER.isTraceEnabled()) {
+      LOGGER.trace("{} processing times (ns): {}", name, getLastProcessingTimes());
+    }
     return getLastNodeOutputImage();
   }
 
   private void executeOperation(ImageOpNode operation) {
+    NodeRun run = runs.computeIfAbsent(operation, _ -> new NodeRun());
+    Object input = operation.getParam(Param.INPUT_IMG);
+    if (isUpToDate(operation, run, input)) {
+      run.nanos = 0;
+      return;
+    }
+    long start = System.nanoTime();
     try {
       if (operation.isEnabled()) {
         operation.process();
       } else {
         operation.setParam(Param.OUTPUT_IMG, operation.getParam(Param.INPUT_IMG));
       }
+      run.input = input;
+      run.paramVersion = operation.getParamVersion();
     } catch (Exception e) {
       LOGGER.error("Operation '{}' failed", operation.getParam(Param.NAME), e);
       operation.setParam(Param.OUTPUT_IMG, operation.getParam(Param.INPUT_IMG));
+      // Try again at the next processing
+      run.input = null;
+    }
+    run.nanos = System.nanoTime() - start;
+  }
+
+  private static boolean isUpToDate(ImageOpNode operation, NodeRun run, Object input) {
+    long version = operation.getParamVersion();
+    return version >= 0
+        && input != null
+        && input == run.input
+        && version == run.paramVersion
+        && operation.getParam(Param.OUTPUT_IMG) != null;
+  }
+
+  /**
+   * Returns the execution time of each node during the last {@link #process()}, in the order of
+   * the pipeline. A node whose output has been reused has a time of 0.
+   *
+   * @return the execution times in nanoseconds, by node name
+   */
+  public Map<String, Long> getLastProcessingTimes() {
+    Map<String, Long> times = new LinkedHashMap<>();
+    for (ImageOpNode node : operations) {
+      NodeRun run = runs.get(node);
+      times.put(node.getName(), run == null ? 0L : run.nanos);
     }
+    return times;
   }
 
   @Override
@@ -514,6 +514,42 @@ private PlanarImage startImageLoading() throws OutOfMemoryError {
     return cacheImage;
   }
 
+  /**
+   * Decodes the image into the memory cache on the calling thread. Unlike {@link #getImage()}, the
+   * decoding is not handed over to {@link #IMAGE_LOADER}, so it can be invoked from a task already
+   * running in that pool (background prefetching) without waiting on a nested task.
+   *
+   * @return {@code true} if the image has been decoded and put in the cache by this call.
+   */
+  public synchronized boolean preloadImage() {
+    if (!readable || mCache.get(this) != null || !setAsLoading()) {
+      return false;
+    }
+    try {
+      PlanarImage img = loadImage();
+      if (img != null) {
+        readable = img.width() > 0;
+        if (readable) {
+          mCache.put(this, img);
+          ResourceMonitor.getInstance().recordImageLoaded(img.physicalBytes());
+          this.setTag(TagW.ImageCache, true);
+          findMinMaxValues(img, true);
+          return true;
+        }
+      }
+    } catch (OutOfMemoryError e) {
+      ResourceMonitor.getInstance().recordOutOfMemory();
+      mCache.expungeStaleEntries();
+      LOGGER.warn("Out of memory when preloading image: {}", this);
+    } catch (Exception e) {
+      readable = false;
+      LOGGER.error("Cannot read pixel data!: {}", this, e);
+    } finally {
+      setAsLoaded();
+    }
+    return false;
+  }
+
   public boolean isReadable() {
     return readable;
   }
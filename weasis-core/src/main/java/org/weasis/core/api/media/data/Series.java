@@ -25,6 +25,8 @@
 import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.swing.SwingUtilities;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -50,10 +52,14 @@
 
   private PropertyChangeSupport propertyChange = null;
   protected final List<E> medias;
-  protected final Map<Comparator<E>, List<E>> sortedMedias = new HashMap<>(6);
+  // Guarded by itself, always locked before medias
+  protected final Map<Comparator<E>, SortedView<E>> sortedMedias = new HashMap<>(6);
+  // Tag values of the medias for each tag looked up by hasMediaContains()
+  private final Map<TagW, Set<Object>> mediaIndex = new ConcurrentHashMap<>(2);
   protected final Comparator<E> mediaOrder;
   protected SeriesImporter seriesLoader;
   private long fileSize;
+  private long version;
 
   protected Series(TagW tagID, Object identifier, TagView displayTag) {
     this(tagID, identifier, displayTag, null);
@@ -91,8 +97,11 @@ private static DataFlavor createConstant(String mt, String prn) {
   }
 
   protected void resetSortedMediasMap() {
-    if (!sortedMedias.isEmpty()) {
-      sortedMedias.clear();
+    synchronized (sortedMedias) {
+      version++;
+      if (!sortedMedias.isEmpty()) {
+        sortedMedias.clear();
+      }
     }
   }
 
@@ -101,47 +110,93 @@ protected void resetSortedMediasMap() {
    * dispose the media elements and removes images from the cache.
    */
   public void removeAllMedias() {
-    medias.clear();
-    resetSortedMediasMap();
+    synchronized (sortedMedias) {
+      medias.clear();
+      mediaIndex.clear();
+      resetSortedMediasMap();
+    }
   }
 
+  /**
+   * Returns the medias sorted by the comparator. The sorted list is cached for each comparator and
+   * kept up to date by merging the medias added since the previous call, so adding medias one by
+   * one does not sort the whole series again.
+   *
+   * @param comparator the order of the medias, or null for the order of the series
+   * @return the sorted list, which must not be modified when sorted by a comparator
+   */
   @Override
   public List<E> getSortedMedias(Comparator<E> comparator) {
     // Do not sort when it is the default order.
     if (comparator != null && !comparator.equals(mediaOrder)) {
-      return sortedMedias.computeIfAbsent(
-          comparator,
-          k -> {
-            List<E> sorted = new ArrayList<>(medias);
-            sorted.sort(comparator);
-            return sorted;
-          });
+      synchronized (sortedMedias) {
+        SortedView<E> view = sortedMedias.get(comparator);
+        if (view == null) {
+          List<E> sorted;
+          synchronized (medias) {
+            sorted = new ArrayList<>(medias);
+          }
+          sorted.sort(comparator);
+          view = new SortedView<>(sorted, comparator, version);
+          sortedMedias.put(comparator, view);
+        } else if (view.version != version) {
+          view.merge(comparator, version, medias);
+        }
+        return view.sorted;
+      }
     }
     return medias;
   }
 
+  private void mediasAdded(Collection<? extends E> added) {
+    // Must be called with the lock of sortedMedias
+    version++;
+    for (SortedView<E> view : sortedMedias.values()) {
+      view.pending.addAll(added);
+    }
+    mediaIndex.forEach((tag, values) -> indexMedias(added, tag, values));
+  }
+
+  private static void indexMedias(
+      Iterable<? extends MediaElement> list, TagW tag, Set<Object> set) {
+    for (MediaElement media : list) {
+      Object val = media == null ? null : media.getTagValue(tag);
+      if (val != null) {
+        set.add(val);
+      }
+    }
+  }
+
   @Override
   public void add(E media) {
-    medias.add(media);
-    resetSortedMediasMap();
+    synchronized (sortedMedias) {
+      medias.add(media);
+      mediasAdded(Collections.singletonList(media));
+    }
   }
 
   @Override
   public void add(int index, E media) {
-    medias.add(index, media);
-    resetSortedMediasMap();
+    synchronized (sortedMedias) {
+      medias.add(index, media);
+      mediasAdded(Collections.singletonList(media));
+    }
   }
 
   @Override
   public void addAll(Collection<? extends E> c) {
-    medias.addAll(c);
-    resetSortedMediasMap();
+    synchronized (sortedMedias) {
+      medias.addAll(c);
+      mediasAdded(c);
+    }
   }
 
   @Override
   public void addAll(int index, Collection<? extends E> c) {
-    medias.addAll(index, c);
-    resetSortedMediasMap();
+    synchronized (sortedMedias) {
+      medias.addAll(index, c);
+      mediasAdded(c);
+    }
   }
 
   @Override
@@ -406,15 +461,30 @@ public void setFocused(boolean focused) {
     }
   }
 
+  /**
+   * Tells whether a media of the series has the given tag value. The values of a tag are indexed at
+   * its first lookup and then with the added medias, so the lookups are done in constant time. It
+   * is intended for the identifying tags (e.g. SOP Instance UID) whose value does not change once
+   * the media is in the series.
+   */
   public boolean hasMediaContains(TagW tag, Object val) {
-    if (val != null) {
-      synchronized (medias) {
-        for (E media : medias) {
-          if (val.equals(media.getTagValue(tag))) {
-            return true;
-          }
+    if (val != null && tag != null) {
+      Set<Object> values = mediaIndex.get(tag);
+      if (values == null) {
+        synchronized (sortedMedias) {
+          values =
+              mediaIndex.computeIfAbsent(
+                  tag,
+                  k -> {
+                    Set<Object> set = ConcurrentHashMap.newKeySet();
+                    synchronized (medias) {
+                      indexMedias(medias, k, set);
+                    }
+                    return set;
+                  });
         }
       }
+      return values.contains(val);
     }
     return false;
   }
@@ -444,4 +514,91 @@ public String getSeriesNumber() {
     Integer val = (Integer) getTagValue(TagW.get("SeriesNumber"));
     return Optional.ofNullable(val).map(String::valueOf).orElse("");
   }
+
+  /**
+   * Medias sorted by a comparator. The medias added to the series are queued and merged into a new
+   * sorted list at the next reading; the previous list is never modified, so it can still be
+   * iterated by another thread.
+   *
+   * <p>The merge places the added medias by binary search, which gives the same list as a full
+   * stable sort only when no media compares equal to another. Otherwise (e.g. the images of a 4D
+   * series at the same position, or the images without position for which a comparator returns 0)
+   * the series is sorted again, so that equal medias keep the order of the series.
+   */
+  protected static final class SortedView<E> {
+    private final List<E> pending = new ArrayList<>();
+    private List<E> sorted;
+    private long version;
+    // true when two medias of the sorted list compare equal
+    private boolean ties;
+
+    private SortedView(List<E> sorted, Comparator<E> comparator, long version) {
+      this.sorted = sorted;
+      this.version = version;
+      this.ties = hasTies(sorted, comparator);
+    }
+
+    private void merge(Comparator<E> comparator, long version, List<E> medias) {
+      if (!pending.isEmpty()) {
+        List<E> added = new ArrayList<>(pending);
+        pending.clear();
+        added.sort(comparator);
+        List<E> merged = ties || hasTies(added, comparator) ? null : merge(added, comparator);
+        if (merged == null) {
+          synchronized (medias) {
+            merged = new ArrayList<>(medias);
+          }
+          merged.sort(comparator);
+          ties = hasTies(merged, comparator);
+        }
+        sorted = merged;
+      }
+      this.version = version;
+    }
+
+    /** Merges the sorted added medias, or returns null when one compares equal to a media. */
+    private List<E> merge(List<E> added, Comparator<E> comparator) {
+      List<E> merged = new ArrayList<>(sorted.size() + added.size());
+      int from = 0;
+      for (E media : added) {
+        int to = insertionPoint(sorted, media, comparator, from);
+        if (to < 0) {
+          return null;
+        }
+        merged.addAll(sorted.subList(from, to));
+        merged.add(media);
+        from = to;
+      }
+      merged.addAll(sorted.subList(from, sorted.size()));
+      return merged;
+    }
+
+    private static <E> boolean hasTies(List<E> list, Comparator<E> comparator) {
+      for (int i = 1; i < list.size(); i++) {
+        if (comparator.compare(list.get(i - 1), list.get(i)) == 0) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    /** Index of the first element greater than the key, or -1 when an element is equal to it. */
+    private static <E> int insertionPoint(
+        List<E> list, E key, Comparator<E> comparator, int from) {
+      int low = from;
+      int high = list.size();
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        int c = comparator.compare(list.get(mid), key);
+        if (c == 0) {
+          return -1;
+        } else if (c < 0) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+  }
 }
@@ -22,6 +22,7 @@
 import java.util.Map;
 import java.util.TimeZone;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.DoubleStream;
 import java.util.stream.IntStream;
@@ -42,6 +43,9 @@ public class TagW {
 
   protected static final Map<String, TagW> tags = Collections.synchronizedMap(new HashMap<>());
 
+  /** Creates the tags of a dictionary at their first lookup, see {@link #setTagResolver}. */
+  private static volatile Function<String, TagW> tagResolver;
+
   public static final String NO_VALUE = "UNKNOWN";
 
   public enum TagType {
@@ -549,7 +553,28 @@ public static void addTag(TagW tag) {
   }
 
   public static TagW get(String keyword) {
-    return tags.get(keyword);
+    TagW tag = tags.get(keyword);
+    Function<String, TagW> resolver = tagResolver;
+    if (tag == null && keyword != null && resolver != null) {
+      tag = resolver.apply(keyword);
+      if (tag != null) {
+        TagW previous = tags.putIfAbsent(keyword, tag);
+        if (previous != null) {
+          tag = previous;
+        }
+      }
+    }
+    return tag;
+  }
+
+  /**
+   * Sets the function creating the tags not registered yet, from their keyword. It returns null for
+   * an unknown keyword. A created tag is registered, so the function is called once per keyword.
+   *
+   * @param resolver the function, or null to register the tags only with {@link #addTag(TagW)}
+   */
+  public static void setTagResolver(Function<String, TagW> resolver) {
+    tagResolver = resolver;
   }
 
   public static <T> T getTagValue(TagReadable taggable, TagW tag, Class<T> type) {
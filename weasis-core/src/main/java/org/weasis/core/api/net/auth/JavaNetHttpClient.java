@@ -16,7 +16,6 @@
 import com.github.scribejava.core.model.OAuthRequest;
 import com.github.scribejava.core.model.Response;
 import com.github.scribejava.core.model.Verb;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -29,6 +28,7 @@
 import java.nio.file.Path;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
@@ -352,7 +352,7 @@ private static void setBody(
     }
   }
 
-  /** Encodes a {@link MultipartPayload} into a single byte-array body. */
+  /** Encodes a {@link MultipartPayload} into a body streamed from its parts. */
   private static final class MultipartEncoder {
 
     private MultipartEncoder() {}
@@ -368,13 +368,27 @@ static HttpRequest.BodyPublisher filePublisher(Path path) {
     static void applyTo(HttpRequest.Builder requestBuilder, MultipartPayload payload, Verb verb) {
       var parts = new ArrayList<BodySupplier<InputStream>>();
       collectParts(parts, payload);
-      try {
-        byte[] body = serialize(parts);
-        requestBuilder.setHeader(HEADER_CONTENT_TYPE, resolveContentType(payload));
-        requestBuilder.method(verb.name(), HttpRequest.BodyPublishers.ofByteArray(body));
-      } catch (IOException e) {
-        throw new UncheckedIOException("Failed to prepare multipart payload", e);
+      requestBuilder.setHeader(HEADER_CONTENT_TYPE, resolveContentType(payload));
+      requestBuilder.method(verb.name(), streamPublisher(parts));
+    }
+
+    /**
+     * Streams the parts one after the other, each part being opened only when the previous one has
+     * been sent, so the files are not loaded in memory. The publisher can be subscribed again (e.g.
+     * for a redirection). The Content-Length is declared when the length of every part is known.
+     */
+    private static HttpRequest.BodyPublisher streamPublisher(
+        List<BodySupplier<InputStream>> parts) {
+      var stream = HttpRequest.BodyPublishers.ofInputStream(() -> new PartsInputStream(parts));
+      long length = 0;
+      for (var supplier : parts) {
+        long partLength = supplier.length();
+        if (partLength < 0) {
+          return stream;
+        }
+        length += partLength;
       }
+      return HttpRequest.BodyPublishers.fromPublisher(stream, length);
     }
 
     /** Honors the payload's own Content-Type (e.g. STOW-RS multipart/related), else form-data. */
@@ -391,16 +405,6 @@ private static String resolveContentType(MultipartPayload payload) {
       return MULTIPART_CT_PREFIX + payload.getBoundary();
     }
 
-    private static byte[] serialize(List<BodySupplier<InputStream>> parts) throws IOException {
-      var out = new ByteArrayOutputStream();
-      for (var supplier : parts) {
-        try (var in = supplier.get()) {
-          in.transferTo(out);
-        }
-      }
-      return out.toByteArray();
-    }
-
     private static void collectParts(
         List<BodySupplier<InputStream>> parts, MultipartPayload payload) {
       if (payload.getPreamble() != null) {
@@ -444,5 +448,60 @@ private static void appendContent(
                 "Unsupported body part type: " + bodyPart.getClass());
       }
     }
+
+    /** Concatenates the parts, opening each one lazily and closing it once read. */
+    private static final class PartsInputStream extends InputStream {
+      private final Iterator<BodySupplier<InputStream>> parts;
+      private InputStream current;
+
+      PartsInputStream(List<BodySupplier<InputStream>> parts) {
+        this.parts = parts.iterator();
+      }
+
+      private boolean nextPart() throws IOException {
+        closeCurrent();
+        if (!parts.hasNext()) {
+          return false;
+        }
+        current = parts.next().get();
+        return true;
+      }
+
+      private void closeCurrent() throws IOException {
+        if (current != null) {
+          InputStream in = current;
+          current = null;
+          in.close();
+        }
+      }
+
+      @Override
+      public int read() throws IOException {
+        byte[] b = new byte[1];
+        return read(b, 0, 1) < 0 ? -1 : b[0] & 0xFF;
+      }
+
+      @Override
+      public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+          return 0;
+        }
+        while (current != null || nextPart()) {
+          int n = current.read(b, off, len);
+          if (n > 0) {
+            return n;
+          }
+          if (n < 0) {
+            closeCurrent();
+          }
+        }
+        return -1;
+      }
+
+      @Override
+      public void close() throws IOException {
+        closeCurrent();
+      }
+    }
   }
 }
@@ -39,6 +39,7 @@ public final class ChunkedMappedBuffer {
   private final MappedByteBuffer[] chunks;
   private final long totalBytes;
   private final File backingFile;
+  private final boolean persistent;
 
   /**
    * Creates a chunked mapped buffer backed by the given file.
@@ -53,6 +54,7 @@ public ChunkedMappedBuffer(File file, long totalBytes) throws IOException {
     }
     this.totalBytes = totalBytes;
     this.backingFile = file;
+    this.persistent = false;
 
     int numChunks = (int) ((totalBytes + CHUNK_BYTE_SIZE - 1) / CHUNK_BYTE_SIZE);
     this.chunks = new MappedByteBuffer[Math.max(numChunks, 1)];
@@ -69,10 +71,47 @@ public ChunkedMappedBuffer(File file, long totalBytes) throws IOException {
     }
   }
 
+  private ChunkedMappedBuffer(File file, long totalBytes, MappedByteBuffer[] chunks) {
+    this.totalBytes = totalBytes;
+    this.backingFile = file;
+    this.chunks = chunks;
+    this.persistent = true;
+  }
+
+  /**
+   * Maps an existing file in read-only mode, with the same layout as the buffer that has written
+   * it. Closing the returned buffer releases the mapping but keeps the file.
+   *
+   * @param file the file to map
+   * @param totalBytes total byte size of the volume data, not greater than the file size
+   * @return the read-only buffer
+   * @throws IOException if the file cannot be mapped or is smaller than {@code totalBytes}
+   */
+  public static ChunkedMappedBuffer open(File file, long totalBytes) throws IOException {
+    int numChunks = (int) ((totalBytes + CHUNK_BYTE_SIZE - 1) / CHUNK_BYTE_SIZE);
+    MappedByteBuffer[] chunks = new MappedByteBuffer[Math.max(numChunks, 1)];
+    try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+      if (totalBytes < 0 || raf.length() < totalBytes) {
+        throw new IOException("Invalid size of the mapped file " + file);
+      }
+      FileChannel channel = raf.getChannel();
+      for (int i = 0; i < chunks.length; i++) {
+        long offset = (long) i * CHUNK_BYTE_SIZE;
+        long chunkLen = Math.min(totalBytes - offset, CHUNK_BYTE_SIZE);
+        chunks[i] = channel.map(MapMode.READ_ONLY, offset, chunkLen);
+      }
+    }
+    return new ChunkedMappedBuffer(file, totalBytes, chunks);
+  }
+
   public long totalBytes() {
     return totalBytes;
   }
 
+  public File getBackingFile() {
+    return backingFile;
+  }
+
   private int chunkIndex(long byteOffset) {
     return (int) (byteOffset >>> CHUNK_SHIFT);
   }
@@ -299,14 +338,15 @@ public void force() {
   }
 
   /**
-   * Releases all mapped buffers and deletes the backing file. Does <b>not</b> {@code force()} the
-   * mapped pages first — the file is being deleted, so flushing them to disk would be a pure waste
-   * (frequently several GB of synchronous I/O on large volumes). If callers need persistence they
-   * must invoke {@link #force()} explicitly before {@code close()}.
+   * Releases all mapped buffers and deletes the backing file, except for a buffer created by {@link
+   * #open}. Does <b>not</b> {@code force()} the mapped pages first — the file is being deleted, so
+   * flushing them to disk would be a pure waste (frequently several GB of synchronous I/O on large
+   * volumes). If callers need persistence they must invoke {@link #force()} explicitly before
+   * {@code close()}.
    */
   public void close() {
     Arrays.fill(chunks, null);
-    if (backingFile != null) {
+    if (backingFile != null && !persistent) {
       FileUtil.delete(backingFile.toPath());
     }
   }
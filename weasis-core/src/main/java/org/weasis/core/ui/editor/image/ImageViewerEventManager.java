@@ -142,6 +142,18 @@ public void stateChanged(BoundedRangeModel model) {
         }
       }
 
+      @Override
+      protected Object loadCineFrame(int value) {
+        return preloadCineImage(value);
+      }
+
+      @Override
+      protected void releaseCineFrame(Object handle) {
+        if (handle instanceof ImageElement image) {
+          image.unpinFromCache();
+        }
+      }
+
       @Override
       public void mouseWheelMoved(MouseWheelEvent e) {
         setSliderValue(getSliderValue() + e.getWheelRotation());
@@ -149,6 +161,36 @@ public void mouseWheelMoved(MouseWheelEvent e) {
     };
   }
 
+  /**
+   * Decodes, on the calling worker thread, the image of the selected view at the given value of the
+   * cine slider and pins it in the cache until it is displayed. The returned image must be unpinned
+   * with {@link ImageElement#unpinFromCache()}.
+   *
+   * @param value the slider value (the index of the image plus one)
+   * @return the pinned image, or null if no readable image matches the value
+   */
+  protected ImageElement preloadCineImage(int value) {
+    ImageViewerPlugin<E> container = selectedView2dContainer;
+    ViewCanvas<E> view = container == null ? null : container.getSelectedViewCanvas();
+    if (view != null && view.getSeries() instanceof Series<E> series) {
+      E media =
+          series.getMedia(
+              value - 1,
+              (Filter<E>) view.getActionValue(ActionW.FILTERED_SERIES.cmd()),
+              view.getCurrentSortComparator());
+      if (media instanceof ImageElement image && image.isReadable()) {
+        // Pin first so that the frame cannot be evicted between decoding and display
+        image.pinInCache();
+        image.preloadImage();
+        if (image.isImageInCache()) {
+          return image;
+        }
+        image.unpinFromCache();
+      }
+    }
+    return null;
+  }
+
   protected ToggleButtonListener newLoopSweepAction() {
     return new ToggleButtonListener(ActionW.CINE_SWEEP, false) {
 
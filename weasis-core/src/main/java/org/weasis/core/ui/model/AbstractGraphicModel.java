@@ -36,6 +36,7 @@
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import org.weasis.core.Messages;
+import org.weasis.core.api.gui.Image2DViewer;
 import org.weasis.core.api.gui.util.ActionW;
 import org.weasis.core.api.gui.util.GuiUtils;
 import org.weasis.core.api.image.util.MeasurableLayer;
@@ -45,6 +46,7 @@
 import org.weasis.core.ui.editor.image.Canvas;
 import org.weasis.core.ui.editor.image.MeasureToolBar;
 import org.weasis.core.ui.editor.image.ViewCanvas;
+import org.weasis.core.ui.model.GraphicSpatialIndex.GraphicList;
 import org.weasis.core.ui.model.graphic.DragGraphic;
 import org.weasis.core.ui.model.graphic.Graphic;
 import org.weasis.core.ui.model.graphic.GraphicLabel;
@@ -80,6 +82,7 @@ public abstract class AbstractGraphicModel extends DefaultUUID implements Graphi
   private List<ReferencedSeries> referencedSeries;
   private List<GraphicLayer> layers;
   protected List<Graphic> models;
+  private GraphicSpatialIndex spatialIndex;
 
   private final List<GraphicSelectionListener> selectedGraphicsListeners = new ArrayList<>();
   private final List<GraphicModelChangeListener> modelListeners = new ArrayList<>();
@@ -99,7 +102,15 @@ protected AbstractGraphicModel() {
   protected AbstractGraphicModel(List<ReferencedSeries> referencedSeries) {
     setReferencedSeries(referencedSeries);
     this.layers = Collections.synchronizedList(new ArrayList<>());
-    this.models = Collections.synchronizedList(new ArrayList<>());
+    initModels(new GraphicList());
+  }
+
+  private void initModels(GraphicList graphics) {
+    if (spatialIndex != null) {
+      spatialIndex.dispose();
+    }
+    this.spatialIndex = new GraphicSpatialIndex(graphics);
+    this.models = Collections.synchronizedList(graphics);
   }
 
   @XmlElementWrapper(name = "graphics")
@@ -154,7 +165,7 @@ public void setReferencedSeries(List<ReferencedSeries> referencedSeries) {
   @Override
   public void setModels(List<Graphic> models) {
     if (models != null) {
-      this.models = Collections.synchronizedList(models);
+      initModels(new GraphicList(models));
       this.layers = Collections.synchronizedList(getLayerList());
     }
   }
@@ -172,14 +183,21 @@ public void addGraphic(Graphic graphic) {
       if (!layers.contains(layer)) {
         layers.add(layer);
       }
-      models.add(graphic);
+      synchronized (models) {
+        models.add(graphic);
+        spatialIndex.graphicAdded(graphic);
+      }
     }
   }
 
   @Override
   public void removeGraphic(Graphic graphic) {
     if (graphic != null) {
-      models.remove(graphic);
+      synchronized (models) {
+        if (models.remove(graphic)) {
+          spatialIndex.graphicRemoved(graphic);
+        }
+      }
       graphic.removeAllPropertyChangeListener();
 
       GraphicLayer layer = graphic.getLayer();
@@ -349,8 +367,9 @@ public List<Graphic> getSelectedAllGraphicsIntersecting(
     ArrayList<Graphic> selectedGraphicList = new ArrayList<>();
     if (rectangle != null) {
       synchronized (models) {
-        for (int i = models.size() - 1; i >= 0; i--) {
-          Graphic graphic = models.get(i);
+        List<Graphic> candidates = spatialIndex.candidates(rectangle, transform);
+        for (int i = candidates.size() - 1; i >= 0; i--) {
+          Graphic graphic = candidates.get(i);
           GraphicLayer layer = graphic.getLayer();
           if (layer.getVisible() && layer.getSelectable()) {
 
@@ -388,8 +407,9 @@ public List<Graphic> getSelectedAllGraphicsIntersecting(
     ArrayList<Graphic> selectedGraphicList = new ArrayList<>();
     if (rectangle != null) {
       synchronized (models) {
-        for (int i = models.size() - 1; i >= 0; i--) {
-          Graphic graphic = models.get(i);
+        List<Graphic> candidates = spatialIndex.candidates(rectangle, transform);
+        for (int i = candidates.size() - 1; i >= 0; i--) {
+          Graphic graphic = candidates.get(i);
           GraphicLayer layer = graphic.getLayer();
           if (layer.getVisible() && layer.getSelectable()) {
 
@@ -443,9 +463,15 @@ public List<Graphic> getSelectedAllGraphicsIntersecting(
   public Optional<Graphic> getFirstGraphicIntersecting(MouseEventDouble mouseEvent) {
     final Point2D mousePt = mouseEvent.getImageCoordinates();
     Graphic firstSelectedGraph = null;
+    AffineTransform transform =
+        mouseEvent.getSource() instanceof Image2DViewer<?> viewer
+            ? viewer.getAffineTransform()
+            : null;
     synchronized (models) {
-      for (int i = models.size() - 1; i >= 0; i--) {
-        Graphic g = models.get(i);
+      Rectangle2D point = new Rectangle2D.Double(mousePt.getX(), mousePt.getY(), 0, 0);
+      List<Graphic> candidates = spatialIndex.candidates(point, transform);
+      for (int i = candidates.size() - 1; i >= 0; i--) {
+        Graphic g = candidates.get(i);
         GraphicLayer l = g.getLayer();
         if (l.getVisible() && l.getSelectable()) {
           if (g.isOnGraphicLabel(mouseEvent)) {
@@ -615,7 +641,15 @@ public void draw(
     Rectangle2D bound = area == null ? null : area.getBounds2D();
 
     g2d.translate(0.5, 0.5);
-    models.forEach(g -> applyPaint(g, g2d, transform, bound));
+    if (bound == null) {
+      models.forEach(g -> applyPaint(g, g2d, transform, null));
+    } else {
+      List<Graphic> candidates;
+      synchronized (models) {
+        candidates = spatialIndex.candidates(bound, transform);
+      }
+      candidates.forEach(g -> applyPaint(g, g2d, transform, bound));
+    }
     g2d.translate(-0.5, -0.5);
   }
 
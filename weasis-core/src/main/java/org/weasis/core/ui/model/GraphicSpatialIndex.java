@@ -0,0 +1,343 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.core.ui.model;
+
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import org.weasis.core.api.gui.util.GeomUtil;
+import org.weasis.core.ui.model.graphic.Graphic;
+import org.weasis.core.ui.model.utils.bean.AdvancedShape;
+
+/**
+ * Uniform grid over the bounds of the graphics of a model, in image coordinates, so that painting
+ * and hit-testing only look at the graphics near the visible clip or the mouse.
+ *
+ * <p>The index is conservative: it returns every graphic whose bounds, grown by the handle,
+ * selection and stroke tolerances, may reach the query area, and the caller still applies its exact
+ * tests. Graphics whose extent depends on the view (a label or an {@link AdvancedShape} with
+ * scale-invariant parts) are returned for every query.
+ *
+ * <p>Candidates are returned in the order of the model list, i.e. in z-order. Appends and removals
+ * through {@link #graphicAdded} and {@link #graphicRemoved} are applied incrementally; any other
+ * structural change of the list is detected with its modification count and triggers a rebuild at
+ * the next query. A graphic is re-indexed when it fires a {@code bounds} or {@code graphicLabel}
+ * change.
+ */
+final class GraphicSpatialIndex {
+
+  /** Side of a grid cell in image pixels. */
+  static final double CELL_SIZE = 64.0;
+
+  /** Graphics spanning more cells than this are kept out of the grid and tested on every query. */
+  private static final int MAX_CELLS_PER_GRAPHIC = 256;
+
+  /** Image-space slack for the integer rounding of the repaint and selection bounds. */
+  private static final double PIXEL_SLACK = 1.0;
+
+  /** The model list, which exposes its modification count to detect external changes. */
+  static final class GraphicList extends ArrayList<Graphic> {
+    GraphicList() {
+      super();
+    }
+
+    GraphicList(List<Graphic> graphics) {
+      super(graphics);
+    }
+
+    int version() {
+      return modCount;
+    }
+  }
+
+  private static final class Entry {
+    final Graphic graphic;
+    final long order;
+    Rectangle2D bounds;
+    double margin;
+    boolean everywhere;
+    boolean dirty;
+    int stamp;
+
+    Entry(Graphic graphic, long order) {
+      this.graphic = graphic;
+      this.order = order;
+    }
+  }
+
+  private final GraphicList list;
+  private final Map<Graphic, Entry> entries = new IdentityHashMap<>();
+  private final Map<Long, List<Entry>> cells = new HashMap<>();
+  private final List<Entry> everywhere = new ArrayList<>();
+  private final List<Entry> dirty = new ArrayList<>();
+  private final PropertyChangeListener changeListener = this::graphicChanged;
+
+  private boolean valid;
+  private int version;
+  private long nextOrder;
+  private int stamp;
+
+  /** Largest view-space tolerance of the indexed graphics, in screen pixels. */
+  private double maxMargin;
+
+  GraphicSpatialIndex(GraphicList list) {
+    this.list = list;
+  }
+
+  /** Indexes a graphic just appended to the list. */
+  synchronized void graphicAdded(Graphic graphic) {
+    if (valid && list.version() == version + 1 && !entries.containsKey(graphic)) {
+      version = list.version();
+      insert(graphic);
+    } else {
+      valid = false;
+    }
+  }
+
+  /** Drops a graphic just removed from the list. */
+  synchronized void graphicRemoved(Graphic graphic) {
+    Entry entry = entries.get(graphic);
+    if (valid && list.version() == version + 1 && entry != null) {
+      version = list.version();
+      unlink(entry);
+      entries.remove(graphic);
+      graphic.removePropertyChangeListener(changeListener);
+    } else {
+      valid = false;
+    }
+  }
+
+  /** Detaches the index from all the graphics; the next query rebuilds it. */
+  synchronized void dispose() {
+    entries.keySet().forEach(g -> g.removePropertyChangeListener(changeListener));
+    clear();
+    valid = false;
+  }
+
+  /**
+   * Returns the graphics that may be painted in, or hit by, {@code area} in z-order (back to
+   * front). The caller must hold the lock of the synchronized model list.
+   *
+   * @param area the query area in image coordinates, possibly empty (a point)
+   * @param transform the image to view transform, which scales the view-space tolerances
+   */
+  synchronized List<Graphic> candidates(Rectangle2D area, AffineTransform transform) {
+    refresh();
+    double scale = GeomUtil.extractScalingFactor(transform);
+    Rectangle2D query = area.getBounds2D();
+    // The repaint and selection bounds of the graphics are rounded outward to integer pixels
+    GeomUtil.growRectangle(query, PIXEL_SLACK);
+    double grow = maxMargin / scale;
+
+    stamp++;
+    List<Entry> found = new ArrayList<>();
+    for (Entry e : everywhere) {
+      if (e.bounds == null || intersects(e, query, scale)) {
+        found.add(e);
+      }
+    }
+    int minX = cell(query.getMinX() - grow);
+    int minY = cell(query.getMinY() - grow);
+    int maxX = cell(query.getMaxX() + grow);
+    int maxY = cell(query.getMaxY() + grow);
+    if ((maxX - minX + 1L) * (maxY - minY + 1L) > cells.size()) {
+      for (List<Entry> bucket : cells.values()) {
+        collect(bucket, query, scale, found);
+      }
+    } else {
+      for (int cy = minY; cy <= maxY; cy++) {
+        for (int cx = minX; cx <= maxX; cx++) {
+          List<Entry> bucket = cells.get(key(cx, cy));
+          if (bucket != null) {
+            collect(bucket, query, scale, found);
+          }
+        }
+      }
+    }
+    found.sort(Comparator.comparingLong(e -> e.order));
+    List<Graphic> result = new ArrayList<>(found.size());
+    for (Entry e : found) {
+      result.add(e.graphic);
+    }
+    return result;
+  }
+
+  private void collect(List<Entry> bucket, Rectangle2D query, double scale, List<Entry> found) {
+    for (Entry e : bucket) {
+      if (e.stamp != stamp) {
+        e.stamp = stamp;
+        if (intersects(e, query, scale)) {
+          found.add(e);
+        }
+      }
+    }
+  }
+
+  /** Tests the graphic bounds, grown by its own view-space tolerance, against the query area. */
+  private static boolean intersects(Entry e, Rectangle2D query, double scale) {
+    double grow = e.margin / scale;
+    Rectangle2D b = e.bounds;
+    return b.getMinX() - grow <= query.getMaxX()
+        && b.getMaxX() + grow >= query.getMinX()
+        && b.getMinY() - grow <= query.getMaxY()
+        && b.getMaxY() + grow >= query.getMinY();
+  }
+
+  private void refresh() {
+    if (!valid || list.version() != version) {
+      rebuild();
+    } else if (!dirty.isEmpty()) {
+      for (Entry entry : dirty) {
+        entry.dirty = false;
+        if (entries.get(entry.graphic) == entry) {
+          unlink(entry);
+          link(entry);
+        }
+      }
+      dirty.clear();
+    }
+  }
+
+  private void rebuild() {
+    Map<Graphic, Entry> previous = new IdentityHashMap<>(entries);
+    clear();
+    for (Graphic graphic : list) {
+      if (graphic != null && !entries.containsKey(graphic)) {
+        previous.remove(graphic);
+        insert(graphic);
+      }
+    }
+    previous.keySet().forEach(g -> g.removePropertyChangeListener(changeListener));
+    version = list.version();
+    valid = true;
+  }
+
+  private void clear() {
+    entries.clear();
+    cells.clear();
+    everywhere.clear();
+    dirty.clear();
+    maxMargin = 0.0;
+  }
+
+  private void insert(Graphic graphic) {
+    Entry entry = new Entry(graphic, nextOrder++);
+    entries.put(graphic, entry);
+    link(entry);
+    graphic.addPropertyChangeListener(changeListener);
+  }
+
+  private void link(Entry entry) {
+    Graphic graphic = entry.graphic;
+    entry.bounds = boundsOf(graphic);
+    entry.margin = marginOf(graphic);
+    maxMargin = Math.max(maxMargin, entry.margin);
+    Rectangle2D b = entry.bounds;
+    entry.everywhere = b == null || cellCount(b) > MAX_CELLS_PER_GRAPHIC;
+    if (entry.everywhere) {
+      everywhere.add(entry);
+      return;
+    }
+    for (int cy = cell(b.getMinY()); cy <= cell(b.getMaxY()); cy++) {
+      for (int cx = cell(b.getMinX()); cx <= cell(b.getMaxX()); cx++) {
+        cells.computeIfAbsent(key(cx, cy), _ -> new ArrayList<>(4)).add(entry);
+      }
+    }
+  }
+
+  private void unlink(Entry entry) {
+    if (entry.everywhere) {
+      everywhere.remove(entry);
+      return;
+    }
+    Rectangle2D b = entry.bounds;
+    for (int cy = cell(b.getMinY()); cy <= cell(b.getMaxY()); cy++) {
+      for (int cx = cell(b.getMinX()); cx <= cell(b.getMaxX()); cx++) {
+        Long key = key(cx, cy);
+        List<Entry> bucket = cells.get(key);
+        if (bucket != null && bucket.remove(entry) && bucket.isEmpty()) {
+          cells.remove(key);
+        }
+      }
+    }
+  }
+
+  private synchronized void graphicChanged(PropertyChangeEvent evt) {
+    String name = evt.getPropertyName();
+    if ("bounds".equals(name) || "graphicLabel".equals(name)) { // NON-NLS
+      Entry entry = entries.get(evt.getSource());
+      if (entry != null && !entry.dirty) {
+        entry.dirty = true;
+        dirty.add(entry);
+      }
+    }
+  }
+
+  /**
+   * Returns the image-space bounds of the shape and of the handle points, or {@code null} when the
+   * extent of the graphic depends on the view.
+   */
+  private static Rectangle2D boundsOf(Graphic graphic) {
+    Shape shape = graphic.getShape();
+    if (shape == null || shape instanceof AdvancedShape || graphic.getGraphicLabel() != null) {
+      return null;
+    }
+    Rectangle2D bounds = shape.getBounds2D();
+    List<Point2D> pts = graphic.getPts();
+    if (pts != null) {
+      for (Point2D p : pts) {
+        if (p != null) {
+          bounds.add(p);
+        }
+      }
+    }
+    if (!Double.isFinite(bounds.getMinX())
+        || !Double.isFinite(bounds.getMinY())
+        || !Double.isFinite(bounds.getMaxX())
+        || !Double.isFinite(bounds.getMaxY())) {
+      return null;
+    }
+    return bounds;
+  }
+
+  /**
+   * Returns the largest view-space distance, in screen pixels, at which the graphic can still be
+   * painted or hit: handles, selection stroke and line thickness, plus the repaint tolerance.
+   */
+  private static double marginOf(Graphic graphic) {
+    Integer handleSize = graphic.getHandleSize();
+    Float lineThickness = graphic.getLineThickness();
+    double handle = handleSize == null ? Graphic.HANDLE_SIZE : handleSize;
+    double thickness = lineThickness == null ? Graphic.DEFAULT_LINE_THICKNESS : lineThickness;
+    return Math.max(handle * 1.5, Math.max(Graphic.SELECTION_SIZE, thickness)) + 2.0;
+  }
+
+  private static long cellCount(Rectangle2D b) {
+    long columns = cell(b.getMaxX()) - cell(b.getMinX()) + 1L;
+    return columns * (cell(b.getMaxY()) - cell(b.getMinY()) + 1L);
+  }
+
+  private static int cell(double coordinate) {
+    return (int) Math.floor(coordinate / CELL_SIZE);
+  }
+
+  private static Long key(int cx, int cy) {
+    return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+  }
+}
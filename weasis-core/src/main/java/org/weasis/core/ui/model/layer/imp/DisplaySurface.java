@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.core.ui.model.layer.imp;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.util.concurrent.atomic.AtomicLong;
+import org.weasis.core.api.gui.util.GuiUtils;
+import org.weasis.core.api.util.MemoryManager;
+import org.weasis.opencv.data.PlanarImage;
+import org.weasis.opencv.op.ImageConversion;
+
+/**
+ * The display image of a layer converted for Java2D, kept between the repaints.
+ *
+ * <p>The conversion copies the whole image, so it is done only when the display image has changed
+ * (a new instance produced by the display operations), and not for the repaints caused by the
+ * graphics, the crosshair or the tooltips. When the preference {@value #P_VOLATILE_IMAGE} is
+ * enabled, the converted image is also copied to a {@link VolatileImage} that can stay in video
+ * memory on screen devices.
+ *
+ * <p>The volatile images, held outside the Java heap, are reported to the {@link MemoryManager};
+ * the converted images are on the heap, governed by the JVM, and are not. The surface is released
+ * when the display image changes, so there is at most one copy per layer.
+ */
+final class DisplaySurface {
+
+  static final String P_VOLATILE_IMAGE = "weasis.image.volatile"; // NON-NLS
+
+  private static final AtomicLong USED_MEMORY = new AtomicLong();
+
+  static {
+    MemoryManager.getInstance().register(USED_MEMORY::get);
+  }
+
+  private PlanarImage source;
+  private BufferedImage image;
+  private VolatileImage volatileImage;
+  private long memory;
+
+  /**
+   * Returns the image converted for Java2D, converted again only when the display image is not the
+   * same instance as at the previous call.
+   *
+   * @param displayImage the display image of the layer
+   * @return the converted image, or null if the display image is null
+   */
+  synchronized BufferedImage getImage(PlanarImage displayImage) {
+    if (displayImage != source || image == null) {
+      invalidate();
+      if (displayImage != null) {
+        image = ImageConversion.toBufferedImage(displayImage);
+        source = displayImage;
+      }
+    }
+    return image;
+  }
+
+  /**
+   * Draws the display image at the origin of the graphics.
+   *
+   * @param g2d the graphics
+   * @param displayImage the display image of the layer
+   */
+  synchronized void draw(Graphics2D g2d, PlanarImage displayImage) {
+    BufferedImage img = getImage(displayImage);
+    if (img == null) {
+      return;
+    }
+    GraphicsConfiguration gc = g2d.getDeviceConfiguration();
+    if (isVolatileEnabled() && gc.getDevice().getType() == GraphicsDevice.TYPE_RASTER_SCREEN) {
+      // The content of a volatile image can be lost at any time, try again once
+      for (int i = 0; i < 2; i++) {
+        VolatileImage vi = getVolatileImage(gc, img);
+        g2d.drawImage(vi, 0, 0, null);
+        if (!vi.contentsLost()) {
+          return;
+        }
+      }
+    }
+    g2d.drawImage(img, 0, 0, null);
+  }
+
+  private VolatileImage getVolatileImage(GraphicsConfiguration gc, BufferedImage img) {
+    int status =
+        volatileImage == null ? VolatileImage.IMAGE_INCOMPATIBLE : volatileImage.validate(gc);
+    if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+      flushVolatileImage();
+      volatileImage =
+          gc.createCompatibleVolatileImage(img.getWidth(), img.getHeight(), img.getTransparency());
+      addMemory(4L * img.getWidth() * img.getHeight());
+      volatileImage.validate(gc);
+    }
+    if (status != VolatileImage.IMAGE_OK) {
+      Graphics2D g = volatileImage.createGraphics();
+      try {
+        g.drawImage(img, 0, 0, null);
+      } finally {
+        g.dispose();
+      }
+    }
+    return volatileImage;
+  }
+
+  /** Releases the converted images; they are built again at the next drawing. */
+  synchronized void invalidate() {
+    source = null;
+    image = null;
+    if (volatileImage != null) {
+      volatileImage.flush();
+      volatileImage = null;
+    }
+    addMemory(-memory);
+  }
+
+  private void flushVolatileImage() {
+    if (volatileImage != null) {
+      VolatileImage vi = volatileImage;
+      volatileImage = null;
+      vi.flush();
+      addMemory(-4L * vi.getWidth() * vi.getHeight());
+    }
+  }
+
+  private void addMemory(long bytes) {
+    memory += bytes;
+    USED_MEMORY.addAndGet(bytes);
+  }
+
+  private static boolean isVolatileEnabled() {
+    return GuiUtils.getUICore().getSystemPreferences().getBooleanProperty(P_VOLATILE_IMAGE, false);
+  }
+}
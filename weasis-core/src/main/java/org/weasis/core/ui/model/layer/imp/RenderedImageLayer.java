@@ -42,7 +42,6 @@
 import org.weasis.core.ui.model.utils.ImageLayerChangeListener;
 import org.weasis.core.ui.model.utils.imp.DefaultUUID;
 import org.weasis.opencv.data.PlanarImage;
-import org.weasis.opencv.op.ImageConversion;
 import org.weasis.opencv.op.lut.WlPresentation;
 
 /**
@@ -58,6 +57,7 @@
   private final SimpleOpManager disOpManager;
   private final List<ImageLayerChangeListener<E>> listenerList;
   private final List<OpEventListener> opListeners;
+  private final DisplaySurface surface;
 
   private OpManager preprocessing;
   private E sourceImage;
@@ -76,6 +76,7 @@ public RenderedImageLayer(SimpleOpManager disOpManager) {
     this.listenerList = new ArrayList<>();
     this.opListeners = new ArrayList<>();
     this.displayImage = Optional.empty();
+    this.surface = new DisplaySurface();
     addEventListener(this.disOpManager);
   }
 
@@ -239,7 +240,8 @@ public void drawImage(Graphics2D g2d) {
         g2d.setRenderingHint(
             RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
       }
-      g2d.drawImage(ImageConversion.toBufferedImage(currentImage), 0, 0, null);
+      // The converted image is kept until the display operations produce a new image
+      surface.draw(g2d, currentImage);
     } catch (Exception e) {
       LOGGER.error("Cannot draw the image", e);
       if ("java.io.IOException: closed".equals(e.getMessage())) { // NON-NLS
@@ -400,7 +402,7 @@ public void drawImageForPrinter(Graphics2D g2d, double viewScale, Canvas canvas)
           RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
     }
     g2d.drawImage(
-        ImageConversion.toBufferedImage(displayImage.orElse(null)),
+        surface.getImage(displayImage.orElse(null)),
         AffineTransform.getScaleInstance(rx, ry),
         null);
 
@@ -410,6 +412,7 @@ public void drawImageForPrinter(Graphics2D g2d, double viewScale, Canvas canvas)
   public void dispose() {
     sourceImage = null;
     displayImage = Optional.empty();
+    surface.invalidate();
     listenerList.clear();
     opListeners.clear();
   }
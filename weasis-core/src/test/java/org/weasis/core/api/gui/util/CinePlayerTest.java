@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.core.api.gui.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.swing.SwingUtilities;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link CinePlayer}: the frame sequence (loop and sweep modes) and the balance between the
+ * loaded and released frame handles.
+ */
+class CinePlayerTest {
+
+  @Test
+  void nextFrame_loopsBackToFirstFrame() {
+    assertArrayEquals(new int[] {4, 0}, CinePlayer.nextFrame(3, false, 1, 4, false));
+    assertArrayEquals(new int[] {1, 0}, CinePlayer.nextFrame(4, false, 1, 4, false));
+    // A stale backward direction is ignored when sweeping is disabled
+    assertArrayEquals(new int[] {3, 0}, CinePlayer.nextFrame(2, true, 1, 4, false));
+  }
+
+  @Test
+  void nextFrame_sweepsBetweenBounds() {
+    assertArrayEquals(new int[] {3, 1}, CinePlayer.nextFrame(4, false, 1, 4, true));
+    assertArrayEquals(new int[] {1, 1}, CinePlayer.nextFrame(2, true, 1, 4, true));
+    assertArrayEquals(new int[] {2, 0}, CinePlayer.nextFrame(1, true, 1, 4, true));
+  }
+
+  @Test
+  void nextFrame_singleFrameStaysOnIt() {
+    assertArrayEquals(new int[] {1, 0}, CinePlayer.nextFrame(1, false, 1, 1, false));
+    assertArrayEquals(new int[] {1, 0}, CinePlayer.nextFrame(1, false, 1, 1, true));
+  }
+
+  @Test
+  void playback_displaysFramesInOrderAndReleasesEveryHandle() throws Exception {
+    List<Integer> displayed = new ArrayList<>();
+    List<Object> loaded = new ArrayList<>();
+    List<Object> released = new ArrayList<>();
+    CountDownLatch latch = new CountDownLatch(5);
+    CinePlayer.FrameLoader loader =
+        new CinePlayer.FrameLoader() {
+          @Override
+          public Object load(int frame) {
+            synchronized (loaded) {
+              Object handle = new Object();
+              loaded.add(handle);
+              return handle;
+            }
+          }
+
+          @Override
+          public void release(Object handle) {
+            synchronized (released) {
+              released.add(handle);
+            }
+          }
+        };
+    CinePlayer.FrameRange range =
+        new CinePlayer.FrameRange() {
+          @Override
+          public int getMin() {
+            return 1;
+          }
+
+          @Override
+          public int getMax() {
+            return 10;
+          }
+
+          @Override
+          public boolean isSweeping() {
+            return false;
+          }
+        };
+    CinePlayer player =
+        new CinePlayer(
+            Runnable::run,
+            loader,
+            frame -> {
+              displayed.add(frame);
+              latch.countDown();
+            },
+            range,
+            4);
+
+    player.start(1, 200.0);
+    assertTrue(player.isRunning());
+    assertTrue(latch.await(5, TimeUnit.SECONDS));
+    player.stop();
+    assertFalse(player.isRunning());
+    assertEquals(0.0, player.getAchievedFrameRate());
+
+    // Let the pacing thread exit and the EDT consume the last posted frame
+    Thread.sleep(200);
+    SwingUtilities.invokeAndWait(() -> {});
+
+    // Playback starts after the current frame and moves forward
+    assertEquals(2, displayed.getFirst());
+    for (int i = 1; i < 5; i++) {
+      assertTrue(displayed.get(i) > displayed.get(i - 1));
+    }
+    synchronized (loaded) {
+      synchronized (released) {
+        assertEquals(loaded.size(), released.size());
+      }
+    }
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.core.api.image;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.weasis.core.api.image.ImageOpNode.Param;
+import org.weasis.opencv.data.PlanarImage;
+
+/**
+ * Tests the incremental processing of {@link SimpleOpManager}: only the nodes from the earliest
+ * one whose input or parameters have changed must be executed again.
+ */
+class SimpleOpManagerTest {
+
+  /** Produces a new output instance at each execution and counts them. */
+  static class CountingOp extends AbstractOp {
+    int executions;
+
+    CountingOp(String name) {
+      setName(name);
+    }
+
+    CountingOp(CountingOp op) {
+      super(op);
+    }
+
+    @Override
+    public void process() {
+      getSourceImage();
+      executions++;
+      params.put(Param.OUTPUT_IMG, newImage());
+    }
+
+    @Override
+    public CountingOp copy() {
+      return new CountingOp(this);
+    }
+  }
+
+  private SimpleOpManager manager;
+  private CountingOp crop;
+  private CountingOp rotation;
+  private CountingOp window;
+
+  private static PlanarImage newImage() {
+    PlanarImage img = mock(PlanarImage.class);
+    when(img.width()).thenReturn(16);
+    return img;
+  }
+
+  private List<Integer> executions() {
+    return List.of(crop.executions, rotation.executions, window.executions);
+  }
+
+  @BeforeEach
+  void setUp() {
+    manager = new SimpleOpManager();
+    crop = new CountingOp("crop");
+    rotation = new CountingOp("rotation");
+    window = new CountingOp("window");
+    manager.addImageOperationAction(crop);
+    manager.addImageOperationAction(rotation);
+    manager.addImageOperationAction(window);
+    manager.setFirstNode(newImage());
+    manager.process();
+  }
+
+  @Test
+  void reusesTheOutputWhenNothingHasChanged() {
+    PlanarImage result = manager.getLastNodeOutputImage().orElseThrow();
+
+    assertSame(result, manager.process().orElseThrow());
+    assertEquals(List.of(1, 1, 1), executions());
+    assertEquals(0L, manager.getLastProcessingTimes().get("window"));
+  }
+
+  @Test
+  void restartsFromTheEarliestModifiedNode() {
+    PlanarImage result = manager.getLastNodeOutputImage().orElseThrow();
+
+    manager.setParamValue("window", "level", 40);
+    assertNotSame(result, manager.process().orElseThrow());
+    assertEquals(List.of(1, 1, 2), executions());
+
+    manager.setParamValue("rotation", "angle", 90);
+    manager.process();
+    assertEquals(List.of(1, 2, 3), executions());
+
+    rotation.setEnabled(false);
+    manager.process();
+    assertEquals(List.of(1, 2, 4), executions());
+  }
+
+  @Test
+  void processesEverythingForANewSourceOrAClearedCache() {
+    manager.setFirstNode(newImage());
+    manager.process();
+    assertEquals(List.of(2, 2, 2), executions());
+
+    manager.clearNodeIOCache();
+    manager.setFirstNode(newImage());
+    manager.process();
+    assertEquals(List.of(3, 3, 3), executions());
+  }
+
+  @Test
+  void reportsTheTimeOfEachNode() {
+    manager.setParamValue("crop", "area", 1);
+    manager.process();
+
+    Map<String, Long> times = manager.getLastProcessingTimes();
+    assertEquals(List.of("crop", "rotation", "window"), List.copyOf(times.keySet()));
+    assertTrue(times.values().stream().allMatch(t -> t > 0));
+  }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.core.api.media.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.weasis.core.api.media.data.TagW.TagType;
+
+/**
+ * Tests the media lookups of {@link Series} kept up to date while medias are added: the sorted
+ * view of a comparator, merged with the medias added since the previous reading, must always be
+ * equal to a full stable sort of the series, and the tag index must find every added media.
+ */
+class SeriesTest {
+
+  private static final TagW SERIES_ID = new TagW(98_100, "SeriesId", TagType.STRING);
+
+  private static final TagW SOP_UID = new TagW(98_101, "SopUid", TagType.STRING);
+
+  private static final TagW POSITION = new TagW(98_102, "Position", TagType.DOUBLE);
+
+  private static final Comparator<MediaElement> BY_KEY =
+      Comparator.comparing(m -> (Integer) m.getKey());
+
+  /** Like the slice position order: medias without position are equal to every other media. */
+  private static final Comparator<MediaElement> BY_POSITION =
+      (m1, m2) -> {
+        Double p1 = (Double) m1.getTagValue(POSITION);
+        Double p2 = (Double) m2.getTagValue(POSITION);
+        if (p1 == null || p2 == null) {
+          return 0;
+        }
+        return Double.compare(p1, p2);
+      };
+
+  private static Series<MediaElement> series() {
+    return new Series<>(SERIES_ID, "series-1", null) {
+      @Override
+      public void addMedia(MediaElement media) {
+        add(media);
+      }
+
+      @Override
+      public MediaElement getFirstSpecialElement() {
+        return null;
+      }
+
+      @Override
+      public String getMimeType() {
+        return null;
+      }
+    };
+  }
+
+  @SuppressWarnings("unchecked")
+  private static MediaElement media(int key) {
+    MediaElement media = new MediaElement(Mockito.mock(MediaReader.class), key);
+    media.setTag(SOP_UID, "1.2." + key);
+    return media;
+  }
+
+  private static List<MediaElement> fullSort(Series<MediaElement> series) {
+    List<MediaElement> expected = new ArrayList<>(series.getSortedMedias(null));
+    expected.sort(BY_KEY);
+    return expected;
+  }
+
+  private static List<Object> keys(List<MediaElement> list) {
+    return list.stream().map(MediaElement::getKey).toList();
+  }
+
+  @Test
+  void sortedViewFollowsTheAddedMedias() {
+    Series<MediaElement> series = series();
+    Random random = new Random(42);
+    for (int i = 0; i < 500; i++) {
+      // Many duplicate keys, and medias inserted at the start as well as at the end
+      MediaElement media = media(random.nextInt(200));
+      if (i % 3 == 0) {
+        series.add(0, media);
+      } else {
+        series.add(media);
+      }
+      if (i % 7 == 0) {
+        series.addAll(List.of(media(random.nextInt(200)), media(random.nextInt(200))));
+      }
+      List<MediaElement> sorted = series.getSortedMedias(BY_KEY);
+      assertEquals(series.size(null), sorted.size());
+      for (int k = 1; k < sorted.size(); k++) {
+        assertTrue(BY_KEY.compare(sorted.get(k - 1), sorted.get(k)) <= 0);
+      }
+      assertEquals(keys(fullSort(series)), keys(sorted));
+    }
+  }
+
+  @Test
+  void sortedViewKeepsTheOrderOfTheSeriesForEqualMedias() {
+    // Instance numbers 0..29: 3 instances per position (4D), and every 7th without position. A
+    // comparator that is not transitive can make TimSort fail from 32 elements, so stay below.
+    List<MediaElement> arrivals = new ArrayList<>();
+    for (int i = 0; i < 30; i++) {
+      MediaElement media = media(i);
+      if (i % 7 != 6) {
+        media.setTag(POSITION, (double) (i % 10));
+      }
+      arrivals.add(media);
+    }
+    Collections.shuffle(arrivals, new Random(7));
+
+    Series<MediaElement> series = series();
+    for (MediaElement media : arrivals) {
+      // The series is kept in instance number order, as DicomSeries does
+      List<MediaElement> medias = series.getSortedMedias(null);
+      int index = 0;
+      while (index < medias.size() && BY_KEY.compare(medias.get(index), media) < 0) {
+        index++;
+      }
+      series.add(index, media);
+
+      List<MediaElement> sorted = series.getSortedMedias(BY_POSITION);
+      List<MediaElement> expected = medias.stream().sorted(BY_POSITION).toList();
+      assertEquals(expected.size(), sorted.size());
+      for (int k = 0; k < expected.size(); k++) {
+        assertSame(expected.get(k), sorted.get(k));
+      }
+    }
+  }
+
+  @Test
+  void sortedViewIsReusedUntilSomethingChanges() {
+    Series<MediaElement> series = series();
+    series.add(media(3));
+    series.add(media(1));
+    List<MediaElement> first = series.getSortedMedias(BY_KEY);
+    assertSame(first, series.getSortedMedias(BY_KEY));
+
+    series.add(media(2));
+    List<MediaElement> second = series.getSortedMedias(BY_KEY);
+    // The previous list is left untouched for the readers still iterating over it
+    assertNotSame(first, second);
+    assertEquals(2, first.size());
+    assertEquals(List.of(1, 2, 3), keys(second));
+
+    series.removeAllMedias();
+    assertTrue(series.getSortedMedias(BY_KEY).isEmpty());
+  }
+
+  @Test
+  void hasMediaContainsFindsTheMediasAddedAfterTheFirstLookup() {
+    Series<MediaElement> series = series();
+    series.add(media(1));
+    assertTrue(series.hasMediaContains(SOP_UID, "1.2.1"));
+    assertFalse(series.hasMediaContains(SOP_UID, "1.2.2"));
+
+    series.add(0, media(2));
+    series.addAll(List.of(media(3)));
+    assertTrue(series.hasMediaContains(SOP_UID, "1.2.2"));
+    assertTrue(series.hasMediaContains(SOP_UID, "1.2.3"));
+    assertFalse(series.hasMediaContains(SOP_UID, null));
+
+    series.removeAllMedias();
+    assertFalse(series.hasMediaContains(SOP_UID, "1.2.1"));
+  }
+}
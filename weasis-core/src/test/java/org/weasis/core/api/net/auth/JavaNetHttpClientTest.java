@@ -26,6 +26,7 @@
 import com.sun.net.httpserver.HttpServer;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.InetSocketAddress;
 import java.net.ProxySelector;
 import java.net.http.HttpResponse;
@@ -412,6 +413,39 @@ void multipartWithPreambleEpilogueAndNestedAndFilePart(@TempDir Path tmp) throws
     }
   }
 
+  @Test
+  void multipartStreamsPartsOfUnknownLength(@TempDir Path tmp) throws Exception {
+    Path file = tmp.resolve("large.bin");
+    String content = "0123456789".repeat(50_000);
+    Files.writeString(file, content);
+    var unknownLength =
+        new BodySupplier<InputStream>() {
+          @Override
+          public InputStream get() throws IOException {
+            return Files.newInputStream(file);
+          }
+
+          @Override
+          public long length() {
+            return -1;
+          }
+        };
+
+    var multipart = new MultipartPayload();
+    multipart.addBodyPart(new FileBodyPartPayload(BodySupplier.ofPath(file), "known.bin"));
+    multipart.addBodyPart(new FileBodyPartPayload(unknownLength, "unknown.bin"));
+
+    try (var client = newClient()) {
+      Response r = client.execute(null, Map.of(), Verb.POST, baseUrl + "/echo", multipart);
+      assertEquals(200, r.getCode());
+      String body = LAST_BODY.get();
+      int first = body.indexOf(content);
+      assertTrue(first > 0);
+      assertTrue(body.indexOf(content, first + content.length()) > first);
+      assertTrue(body.endsWith("--" + multipart.getBoundary() + "--"), body.substring(0, 80));
+    }
+  }
+
   @Test
   void multipartWithoutBodyPartsStillSucceeds() throws Exception {
     var multipart = new MultipartPayload();
@@ -11,7 +11,6 @@
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.junit.jupiter.api.Assumptions.assumeTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -21,16 +20,11 @@
 import static org.weasis.core.ui.model.utils.ImageStatistics.IMAGE_PIXELS;
 import static org.weasis.core.ui.model.utils.ImageStatistics.IMAGE_STD;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Stream;
-import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.opencv.core.CvType;
 import org.opencv.core.Mat;
 import org.opencv.core.Rect;
@@ -39,6 +33,7 @@
 import org.weasis.core.ui.editor.image.HistogramData.Model;
 import org.weasis.core.ui.model.utils.bean.MeasureItem;
 import org.weasis.core.ui.model.utils.bean.Measurement;
+import org.weasis.core.ui.test.utils.OpenCVExtension;
 
 /**
  * Native-backed tests for {@link HistogramData#computeHistogram}. They guard the OpenCV 5
@@ -50,50 +45,9 @@
  * <p>These require the OpenCV native library; when it cannot be located (unsupported arch, module
  * not yet built) the whole class is skipped rather than failed.
  */
+@ExtendWith(OpenCVExtension.class)
 class HistogramDataTest {
 
-  private static boolean nativeLoaded;
-
-  @BeforeAll
-  static void loadOpenCV() {
-    nativeLoaded = tryLoadOpenCV();
-    assumeTrue(nativeLoaded, "OpenCV native library unavailable — skipping native histogram tests");
-  }
-
-  /**
-   * Loads {@code opencv_java} from a sibling {@code weasis-opencv-core-*} module's build output.
-   */
-  private static boolean tryLoadOpenCV() {
-    String os = System.getProperty("os.name", "").toLowerCase();
-    String libFile =
-        os.contains("win")
-            ? "opencv_java.dll"
-            : os.contains("mac") ? "libopencv_java.dylib" : "libopencv_java.so";
-    Path opencvModules =
-        Paths.get(System.getProperty("user.dir")).getParent().resolve("weasis-opencv");
-    if (!Files.isDirectory(opencvModules)) {
-      return false;
-    }
-    try (Stream<Path> dirs = Files.list(opencvModules)) {
-      List<Path> candidates =
-          dirs.filter(Files::isDirectory)
-              .map(d -> d.resolve("target").resolve("classes").resolve(libFile))
-              .filter(Files::isRegularFile)
-              .toList();
-      for (Path lib : candidates) {
-        try {
-          System.load(lib.toAbsolutePath().toString());
-          return true; // the arch-matching library loads; the rest throw and are skipped
-        } catch (Throwable ignore) {
-          // wrong architecture or incompatible binary — try the next candidate
-        }
-      }
-    } catch (IOException e) {
-      return false;
-    }
-    return false;
-  }
-
   private static Mat grayImage(int side, java.util.function.IntUnaryOperator valueForIndex) {
     Mat src = new Mat(side, side, CvType.CV_16SC1);
     short[] data = new short[side * side];
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.core.ui.model;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Area;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.weasis.core.ui.model.GraphicSpatialIndex.GraphicList;
+import org.weasis.core.ui.model.graphic.Graphic;
+import org.weasis.core.ui.model.graphic.imp.seg.SegGraphic;
+import org.weasis.core.ui.model.imp.XmlGraphicModel;
+
+/**
+ * Tests {@link GraphicSpatialIndex}: the candidates of a query must include every graphic that can
+ * be painted or hit in the area, keep the z-order of the model list, and follow moves, additions
+ * and removals of the graphics.
+ */
+class GraphicSpatialIndexTest {
+
+  private static SegGraphic square(double x, double y, double size) {
+    Path2D path = new Path2D.Double();
+    path.append(new Rectangle2D.Double(x, y, size, size), false);
+    return new SegGraphic(path);
+  }
+
+  /** Square whose selection area is its interior, as SegGraphic is not selectable by itself. */
+  private static SegGraphic selectableSquare(double x, double y, double size) {
+    Rectangle2D rect = new Rectangle2D.Double(x, y, size, size);
+    return new SegGraphic(rect) {
+      @Override
+      public Area getArea(AffineTransform transform) {
+        return new Area(getShape());
+      }
+    };
+  }
+
+  private static GraphicSpatialIndex indexOf(GraphicList list, Graphic... graphics) {
+    GraphicSpatialIndex index = new GraphicSpatialIndex(list);
+    for (Graphic g : graphics) {
+      list.add(g);
+      index.graphicAdded(g);
+    }
+    return index;
+  }
+
+  private static Rectangle2D point(double x, double y) {
+    return new Rectangle2D.Double(x, y, 0, 0);
+  }
+
+  @Test
+  void onlyGraphicsNearTheQueryAreReturnedInModelOrder() {
+    SegGraphic back = square(10, 10, 20);
+    SegGraphic far = square(1000, 1000, 20);
+    SegGraphic front = square(15, 15, 20);
+    GraphicSpatialIndex index = indexOf(new GraphicList(), back, far, front);
+
+    assertAll(
+        () -> assertEquals(List.of(back, front), index.candidates(point(20, 20), null)),
+        () -> assertEquals(List.of(far), index.candidates(point(1010, 1010), null)),
+        () -> assertTrue(index.candidates(point(500, 500), null).isEmpty()),
+        () ->
+            assertEquals(
+                List.of(back, far, front),
+                index.candidates(new Rectangle2D.Double(0, 0, 2000, 2000), null)));
+  }
+
+  @Test
+  void toleranceShrinksWithTheZoom() {
+    SegGraphic graphic = square(100, 100, 20);
+    GraphicSpatialIndex index = indexOf(new GraphicList(), graphic);
+    AffineTransform zoom = AffineTransform.getScaleInstance(8, 8);
+    // 10 image pixels away from the edge: within the tolerance at scale 1, not at scale 8
+    assertAll(
+        () -> assertEquals(List.of(graphic), index.candidates(point(90, 110), null)),
+        () -> assertTrue(index.candidates(point(90, 110), zoom).isEmpty()));
+  }
+
+  @Test
+  void movedGraphicIsFoundAtItsNewPosition() {
+    SegGraphic graphic = square(10, 10, 20);
+    GraphicSpatialIndex index = indexOf(new GraphicList(), graphic);
+    assertEquals(List.of(graphic), index.candidates(point(20, 20), null));
+
+    graphic.setShape(new Rectangle2D.Double(600, 600, 20, 20), null);
+
+    assertAll(
+        () -> assertTrue(index.candidates(point(20, 20), null).isEmpty()),
+        () -> assertEquals(List.of(graphic), index.candidates(point(610, 610), null)));
+  }
+
+  @Test
+  void directListChangesAreDetected() {
+    SegGraphic first = square(10, 10, 20);
+    SegGraphic second = square(12, 12, 20);
+    GraphicList list = new GraphicList();
+    GraphicSpatialIndex index = indexOf(list, first, second);
+
+    list.remove(first);
+    assertEquals(List.of(second), index.candidates(point(20, 20), null));
+
+    list.addFirst(first);
+    assertEquals(List.of(first, second), index.candidates(point(20, 20), null));
+  }
+
+  @Test
+  void modelSelectionKeepsTheFrontToBackOrder() {
+    XmlGraphicModel model = new XmlGraphicModel();
+    SegGraphic back = selectableSquare(10, 10, 20);
+    SegGraphic far = selectableSquare(1000, 1000, 20);
+    SegGraphic front = selectableSquare(15, 15, 20);
+    model.addGraphic(back);
+    model.addGraphic(far);
+    model.addGraphic(front);
+
+    Rectangle selection = new Rectangle(0, 0, 50, 50);
+    assertEquals(List.of(front, back), model.getSelectedAllGraphicsIntersecting(selection, null));
+
+    model.removeGraphic(front);
+    model.getModels().removeIf(g -> g == far);
+    assertEquals(List.of(back), model.getSelectedAllGraphicsIntersecting(selection, null));
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.core.ui.model.layer.imp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+
+import java.awt.image.BufferedImage;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.weasis.core.api.util.MemoryManager;
+import org.weasis.opencv.data.PlanarImage;
+import org.weasis.opencv.op.ImageConversion;
+
+/**
+ * Tests {@link DisplaySurface}: the display image must be converted only once per instance, again
+ * after an invalidation. The converted image is on the Java heap, so it is not reported as native
+ * memory.
+ */
+class DisplaySurfaceTest {
+
+  @Test
+  void convertsOnlyANewDisplayImage() {
+    PlanarImage first = mock(PlanarImage.class);
+    PlanarImage second = mock(PlanarImage.class);
+    try (MockedStatic<ImageConversion> conversion = Mockito.mockStatic(ImageConversion.class)) {
+      conversion
+          .when(() -> ImageConversion.toBufferedImage(any(PlanarImage.class)))
+          .then(_ -> new BufferedImage(64, 32, BufferedImage.TYPE_BYTE_GRAY));
+      DisplaySurface surface = new DisplaySurface();
+      long used = MemoryManager.getInstance().getUsedNativeMemory();
+
+      BufferedImage image = surface.getImage(first);
+      assertSame(image, surface.getImage(first));
+      conversion.verify(() -> ImageConversion.toBufferedImage(first), times(1));
+      assertEquals(used, MemoryManager.getInstance().getUsedNativeMemory());
+
+      assertNotSame(image, surface.getImage(second));
+      assertEquals(used, MemoryManager.getInstance().getUsedNativeMemory());
+
+      surface.invalidate();
+      assertEquals(used, MemoryManager.getInstance().getUsedNativeMemory());
+      surface.getImage(second);
+      conversion.verify(() -> ImageConversion.toBufferedImage(second), times(2));
+
+      assertNull(surface.getImage(null));
+      assertEquals(used, MemoryManager.getInstance().getUsedNativeMemory());
+    }
+  }
+}
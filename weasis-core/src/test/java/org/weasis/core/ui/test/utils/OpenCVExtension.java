@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.core.ui.test.utils;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Loads the OpenCV native library before the tests of a class annotated with {@code
+ * ExtendWith(OpenCVExtension.class)}. When the library cannot be located (unsupported arch, module
+ * not yet built) the whole class is skipped rather than failed.
+ */
+public class OpenCVExtension implements BeforeAllCallback {
+
+  private static Boolean loaded;
+
+  @Override
+  public void beforeAll(ExtensionContext context) {
+    assumeTrue(isLoaded(), "OpenCV native library unavailable");
+  }
+
+  /** Returns true if the OpenCV native library is loaded, trying to load it the first time. */
+  public static synchronized boolean isLoaded() {
+    if (loaded == null) {
+      loaded = tryLoadOpenCV();
+    }
+    return loaded;
+  }
+
+  /**
+   * Loads {@code opencv_java} from the build output of a {@code weasis-opencv} module, searched
+   * from the working directory up to the root of the project.
+   */
+  private static boolean tryLoadOpenCV() {
+    String os = System.getProperty("os.name", "").toLowerCase();
+    String libFile =
+        os.contains("win")
+            ? "opencv_java.dll"
+            : os.contains("mac") ? "libopencv_java.dylib" : "libopencv_java.so";
+    for (Path dir = Path.of(System.getProperty("user.dir")).toAbsolutePath();
+        dir != null;
+        dir = dir.getParent()) {
+      Path opencvModules = dir.resolve("weasis-opencv");
+      if (!Files.isDirectory(opencvModules)) {
+        continue;
+      }
+      try (Stream<Path> dirs = Files.list(opencvModules)) {
+        List<Path> candidates =
+            dirs.filter(Files::isDirectory)
+                .map(d -> d.resolve("target").resolve("classes").resolve(libFile))
+                .filter(Files::isRegularFile)
+                .toList();
+        for (Path lib : candidates) {
+          try {
+            System.load(lib.toString());
+            return true; // the arch-matching library loads; the rest throw and are skipped
+          } catch (Throwable ignore) {
+            // wrong architecture or incompatible binary — try the next candidate
+          }
+        }
+      } catch (IOException e) {
+        return false;
+      }
+      return false;
+    }
+    return false;
+  }
+}
@@ -0,0 +1,340 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.codec;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.BulkData;
+import org.dcm4che3.data.Fragments;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.img.DicomMetaData;
+import org.dcm4che3.img.stream.BytesWithImageDescriptor;
+import org.dcm4che3.img.stream.ImageDescriptor;
+import org.dcm4che3.img.util.DicomUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Location of every frame of the pixel data in a DICOM file, built once from the header.
+ *
+ * <p>The index maps each frame to its byte segments in the file (one segment for native pixel data,
+ * the fragments of the frame for encapsulated pixel data). A frame is then read with positional
+ * reads that do not depend on the file size or on the position of the previous frame. The index is
+ * used as the input of the image reader, so the decoding itself is unchanged.
+ *
+ * <p>The frames are read from a channel of {@link #CHANNELS}, shared by the indexes: a channel
+ * stays open between the frames of a file, and the least recently read files are closed beyond a
+ * few of them, so a large study does not keep one descriptor per instance. {@link #close()}
+ * releases the file (on Windows, an open file cannot be moved or deleted). Large native frames are
+ * mapped rather than copied in the heap.
+ *
+ * <p>Only multi-frame or encapsulated files, with unambiguous frame boundaries, are indexed (see
+ * {@link #build(Path, DicomMetaData)}); the other files are read from the stream as before.
+ */
+final class DicomFrameIndex implements BytesWithImageDescriptor {
+  private static final Logger LOGGER = LoggerFactory.getLogger(DicomFrameIndex.class);
+
+  /** Size of the header (tag and length) of an item of encapsulated pixel data. */
+  static final int ITEM_HEADER_LENGTH = 8;
+
+  /** The open channels of the indexed files. */
+  static final FileChannelPool CHANNELS = new FileChannelPool(16);
+
+  /**
+   * Minimum size of a native frame read with a memory mapping. Below it, a copy is faster than the
+   * setup of the mapping.
+   */
+  static final int MAP_THRESHOLD = 1024 * 1024;
+
+  private final Path file;
+  private final ImageDescriptor descriptor;
+  private final String transferSyntax;
+  private final VR pixelDataVR;
+  private final boolean bigEndian;
+  private final boolean nativeData;
+  private final long[][] positions;
+  private final int[][] lengths;
+
+  private DicomFrameIndex(
+      Path file,
+      DicomMetaData metaData,
+      VR pixelDataVR,
+      boolean bigEndian,
+      boolean nativeData,
+      long[][] positions,
+      int[][] lengths) {
+    this.file = file;
+    this.descriptor = metaData.getImageDescriptor();
+    this.transferSyntax = metaData.getTransferSyntaxUID();
+    this.pixelDataVR = pixelDataVR;
+    this.bigEndian = bigEndian;
+    this.nativeData = nativeData;
+    this.positions = positions;
+    this.lengths = lengths;
+  }
+
+  /**
+   * Builds the index of a DICOM file.
+   *
+   * @param file the DICOM file
+   * @param metaData the header of the file, read with the pixel data as bulk data references
+   * @return the index, or null for a single-frame native file, which gains nothing from it, and
+   *     when the frame boundaries cannot be determined from the header (bit-packed or sub-sampled
+   *     native data, several fragments per frame without offset table, palette color or float
+   *     pixel data)
+   */
+  static DicomFrameIndex build(Path file, DicomMetaData metaData) {
+    if (file == null || metaData == null) {
+      return null;
+    }
+    Attributes dcm = metaData.getDicomObject();
+    String pmi = dcm.getString(Tag.PhotometricInterpretation);
+    if (pmi == null || pmi.startsWith("PALETTE")) { // NON-NLS
+      return null;
+    }
+    int frames = Math.max(1, dcm.getInt(Tag.NumberOfFrames, 1));
+    VR.Holder holder = new VR.Holder();
+    Object pixelData = dcm.getValue(Tag.PixelData, holder);
+    try {
+      if (pixelData instanceof BulkData bulkData
+          && frames > 1
+          && DicomUtils.isNative(metaData.getTransferSyntaxUID())) {
+        long frameLength = getNativeFrameLength(dcm);
+        if (frameLength <= 0 || frameLength > Integer.MAX_VALUE) {
+          return null;
+        }
+        long total = bulkData.length() & 0xFFFFFFFFL;
+        // Accept only an exact match (with the padding byte), sub-sampled data has another size
+        if (total != frameLength * frames && total != frameLength * frames + 1) {
+          return null;
+        }
+        long[][] pos = new long[frames][];
+        int[][] len = new int[frames][];
+        for (int i = 0; i < frames; i++) {
+          pos[i] = new long[] {bulkData.offset() + i * frameLength};
+          len[i] = new int[] {(int) frameLength};
+        }
+        return new DicomFrameIndex(
+            file, metaData, holder.vr, bulkData.bigEndian(), true, pos, len);
+      } else if (pixelData instanceof Fragments fragments && fragments.size() > 1) {
+        return buildEncapsulated(file, metaData, holder.vr, fragments, frames);
+      }
+    } catch (IOException e) {
+      LOGGER.warn("Cannot index the frames of {}", file, e);
+    }
+    return null;
+  }
+
+  private static DicomFrameIndex buildEncapsulated(
+      Path file, DicomMetaData metaData, VR vr, Fragments fragments, int frames)
+      throws IOException {
+    List<BulkData> items = new ArrayList<>(fragments.size() - 1);
+    for (int i = 1; i < fragments.size(); i++) {
+      if (fragments.get(i) instanceof BulkData bulkData) {
+        items.add(bulkData);
+      } else {
+        return null;
+      }
+    }
+    long[] itemOffsets = new long[items.size()];
+    for (int i = 0; i < itemOffsets.length; i++) {
+      itemOffsets[i] = items.get(i).offset();
+    }
+
+    long[] offsetTable = null;
+    if (fragments.get(0) instanceof BulkData table && table.length() >= 4L * frames) {
+      offsetTable = readOffsetTable(file, table, frames, fragments.bigEndian());
+    }
+    int[][] frameItems = groupFragments(itemOffsets, offsetTable, frames);
+    if (frameItems == null) {
+      return null;
+    }
+    long[][] pos = new long[frames][];
+    int[][] len = new int[frames][];
+    for (int f = 0; f < frames; f++) {
+      int[] indexes = frameItems[f];
+      pos[f] = new long[indexes.length];
+      len[f] = new int[indexes.length];
+      for (int k = 0; k < indexes.length; k++) {
+        BulkData item = items.get(indexes[k]);
+        pos[f][k] = item.offset();
+        len[f][k] = item.length();
+      }
+    }
+    return new DicomFrameIndex(file, metaData, vr, fragments.bigEndian(), false, pos, len);
+  }
+
+  /**
+   * Assigns the fragments of encapsulated pixel data to the frames.
+   *
+   * @param itemOffsets the file offset of the value of each fragment (after the item header)
+   * @param offsetTable the Basic Offset Table (offset of the first item of each frame relative to
+   *     the first item), or null when empty
+   * @param frames the number of frames
+   * @return the indexes of the fragments of each frame, or null when they cannot be determined
+   */
+  static int[][] groupFragments(long[] itemOffsets, long[] offsetTable, int frames) {
+    int nbItems = itemOffsets.length;
+    if (nbItems == 0 || frames <= 0) {
+      return null;
+    }
+    int[][] result = new int[frames][];
+    if (offsetTable != null && offsetTable.length == frames) {
+      long firstItemStart = itemOffsets[0] - ITEM_HEADER_LENGTH;
+      int item = 0;
+      for (int f = 0; f < frames; f++) {
+        long start = firstItemStart + offsetTable[f];
+        long end = f + 1 < frames ? firstItemStart + offsetTable[f + 1] : Long.MAX_VALUE;
+        if (item >= nbItems || itemOffsets[item] - ITEM_HEADER_LENGTH != start) {
+          return null;
+        }
+        int first = item;
+        while (item < nbItems && itemOffsets[item] - ITEM_HEADER_LENGTH < end) {
+          item++;
+        }
+        result[f] = range(first, item);
+      }
+      return result;
+    }
+    if (frames == 1) {
+      result[0] = range(0, nbItems);
+      return result;
+    }
+    if (nbItems == frames) {
+      for (int f = 0; f < frames; f++) {
+        result[f] = new int[] {f};
+      }
+      return result;
+    }
+    // Several fragments per frame without offset table: the boundaries require parsing the stream
+    return null;
+  }
+
+  private static int[] range(int from, int to) {
+    int[] r = new int[to - from];
+    for (int i = 0; i < r.length; i++) {
+      r[i] = from + i;
+    }
+    return r;
+  }
+
+  private static long[] readOffsetTable(Path file, BulkData table, int frames, boolean bigEndian)
+      throws IOException {
+    ByteBuffer buf = ByteBuffer.allocate(4 * frames);
+    FileChannelPool.Lease lease = CHANNELS.acquire(file);
+    try {
+      readFully(lease.channel(), buf, table.offset());
+    } finally {
+      CHANNELS.release(lease);
+    }
+    buf.flip().order(bigEndian ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+    long[] offsets = new long[frames];
+    for (int i = 0; i < frames; i++) {
+      offsets[i] = buf.getInt() & 0xFFFFFFFFL;
+    }
+    return offsets;
+  }
+
+  private static long getNativeFrameLength(Attributes dcm) {
+    int bitsAllocated = dcm.getInt(Tag.BitsAllocated, 8);
+    if (bitsAllocated % 8 != 0) {
+      // Bit-packed frames are not byte aligned
+      return -1;
+    }
+    long rows = dcm.getInt(Tag.Rows, 0);
+    long columns = dcm.getInt(Tag.Columns, 0);
+    long samples = dcm.getInt(Tag.SamplesPerPixel, 1);
+    return rows * columns * samples * (bitsAllocated / 8);
+  }
+
+  private static void readFully(FileChannel ch, ByteBuffer buf, long position) throws IOException {
+    long pos = position;
+    while (buf.hasRemaining()) {
+      int n = ch.read(buf, pos);
+      if (n < 0) {
+        throw new EOFException("Unexpected end of file at " + pos);
+      }
+      pos += n;
+    }
+  }
+
+  Path getFile() {
+    return file;
+  }
+
+  int getFrameCount() {
+    return positions.length;
+  }
+
+  boolean isNativeData() {
+    return nativeData;
+  }
+
+  @Override
+  public ByteBuffer getBytes(int frame) throws IOException {
+    if (frame < 0 || frame >= positions.length) {
+      throw new IOException("Frame out of range: " + frame);
+    }
+    long[] pos = positions[frame];
+    int[] len = lengths[frame];
+    FileChannelPool.Lease lease = CHANNELS.acquire(file);
+    try {
+      FileChannel ch = lease.channel();
+      if (nativeData && len[0] >= MAP_THRESHOLD) {
+        return ch.map(FileChannel.MapMode.READ_ONLY, pos[0], len[0]);
+      }
+      int total = 0;
+      for (int l : len) {
+        total += l;
+      }
+      ByteBuffer buf = ByteBuffer.allocate(total);
+      for (int k = 0; k < pos.length; k++) {
+        buf.limit(buf.position() + len[k]);
+        readFully(ch, buf, pos[k]);
+      }
+      return buf.flip();
+    } finally {
+      CHANNELS.release(lease);
+    }
+  }
+
+  /** Closes the channel of the file; it is opened again on the next frame reading. */
+  void close() {
+    CHANNELS.close(file);
+  }
+
+  @Override
+  public String getTransferSyntax() {
+    return transferSyntax;
+  }
+
+  @Override
+  public boolean isBigEndian() {
+    return bigEndian;
+  }
+
+  @Override
+  public VR getPixelDataVR() {
+    return pixelDataVR;
+  }
+
+  @Override
+  public ImageDescriptor getImageDescriptor() {
+    return descriptor;
+  }
+}
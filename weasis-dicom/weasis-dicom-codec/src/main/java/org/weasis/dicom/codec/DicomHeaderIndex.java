@@ -0,0 +1,480 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.BulkData;
+import org.dcm4che3.data.Fragments;
+import org.dcm4che3.data.Sequence;
+import org.dcm4che3.data.UID;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.img.DicomMetaData;
+import org.dcm4che3.io.DicomInputStream;
+import org.dcm4che3.io.DicomInputStream.IncludeBulkData;
+import org.dcm4che3.io.DicomOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.weasis.core.api.gui.util.AppProperties;
+import org.weasis.core.api.gui.util.GuiUtils;
+import org.weasis.core.api.service.WProperties;
+import org.weasis.core.api.util.ThreadUtil;
+import org.weasis.core.util.FileUtil;
+
+/**
+ * Persistent index of the headers of local DICOM files, so that a file opened again is not parsed.
+ *
+ * <p>An entry is keyed by the absolute path of the file and is valid only while the size and the
+ * last-modified time of the file are unchanged; a modified file is parsed again and its entry is
+ * replaced. The entry holds the file meta information and the dataset without the bulk data,
+ * encoded in the transfer syntax of the file, followed by the location (offset and length) of
+ * every bulk data element in the file. The header rebuilt from an entry is therefore the one read
+ * from the file, with the pixel data still referencing the file.
+ *
+ * <p>The entries are stored in {@code cache/dicom-header} of the Weasis directory, one small file
+ * per DICOM file. The following system preferences configure the index:
+ *
+ * <ul>
+ *   <li>{@value #P_ENABLE}: enables the index (default: true)
+ *   <li>{@value #P_MAX_SIZE}: maximum size of the index in MB (default: {@value #DEFAULT_MAX_SIZE})
+ *       beyond which the least recently used entries are removed
+ *   <li>{@value #P_MAX_AGE}: number of days (default: {@value #DEFAULT_MAX_AGE}) after which an
+ *       entry that has not been used is removed
+ * </ul>
+ */
+final class DicomHeaderIndex {
+  private static final Logger LOGGER = LoggerFactory.getLogger(DicomHeaderIndex.class);
+
+  static final String P_ENABLE = "weasis.dicom.header.index"; // NON-NLS
+  static final String P_MAX_SIZE = "weasis.dicom.header.index.max.size"; // NON-NLS
+  static final String P_MAX_AGE = "weasis.dicom.header.index.max.age"; // NON-NLS
+  static final int DEFAULT_MAX_SIZE = 256;
+  static final int DEFAULT_MAX_AGE = 90;
+
+  private static final int MAGIC = 0x57484931; // "WHI1"
+  private static final String EXTENSION = ".hdr"; // NON-NLS
+  private static final byte BULK_DATA = 0;
+  private static final byte INLINE = 1;
+
+  /** The last access time of an entry is updated at most once a day to limit the disk writes. */
+  private static final Duration TOUCH_INTERVAL = Duration.ofDays(1);
+
+  /** Parses the header of a DICOM file. */
+  @FunctionalInterface
+  interface HeaderParser {
+    DicomMetaData parse(Path file) throws IOException;
+  }
+
+  /**
+   * A bulk data element of the item at the given depth-first position: a {@link BulkData}, or the
+   * {@link Fragments} of encapsulated pixel data (a list of values when read from the index).
+   */
+  private record BulkRef(int item, int tag, VR vr, Object value) {}
+
+  private static final class Holder {
+    private static final DicomHeaderIndex INSTANCE = create();
+  }
+
+  private final Path directory;
+  private final long maxSize;
+  private final Duration maxAge;
+  private final AtomicLong size = new AtomicLong(-1);
+  private final AtomicBoolean trimming = new AtomicBoolean();
+  private final ExecutorService trimExecutor;
+
+  DicomHeaderIndex(Path directory, long maxSize, Duration maxAge) {
+    this.directory = directory;
+    this.maxSize = maxSize;
+    this.maxAge = maxAge;
+    this.trimExecutor = ThreadUtil.newSingleThreadDaemonExecutor("DICOM Header Index"); // NON-NLS
+  }
+
+  private static DicomHeaderIndex create() {
+    WProperties prefs = GuiUtils.getUICore().getSystemPreferences();
+    if (!prefs.getBooleanProperty(P_ENABLE, true)) {
+      return null;
+    }
+    long maxSize = prefs.getLongProperty(P_MAX_SIZE, DEFAULT_MAX_SIZE) * 1024 * 1024;
+    int maxAge = prefs.getIntProperty(P_MAX_AGE, DEFAULT_MAX_AGE);
+    if (maxSize <= 0 || maxAge <= 0) {
+      return null;
+    }
+    Path dir =
+        AppProperties.WEASIS_PATH.resolve(AppProperties.CACHE_NAME).resolve("dicom-header");
+    return new DicomHeaderIndex(dir, maxSize, Duration.ofDays(maxAge));
+  }
+
+  /**
+   * Returns the header of a DICOM file from the index, or parses the file and indexes its header.
+   * The file is parsed directly when the index is disabled or when the file is a temporary file.
+   *
+   * @param file the DICOM file
+   * @param parser the parser of the file, called when there is no valid entry
+   * @return the header, with the bulk data referencing the file
+   * @throws IOException if the file cannot be parsed
+   */
+  static DicomMetaData read(Path file, HeaderParser parser) throws IOException {
+    return read(file, file, parser);
+  }
+
+  /**
+   * Returns the header of a copy of a DICOM file (e.g. copied from a CD to the cache), from the
+   * entry of the source file when it is indexed.
+   *
+   * @param file the DICOM file to read, identical to the source file
+   * @param source the file identifying the entry
+   * @param parser the parser of the file, called when there is no valid entry
+   * @return the header, with the bulk data referencing the file to read
+   * @throws IOException if the file cannot be parsed
+   */
+  static DicomMetaData read(Path file, Path source, HeaderParser parser) throws IOException {
+    DicomHeaderIndex index = Holder.INSTANCE;
+    if (index == null || source.startsWith(AppProperties.APP_TEMP_DIR)) {
+      return parser.parse(file);
+    }
+    BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+    DicomMetaData header = index.get(source, attributes, file);
+    if (header == null) {
+      header = parser.parse(file);
+      index.put(source, attributes, header);
+    }
+    return header;
+  }
+
+  /**
+   * Returns the indexed header of a file.
+   *
+   * @param file the DICOM file
+   * @param attributes the attributes of the file, read before parsing it
+   * @param target the file referenced by the bulk data of the returned header
+   * @return the header, or null when the file is not indexed or has been modified since
+   */
+  DicomMetaData get(Path file, BasicFileAttributes attributes, Path target) {
+    String key = file.toAbsolutePath().toString();
+    Path entry = getEntry(key);
+    byte[] data;
+    try {
+      data = Files.readAllBytes(entry);
+    } catch (NoSuchFileException e) {
+      return null;
+    } catch (IOException e) {
+      LOGGER.debug("Cannot read the header index entry of {}", file, e);
+      return null;
+    }
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+      if (in.readInt() != MAGIC
+          || !key.equals(in.readUTF())
+          || in.readLong() != attributes.size()
+          || in.readLong() != attributes.lastModifiedTime().toMillis()) {
+        return null;
+      }
+      DicomMetaData header = decode(in, target.toUri().toString());
+      touch(entry);
+      return header;
+    } catch (IOException | RuntimeException e) {
+      LOGGER.debug("Invalid header index entry of {}", file, e);
+      FileUtil.delete(entry);
+      return null;
+    }
+  }
+
+  /**
+   * Indexes the header of a file. Headers without file meta information and DICOMDIR are not
+   * indexed.
+   *
+   * @param file the DICOM file
+   * @param attributes the attributes of the file, read before parsing it
+   * @param header the header of the file, with the bulk data referencing the file
+   */
+  void put(Path file, BasicFileAttributes attributes, DicomMetaData header) {
+    if (header == null
+        || header.getFileMetaInformation() == null
+        || header.isMediaStorageDirectory()) {
+      return;
+    }
+    String key = file.toAbsolutePath().toString();
+    Path entry = getEntry(key);
+    try {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      try (DataOutputStream out = new DataOutputStream(bytes)) {
+        out.writeInt(MAGIC);
+        out.writeUTF(key);
+        out.writeLong(attributes.size());
+        out.writeLong(attributes.lastModifiedTime().toMillis());
+        encode(header, out);
+      }
+      Files.createDirectories(entry.getParent());
+      Path tmp = Files.createTempFile(entry.getParent(), null, null);
+      try {
+        Files.write(tmp, bytes.toByteArray());
+        Files.move(tmp, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(tmp);
+      }
+      long total = size.get();
+      if (total < 0 || size.addAndGet(bytes.size()) > maxSize) {
+        scheduleTrim();
+      }
+    } catch (IOException | RuntimeException e) {
+      LOGGER.debug("Cannot index the header of {}", file, e);
+    }
+  }
+
+  Path getEntry(String key) {
+    String name = UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8)).toString();
+    return directory.resolve(name.substring(0, 2)).resolve(name + EXTENSION);
+  }
+
+  private static void touch(Path entry) {
+    try {
+      Instant now = Instant.now();
+      if (Files.getLastModifiedTime(entry).toInstant().plus(TOUCH_INTERVAL).isBefore(now)) {
+        Files.setLastModifiedTime(entry, FileTime.from(now));
+      }
+    } catch (IOException e) {
+      LOGGER.debug("Cannot update the access time of {}", entry, e);
+    }
+  }
+
+  private void scheduleTrim() {
+    if (trimming.compareAndSet(false, true)) {
+      trimExecutor.execute(
+          () -> {
+            try {
+              trim();
+            } finally {
+              trimming.set(false);
+            }
+          });
+    }
+  }
+
+  /**
+   * Removes the entries not used for longer than the maximum age, then the least recently used ones
+   * until the index is below 3/4 of its maximum size.
+   */
+  void trim() {
+    record EntryFile(Path path, long size, long lastModified) {}
+    List<EntryFile> entries = new ArrayList<>();
+    try (Stream<Path> stream = Files.walk(directory, 2)) {
+      stream
+          .filter(p -> p.getFileName().toString().endsWith(EXTENSION))
+          .forEach(
+              p -> {
+                try {
+                  BasicFileAttributes a = Files.readAttributes(p, BasicFileAttributes.class);
+                  entries.add(new EntryFile(p, a.size(), a.lastModifiedTime().toMillis()));
+                } catch (IOException e) {
+                  throw new UncheckedIOException(e);
+                }
+              });
+    } catch (NoSuchFileException e) {
+      size.set(0);
+      return;
+    } catch (IOException | UncheckedIOException e) {
+      LOGGER.warn("Cannot read the DICOM header index", e);
+      return;
+    }
+
+    long expiry = Instant.now().minus(maxAge).toEpochMilli();
+    long total = 0;
+    List<EntryFile> kept = new ArrayList<>(entries.size());
+    for (EntryFile e : entries) {
+      if (e.lastModified() < expiry) {
+        FileUtil.delete(e.path());
+      } else {
+        kept.add(e);
+        total += e.size();
+      }
+    }
+    if (total > maxSize) {
+      kept.sort(Comparator.comparingLong(EntryFile::lastModified));
+      long target = maxSize / 4 * 3;
+      for (EntryFile e : kept) {
+        if (total <= target) {
+          break;
+        }
+        FileUtil.delete(e.path());
+        total -= e.size();
+      }
+    }
+    size.set(total);
+  }
+
+  static void encode(DicomMetaData header, DataOutputStream out) throws IOException {
+    Attributes fmi = header.getFileMetaInformation();
+    // Work on a copy: the header is shared with the image reader
+    Attributes dcm = new Attributes(header.getDicomObject());
+    List<BulkRef> refs = new ArrayList<>();
+    int items = removeBulkData(dcm, new int[1], refs);
+
+    out.writeInt(items);
+    out.writeInt(refs.size());
+    for (BulkRef ref : refs) {
+      out.writeInt(ref.item());
+      out.writeInt(ref.tag());
+      out.writeInt(ref.vr().code());
+      if (ref.value() instanceof Fragments fragments) {
+        out.writeBoolean(fragments.bigEndian());
+        out.writeInt(fragments.size());
+        for (Object fragment : fragments) {
+          writeValue(out, fragment);
+        }
+      } else {
+        out.writeBoolean(((BulkData) ref.value()).bigEndian());
+        out.writeInt(-1);
+        writeValue(out, ref.value());
+      }
+    }
+
+    ByteArrayOutputStream dataset = new ByteArrayOutputStream();
+    try (DicomOutputStream dos = new DicomOutputStream(dataset, UID.ExplicitVRLittleEndian)) {
+      // The dataset is written in the transfer syntax of the file meta information
+      dos.writeDataset(fmi, dcm);
+    }
+    out.writeInt(dataset.size());
+    dataset.writeTo(out);
+  }
+
+  private static void writeValue(DataOutputStream out, Object value) throws IOException {
+    if (value instanceof BulkData bulkData) {
+      out.writeByte(BULK_DATA);
+      out.writeLong(bulkData.offset());
+      out.writeInt(bulkData.length());
+    } else {
+      byte[] b = value instanceof byte[] bytes ? bytes : new byte[0];
+      out.writeByte(INLINE);
+      out.writeInt(b.length);
+      out.write(b);
+    }
+  }
+
+  static DicomMetaData decode(DataInputStream in, String uri) throws IOException {
+    int items = in.readInt();
+    int nbRefs = in.readInt();
+    Map<Integer, List<BulkRef>> refs = new HashMap<>();
+    for (int i = 0; i < nbRefs; i++) {
+      int item = in.readInt();
+      int tag = in.readInt();
+      VR vr = VR.valueOf(in.readInt());
+      boolean bigEndian = in.readBoolean();
+      int nbFragments = in.readInt();
+      Object value;
+      if (nbFragments < 0) {
+        value = readValue(in, uri, bigEndian);
+      } else {
+        // The fragments are created in the dataset, with its byte order
+        List<Object> fragments = new ArrayList<>(nbFragments);
+        for (int k = 0; k < nbFragments; k++) {
+          fragments.add(readValue(in, uri, bigEndian));
+        }
+        value = fragments;
+      }
+      refs.computeIfAbsent(item, k -> new ArrayList<>()).add(new BulkRef(item, tag, vr, value));
+    }
+
+    byte[] dataset = new byte[in.readInt()];
+    in.readFully(dataset);
+    try (DicomInputStream dis = new DicomInputStream(new ByteArrayInputStream(dataset))) {
+      dis.setIncludeBulkData(IncludeBulkData.YES);
+      DicomMetaData header = new DicomMetaData(dis);
+      if (restoreBulkData(header.getDicomObject(), new int[1], refs) != items) {
+        throw new IOException("The structure of the indexed header does not match");
+      }
+      return header;
+    }
+  }
+
+  private static Object readValue(DataInputStream in, String uri, boolean bigEndian)
+      throws IOException {
+    if (in.readByte() == BULK_DATA) {
+      long offset = in.readLong();
+      int length = in.readInt();
+      return new BulkData(uri, offset, length, bigEndian);
+    }
+    byte[] b = new byte[in.readInt()];
+    in.readFully(b);
+    return b;
+  }
+
+  /**
+   * Removes the bulk data elements of a dataset and of its nested items, which are numbered in
+   * depth-first order.
+   *
+   * @return the number of items visited
+   */
+  private static int removeBulkData(Attributes item, int[] counter, List<BulkRef> refs) {
+    int index = counter[0]++;
+    VR.Holder vr = new VR.Holder();
+    for (int tag : item.tags()) {
+      Object value = item.getValue(tag, vr);
+      if (value instanceof Sequence seq) {
+        for (Attributes child : seq) {
+          removeBulkData(child, counter, refs);
+        }
+      } else if (value instanceof BulkData || value instanceof Fragments) {
+        refs.add(new BulkRef(index, tag, vr.vr, value));
+        item.remove(tag);
+      }
+    }
+    return counter[0];
+  }
+
+  /**
+   * Puts back the bulk data elements, visiting the items in the same order as {@link
+   * #removeBulkData(Attributes, int[], List)}.
+   *
+   * @return the number of items visited
+   */
+  private static int restoreBulkData(
+      Attributes item, int[] counter, Map<Integer, List<BulkRef>> refs) {
+    int index = counter[0]++;
+    for (int tag : item.tags()) {
+      if (item.getValue(tag) instanceof Sequence seq) {
+        for (Attributes child : seq) {
+          restoreBulkData(child, counter, refs);
+        }
+      }
+    }
+    for (BulkRef ref : refs.getOrDefault(index, List.of())) {
+      if (ref.value() instanceof List<?> values) {
+        Fragments fragments = item.newFragments(ref.tag(), ref.vr(), values.size());
+        values.forEach(fragments::add);
+      } else {
+        item.setValue(ref.tag(), ref.vr(), ref.value());
+      }
+    }
+    return counter[0];
+  }
+}
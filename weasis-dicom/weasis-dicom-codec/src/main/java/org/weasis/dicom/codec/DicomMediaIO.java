@@ -296,6 +296,8 @@ public DicomSpecialElement buildDicomSpecialElement(DicomMediaIO mediaIO) {
   private String mimeType;
   private boolean hasPixel = false;
   private VR pixelDataVR = null;
+  private DicomFrameIndex frameIndex = null;
+  private boolean frameIndexUnavailable = false;
 
   private final FileCache fileCache;
 
@@ -315,6 +317,44 @@ public DicomMediaIO(Path path) {
     this(Objects.requireNonNull(path).toUri());
   }
 
+  /**
+   * Creates the reader of a DICOM file whose header has already been parsed, for instance while the
+   * file was being written from a network stream. The file is then not read again to get the
+   * header.
+   *
+   * @param path the DICOM file
+   * @param header the header of the file, with the bulk data referencing the file
+   */
+  public DicomMediaIO(Path path, DicomMetaData header) {
+    this(path);
+    synchronized (this) {
+      setMetaData(Objects.requireNonNull(header));
+    }
+  }
+
+  /**
+   * Creates the reader of a copy of a DICOM file, for instance a file of a CD copied to the cache.
+   * The header is taken from the header index of the source file when the source has already been
+   * opened, so the copy is not parsed.
+   *
+   * @param copy the DICOM file to read
+   * @param source the original file, identical to the copy
+   * @return the reader of the copy
+   */
+  public static DicomMediaIO ofCopy(Path copy, Path source) {
+    DicomMediaIO reader = new DicomMediaIO(copy);
+    try {
+      DicomMetaData header = DicomHeaderIndex.read(copy, source, DicomMediaIO::parseHeader);
+      synchronized (reader) {
+        reader.setMetaData(header);
+      }
+    } catch (IOException e) {
+      // The header will be read (and the error reported) with the reading status
+      LOGGER.debug("Cannot read the header of {}", copy, e);
+    }
+    return reader;
+  }
+
   public DicomMediaIO(Attributes dcmItems) throws URISyntaxException {
     this(
         new URI(
@@ -661,6 +701,23 @@ public PlanarImage getImageFragment(MediaElement media, int frame, boolean noEmb
             frame,
             TagD.getTagValue(this, Tag.SOPInstanceUID));
         DicomImageReader reader = new DicomImageReader(Transcoder.dicomImageReaderSpi);
+        DicomImageReadParam param = new DicomImageReadParam();
+        param.setAllowFloatImageConversion(true);
+        DicomFrameIndex index = getFrameIndex(original.get());
+        if (index != null) {
+          // Read the frame at its indexed position, without opening and parsing the file again
+          try {
+            reader.setInput(index);
+            return postProcess(
+                reader.getPlanarImage(frame, param),
+                index.getImageDescriptor(),
+                frame,
+                noEmbeddedOverlay);
+          } finally {
+            reader.dispose();
+          }
+        }
+
         DicomMetaData metaData = HEADER_CACHE.get(this);
         try (var inputStream = new DicomFileInputStream(original.get(), metaData)) {
           reader.setInput(inputStream);
@@ -668,21 +725,11 @@ public PlanarImage getImageFragment(MediaElement media, int frame, boolean noEmb
             metaData = reader.getStreamMetadata();
             HEADER_CACHE.put(this, metaData);
           }
-          ImageDescriptor desc = metaData.getImageDescriptor();
-          DicomImageReadParam param = new DicomImageReadParam();
-          param.setAllowFloatImageConversion(true);
-          PlanarImage img = reader.getPlanarImage(frame, param);
-          if (img.width() != desc.getColumns() || img.height() != desc.getRows()) {
-            LOGGER.error(
-                "The native image size ({}x{}) does not match with the DICOM attributes({}x{})",
-                img.width(),
-                img.height(),
-                desc.getColumns(),
-                desc.getRows());
-          }
-          return noEmbeddedOverlay
-              ? ImageRendering.getImageWithoutEmbeddedOverlay(img, desc, frame)
-              : img;
+          return postProcess(
+              reader.getPlanarImage(frame, param),
+              metaData.getImageDescriptor(),
+              frame,
+              noEmbeddedOverlay);
         } finally {
           reader.dispose();
         }
@@ -691,6 +738,45 @@ public PlanarImage getImageFragment(MediaElement media, int frame, boolean noEmb
     return null;
   }
 
+  private static PlanarImage postProcess(
+      PlanarImage img, ImageDescriptor desc, int frame, boolean noEmbeddedOverlay) {
+    if (img.width() != desc.getColumns() || img.height() != desc.getRows()) {
+      LOGGER.error(
+          "The native image size ({}x{}) does not match with the DICOM attributes({}x{})",
+          img.width(),
+          img.height(),
+          desc.getColumns(),
+          desc.getRows());
+    }
+    return noEmbeddedOverlay
+        ? ImageRendering.getImageWithoutEmbeddedOverlay(img, desc, frame)
+        : img;
+  }
+
+  /**
+   * Returns the frame index of the file, building it from the header at the first call. The index
+   * is kept for the lifetime of this reader, even when the header is released from {@code
+   * HEADER_CACHE}, because it is small and makes every subsequent frame reading independent of the
+   * file size.
+   */
+  private synchronized DicomFrameIndex getFrameIndex(Path file) {
+    if (frameIndex != null && !frameIndex.getFile().equals(file)) {
+      // The file of the cache has been replaced
+      frameIndex.close();
+      frameIndex = null;
+      frameIndexUnavailable = false;
+    }
+    if (frameIndex == null && !frameIndexUnavailable) {
+      try {
+        frameIndex = DicomFrameIndex.build(file, readMetaData());
+      } catch (IOException e) {
+        LOGGER.debug("Cannot build the frame index of {}", file, e);
+      }
+      frameIndexUnavailable = frameIndex == null;
+    }
+    return frameIndex;
+  }
+
   private static Mat getMatBuffer(ExtendSegmentedInputImageStream extParams) throws IOException {
     try (RandomAccessFile raf = new RandomAccessFile(extParams.getFile(), "r")) {
 
@@ -861,6 +947,11 @@ public Map<TagW, Object> getMediaFragmentTags(Object key) {
   @Override
   public void close() {
     HEADER_CACHE.remove(this);
+    synchronized (this) {
+      if (frameIndex != null) {
+        frameIndex.close();
+      }
+    }
   }
 
   @Override
@@ -934,38 +1025,45 @@ private synchronized DicomMetaData readMetaData() throws IOException {
     if (file.isEmpty()) {
       throw new IllegalArgumentException("No file found!");
     }
-    Path path = file.get();
+    // A file already opened and not modified since is not parsed again
+    DicomMetaData dicomMetaData = DicomHeaderIndex.read(file.get(), DicomMediaIO::parseHeader);
+    setMetaData(dicomMetaData);
+    return dicomMetaData;
+  }
 
+  private static DicomMetaData parseHeader(Path path) throws IOException {
     DicomImageReader reader = new DicomImageReader(Transcoder.dicomImageReaderSpi);
     try (DicomFileInputStream inputStream = new DicomFileInputStream(path)) {
       reader.setInput(inputStream);
-      DicomMetaData dicomMetaData = reader.getStreamMetadata();
-      Attributes dcm = dicomMetaData.getDicomObject();
-      this.numberOfFrame = dcm.getInt(Tag.NumberOfFrames, 0);
-      VR.Holder pixelatedVR = new VR.Holder();
-      Object pixelData = dcm.getValue(Tag.PixelData, pixelatedVR);
-      if (pixelData == null) {
-        pixelData = dcm.getValue(Tag.FloatPixelData, pixelatedVR);
-      }
-      if (pixelData == null) {
-        pixelData = dcm.getValue(Tag.DoubleFloatPixelData, pixelatedVR);
-      }
-
-      if (pixelData != null) {
-        pixelDataVR = pixelatedVR.vr;
-        hasPixel = true;
-      }
-
-      if (numberOfFrame <= 0 && hasPixel) {
-        this.numberOfFrame = 1;
-      }
-      HEADER_CACHE.put(this, dicomMetaData);
-      return dicomMetaData;
+      return reader.getStreamMetadata();
     } finally {
       reader.dispose();
     }
   }
 
+  private void setMetaData(DicomMetaData dicomMetaData) {
+    Attributes dcm = dicomMetaData.getDicomObject();
+    this.numberOfFrame = dcm.getInt(Tag.NumberOfFrames, 0);
+    VR.Holder pixelatedVR = new VR.Holder();
+    Object pixelData = dcm.getValue(Tag.PixelData, pixelatedVR);
+    if (pixelData == null) {
+      pixelData = dcm.getValue(Tag.FloatPixelData, pixelatedVR);
+    }
+    if (pixelData == null) {
+      pixelData = dcm.getValue(Tag.DoubleFloatPixelData, pixelatedVR);
+    }
+
+    if (pixelData != null) {
+      pixelDataVR = pixelatedVR.vr;
+      hasPixel = true;
+    }
+
+    if (numberOfFrame <= 0 && hasPixel) {
+      this.numberOfFrame = 1;
+    }
+    HEADER_CACHE.put(this, dicomMetaData);
+  }
+
   public static boolean isHiddenModality(String modality) {
     if (modality != null) {
       DicomSpecialElementFactory factory = DCM_ELEMENT_FACTORIES.get(modality);
@@ -15,13 +15,10 @@
 import java.util.List;
 import java.util.Set;
 import org.dcm4che3.data.Tag;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.weasis.core.api.explorer.ObservableEvent;
 import org.weasis.core.api.explorer.model.DataExplorerModel;
 import org.weasis.core.api.gui.util.Filter;
 import org.weasis.core.api.gui.util.GuiUtils;
-import org.weasis.core.api.image.cv.CvUtil;
 import org.weasis.core.api.media.data.Series;
 import org.weasis.core.api.media.data.SeriesEvent;
 import org.weasis.core.api.media.data.TagView;
@@ -34,13 +31,9 @@
 import org.weasis.dicom.codec.utils.SeriesInstanceList;
 
 public class DicomSeries extends Series<DicomImageElement> {
-  private static final Logger LOGGER = LoggerFactory.getLogger(DicomSeries.class);
-
   static final TagView defaultTagView =
       new TagView(TagD.getTagFromIDs(Tag.SeriesDescription, Tag.SeriesNumber, Tag.SeriesTime));
 
-  private static PreloadingTask preloadingTask;
-
   public DicomSeries(String subseriesInstanceUID) {
     this(subseriesInstanceUID, null, defaultTagView);
   }
@@ -157,7 +150,7 @@ public String getMimeType() {
 
   @Override
   public synchronized void dispose() {
-    stopPreloading(this);
+    SeriesPrefetcher.getInstance().stop(this);
     String seriesUID = (String) getTagValue(getTagID());
     String modality = TagD.getTagValue(this, Tag.Modality, String.class);
     if (DicomMediaIO.isHiddenModality(modality)) {
@@ -270,13 +263,8 @@ public int getNearestImageIndex(
   @Override
   public boolean hasMediaContains(TagW tag, Object val) {
     if (val != null) {
-      synchronized (this) {
-        for (DicomImageElement media : medias) {
-          Object val2 = media.getTagValue(tag);
-          if (val.equals(val2)) {
-            return true;
-          }
-        }
+      if (super.hasMediaContains(tag, val)) {
+        return true;
       }
       if (medias.isEmpty()) {
         List<? extends DicomSpecialElement> list = getAllDicomSpecialElement();
@@ -329,133 +317,4 @@ public boolean isSuitableFor3d() {
     }
     return size >= DefaultView2d.MINIMAL_IMAGES_FOR_3D;
   }
-
-  public static synchronized void startPreloading(
-      DicomSeries series, List<DicomImageElement> imageList, int currentIndex) {
-    if (series != null && imageList != null) {
-      if (preloadingTask != null) {
-        if (preloadingTask.getSeries() == series) {
-          return;
-        }
-        stopPreloading(preloadingTask.getSeries());
-      }
-      preloadingTask = new PreloadingTask(series, imageList, currentIndex);
-      preloadingTask.start();
-    }
-  }
-
-  public static synchronized void stopPreloading(DicomSeries series) {
-    if (preloadingTask != null && preloadingTask.getSeries() == series) {
-      PreloadingTask moribund = preloadingTask;
-      preloadingTask = null;
-      moribund.setPreloading(false);
-      moribund.interrupt();
-    }
-  }
-
-  static class PreloadingTask extends Thread {
-    private volatile boolean preloading = true;
-    private final int index;
-    private final List<DicomImageElement> imageList;
-    private final DicomSeries series;
-
-    public PreloadingTask(DicomSeries series, List<DicomImageElement> imageList, int currentIndex) {
-      this.series = series;
-      this.imageList = imageList;
-      this.index = currentIndex;
-    }
-
-    public synchronized boolean isPreloading() {
-      return preloading;
-    }
-
-    public DicomSeries getSeries() {
-      return series;
-    }
-
-    public List<DicomImageElement> getImageList() {
-      return imageList;
-    }
-
-    public synchronized void setPreloading(boolean preloading) {
-      this.preloading = preloading;
-    }
-
-    private static long evaluateImageSize(DicomImageElement image) {
-      Integer allocated = TagD.getTagValue(image, Tag.BitsAllocated, Integer.class);
-      Integer sample = TagD.getTagValue(image, Tag.SamplesPerPixel, Integer.class);
-      Integer rows = TagD.getTagValue(image, Tag.Rows, Integer.class);
-      Integer columns = TagD.getTagValue(image, Tag.Columns, Integer.class);
-      if (allocated != null && sample != null && rows != null && columns != null) {
-        return ((long) rows * columns * sample * allocated) / 8L;
-      }
-      return 0L;
-    }
-
-    private void loadArrays(DicomImageElement img, DataExplorerModel model) {
-      // Do not load an image if another process already loading it
-      if (preloading && !img.isLoading()) {
-        Boolean cache = (Boolean) img.getTagValue(TagW.ImageCache);
-        if (cache == null || !cache) {
-          long start = System.currentTimeMillis();
-          try {
-            img.getImage();
-          } catch (OutOfMemoryError e) {
-            LOGGER.error("Out of memory when loading image: {}", img, e);
-            CvUtil.runGarbageCollectorAndWait(50);
-            return;
-          }
-          long stop = System.currentTimeMillis();
-          LOGGER.debug("Reading time: {} ms of image: {}", stop - start, img);
-          if (model != null) {
-            model.firePropertyChange(
-                new ObservableEvent(
-                    ObservableEvent.BasicAction.ADD,
-                    model,
-                    null,
-                    new SeriesEvent(SeriesEvent.Action.PRELOADING, series, img)));
-          }
-        }
-      }
-    }
-
-    @Override
-    public void run() {
-      if (imageList != null) {
-        DataExplorerModel model = (DataExplorerModel) series.getTagValue(TagW.ExplorerModel);
-        int size = imageList.size();
-        if (model == null || index < 0 || index >= size) {
-          return;
-        }
-        long imgSize = evaluateImageSize(imageList.get(index)) * size + 5000;
-        long heapSize = Runtime.getRuntime().totalMemory();
-        long heapFreeSize = Runtime.getRuntime().freeMemory();
-        if (imgSize > heapSize / 3) {
-          if (imgSize > heapFreeSize) {
-            CvUtil.runGarbageCollectorAndWait(50);
-          }
-          double val = (double) heapFreeSize / imgSize;
-          int adjustSize = (int) (size * val) / 2;
-          int start = index - adjustSize;
-          if (start < 0) {
-            adjustSize -= start;
-            start = 0;
-          }
-          if (adjustSize > size) {
-            adjustSize = size;
-          }
-          for (int i = start; i < adjustSize; i++) {
-            loadArrays(imageList.get(i), model);
-          }
-        } else {
-          if (imgSize > heapFreeSize) {
-            CvUtil.runGarbageCollectorAndWait(50);
-          }
-          for (DicomImageElement img : imageList) {
-            loadArrays(img, model);
-          }
-        }
-      }
-    }
-  }
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.codec;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.weasis.core.util.StreamUtil;
+
+/**
+ * A bounded LRU of read-only channels, one per file. Scrolling through a multi-frame file reads
+ * its frames from the same channel instead of opening the file for every frame, while the number
+ * of open descriptors stays bounded whatever the number of files of a study.
+ *
+ * <p>A channel is closed when it is evicted or when its file is released with {@link
+ * #close(Path)}; a channel in use by a reading is closed only at the end of the reading.
+ */
+final class FileChannelPool {
+
+  /** A channel with the number of readings in progress. */
+  static final class Lease {
+    private final Path file;
+    private final FileChannel channel;
+    private int users;
+    private boolean removed;
+
+    private Lease(Path file, FileChannel channel) {
+      this.file = file;
+      this.channel = channel;
+    }
+
+    FileChannel channel() {
+      return channel;
+    }
+  }
+
+  private final int capacity;
+  private final LinkedHashMap<Path, Lease> open = new LinkedHashMap<>(16, 0.75f, true);
+
+  FileChannelPool(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("The capacity must be positive");
+    }
+    this.capacity = capacity;
+  }
+
+  /**
+   * Returns the channel of the file, opened if required. Each call must be followed by a call to
+   * {@link #release(Lease)}.
+   */
+  synchronized Lease acquire(Path file) throws IOException {
+    Lease lease = open.get(file);
+    if (lease == null || !lease.channel.isOpen()) {
+      if (lease != null) {
+        remove(lease);
+      }
+      lease = new Lease(file, FileChannel.open(file, StandardOpenOption.READ));
+      open.put(file, lease);
+      evict();
+    }
+    lease.users++;
+    return lease;
+  }
+
+  /** Ends a reading; the channel is closed if it has been evicted in the meantime. */
+  synchronized void release(Lease lease) {
+    lease.users--;
+    if (lease.removed && lease.users <= 0) {
+      StreamUtil.safeClose(lease.channel);
+    }
+  }
+
+  /** Closes the channel of the file, or at the end of the readings in progress. */
+  synchronized void close(Path file) {
+    Lease lease = open.get(file);
+    if (lease != null) {
+      remove(lease);
+    }
+  }
+
+  synchronized int size() {
+    return open.size();
+  }
+
+  private void evict() {
+    Iterator<Map.Entry<Path, Lease>> it = open.entrySet().iterator();
+    while (open.size() > capacity && it.hasNext()) {
+      Lease eldest = it.next().getValue();
+      it.remove();
+      discard(eldest);
+    }
+  }
+
+  private void remove(Lease lease) {
+    open.remove(lease.file, lease);
+    discard(lease);
+  }
+
+  private static void discard(Lease lease) {
+    lease.removed = true;
+    if (lease.users <= 0) {
+      StreamUtil.safeClose(lease.channel);
+    }
+  }
+}
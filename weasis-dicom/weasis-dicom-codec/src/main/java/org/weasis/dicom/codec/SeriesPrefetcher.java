@@ -0,0 +1,358 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.codec;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.dcm4che3.data.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.weasis.core.api.explorer.ObservableEvent;
+import org.weasis.core.api.explorer.model.DataExplorerModel;
+import org.weasis.core.api.gui.util.Filter;
+import org.weasis.core.api.media.data.ImageElement;
+import org.weasis.core.api.media.data.SeriesEvent;
+import org.weasis.core.api.media.data.TagW;
+import org.weasis.core.api.util.MemoryManager;
+import org.weasis.core.api.util.ThreadUtil;
+
+/**
+ * Background decoder keeping the images around the displayed position of each viewport in the
+ * image cache.
+ *
+ * <p>Each viewport (the key is any object identifying it, usually the view itself) reports its
+ * current position with {@link #update}. The scheduler follows the scroll direction and velocity,
+ * sizes the window from the native memory still available in the {@link MemoryManager} (shared
+ * between all the active viewports), and decodes ahead of the scroll direction and a little behind
+ * it with several tasks running in parallel. When the user jumps or reverses the scroll direction,
+ * the pending work is discarded and a new plan is built.
+ *
+ * <p>The tasks run on a small pool of low-priority threads of their own rather than on {@link
+ * ImageElement#IMAGE_LOADER}: a plan keeps its threads until it is complete or replaced, and the
+ * images requested by the viewers, the thumbnails and the cine must never wait behind it.
+ */
+public final class SeriesPrefetcher {
+  private static final Logger LOGGER = LoggerFactory.getLogger(SeriesPrefetcher.class);
+
+  /** Share of the available native memory that prefetching is allowed to claim. */
+  static final double MEMORY_SHARE = 0.5;
+
+  /** Size used when the image dimensions cannot be read from the attributes (512x512, 16-bit). */
+  static final long DEFAULT_FRAME_SIZE = 512L * 512L * 2L;
+
+  /** Velocity, in frames per second, from which the window is almost entirely placed ahead. */
+  static final double FAST_SCROLL_VELOCITY = 30.0;
+
+  private static final double VELOCITY_SMOOTHING = 0.3;
+  private static final long VELOCITY_RESET_NANOS = 1_000_000_000L;
+
+  private static final SeriesPrefetcher INSTANCE = new SeriesPrefetcher();
+
+  private final Map<Object, Viewport> viewports = new ConcurrentHashMap<>();
+  private final ExecutorService coordinator =
+      ThreadUtil.newSingleThreadDaemonExecutor("SeriesPrefetcher");
+  private final int parallelism =
+      Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+  private final ExecutorService decoder = newDecoder(parallelism);
+
+  private SeriesPrefetcher() {}
+
+  public static SeriesPrefetcher getInstance() {
+    return INSTANCE;
+  }
+
+  private static ExecutorService newDecoder(int threads) {
+    ThreadFactory factory = ThreadUtil.namedDaemonThreadFactory("SeriesPrefetcher-decoder", true);
+    return Executors.newFixedThreadPool(
+        threads,
+        r -> {
+          Thread t = factory.newThread(r);
+          t.setPriority(Thread.MIN_PRIORITY);
+          return t;
+        });
+  }
+
+  /**
+   * Reports the position displayed in a viewport. This method is cheap and can be called on every
+   * scroll step from the EDT: the list of images is only rebuilt when the series, the filter, the
+   * sort order or the number of images changes, and the decoding plan is only rebuilt when the
+   * position leaves the current plan.
+   *
+   * @param viewport the object identifying the viewport
+   * @param series the series displayed in the viewport
+   * @param filter the filter applied to the series, can be null
+   * @param sort the sort order of the series, can be null
+   * @param index the index of the displayed image in the filtered and sorted list
+   */
+  public void update(
+      Object viewport,
+      DicomSeries series,
+      Filter<DicomImageElement> filter,
+      Comparator<DicomImageElement> sort,
+      int index) {
+    if (viewport == null || series == null || index < 0) {
+      stop(viewport);
+      return;
+    }
+    Viewport state = viewports.computeIfAbsent(viewport, k -> new Viewport());
+    boolean replan;
+    synchronized (state) {
+      replan = state.setPosition(series, filter, sort, index, System.nanoTime());
+    }
+    if (replan) {
+      coordinator.execute(() -> schedule(state));
+    }
+  }
+
+  /** Stops prefetching for a viewport and cancels its pending work. */
+  public void stop(Object viewport) {
+    if (viewport != null) {
+      Viewport state = viewports.remove(viewport);
+      if (state != null) {
+        synchronized (state) {
+          state.cancel();
+        }
+      }
+    }
+  }
+
+  /** Stops prefetching in every viewport displaying the given series. */
+  public void stop(DicomSeries series) {
+    viewports.forEach(
+        (k, state) -> {
+          if (state.series == series) {
+            stop(k);
+          }
+        });
+  }
+
+  /** Number of viewports being prefetched. */
+  public int getActiveViewportCount() {
+    return viewports.size();
+  }
+
+  private void schedule(Viewport state) {
+    Plan plan;
+    synchronized (state) {
+      if (!viewports.containsValue(state) || state.images.isEmpty()) {
+        return;
+      }
+      state.cancel();
+      int size = state.images.size();
+      int index = Math.clamp(state.index, 0, size - 1);
+      long frameSize = evaluateImageSize(state.images.get(index));
+      long budget =
+          (long)
+              (MemoryManager.getInstance().getAvailableNativeMemory()
+                  * MEMORY_SHARE
+                  / Math.max(1, viewports.size()));
+      int window = (int) Math.min(size - 1L, budget / frameSize);
+      int[] order = buildOrder(index, size, window, state.direction, state.velocity);
+      List<DicomImageElement> images = new ArrayList<>(order.length);
+      for (int i : order) {
+        images.add(state.images.get(i));
+      }
+      plan = new Plan(state.series, images, state.generation);
+      state.center = index;
+      state.window = window;
+      int workers = Math.min(parallelism, images.size());
+      for (int i = 0; i < workers; i++) {
+        state.tasks.add(decoder.submit(() -> runPlan(state, plan)));
+      }
+    }
+    LOGGER.trace(
+        "Prefetch plan of {} images for {} (direction {}, {} frames/s)",
+        plan.images.size(),
+        plan.series,
+        state.direction,
+        state.velocity);
+  }
+
+  private static void runPlan(Viewport state, Plan plan) {
+    DataExplorerModel model = (DataExplorerModel) plan.series.getTagValue(TagW.ExplorerModel);
+    int k;
+    while ((k = plan.cursor.getAndIncrement()) < plan.images.size()) {
+      if (plan.generation != state.generation || Thread.currentThread().isInterrupted()) {
+        return;
+      }
+      if (!MemoryManager.getInstance().isMemoryAvailable()) {
+        // Do not evict the images kept by the viewers to make room for the prefetched ones
+        return;
+      }
+      DicomImageElement img = plan.images.get(k);
+      if (!img.isLoading() && !img.isImageInCache() && img.preloadImage() && model != null) {
+        model.firePropertyChange(
+            new ObservableEvent(
+                ObservableEvent.BasicAction.ADD,
+                model,
+                null,
+                new SeriesEvent(SeriesEvent.Action.PRELOADING, plan.series, img)));
+      }
+    }
+  }
+
+  /**
+   * Builds the decoding order of the indexes around the current position. The window is split
+   * between ahead (in the scroll direction) and behind according to the scroll velocity: it is
+   * centered when the viewport is idle and almost entirely ahead when scrolling fast. The indexes
+   * are interleaved so that the nearest images on both sides are decoded first.
+   *
+   * @param index the current index
+   * @param size the number of images
+   * @param window the maximum number of images to decode, excluding the current one
+   * @param direction the scroll direction (1, -1, or 0 when unknown)
+   * @param velocity the scroll velocity in frames per second
+   * @return the indexes to decode, by decreasing priority
+   */
+  static int[] buildOrder(int index, int size, int window, int direction, double velocity) {
+    if (size <= 0 || index < 0 || index >= size) {
+      return new int[0];
+    }
+    int window2 = Math.clamp(window, 0, size - 1);
+    int dir = direction < 0 ? -1 : 1;
+    double aheadShare =
+        direction == 0 ? 0.5 : 0.6 + 0.3 * Math.min(1.0, velocity / FAST_SCROLL_VELOCITY);
+    int aheadRoom = dir > 0 ? size - 1 - index : index;
+    int behindRoom = dir > 0 ? index : size - 1 - index;
+    int ahead = Math.min(aheadRoom, (int) Math.ceil(window2 * aheadShare));
+    int behind = Math.min(behindRoom, window2 - ahead);
+    // Give back to the front the room that cannot be used at the border of the series
+    ahead = Math.min(aheadRoom, window2 - behind);
+
+    int[] order = new int[1 + ahead + behind];
+    int n = 0;
+    order[n++] = index;
+    // Ratio of the number of images ahead for one image behind
+    double ratio = behind == 0 ? Double.MAX_VALUE : (double) ahead / behind;
+    int a = 0;
+    int b = 0;
+    while (a < ahead || b < behind) {
+      if (a < ahead && (b >= behind || a < (b + 1) * ratio)) {
+        a++;
+        order[n++] = index + dir * a;
+      } else {
+        b++;
+        order[n++] = index - dir * b;
+      }
+    }
+    return order;
+  }
+
+  static long evaluateImageSize(DicomImageElement image) {
+    Integer allocated = TagD.getTagValue(image, Tag.BitsAllocated, Integer.class);
+    Integer sample = TagD.getTagValue(image, Tag.SamplesPerPixel, Integer.class);
+    Integer rows = TagD.getTagValue(image, Tag.Rows, Integer.class);
+    Integer columns = TagD.getTagValue(image, Tag.Columns, Integer.class);
+    if (allocated != null && sample != null && rows != null && columns != null) {
+      long size = ((long) rows * columns * sample * allocated) / 8L;
+      if (size > 0) {
+        return size;
+      }
+    }
+    return DEFAULT_FRAME_SIZE;
+  }
+
+  /** Ordered images to decode, shared by the parallel tasks of one generation. */
+  private static final class Plan {
+    private final DicomSeries series;
+    private final List<DicomImageElement> images;
+    private final int generation;
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    private Plan(DicomSeries series, List<DicomImageElement> images, int generation) {
+      this.series = series;
+      this.images = images;
+      this.generation = generation;
+    }
+  }
+
+  /** Prefetch state of one viewport, guarded by its own monitor. */
+  private static final class Viewport {
+    private DicomSeries series;
+    private Filter<DicomImageElement> filter;
+    private Comparator<DicomImageElement> sort;
+    private int seriesSize = -1;
+    private List<DicomImageElement> images = List.of();
+
+    private int index = -1;
+    private long lastNanos;
+    private int direction;
+    private double velocity;
+
+    private int center = -1;
+    private int window;
+    private volatile int generation;
+    private final List<Future<?>> tasks = new ArrayList<>();
+
+    /**
+     * @return {@code true} when the current plan must be rebuilt.
+     */
+    private boolean setPosition(
+        DicomSeries series,
+        Filter<DicomImageElement> filter,
+        Comparator<DicomImageElement> sort,
+        int index,
+        long now) {
+      int size = series.size(null);
+      if (series != this.series
+          || filter != this.filter
+          || sort != this.sort
+          || size != seriesSize) {
+        this.series = series;
+        this.filter = filter;
+        this.sort = sort;
+        this.seriesSize = size;
+        this.images = series.copyOfMedias(filter, sort);
+        this.index = index;
+        this.lastNanos = now;
+        this.direction = 0;
+        this.velocity = 0.0;
+        return true;
+      }
+      if (index == this.index) {
+        return false;
+      }
+
+      int delta = index - this.index;
+      long elapsed = now - lastNanos;
+      int newDirection = Integer.signum(delta);
+      if (elapsed > VELOCITY_RESET_NANOS || newDirection != direction) {
+        velocity = 0.0;
+      } else if (elapsed > 0) {
+        double instant = Math.abs(delta) * 1.0e9 / elapsed;
+        velocity = velocity + VELOCITY_SMOOTHING * (instant - velocity);
+      }
+      boolean reversed = direction != 0 && newDirection != direction;
+      this.direction = newDirection;
+      this.index = index;
+      this.lastNanos = now;
+
+      // Jump, change of direction or drift away from the center of the plan
+      int tolerance = Math.max(1, window / 4);
+      return reversed || Math.abs(delta) > tolerance || Math.abs(index - center) > tolerance;
+    }
+
+    private void cancel() {
+      generation++;
+      for (Future<?> task : tasks) {
+        task.cancel(false);
+      }
+      tasks.clear();
+    }
+  }
+}
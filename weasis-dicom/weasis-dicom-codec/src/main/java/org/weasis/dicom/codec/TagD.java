@@ -9,7 +9,6 @@
  */
 package org.weasis.dicom.codec;
 
-import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -22,13 +21,10 @@
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
-import javax.xml.stream.XMLInputFactory;
-import javax.xml.stream.XMLStreamConstants;
-import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.XMLStreamReader;
 import org.dcm4che3.data.Attributes;
 import org.dcm4che3.data.ElementDictionary;
 import org.dcm4che3.data.Tag;
@@ -42,9 +38,9 @@
 import org.weasis.core.api.media.data.TagReadable;
 import org.weasis.core.api.media.data.TagUtil;
 import org.weasis.core.api.media.data.TagW;
-import org.weasis.core.util.LangUtil;
-import org.weasis.core.util.StreamUtil;
 import org.weasis.core.util.StringUtil;
+import org.weasis.dicom.codec.utils.DataElementDictionary;
+import org.weasis.dicom.codec.utils.DataElementDictionary.Element;
 import org.weasis.dicom.codec.utils.DicomMediaUtils;
 
 public class TagD extends TagW {
@@ -126,8 +122,22 @@ public String toString() {
     }
   }
 
+  /** The standard data elements by keyword, from which the tags are created at first lookup. */
+  private static final Map<String, Element> dictionary = readDictionary();
+
   static {
-    readTags();
+    TagW.setTagResolver(TagD::createTag);
+    // The tags registered before under a DICOM keyword are replaced, as when every tag was created
+    List<String> registered;
+    synchronized (tags) {
+      registered = new ArrayList<>(tags.keySet());
+    }
+    for (String keyword : registered) {
+      TagW tag = createTag(keyword);
+      if (tag != null) {
+        TagW.addTag(tag);
+      }
+    }
   }
 
   protected final VR vr;
@@ -496,8 +506,8 @@ public String getFormattedTagValue(Object value, String format) {
   }
 
   public static TagW get(String keyword) {
-    // Overrides static method in TagW only to force the method readTags() if not initialized
-    return tags.get(keyword);
+    // Hides the static method of TagW only to set the tag resolver if TagD is not initialized
+    return TagW.get(keyword);
   }
 
   public static String getKeywordFromTag(int tagID, String privateCreatorID) {
@@ -547,146 +557,43 @@ private static TagType getTypeFromTag(int tagID, VR vr) {
     return TagType.STRING;
   }
 
-  private static Map<Integer, TagD> readTags() {
-    Map<Integer, TagD> map = new HashMap<>();
-    XMLStreamReader xmler = null;
-    InputStream stream = null;
-    try {
-      XMLInputFactory factory = XMLInputFactory.newInstance();
-      // disable external entities for security
-      factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
-      factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
-      stream = TagD.class.getResourceAsStream("/dataelements.xml"); // NON-NLS
-      xmler = factory.createXMLStreamReader(stream);
-
-      int eventType;
-      while (xmler.hasNext()) {
-        eventType = xmler.next();
-        if (eventType == XMLStreamConstants.START_ELEMENT) {
-          String key = xmler.getName().getLocalPart();
-          if ("dataelements".equals(key)) { // NON-NLS
-            while (xmler.hasNext()) {
-              eventType = xmler.next();
-              if (eventType == XMLStreamConstants.START_ELEMENT) {
-                key = xmler.getName().getLocalPart();
-                if ("el".equals(key)) { // NON-NLS
-                  readElement(xmler, map);
-                }
-              }
-            }
-          }
-        }
-      }
-    } catch (Exception e) {
-      LOGGER.error("Cannot read dataelements.xml! ", e);
-    } finally {
-      StreamUtil.safeClose(xmler);
-      StreamUtil.safeClose(stream);
+  private static Map<String, Element> readDictionary() {
+    List<Element> elements = DataElementDictionary.load();
+    Map<String, Element> map = HashMap.newHashMap(elements.size());
+    for (Element e : elements) {
+      map.put(e.keyword(), e);
     }
     return map;
   }
 
-  private static void readElement(XMLStreamReader xmler, Map<Integer, TagD> map)
-      throws XMLStreamException {
-
-    String tag = xmler.getAttributeValue(null, "tag"); // NON-NLS
-    String keyword = xmler.getAttributeValue(null, "keyword"); // NON-NLS
-    String vr = xmler.getAttributeValue(null, "vr"); // NON-NLS
-    String vm = xmler.getAttributeValue(null, "vm"); // NON-NLS
-    String retired = xmler.getAttributeValue(null, "retired"); // NON-NLS
-
-    int eventType;
-    boolean state = true;
-    while (xmler.hasNext() && state) {
-      eventType = xmler.next();
-      switch (eventType) {
-        case XMLStreamConstants.CHARACTERS:
-          if (tag != null && keyword != null && vr != null && vm != null) {
-            String disp = xmler.getText();
-            if (StringUtil.hasText(disp)) {
-              try {
-                if (tag.startsWith("F")) { // NON-NLS
-                  return;
-                }
-                int tagID = Integer.parseInt(tag.replace('x', '0'), 16); // NON-NLS
-
-                String[] vms = vm.split("-", 2);
-                int vmMin;
-                int vmMax;
-                if (vms.length == 1) {
-                  vmMin = vmMax = getVM(vms[0]);
-                } else if (vms.length == 2) {
-                  vmMin = getVM(vms[0]);
-                  vmMax = getVM(vms[1]);
-                } else {
-                  vmMin = vmMax = 1;
-                }
-
-                String defaultValue = null;
-                if (tagID == Tag.PatientID
-                    || tagID == Tag.PatientName
-                    || tagID == Tag.StudyInstanceUID
-                    || tagID == Tag.SeriesInstanceUID
-                    || tagID == Tag.Modality) {
-                  defaultValue = TagW.NO_VALUE;
-                }
-
-                VR vrVal = getVR(vr);
-                TagD t;
-                if (VR.SQ.equals(vrVal)) {
-                  t =
-                      new TagSeq(
-                          tagID,
-                          keyword,
-                          disp,
-                          null,
-                          vrVal,
-                          vmMin,
-                          vmMax,
-                          defaultValue,
-                          LangUtil.emptyToFalse(retired));
-                } else {
-                  t =
-                      new TagD(
-                          tagID,
-                          keyword,
-                          disp,
-                          null,
-                          vrVal,
-                          vmMin,
-                          vmMax,
-                          defaultValue,
-                          LangUtil.emptyToFalse(retired));
-                }
-                TagW.addTag(t);
-              } catch (Exception e) {
-                LOGGER.error("Cannot read {}", disp, e);
-              }
-            }
-          } else {
-            // Exclude delimitation tags
-            if (tag == null || !tag.startsWith("FFFEE0")) {
-              LOGGER.error("Missing attribute: {} {} {} {}", tag, keyword, vr, vm);
-            }
-          }
-
-          break;
-        case XMLStreamConstants.END_ELEMENT:
-          if ("el".equals(xmler.getName().getLocalPart())) { // NON-NLS
-            state = false;
-          }
-          break;
-        default:
-          break;
-      }
+  /**
+   * Creates the tag of a standard data element.
+   *
+   * @param keyword the keyword of the data element
+   * @return the tag, or null when the keyword is not in the dictionary
+   */
+  private static TagD createTag(String keyword) {
+    Element e = dictionary.get(keyword);
+    if (e == null) {
+      return null;
+    }
+    int tagID = e.tag();
+    String defaultValue = null;
+    if (tagID == Tag.PatientID
+        || tagID == Tag.PatientName
+        || tagID == Tag.StudyInstanceUID
+        || tagID == Tag.SeriesInstanceUID
+        || tagID == Tag.Modality) {
+      defaultValue = TagW.NO_VALUE;
     }
-  }
 
-  private static int getVM(String val) {
-    if ("n".equals(val) || val.toLowerCase().contains("n")) { // NON-NLS
-      return Integer.MAX_VALUE;
+    VR vr = getVR(e.vr());
+    if (VR.SQ.equals(vr)) {
+      return new TagSeq(
+          tagID, e.keyword(), e.name(), null, vr, e.vmMin(), e.vmMax(), defaultValue, e.retired());
     }
-    return Integer.parseInt(val);
+    return new TagD(
+        tagID, e.keyword(), e.name(), null, vr, e.vmMin(), e.vmMax(), defaultValue, e.retired());
   }
 
   private static VR getVR(String vr) {
@@ -715,14 +622,14 @@ public static TagW getNullable(int tagID) {
 
   public static TagW getNullable(int tagID, String privateCreatorID) {
     String key = getKeywordFromTag(tagID, privateCreatorID);
-    return key == null ? null : tags.get(key);
+    return key == null ? null : get(key);
   }
 
   public static Object getTagValue(TagReadable taggable, int tagID) {
     if (taggable != null) {
       String key = getKeywordFromTag(tagID, null);
       if (key != null) {
-        return taggable.getTagValue(tags.get(key));
+        return taggable.getTagValue(get(key));
       }
     }
     return null;
@@ -733,7 +640,7 @@ public static <T> T getTagValue(TagReadable taggable, int tagID, Class<T> type)
       String key = getKeywordFromTag(tagID, null);
       if (key != null) {
         try {
-          return type.cast(taggable.getTagValue(tags.get(key)));
+          return type.cast(taggable.getTagValue(get(key)));
         } catch (ClassCastException e) {
           LOGGER.error("Cannot cast the value of \"{}\" into {}", key, type, e);
         }
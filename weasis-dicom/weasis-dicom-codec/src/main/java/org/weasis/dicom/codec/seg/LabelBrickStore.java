@@ -0,0 +1,467 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.codec.seg;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.weasis.core.api.gui.util.AppProperties;
+import org.weasis.core.api.image.cv.CvUtil;
+import org.weasis.core.api.vol.ChunkedMappedBuffer;
+
+/**
+ * Sparse storage-ID grid of a {@link SegmentationVolume}. The grid is split into cubic bricks of
+ * {@value #BRICK_SIZE}&sup3; voxels that are allocated on their first non-zero write, so a segment
+ * covering a small lesion only costs the bricks it touches instead of the whole referenced volume.
+ * A missing brick reads as background.
+ *
+ * <p>Bricks hold one byte per voxel until the owner calls {@link #promoteToShort()}, which widens
+ * every allocated brick to one unsigned short per voxel, releasing each byte brick once widened.
+ *
+ * <p>A dense labelmap allocates almost every brick. When a brick cannot be allocated on the heap,
+ * even after a garbage collection, it and every later brick are spilled to a temporary
+ * memory-mapped file where each brick keeps its slot, always with one unsigned short per voxel.
+ * {@link #close()} deletes that file.
+ *
+ * <p>Writes to distinct voxels may run concurrently, including in the same brick: allocating a
+ * brick is synchronised. Promotion must not run concurrently with writes.
+ */
+final class LabelBrickStore {
+  private static final Logger LOGGER = LoggerFactory.getLogger(LabelBrickStore.class);
+
+  static final int BRICK_SHIFT = 4;
+  static final int BRICK_SIZE = 1 << BRICK_SHIFT;
+  private static final int BRICK_MASK = BRICK_SIZE - 1;
+  private static final int BRICK_VOXELS = BRICK_SIZE * BRICK_SIZE * BRICK_SIZE;
+
+  /** Marks a byte brick held by {@link #spill}. */
+  private static final byte[] SPILLED_BYTES = new byte[0];
+
+  /** Marks a short brick held by {@link #spill}. */
+  private static final short[] SPILLED_SHORTS = new short[0];
+
+  /** Receives a non-zero voxel of a brick with its volume coordinates. */
+  @FunctionalInterface
+  interface VoxelConsumer {
+    void accept(int x, int y, int z, int id);
+  }
+
+  private final int sizeX;
+  private final int sizeY;
+  private final int sizeZ;
+  private final int bricksX;
+  private final int bricksY;
+  private final int bricksZ;
+
+  /** Byte bricks by brick index. Non-null until {@link #promoteToShort()}. */
+  private volatile byte[][] byteBricks;
+
+  /** Short bricks by brick index. Non-null after {@link #promoteToShort()}. */
+  private volatile short[][] shortBricks;
+
+  /** Disk-backed bricks, created on the first heap allocation failure. */
+  private volatile ChunkedMappedBuffer spill;
+
+  LabelBrickStore(int sizeX, int sizeY, int sizeZ, boolean shortMode) {
+    this.sizeX = sizeX;
+    this.sizeY = sizeY;
+    this.sizeZ = sizeZ;
+    this.bricksX = bricks(sizeX);
+    this.bricksY = bricks(sizeY);
+    this.bricksZ = bricks(sizeZ);
+    int count = Math.multiplyExact(Math.multiplyExact(bricksX, bricksY), bricksZ);
+    if (shortMode) {
+      this.shortBricks = new short[count][];
+    } else {
+      this.byteBricks = new byte[count][];
+    }
+  }
+
+  private static int bricks(int size) {
+    return (Math.max(size, 0) + BRICK_MASK) >> BRICK_SHIFT;
+  }
+
+  boolean isShortMode() {
+    return byteBricks == null;
+  }
+
+  int brickCount() {
+    return bricksX * bricksY * bricksZ;
+  }
+
+  /** Number of bricks in one layer of bricks (same brick Z). */
+  int bricksPerLayer() {
+    return bricksX * bricksY;
+  }
+
+  int brickIndex(int x, int y, int z) {
+    return ((z >> BRICK_SHIFT) * bricksY + (y >> BRICK_SHIFT)) * bricksX + (x >> BRICK_SHIFT);
+  }
+
+  private static int offset(int x, int y, int z) {
+    return ((z & BRICK_MASK) << (2 * BRICK_SHIFT))
+        | ((y & BRICK_MASK) << BRICK_SHIFT)
+        | (x & BRICK_MASK);
+  }
+
+  private static long spillOffset(int brick, int offset) {
+    return ((long) brick * BRICK_VOXELS + offset) * 2L;
+  }
+
+  private int readSpilled(int brick, int offset) {
+    ChunkedMappedBuffer disk = spill;
+    return disk == null ? 0 : disk.getShort(spillOffset(brick, offset)) & 0xFFFF;
+  }
+
+  /** Reads the storage ID of a voxel, which the caller has checked is inside the grid. */
+  int read(int x, int y, int z) {
+    int b = brickIndex(x, y, z);
+    byte[][] bytes = byteBricks;
+    if (bytes != null) {
+      byte[] brick = bytes[b];
+      if (brick == SPILLED_BYTES) {
+        return readSpilled(b, offset(x, y, z));
+      }
+      return brick == null ? 0 : brick[offset(x, y, z)] & 0xFF;
+    }
+    short[] brick = shortBricks[b];
+    if (brick == SPILLED_SHORTS) {
+      return readSpilled(b, offset(x, y, z));
+    }
+    return brick == null ? 0 : brick[offset(x, y, z)] & 0xFFFF;
+  }
+
+  /** Writes the storage ID of a voxel, which the caller has checked is inside the grid. */
+  void write(int x, int y, int z, int id) {
+    int b = brickIndex(x, y, z);
+    byte[][] bytes = byteBricks;
+    if (bytes != null) {
+      byte[] brick = bytes[b];
+      if (brick == null) {
+        if (id == 0) {
+          return;
+        }
+        brick = allocateByteBrick(bytes, b);
+      }
+      if (brick == SPILLED_BYTES) {
+        spill.putShort(spillOffset(b, offset(x, y, z)), (short) id);
+      } else {
+        brick[offset(x, y, z)] = (byte) id;
+      }
+      return;
+    }
+    short[][] shorts = shortBricks;
+    short[] brick = shorts[b];
+    if (brick == null) {
+      if (id == 0) {
+        return;
+      }
+      brick = allocateShortBrick(shorts, b);
+    }
+    if (brick == SPILLED_SHORTS) {
+      spill.putShort(spillOffset(b, offset(x, y, z)), (short) id);
+    } else {
+      brick[offset(x, y, z)] = (short) id;
+    }
+  }
+
+  private synchronized byte[] allocateByteBrick(byte[][] bytes, int b) {
+    byte[] brick = bytes[b];
+    if (brick == null) {
+      brick = allocateOnHeap(() -> new byte[BRICK_VOXELS]);
+      if (brick == null) {
+        spillToDisk();
+        brick = SPILLED_BYTES;
+      }
+      bytes[b] = brick;
+    }
+    return brick;
+  }
+
+  private synchronized short[] allocateShortBrick(short[][] shorts, int b) {
+    short[] brick = shorts[b];
+    if (brick == null) {
+      brick = allocateOnHeap(() -> new short[BRICK_VOXELS]);
+      if (brick == null) {
+        spillToDisk();
+        brick = SPILLED_SHORTS;
+      }
+      shorts[b] = brick;
+    }
+    return brick;
+  }
+
+  /**
+   * Allocates a heap brick, retrying once after a garbage collection. Returns {@code null} when the
+   * heap is exhausted or when bricks are already spilled to disk.
+   */
+  private <T> T allocateOnHeap(Supplier<T> brick) {
+    if (spill != null) {
+      return null;
+    }
+    try {
+      return brick.get();
+    } catch (OutOfMemoryError e) {
+      CvUtil.runGarbageCollectorAndWait(100);
+      try {
+        return brick.get();
+      } catch (OutOfMemoryError retry) {
+        return null;
+      }
+    }
+  }
+
+  /** Creates the disk-backed bricks, with a slot for every brick of the grid. */
+  private void spillToDisk() {
+    if (spill != null) {
+      return;
+    }
+    try {
+      File file =
+          File.createTempFile("seg_bricks_", ".tmp", AppProperties.FILE_CACHE_DIR.toFile());
+      spill = new ChunkedMappedBuffer(file, spillOffset(brickCount(), 0));
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to create disk-backed segmentation bricks", e);
+    }
+    LOGGER.info("Segmentation bricks spilled to disk (not enough memory)");
+  }
+
+  /**
+   * Widens every allocated brick to 2 bytes per voxel. Does nothing when already widened. Each byte
+   * brick is released as soon as it is widened, so the heap never holds both copies of the grid;
+   * bricks that no longer fit on the heap are widened into the disk-backed bricks.
+   */
+  synchronized void promoteToShort() {
+    byte[][] bytes = byteBricks;
+    if (bytes == null) {
+      return;
+    }
+    short[][] shorts = new short[bytes.length][];
+    for (int b = 0; b < bytes.length; b++) {
+      byte[] brick = bytes[b];
+      if (brick == SPILLED_BYTES) {
+        // Already stored with 2 bytes per voxel
+        shorts[b] = SPILLED_SHORTS;
+      } else if (brick != null) {
+        short[] wide = allocateOnHeap(() -> new short[BRICK_VOXELS]);
+        if (wide == null) {
+          spillToDisk();
+          for (int i = 0; i < BRICK_VOXELS; i++) {
+            spill.putShort(spillOffset(b, i), (short) (brick[i] & 0xFF));
+          }
+          wide = SPILLED_SHORTS;
+        } else {
+          for (int i = 0; i < BRICK_VOXELS; i++) {
+            wide[i] = (short) (brick[i] & 0xFF);
+          }
+        }
+        shorts[b] = wide;
+        bytes[b] = null;
+      }
+    }
+    shortBricks = shorts;
+    byteBricks = null;
+  }
+
+  /** Deletes the disk-backed bricks, if any. The store must not be used afterwards. */
+  synchronized void close() {
+    ChunkedMappedBuffer disk = spill;
+    if (disk != null) {
+      spill = null;
+      disk.close();
+    }
+  }
+
+  boolean isAllocated(int brick) {
+    byte[][] bytes = byteBricks;
+    return bytes != null ? bytes[brick] != null : shortBricks[brick] != null;
+  }
+
+  /** Returns the indices of the allocated bricks, in ascending order. */
+  int[] allocatedBricks() {
+    return IntStream.range(0, brickCount()).filter(this::isAllocated).toArray();
+  }
+
+  /** {@code true} when no allocated brick holds a non-zero voxel. */
+  boolean isEmpty() {
+    for (int b : allocatedBricks()) {
+      if (!isBrickEmpty(b)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean isBrickEmpty(int b) {
+    byte[][] bytes = byteBricks;
+    if (isSpilled(b)) {
+      for (int i = 0; i < BRICK_VOXELS; i++) {
+        if (readSpilled(b, i) != 0) {
+          return false;
+        }
+      }
+    } else if (bytes != null) {
+      for (byte v : bytes[b]) {
+        if (v != 0) {
+          return false;
+        }
+      }
+    } else {
+      for (short v : shortBricks[b]) {
+        if (v != 0) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private boolean isSpilled(int b) {
+    byte[][] bytes = byteBricks;
+    return bytes != null ? bytes[b] == SPILLED_BYTES : shortBricks[b] == SPILLED_SHORTS;
+  }
+
+  /**
+   * Visits every non-zero voxel of brick {@code b} whose Z lies in {@code [zFrom, zTo]}, in X, then
+   * Y, then Z order. Does nothing when the brick is not allocated.
+   */
+  void forEachNonZero(int b, int zFrom, int zTo, VoxelConsumer consumer) {
+    byte[][] bytes = byteBricks;
+    byte[] byteBrick = bytes == null ? null : bytes[b];
+    short[] shortBrick = bytes == null ? shortBricks[b] : null;
+    if (byteBrick == null && shortBrick == null) {
+      return;
+    }
+    boolean spilled = byteBrick == SPILLED_BYTES || shortBrick == SPILLED_SHORTS;
+    int x0 = (b % bricksX) << BRICK_SHIFT;
+    int y0 = ((b / bricksX) % bricksY) << BRICK_SHIFT;
+    int z0 = (b / (bricksX * bricksY)) << BRICK_SHIFT;
+    int xEnd = Math.min(BRICK_SIZE, sizeX - x0);
+    int yEnd = Math.min(BRICK_SIZE, sizeY - y0);
+    int zStart = Math.max(0, zFrom - z0);
+    int zEnd = Math.min(Math.min(BRICK_SIZE, sizeZ - z0), zTo - z0 + 1);
+    for (int dz = zStart; dz < zEnd; dz++) {
+      for (int dy = 0; dy < yEnd; dy++) {
+        int row = (dz << (2 * BRICK_SHIFT)) | (dy << BRICK_SHIFT);
+        for (int dx = 0; dx < xEnd; dx++) {
+          int id;
+          if (spilled) {
+            id = readSpilled(b, row | dx);
+          } else {
+            id = byteBrick != null ? byteBrick[row | dx] & 0xFF : shortBrick[row | dx] & 0xFFFF;
+          }
+          if (id != 0) {
+            consumer.accept(x0 + dx, y0 + dy, z0 + dz, id);
+          }
+        }
+      }
+    }
+  }
+
+  /** Visits every non-zero voxel of brick {@code b}. */
+  void forEachNonZero(int b, VoxelConsumer consumer) {
+    forEachNonZero(b, 0, sizeZ - 1, consumer);
+  }
+
+  /** Fills {@code dst} (row-major, {@code sizeX * sizeY}) with the storage IDs of slice z. */
+  void copySlice(int z, int[] dst) {
+    Arrays.fill(dst, 0, sizeX * sizeY, 0);
+    forEachSliceRow(
+        z,
+        (b, row, dstPos, length) -> {
+          byte[][] bytes = byteBricks;
+          if (isSpilled(b)) {
+            for (int i = 0; i < length; i++) {
+              dst[dstPos + i] = readSpilled(b, row + i);
+            }
+          } else if (bytes != null) {
+            byte[] brick = bytes[b];
+            for (int i = 0; i < length; i++) {
+              dst[dstPos + i] = brick[row + i] & 0xFF;
+            }
+          } else {
+            short[] brick = shortBricks[b];
+            for (int i = 0; i < length; i++) {
+              dst[dstPos + i] = brick[row + i] & 0xFFFF;
+            }
+          }
+        });
+  }
+
+  /** Fills {@code dst} with slice z in byte mode; left as background in short mode. */
+  void copySlice(int z, byte[] dst) {
+    Arrays.fill(dst, 0, sizeX * sizeY, (byte) 0);
+    byte[][] bytes = byteBricks;
+    if (bytes == null) {
+      return;
+    }
+    forEachSliceRow(
+        z,
+        (b, row, dstPos, length) -> {
+          if (bytes[b] == SPILLED_BYTES) {
+            for (int i = 0; i < length; i++) {
+              dst[dstPos + i] = (byte) readSpilled(b, row + i);
+            }
+          } else {
+            System.arraycopy(bytes[b], row, dst, dstPos, length);
+          }
+        });
+  }
+
+  /** Fills {@code dst} with slice z in short mode; left as background in byte mode. */
+  void copySlice(int z, short[] dst) {
+    Arrays.fill(dst, 0, sizeX * sizeY, (short) 0);
+    short[][] shorts = shortBricks;
+    if (shorts == null) {
+      return;
+    }
+    forEachSliceRow(
+        z,
+        (b, row, dstPos, length) -> {
+          if (shorts[b] == SPILLED_SHORTS) {
+            for (int i = 0; i < length; i++) {
+              dst[dstPos + i] = (short) readSpilled(b, row + i);
+            }
+          } else {
+            System.arraycopy(shorts[b], row, dst, dstPos, length);
+          }
+        });
+  }
+
+  @FunctionalInterface
+  private interface RowCopy {
+    void copy(int brick, int brickOffset, int dstPos, int length);
+  }
+
+  /** Calls {@code copy} for each row segment of slice z held by an allocated brick. */
+  private void forEachSliceRow(int z, RowCopy copy) {
+    int layer = (z >> BRICK_SHIFT) * bricksX * bricksY;
+    int dz = (z & BRICK_MASK) << (2 * BRICK_SHIFT);
+    for (int by = 0; by < bricksY; by++) {
+      for (int bx = 0; bx < bricksX; bx++) {
+        int b = layer + by * bricksX + bx;
+        if (!isAllocated(b)) {
+          continue;
+        }
+        int x0 = bx << BRICK_SHIFT;
+        int y0 = by << BRICK_SHIFT;
+        int length = Math.min(BRICK_SIZE, sizeX - x0);
+        int yEnd = Math.min(BRICK_SIZE, sizeY - y0);
+        for (int dy = 0; dy < yEnd; dy++) {
+          copy.copy(b, dz | (dy << BRICK_SHIFT), (y0 + dy) * sizeX + x0, length);
+        }
+      }
+    }
+  }
+}
@@ -9,11 +9,10 @@
  */
 package org.weasis.dicom.codec.seg;
 
-import java.io.File;
-import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -23,6 +22,7 @@
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.RecursiveAction;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 import java.util.function.IntUnaryOperator;
 import java.util.stream.IntStream;
@@ -34,10 +34,6 @@
 import org.opencv.core.Mat;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.weasis.core.api.gui.util.AppProperties;
-import org.weasis.core.api.image.cv.CvUtil;
-import org.weasis.core.api.vol.ChunkedArray;
-import org.weasis.core.api.vol.ChunkedMappedBuffer;
 import org.weasis.core.ui.model.graphic.imp.seg.SegContour;
 import org.weasis.core.ui.model.graphic.imp.seg.SegRegion;
 import org.weasis.core.util.MathUtil;
@@ -48,9 +44,9 @@
 import org.weasis.opencv.seg.Segment;
 
 /**
- * A 3D multi-label segmentation volume backed by {@link org.weasis.core.api.vol.ChunkedArray}
- * (in-memory) or {@link org.weasis.core.api.vol.ChunkedMappedBuffer} (disk-backed fallback for
- * large volumes).
+ * A 3D multi-label segmentation volume backed by a sparse {@link LabelBrickStore}: only the bricks
+ * of {@value LabelBrickStore#BRICK_SIZE}&sup3; voxels holding a label are allocated, so the memory
+ * and the scans scale with the segmented region rather than with the referenced image volume.
  *
  * <h2>Storage model</h2>
  *
@@ -67,6 +63,10 @@
  * Promotion from byte to short happens transparently the first time {@link #nextId} would exceed
  * {@value #MAX_BYTE_ID}.
  *
+ * <p>The voxel count, bounding box and occupied bricks of every storage ID are summarised on demand
+ * from the allocated bricks (see {@link #getSegmentExtent}) and reused until the next write, so
+ * centre lookup, voxel counts, resampling and plane sampling only visit the labelled region.
+ *
  * <h2>Output API</h2>
  *
  * <p>Two complementary output paths read from the same ID storage:
@@ -114,7 +114,6 @@ public final class SegmentationVolume {
   private final Vector3d volumeAxisX;
   private final Vector3d volumeAxisY;
   private final Vector3d volumeAxisZ;
-  private final long sliceStride;
 
   private final Map<Integer, ? extends RegionAttributes> segAttributes;
 
@@ -154,14 +153,6 @@ public final class SegmentationVolume {
 
   // ---- Adaptive storage fields ----
 
-  /**
-   * When {@code true}, the volume uses 2 bytes per voxel (either {@link #shortData} or {@link
-   * #mappedBuffer}). When {@code false}, it uses 1 byte per voxel ({@link #byteData}). Starts
-   * {@code false} and may flip to {@code true} once when the ID space overflows the byte range or
-   * when the in-memory allocation falls back to disk; never flips back.
-   */
-  private volatile boolean shortMode;
-
   /**
    * When {@code true}, the segmentation declared {@code SegmentsOverlap=NO} (or LABELMAP), so we
    * skip the per-voxel read+compare overlap check. Voxels with conflicting writes will be
@@ -170,17 +161,24 @@ public final class SegmentationVolume {
    */
   private final boolean forceExclusiveMode;
 
-  /** In-memory byte storage. Non-null when {@code !shortMode} and in-memory. */
-  private ChunkedArray<byte[]> byteData;
+  /**
+   * Sparse storage-ID grid. Starts with 1 byte per voxel and is widened once to 2 bytes when the ID
+   * space overflows the byte range; never narrows back. {@code null} once {@link #removeData()} has
+   * freed it.
+   */
+  private LabelBrickStore labels;
 
-  /** In-memory short storage. Non-null when {@code shortMode} and in-memory. */
-  private ChunkedArray<short[]> shortData;
+  /**
+   * Summary of the occupied voxels by storage ID, computed lazily by {@link #idExtents()} and valid
+   * while its version is {@link #writeVersion}.
+   */
+  private volatile IdExtents extents;
 
   /**
-   * Disk-backed storage fallback. Non-null when the volume is too large for RAM. Always uses short
-   * mode (2 bytes per element via {@code getShort/putShort}).
+   * Number of completed write entry points. It is incremented after the voxels are written, so a
+   * summary computed during a write never matches the version that follows it.
    */
-  private ChunkedMappedBuffer mappedBuffer;
+  private final AtomicLong writeVersion = new AtomicLong();
 
   /**
    * Creates a new segmentation volume.
@@ -238,7 +236,6 @@ public SegmentationVolume(
       Map<Integer, ? extends RegionAttributes> segAttributes,
       boolean forceExclusiveMode) {
     this.size = new Vector3i(sizeX, sizeY, sizeZ);
-    this.sliceStride = (long) sizeX * sizeY;
     this.pixelSpacing = new Vector3d(pixelSpacing);
     this.volumeOrigin = new Vector3d(volumeOrigin);
     this.volumeAxisX = new Vector3d(volumeAxisX);
@@ -266,154 +263,47 @@ public SegmentationVolume(
     }
     this.nextId = id;
 
-    createData();
-  }
-
-  // ---- Data allocation (starts in byte mode) ----
-
-  private void createData() {
-    long totalElements = (long) size.x * size.y * size.z;
     // Skip the byte mode entirely if the singleton ID space already overflows it.
-    boolean startShort = nextId - 1 > MAX_BYTE_ID;
-    try {
-      allocateInMemory(totalElements, startShort);
-    } catch (OutOfMemoryError e) {
-      CvUtil.runGarbageCollectorAndWait(100);
-      try {
-        allocateInMemory(totalElements, startShort);
-      } catch (OutOfMemoryError ex) {
-        createDataFile();
-      }
-    }
-  }
-
-  private void allocateInMemory(long totalElements, boolean asShort) {
-    if (asShort) {
-      this.shortData = ChunkedArray.ofShort(totalElements);
-      this.shortMode = true;
-    } else {
-      this.byteData = ChunkedArray.ofByte(totalElements);
-    }
-  }
-
-  /** Disk-backed fallback (always uses short mode to avoid a later byte→short migration). */
-  private void createDataFile() {
-    try {
-      removeData();
-      File dataFile =
-          File.createTempFile("seg_volume_", ".tmp", AppProperties.FILE_CACHE_DIR.toFile());
-      this.mappedBuffer = new ChunkedMappedBuffer(dataFile, totalVoxels() * 2L);
-      this.shortMode = true;
-    } catch (IOException e) {
-      throw new RuntimeException("Failed to create disk-backed segmentation volume", e);
-    }
-  }
-
-  private long totalVoxels() {
-    return (long) size.x * size.y * size.z;
+    this.labels = new LabelBrickStore(sizeX, sizeY, sizeZ, nextId - 1 > MAX_BYTE_ID);
   }
 
   // ---- Mode promotion (byte → short) ----
 
-  /** Promotes the in-memory storage from byte to short. Caller must hold {@link #idLock}. */
+  /** Widens the storage from byte to short. Caller must hold {@link #idLock}. */
   private void promoteToShortMode() {
-    if (shortMode) {
+    LabelBrickStore store = labels;
+    if (store == null || store.isShortMode()) {
       return;
     }
-    long totalElements = totalVoxels();
-
-    ChunkedArray<short[]> newData;
-    try {
-      newData = ChunkedArray.ofShort(totalElements);
-    } catch (OutOfMemoryError e) {
-      CvUtil.runGarbageCollectorAndWait(100);
-      try {
-        newData = ChunkedArray.ofShort(totalElements);
-      } catch (OutOfMemoryError ex) {
-        promoteToDiskShortMode();
-        return;
-      }
-    }
-
-    copyByteDataInto(allocateShortSink(newData));
-    shortData = newData;
-    shortMode = true;
+    store.promoteToShort();
     LOGGER.info("SegmentationVolume promoted to short storage (>{} distinct IDs)", MAX_BYTE_ID);
   }
 
-  private static ShortSink allocateShortSink(ChunkedArray<short[]> dst) {
-    return (i, v) -> dst.getChunk(dst.chunkIndex(i))[dst.chunkOffset(i)] = v;
-  }
-
-  /** Disk-backed short fallback when {@code short[]} in-memory allocation fails. */
-  private void promoteToDiskShortMode() {
-    try {
-      File dataFile =
-          File.createTempFile("seg_volume_", ".tmp", AppProperties.FILE_CACHE_DIR.toFile());
-      ChunkedMappedBuffer newBuffer = new ChunkedMappedBuffer(dataFile, totalVoxels() * 2L);
-      copyByteDataInto((i, v) -> newBuffer.putShort(i * 2L, v));
-      mappedBuffer = newBuffer;
-      shortMode = true;
-      LOGGER.info(
-          "SegmentationVolume promoted to disk-backed short storage (memory pressure during ID promotion)");
-    } catch (IOException e) {
-      throw new RuntimeException("Failed to create disk-backed short segmentation volume", e);
-    }
-  }
-
-  /** Streams every non-zero byte ID into the supplied short-mode sink, then clears byteData. */
-  private void copyByteDataInto(ShortSink sink) {
-    if (byteData == null) {
-      return;
-    }
-    long totalElements = totalVoxels();
-    for (long i = 0; i < totalElements; i++) {
-      byte b = byteData.getChunk(byteData.chunkIndex(i))[byteData.chunkOffset(i)];
-      if (b != 0) {
-        sink.put(i, (short) (b & 0xFF));
-      }
-    }
-    byteData = null;
-  }
-
-  @FunctionalInterface
-  private interface ShortSink {
-    void put(long index, short value);
-  }
-
   // ---- Voxel access ----
 
-  private long linearIndex(int x, int y, int z) {
-    return (long) z * sliceStride + (long) y * size.x + x;
+  /** Reads the storage ID of a voxel inside the grid (0 = background). */
+  private int readId(int x, int y, int z) {
+    LabelBrickStore store = labels;
+    return store == null ? 0 : store.read(x, y, z);
   }
 
-  /** Reads the storage ID at the given linear index (0 = background). */
-  private int readId(long index) {
-    if (shortMode) {
-      if (shortData != null) {
-        return shortData.getChunk(shortData.chunkIndex(index))[shortData.chunkOffset(index)]
-            & 0xFFFF;
-      } else if (mappedBuffer != null) {
-        return mappedBuffer.getShort(index * 2L) & 0xFFFF;
-      }
-    } else if (byteData != null) {
-      return byteData.getChunk(byteData.chunkIndex(index))[byteData.chunkOffset(index)] & 0xFF;
+  /** Writes the storage ID of a voxel inside the grid. */
+  private void writeId(int x, int y, int z, int newId) {
+    LabelBrickStore store = labels;
+    if (store != null) {
+      store.write(x, y, z, newId);
     }
-    return 0;
   }
 
-  /** Writes the storage ID at the given linear index. */
-  private void writeId(long index, int newId) {
-    if (shortMode) {
-      if (shortData != null) {
-        shortData.getChunk(shortData.chunkIndex(index))[shortData.chunkOffset(index)] =
-            (short) newId;
-      } else if (mappedBuffer != null) {
-        mappedBuffer.putShort(index * 2L, (short) newId);
-      }
-    } else if (byteData != null) {
-      byteData.getChunk(byteData.chunkIndex(index))[byteData.chunkOffset(index)] = (byte) newId;
-    }
+  /**
+   * Outdates the cached {@link IdExtents}; called by every entry point once its voxels are written.
+   */
+  private void invalidateExtents() {
+    writeVersion.incrementAndGet();
+  }
+
+  private boolean contains(int x, int y, int z) {
+    return x >= 0 && x < size.x && y >= 0 && y < size.y && z >= 0 && z < size.z;
   }
 
   /**
@@ -423,14 +313,14 @@ private void writeId(long index, int newId) {
    * #combinationToId} and the resulting ID is written.
    */
   public void addLabel(int x, int y, int z, int segmentNumber) {
-    if (x < 0 || x >= size.x || y < 0 || y >= size.y || z < 0 || z >= size.z) {
-      return;
+    if (contains(x, y, z)) {
+      addLabelAt(x, y, z, segmentNumber);
+      invalidateExtents();
     }
-    addLabelAt(linearIndex(x, y, z), segmentNumber);
   }
 
-  /** {@link #addLabel} for a voxel whose linear index the caller already holds. */
-  private void addLabelAt(long index, int segmentNumber) {
+  /** {@link #addLabel} for a voxel the caller has already checked is inside the grid. */
+  private void addLabelAt(int x, int y, int z, int segmentNumber) {
     if (segmentNumber < 0
         || segmentNumber >= segNumToSoloId.length
         || segNumToSoloId[segmentNumber] == 0) {
@@ -442,16 +332,16 @@ private void addLabelAt(long index, int segmentNumber) {
     if (forceExclusiveMode) {
       // SegmentsOverlap=NO / LABELMAP: trust the declaration and write directly without
       // read-compare. Conflicting writes (if any) follow last-write-wins semantics.
-      writeId(index, soloId);
+      writeId(x, y, z, soloId);
       return;
     }
 
-    int currentId = readId(index);
+    int currentId = readId(x, y, z);
     if (currentId == 0 || currentId == soloId) {
       // Background, or already carrying exactly this segment: the union is the singleton ID.
       // Short-circuiting here matters — this is the path every first stamp of a voxel takes, and
       // resolving it through getOrAllocateCombination would allocate and hash a list per voxel.
-      writeId(index, soloId);
+      writeId(x, y, z, soloId);
       return;
     }
 
@@ -462,7 +352,7 @@ private void addLabelAt(long index, int segmentNumber) {
     }
     int mergedId = getOrAllocateCombination(currentSegs, segmentNumber);
     if (mergedId > 0) {
-      writeId(index, mergedId);
+      writeId(x, y, z, mergedId);
     }
   }
 
@@ -482,7 +372,7 @@ private int getOrAllocateCombination(List<Integer> currentSegs, int newSeg) {
         return existing;
       }
       int candidate = nextId;
-      if (!shortMode && candidate > MAX_BYTE_ID) {
+      if (candidate > MAX_BYTE_ID) {
         promoteToShortMode();
       }
       if (candidate > MAX_SHORT_ID) {
@@ -531,7 +421,7 @@ private int idForUnion(int idA, int idB) {
       existing = combinationToId.get(merged);
       if (existing != null) return existing;
       int candidate = nextId;
-      if (!shortMode && candidate > MAX_BYTE_ID) {
+      if (candidate > MAX_BYTE_ID) {
         promoteToShortMode();
       }
       if (candidate > MAX_SHORT_ID) {
@@ -678,30 +568,41 @@ public long mergeInto(SegmentationVolume target, IntUnaryOperator segmentRemap)
         || target.size.z != size.z) {
       return 0L;
     }
-    // Both volumes share the grid, so a source linear index addresses the very same target voxel:
-    // there is no need to decompose it into (x, y, z) and have addLabel rebuild it.
+    LabelBrickStore store = labels;
+    if (store == null) {
+      return 0L;
+    }
     IdMapping mapping = mapIdsInto(target, segmentRemap);
     // Allocate every storage ID the walk can need before it starts. Nothing below then mutates
-    // shared state, so the slices can be merged concurrently.
+    // shared state, so the bricks can be merged concurrently.
     target.warmUnionCache(mapping.targetIds());
 
-    return IntStream.range(0, size.z)
+    // Both volumes share the grid and therefore the brick layout: each source brick lands in its
+    // own target brick, and empty source bricks are never visited.
+    try {
+      return mergeBricks(store, target, mapping);
+    } finally {
+      target.invalidateExtents();
+    }
+  }
+
+  private long mergeBricks(LabelBrickStore store, SegmentationVolume target, IdMapping mapping) {
+    return Arrays.stream(store.allocatedBricks())
         .parallel()
         .mapToLong(
-            z -> {
+            brick -> {
               long[] stamps = new long[target.segStampCount.length];
-              long from = (long) z * sliceStride;
-              long to = from + sliceStride;
-              long stamped = 0L;
-              for (long i = from; i < to; i++) {
-                int id = readId(i);
-                if (mapping.maps(id)) {
-                  mapping.stampInto(target, i, id, stamps);
-                  stamped++;
-                }
-              }
+              long[] stamped = new long[1];
+              store.forEachNonZero(
+                  brick,
+                  (x, y, z, id) -> {
+                    if (mapping.maps(id)) {
+                      mapping.stampInto(target, x, y, z, id, stamps);
+                      stamped[0]++;
+                    }
+                  });
               target.addStampCounts(stamps);
-              return stamped;
+              return stamped[0];
             })
         .sum();
   }
@@ -718,16 +619,16 @@ boolean maps(int id) {
     }
 
     /**
-     * Copies the label(s) of source ID {@code id} onto the target voxel at {@code targetIndex},
-     * tallying the affected segments into the caller's {@code stamps}.
+     * Copies the label(s) of source ID {@code id} onto the target voxel {@code (x, y, z)}, tallying
+     * the affected segments into the caller's {@code stamps}.
      */
-    void stampInto(SegmentationVolume target, long targetIndex, int id, long[] stamps) {
-      int current = target.readId(targetIndex);
+    void stampInto(SegmentationVolume target, int x, int y, int z, int id, long[] stamps) {
+      int current = target.readId(x, y, z);
       // The union of two storage IDs depends only on the pair, so it is resolved through a cache:
       // when several segmentations overlap, the same handful of pairs recurs on every voxel.
       int merged = current == 0 ? targetIds[id] : target.cachedUnionId(current, targetIds[id]);
       if (merged != current) {
-        target.writeId(targetIndex, merged);
+        target.writeId(x, y, z, merged);
       }
       for (int segNum : targetSegs[id]) {
         stamps[segNum]++;
@@ -771,7 +672,7 @@ private int getStorageId(int x, int y, int z) {
     if (x < 0 || x >= size.x || y < 0 || y >= size.y || z < 0 || z >= size.z) {
       return 0;
     }
-    return readId(linearIndex(x, y, z));
+    return readId(x, y, z);
   }
 
   // ---- Resampling onto a different grid ----
@@ -824,16 +725,32 @@ public long resampleInto(SegmentationVolume target, VoxelToLps targetVoxelToLps)
     Vector3d stepY = toSourceVoxel(targetVoxelToLps, 0, 1, 0).sub(origin);
     Vector3d stepZ = toSourceVoxel(targetVoxelToLps, 0, 0, 1).sub(origin);
 
-    // Only target voxels landing inside this volume's grid can pick up a label, so restrict the
-    // walk to the source grid mapped back into target space. A SEG usually covers a small part of
-    // the image volume, which is where most of the speed-up comes from.
-    VoxelBox box = targetBounds(origin, stepX, stepY, stepZ, target.size);
+    // Only target voxels landing on a labelled source voxel can pick up a label, so restrict the
+    // walk to the occupied bounds of this volume mapped back into target space. A SEG usually
+    // covers a small part of the image volume, which is where most of the speed-up comes from.
+    VoxelBox occupied = idExtents().occupied();
+    VoxelBox box =
+        occupied == null ? null : targetBounds(origin, stepX, stepY, stepZ, occupied, target.size);
     if (box == null) {
       return 0L;
     }
     IdMapping mapping = mapIdsInto(target, null);
     target.warmUnionCache(mapping.targetIds());
+    try {
+      return resampleSlices(target, mapping, box, origin, stepX, stepY, stepZ);
+    } finally {
+      target.invalidateExtents();
+    }
+  }
 
+  private long resampleSlices(
+      SegmentationVolume target,
+      IdMapping mapping,
+      VoxelBox box,
+      Vector3d origin,
+      Vector3d stepX,
+      Vector3d stepY,
+      Vector3d stepZ) {
     return IntStream.rangeClosed(box.z0(), box.z1())
         .parallel()
         .mapToLong(
@@ -845,15 +762,14 @@ public long resampleInto(SegmentationVolume target, VoxelToLps targetVoxelToLps)
                 double px = origin.x + stepZ.x * z + stepY.x * y + stepX.x * box.x0();
                 double py = origin.y + stepZ.y * z + stepY.y * y + stepX.y * box.x0();
                 double pz = origin.z + stepZ.z * z + stepY.z * y + stepX.z * box.x0();
-                long targetIndex = target.linearIndex(box.x0(), y, z);
                 for (int x = box.x0();
                     x <= box.x1();
-                    x++, targetIndex++, px += stepX.x, py += stepX.y, pz += stepX.z) {
+                    x++, px += stepX.x, py += stepX.y, pz += stepX.z) {
                   int id =
                       getStorageId(
                           (int) Math.round(px), (int) Math.round(py), (int) Math.round(pz));
                   if (mapping.maps(id)) {
-                    mapping.stampInto(target, targetIndex, id, stamps);
+                    mapping.stampInto(target, x, y, z, id, stamps);
                     stamped++;
                   }
                 }
@@ -908,13 +824,18 @@ private Vector3d toSourceVoxel(VoxelToLps targetVoxelToLps, double x, double y,
   private record VoxelBox(int x0, int x1, int y0, int y1, int z0, int z1) {}
 
   /**
-   * Returns the inclusive target-space bounding box of this volume's grid under the affine {@code
-   * source = origin + x·stepX + y·stepY + z·stepZ}, clamped to {@code targetSize}. Returns {@code
-   * null} when the two grids do not intersect, and the full target grid when the affine is
-   * degenerate (not invertible).
+   * Returns the inclusive target-space bounding box of the {@code source} voxel box of this volume
+   * under the affine {@code source = origin + x·stepX + y·stepY + z·stepZ}, clamped to {@code
+   * targetSize}. Returns {@code null} when the two do not intersect, and the full target grid when
+   * the affine is degenerate (not invertible).
    */
-  private VoxelBox targetBounds(
-      Vector3d origin, Vector3d stepX, Vector3d stepY, Vector3d stepZ, Vector3i targetSize) {
+  private static VoxelBox targetBounds(
+      Vector3d origin,
+      Vector3d stepX,
+      Vector3d stepY,
+      Vector3d stepZ,
+      VoxelBox source,
+      Vector3i targetSize) {
     VoxelBox full = new VoxelBox(0, targetSize.x - 1, 0, targetSize.y - 1, 0, targetSize.z - 1);
     Matrix3d m = new Matrix3d(stepX, stepY, stepZ);
     double det = m.determinant();
@@ -923,14 +844,15 @@ private VoxelBox targetBounds(
     }
     Matrix3d inv = m.invert(new Matrix3d());
 
-    // Rounding accepts a source coordinate in [-0.5, dim - 0.5], so that is the box to map back.
+    // Rounding accepts a source coordinate in [min - 0.5, max + 0.5], so that is the box to map
+    // back.
     double[] bounds = null;
     Vector3d corner = new Vector3d();
     for (int i = 0; i < 8; i++) {
       corner.set(
-          (i & 1) == 0 ? -0.5 : size.x - 0.5,
-          (i & 2) == 0 ? -0.5 : size.y - 0.5,
-          (i & 4) == 0 ? -0.5 : size.z - 0.5);
+          (i & 1) == 0 ? source.x0() - 0.5 : source.x1() + 0.5,
+          (i & 2) == 0 ? source.y0() - 0.5 : source.y1() + 0.5,
+          (i & 4) == 0 ? source.z0() - 0.5 : source.z1() + 0.5);
       inv.transform(corner.sub(origin));
       bounds = expandBounds(bounds, corner);
     }
@@ -980,14 +902,10 @@ private List<Integer>[] segmentsByIdTable() {
 
   // ---- Stamping binary masks ----
 
-  /**
-   * Receives every non-zero mask pixel with both its linear index in the raster and its {@code (x,
-   * y)} coordinates, so axis-aligned stamping can address the voxel directly while the affine path
-   * still gets the coordinates it needs.
-   */
+  /** Receives the {@code (x, y)} coordinates of every non-zero mask pixel. */
   @FunctionalInterface
   private interface NonZeroPixelConsumer {
-    void accept(int index, int x, int y);
+    void accept(int x, int y);
   }
 
   /** Pulls one int sample from a typed pixel buffer. */
@@ -1040,7 +958,7 @@ private static int walkPixels(
     int y = 0;
     for (int i = 0; i < total; i++) {
       if (extractor.valueAt(i) != 0) {
-        consumer.accept(i, x, y);
+        consumer.accept(x, y);
         count++;
       }
       if (++x == cols) {
@@ -1060,7 +978,7 @@ private static int forEachNonZeroGeneric(Mat mat, NonZeroPixelConsumer consumer)
       for (int x = 0; x < cols; x++) {
         double[] pixel = mat.get(y, x);
         if (pixel != null && pixel.length > 0 && pixel[0] != 0) {
-          consumer.accept(y * cols + x, x, y);
+          consumer.accept(x, y);
           count++;
         }
       }
@@ -1099,13 +1017,17 @@ public void stampAxialMask(PlanarImage mask, int sliceZ, int segmentNumber) {
       return;
     }
     Mat mat = mask.toMat();
-    // The mask matches the volume's X/Y, so pixel index i of this slice is voxel base + i: the
-    // raster walk already holds the linear index that addLabel(x, y, z) would recompute.
-    long base = (long) sliceZ * sliceStride;
-    NonZeroPixelConsumer stamp = (i, x, y) -> addLabelAt(base + i, segmentNumber);
-    int stamped = forEachNonZero(mat, stamp);
-    if (stamped < 0) {
-      stamped = forEachNonZeroGeneric(mat, stamp);
+    // The mask matches the volume's X/Y, so every pixel is inside the grid: skip the bounds check
+    // of addLabel.
+    NonZeroPixelConsumer stamp = (x, y) -> addLabelAt(x, y, sliceZ, segmentNumber);
+    int stamped;
+    try {
+      stamped = forEachNonZero(mat, stamp);
+      if (stamped < 0) {
+        stamped = forEachNonZeroGeneric(mat, stamp);
+      }
+    } finally {
+      invalidateExtents();
     }
     if (LOGGER.isDebugEnabled()) {
       int total = rows * cols;
@@ -1159,7 +1081,7 @@ public void stampMaskWithTransform(
     double invSz = 1.0 / pixelSpacing.z;
 
     NonZeroPixelConsumer stamp =
-        (i, mx, my) -> {
+        (mx, my) -> {
           double dx = maskOrigin.x + mx * stepXx + my * stepYx - volumeOrigin.x;
           double dy = maskOrigin.y + mx * stepXy + my * stepYy - volumeOrigin.y;
           double dz = maskOrigin.z + mx * stepXz + my * stepYz - volumeOrigin.z;
@@ -1175,12 +1097,18 @@ public void stampMaskWithTransform(
               (int)
                   Math.round(
                       (dx * volumeAxisZ.x + dy * volumeAxisZ.y + dz * volumeAxisZ.z) * invSz);
-          addLabel(ix, iy, iz, segmentNumber);
+          if (contains(ix, iy, iz)) {
+            addLabelAt(ix, iy, iz, segmentNumber);
+          }
         };
 
-    int stamped = forEachNonZero(mat, stamp);
-    if (stamped < 0) {
-      forEachNonZeroGeneric(mat, stamp);
+    try {
+      int stamped = forEachNonZero(mat, stamp);
+      if (stamped < 0) {
+        forEachNonZeroGeneric(mat, stamp);
+      }
+    } finally {
+      invalidateExtents();
     }
   }
 
@@ -1249,6 +1177,35 @@ private int[] sampleImagePlane(
     double rowStepY = colDir.y * rowSpacing;
     double rowStepZ = colDir.z * rowSpacing;
 
+    // Pixel (u, v) samples voxel coordinates that are affine in (u, v): only the columns of each
+    // row that can reach the occupied bounds are sampled.
+    double ox = imgOrigin.x - volumeOrigin.x;
+    double oy = imgOrigin.y - volumeOrigin.y;
+    double oz = imgOrigin.z - volumeOrigin.z;
+    int[] columns =
+        occupiedColumns(
+            width,
+            height,
+            0.5,
+            new double[] {
+              dot(ox, oy, oz, volumeAxisX) * invSx,
+              dot(ox, oy, oz, volumeAxisY) * invSy,
+              dot(ox, oy, oz, volumeAxisZ) * invSz
+            },
+            new double[] {
+              dot(colStepX, colStepY, colStepZ, volumeAxisX) * invSx,
+              dot(colStepX, colStepY, colStepZ, volumeAxisY) * invSy,
+              dot(colStepX, colStepY, colStepZ, volumeAxisZ) * invSz
+            },
+            new double[] {
+              dot(rowStepX, rowStepY, rowStepZ, volumeAxisX) * invSx,
+              dot(rowStepX, rowStepY, rowStepZ, volumeAxisY) * invSy,
+              dot(rowStepX, rowStepY, rowStepZ, volumeAxisZ) * invSz
+            });
+    if (columns == null) {
+      return raster;
+    }
+
     int n = Math.max(1, oversample);
     double[] subOffsets = new double[n];
     for (int i = 0; i < n; i++) {
@@ -1257,7 +1214,7 @@ private int[] sampleImagePlane(
 
     for (int v = 0; v < height; v++) {
       int rowBase = v * width;
-      for (int u = 0; u < width; u++) {
+      for (int u = columns[2 * v]; u <= columns[2 * v + 1]; u++) {
         int combined = 0;
         for (int sv = 0; sv < n; sv++) {
           double vv = v + subOffsets[sv];
@@ -1299,6 +1256,57 @@ private int[] sampleImagePlane(
     return raster;
   }
 
+  private static double dot(double x, double y, double z, Vector3d axis) {
+    return x * axis.x + y * axis.y + z * axis.z;
+  }
+
+  /**
+   * Returns, for each row {@code v} of a {@code width × height} plane whose pixel {@code (u, v)}
+   * maps to the voxel coordinate {@code origin[k] + u·du[k] + v·dv[k]} on axis {@code k}, the
+   * inclusive column range {@code [result[2v], result[2v + 1]]} that can land on an occupied voxel
+   * once rounded; the range is empty ({@code first > last}) when the row misses the occupied
+   * bounds. Sub-samples up to {@code subPixel} pixels away from the pixel centre are accounted for.
+   *
+   * @return the column ranges, or {@code null} when this volume has no labelled voxel
+   */
+  private int[] occupiedColumns(
+      int width, int height, double subPixel, double[] origin, double[] du, double[] dv) {
+    VoxelBox box = idExtents().occupied();
+    if (box == null) {
+      return null;
+    }
+    double[] lo = {box.x0(), box.y0(), box.z0()};
+    double[] hi = {box.x1(), box.y1(), box.z1()};
+    int[] columns = new int[2 * height];
+    double[] range = new double[2];
+    for (int v = 0; v < height; v++) {
+      range[0] = 0;
+      range[1] = width - 1.0;
+      for (int k = 0; k < 3; k++) {
+        double margin = 0.5 + subPixel * (Math.abs(du[k]) + Math.abs(dv[k]));
+        clipColumns(range, origin[k] + v * dv[k], du[k], lo[k] - margin, hi[k] + margin);
+      }
+      columns[2 * v] = (int) Math.max(0, Math.ceil(range[0]));
+      columns[2 * v + 1] = (int) Math.min(width - 1.0, Math.floor(range[1]));
+    }
+    return columns;
+  }
+
+  /** Narrows {@code range} to the columns {@code u} where {@code c0 + u·slope} is in [lo, hi]. */
+  private static void clipColumns(double[] range, double c0, double slope, double lo, double hi) {
+    if (slope == 0.0) {
+      if (c0 < lo || c0 > hi) {
+        range[0] = 1;
+        range[1] = 0;
+      }
+      return;
+    }
+    double a = (lo - c0) / slope;
+    double b = (hi - c0) / slope;
+    range[0] = Math.max(range[0], Math.min(a, b));
+    range[1] = Math.min(range[1], Math.max(a, b));
+  }
+
   /**
    * Reslices the segmentation volume along an arbitrary plane defined by a combined transformation
    * matrix and returns one {@link SegContour} list per visible segment. Used by 2D MPR overlays.
@@ -1314,12 +1322,24 @@ public Map<Integer, List<SegContour>> getSliceContours(
     }
     int totalPixels = outputSize * outputSize;
     int[] raster = new int[totalPixels];
+    Matrix4d m = combinedTransform;
+    int[] columns =
+        occupiedColumns(
+            outputSize,
+            outputSize,
+            0.0,
+            new double[] {m.m30() / voxelRatio.x, m.m31() / voxelRatio.y, m.m32() / voxelRatio.z},
+            new double[] {m.m00() / voxelRatio.x, m.m01() / voxelRatio.y, m.m02() / voxelRatio.z},
+            new double[] {m.m10() / voxelRatio.x, m.m11() / voxelRatio.y, m.m12() / voxelRatio.z});
+    if (columns == null) {
+      return Collections.emptyMap();
+    }
     // Submit on the common pool — DO NOT close it via try-with-resources (close() shuts it down).
     @SuppressWarnings("resource")
     ForkJoinPool pool = ForkJoinPool.commonPool();
     pool.invoke(
         new BitmaskSliceTask(
-            0, totalPixels, outputSize, combinedTransform, voxelRatio, raster, this));
+            0, totalPixels, outputSize, combinedTransform, voxelRatio, columns, raster, this));
     return buildContours(raster, outputSize, outputSize);
   }
 
@@ -1473,22 +1493,148 @@ public int getSizeZ() {
   }
 
   /**
-   * Returns {@code true} when the storage uses 2 bytes per voxel (either because the ID space
-   * exceeded {@value #MAX_BYTE_ID} due to overlap combinations or because the volume falls back to
-   * disk-backed storage). Used by SEG builders for diagnostic logging.
+   * Returns {@code true} when the storage uses 2 bytes per voxel because the ID space exceeded
+   * {@value #MAX_BYTE_ID} due to overlap combinations. Used by SEG builders for diagnostic logging
+   * and by the 3D texture to pick its voxel format.
    */
   public boolean isShortMode() {
-    return shortMode;
+    LabelBrickStore store = labels;
+    return store != null && store.isShortMode();
   }
 
+  /** Returns {@code true} when no voxel carries a label; only the allocated bricks are checked. */
   public boolean isEmpty() {
-    long total = totalVoxels();
-    for (long i = 0; i < total; i++) {
-      if (readId(i) != 0) {
-        return false;
+    LabelBrickStore store = labels;
+    return store == null || store.isEmpty();
+  }
+
+  // ---- Occupancy summary ----
+
+  /**
+   * Extent of a segment in this volume.
+   *
+   * @param min the lowest voxel coordinates of the segment on each axis
+   * @param max the highest voxel coordinates of the segment on each axis (inclusive)
+   * @param voxelCount the number of voxels carrying the segment, overlaps included
+   */
+  public record SegmentExtent(Vector3i min, Vector3i max, long voxelCount) {}
+
+  /**
+   * Voxel count, bounding box and occupied bricks by storage ID, plus the bounds of all the
+   * labelled voxels ({@code null} when there is none). Built from one pass over the allocated
+   * bricks.
+   */
+  private record IdExtents( // NOSONAR lookup table only
+      long version, long[] counts, int[][] bounds, BitSet[] bricks, VoxelBox occupied) {
+
+    static IdExtents empty(long version) {
+      return new IdExtents(version, new long[0], new int[0][], new BitSet[0], null);
+    }
+  }
+
+  /**
+   * Returns the occupancy summary, computing it once after each series of writes. The version is
+   * read before the voxels: a write ending during the computation outdates the summary at once.
+   */
+  private IdExtents idExtents() {
+    IdExtents current = extents;
+    if (current != null && current.version() == writeVersion.get()) {
+      return current;
+    }
+    synchronized (idLock) {
+      long version = writeVersion.get();
+      current = extents;
+      if (current == null || current.version() != version) {
+        current = computeIdExtents(version);
+        extents = current;
       }
+      return current;
+    }
+  }
+
+  private IdExtents computeIdExtents(long version) {
+    LabelBrickStore store = labels;
+    if (store == null) {
+      return IdExtents.empty(version);
+    }
+    int idCount = nextId;
+    long[] counts = new long[idCount];
+    int[][] bounds = new int[idCount][];
+    BitSet[] bricks = new BitSet[idCount];
+    int[] all = null;
+    for (int brick : store.allocatedBricks()) {
+      store.forEachNonZero(
+          brick,
+          (x, y, z, id) -> {
+            if (id >= idCount) {
+              return;
+            }
+            if (counts[id]++ == 0) {
+              bounds[id] = new int[] {x, x, y, y, z, z};
+              bricks[id] = new BitSet();
+            } else {
+              expandBounds(bounds[id], x, y, z);
+            }
+            bricks[id].set(brick);
+          });
     }
-    return true;
+    for (int[] b : bounds) {
+      if (b != null) {
+        if (all == null) {
+          all = b.clone();
+        } else {
+          expandBounds(all, b[0], b[2], b[4]);
+          expandBounds(all, b[1], b[3], b[5]);
+        }
+      }
+    }
+    VoxelBox occupied =
+        all == null ? null : new VoxelBox(all[0], all[1], all[2], all[3], all[4], all[5]);
+    return new IdExtents(version, counts, bounds, bricks, occupied);
+  }
+
+  /** Grows the inclusive {@code {x0, x1, y0, y1, z0, z1}} bounds to include a voxel. */
+  private static void expandBounds(int[] bounds, int x, int y, int z) {
+    bounds[0] = Math.min(bounds[0], x);
+    bounds[1] = Math.max(bounds[1], x);
+    bounds[2] = Math.min(bounds[2], y);
+    bounds[3] = Math.max(bounds[3], y);
+    bounds[4] = Math.min(bounds[4], z);
+    bounds[5] = Math.max(bounds[5], z);
+  }
+
+  /**
+   * Returns the bounding box and voxel count of a segment, overlap combinations included. The
+   * summary is computed from the allocated bricks only and cached until the next write.
+   *
+   * @return the extent, or {@code null} when the segment has no voxel in this volume
+   */
+  public SegmentExtent getSegmentExtent(int segmentNumber) {
+    boolean[] matchingIds = buildMatchingIds(segmentNumber);
+    if (matchingIds == null) {
+      return null;
+    }
+    IdExtents summary = idExtents();
+    long count = 0;
+    int[] box = null;
+    for (int id = 1; id < summary.counts().length && id < matchingIds.length; id++) {
+      if (!matchingIds[id] || summary.counts()[id] == 0) {
+        continue;
+      }
+      count += summary.counts()[id];
+      int[] b = summary.bounds()[id];
+      if (box == null) {
+        box = b.clone();
+      } else {
+        expandBounds(box, b[0], b[2], b[4]);
+        expandBounds(box, b[1], b[3], b[5]);
+      }
+    }
+    if (box == null) {
+      return null;
+    }
+    return new SegmentExtent(
+        new Vector3i(box[0], box[2], box[4]), new Vector3i(box[1], box[3], box[5]), count);
   }
 
   /**
@@ -1514,27 +1660,45 @@ public int getSegmentNumber(RegionAttributes attributes) {
 
   /**
    * Locates the voxel a view should be centred on to display the given segment: the centroid of its
-   * densest slice, so the result lies inside the largest cross-section of the segment. The scan is
-   * linear in the volume size and runs on the common fork-join pool, so it must not run on the EDT.
+   * densest slice, so the result lies inside the largest cross-section of the segment. Only the
+   * slices between the segment's bounds and, within them, the bricks holding the segment are
+   * scanned, so the cost follows the segment size rather than the volume size. The scan runs on the
+   * common fork-join pool, so it must not run on the EDT.
    *
    * @param segmentNumber the segment to look for
-   * @param progress optional callback invoked with (scanned slices, total slices)
+   * @param progress optional callback invoked with (scanned slices, slices spanned by the segment)
    * @return the voxel position, or {@code null} when the segment has no voxel in this volume
    */
   public Vector3i findSegmentCenter(int segmentNumber, BiConsumer<Integer, Integer> progress) {
     boolean[] matchingIds = buildMatchingIds(segmentNumber);
-    if (matchingIds == null || isDisposed()) {
+    LabelBrickStore store = labels;
+    if (matchingIds == null || store == null) {
+      return null;
+    }
+    IdExtents summary = idExtents();
+    BitSet bricks = new BitSet();
+    int z0 = Integer.MAX_VALUE;
+    int z1 = -1;
+    for (int id = 1; id < summary.counts().length && id < matchingIds.length; id++) {
+      if (matchingIds[id] && summary.counts()[id] > 0) {
+        bricks.or(summary.bricks()[id]);
+        z0 = Math.min(z0, summary.bounds()[id][4]);
+        z1 = Math.max(z1, summary.bounds()[id][5]);
+      }
+    }
+    if (z1 < 0) {
       return null;
     }
+    int slices = z1 - z0 + 1;
     AtomicInteger scanned = new AtomicInteger();
     SliceStat best =
-        IntStream.range(0, size.z)
+        IntStream.rangeClosed(z0, z1)
             .parallel()
             .mapToObj(
                 z -> {
-                  SliceStat stat = scanSlice(z, matchingIds);
+                  SliceStat stat = scanSlice(store, z, bricks, matchingIds);
                   if (progress != null) {
-                    progress.accept(scanned.incrementAndGet(), size.z);
+                    progress.accept(scanned.incrementAndGet(), slices);
                   }
                   return stat;
                 })
@@ -1554,23 +1718,29 @@ public Vector3i findSegmentCenter(int segmentNumber, BiConsumer<Integer, Integer
   /** Voxel count and in-plane centroid sums of one slice, for {@link #findSegmentCenter}. */
   private record SliceStat(int z, long count, double sumX, double sumY) {}
 
-  private SliceStat scanSlice(int z, boolean[] matchingIds) {
-    long count = 0;
-    double sumX = 0;
-    double sumY = 0;
-    long base = (long) z * sliceStride;
-    for (int y = 0; y < size.y; y++) {
-      long row = base + (long) y * size.x;
-      for (int x = 0; x < size.x; x++) {
-        int id = readId(row + x);
-        if (id > 0 && id < matchingIds.length && matchingIds[id]) {
-          count++;
-          sumX += x;
-          sumY += y;
-        }
-      }
+  /** Accumulates the voxels of slice z in the given bricks whose storage ID matches. */
+  private static SliceStat scanSlice(
+      LabelBrickStore store, int z, BitSet bricks, boolean[] matchingIds) {
+    long[] count = new long[1];
+    double[] sums = new double[2];
+    int layerStart = (z >> LabelBrickStore.BRICK_SHIFT) * store.bricksPerLayer();
+    int layerEnd = layerStart + store.bricksPerLayer();
+    for (int b = bricks.nextSetBit(layerStart);
+        b >= 0 && b < layerEnd;
+        b = bricks.nextSetBit(b + 1)) {
+      store.forEachNonZero(
+          b,
+          z,
+          z,
+          (x, y, _, id) -> {
+            if (id < matchingIds.length && matchingIds[id]) {
+              count[0]++;
+              sums[0] += x;
+              sums[1] += y;
+            }
+          });
     }
-    return new SliceStat(z, count, sumX, sumY);
+    return new SliceStat(z, count[0], sums[0], sums[1]);
   }
 
   /** Converts a voxel of this volume to its LPS patient position. */
@@ -1653,13 +1823,16 @@ public int getUseCount() {
     return useCount.get();
   }
 
-  /** Releases all allocated memory (chunked arrays and/or mapped buffer). */
+  /**
+   * Releases all allocated memory (the label bricks, with their disk-backed part, and the occupancy
+   * summary).
+   */
   public void removeData() {
-    this.byteData = null;
-    this.shortData = null;
-    if (mappedBuffer != null) {
-      mappedBuffer.close();
-      mappedBuffer = null;
+    LabelBrickStore store = labels;
+    this.labels = null;
+    this.extents = null;
+    if (store != null) {
+      store.close();
     }
   }
 
@@ -1669,29 +1842,21 @@ public void removeData() {
    * and must be rebuilt before it can be reused.
    */
   public boolean isDisposed() {
-    return byteData == null && shortData == null && mappedBuffer == null;
+    return labels == null;
   }
 
   /**
-   * Counts, in a single pass over the whole volume, how many voxels belong to each segment and
-   * stores the total on the matching {@link SegRegion} via {@link SegRegion#setNumberOfPixels}. An
-   * overlap-combination storage ID contributes to every constituent segment. This gives the
-   * Segmentation tool an exact voxel count / volume without relying on lazy per-slice contour
-   * loading.
+   * Counts, from the per-storage-ID voxel counts of the occupancy summary, how many voxels belong
+   * to each segment and stores the total on the matching {@link SegRegion} via {@link
+   * SegRegion#setNumberOfPixels}. An overlap-combination storage ID contributes to every
+   * constituent segment. This gives the Segmentation tool an exact voxel count / volume without
+   * relying on lazy per-slice contour loading.
    */
   public void applySegmentVoxelCounts() {
     if (segAttributes == null || segAttributes.isEmpty() || isDisposed()) {
       return;
     }
-    // Per storage-ID voxel counts, gathered in a single pass over the raster.
-    long[] idCounts = new long[nextId];
-    long total = totalVoxels();
-    for (long i = 0; i < total; i++) {
-      int id = readId(i);
-      if (id > 0 && id < idCounts.length) {
-        idCounts[id]++;
-      }
-    }
+    long[] idCounts = idExtents().counts();
     // Distribute each storage ID's count to the segment(s) it represents.
     Map<Integer, Long> segCounts = new HashMap<>();
     for (int id = 1; id < idCounts.length; id++) {
@@ -1736,14 +1901,10 @@ public int[] exportSliceBitmask(int z) {
     if (z < 0 || z >= size.z) {
       return null;
     }
-    int sliceSize = size.x * size.y;
-    int[] raster = new int[sliceSize];
-    long base = (long) z * sliceStride;
-    for (int i = 0; i < sliceSize; i++) {
-      int id = readId(base + i);
-      if (id != 0) {
-        raster[i] = id;
-      }
+    int[] raster = new int[size.x * size.y];
+    LabelBrickStore store = labels;
+    if (store != null) {
+      store.copySlice(z, raster);
     }
     return raster;
   }
@@ -1751,10 +1912,9 @@ public int[] exportSliceBitmask(int z) {
   /**
    * Appends slice {@code z} at {@code dst}'s current position in this volume's <em>native</em>
    * storage width — one byte per voxel in byte mode, one unsigned short in short mode — and
-   * advances the position past it. Unlike {@link #exportSliceBitmask(int)} the raster is
-   * bulk-copied out of the backing storage instead of being read voxel by voxel, and the caller
-   * owns the buffer, so a GPU uploader can pack many slices into one direct buffer and issue a
-   * single transfer.
+   * advances the position past it. Unlike {@link #exportSliceBitmask(int)} the raster is copied
+   * row by row out of the allocated bricks without widening, and the caller owns the buffer, so a
+   * GPU uploader can pack many slices into one direct buffer and issue a single transfer.
    *
    * @param z the slice index (0-based, in volume Z order)
    * @param dst a direct, native-ordered buffer with at least {@code sizeX * sizeY * (shortMode ? 2
@@ -1766,30 +1926,23 @@ public boolean exportSliceInto(int z, ByteBuffer dst) {
       return false;
     }
     int sliceSize = size.x * size.y;
-    int byteLength = shortMode ? sliceSize * Short.BYTES : sliceSize;
+    LabelBrickStore store = labels;
+    boolean wide = store != null && store.isShortMode();
+    int byteLength = wide ? sliceSize * Short.BYTES : sliceSize;
     if (dst.remaining() < byteLength) {
       return false;
     }
-    long base = (long) z * sliceStride;
-    if (shortMode && shortData != null) {
+    if (wide) {
       short[] staging = new short[sliceSize];
-      shortData.copyTo(base, staging, 0, sliceSize);
+      store.copySlice(z, staging);
       dst.slice().order(dst.order()).asShortBuffer().put(staging);
       dst.position(dst.position() + byteLength);
-    } else if (!shortMode && byteData != null) {
-      byte[] staging = new byte[sliceSize];
-      byteData.copyTo(base, staging, 0, sliceSize);
-      dst.put(staging);
     } else {
-      // Memory-mapped fallback: no bulk accessor, read voxel by voxel.
-      for (int i = 0; i < sliceSize; i++) {
-        int id = readId(base + i);
-        if (shortMode) {
-          dst.putShort((short) id);
-        } else {
-          dst.put((byte) id);
-        }
+      byte[] staging = new byte[sliceSize];
+      if (store != null) {
+        store.copySlice(z, staging);
       }
+      dst.put(staging);
     }
     return true;
   }
@@ -1874,6 +2027,7 @@ private static final class BitmaskSliceTask extends RecursiveAction {
     private final int width;
     private final Matrix4d combinedTransform;
     private final Vector3d voxelRatio;
+    private final int[] columns;
     private final int[] raster;
     private final SegmentationVolume volume;
 
@@ -1883,6 +2037,7 @@ private static final class BitmaskSliceTask extends RecursiveAction {
         int width,
         Matrix4d combinedTransform,
         Vector3d voxelRatio,
+        int[] columns,
         int[] raster,
         SegmentationVolume volume) {
       this.start = start;
@@ -1890,6 +2045,7 @@ private static final class BitmaskSliceTask extends RecursiveAction {
       this.width = width;
       this.combinedTransform = combinedTransform;
       this.voxelRatio = voxelRatio;
+      this.columns = columns;
       this.raster = raster;
       this.volume = volume;
     }
@@ -1902,16 +2058,19 @@ protected void compute() {
         int y = start / width;
 
         for (int i = start; i < end; i++) {
-          coord.set(x, y, 0);
-          combinedTransform.transformPosition(coord);
+          // Pixels outside the occupied columns of their row cannot reach a labelled voxel.
+          if (x >= columns[2 * y] && x <= columns[2 * y + 1]) {
+            coord.set(x, y, 0);
+            combinedTransform.transformPosition(coord);
 
-          int vx = (int) Math.round(coord.x / voxelRatio.x);
-          int vy = (int) Math.round(coord.y / voxelRatio.y);
-          int vz = (int) Math.round(coord.z / voxelRatio.z);
+            int vx = (int) Math.round(coord.x / voxelRatio.x);
+            int vy = (int) Math.round(coord.y / voxelRatio.y);
+            int vz = (int) Math.round(coord.z / voxelRatio.z);
 
-          int id = volume.getStorageId(vx, vy, vz);
-          if (id != 0) {
-            raster[i] = id;
+            int id = volume.getStorageId(vx, vy, vz);
+            if (id != 0) {
+              raster[i] = id;
+            }
           }
 
           if (++x >= width) {
@@ -1922,8 +2081,10 @@ protected void compute() {
       } else {
         int mid = (start + end) / 2;
         invokeAll(
-            new BitmaskSliceTask(start, mid, width, combinedTransform, voxelRatio, raster, volume),
-            new BitmaskSliceTask(mid, end, width, combinedTransform, voxelRatio, raster, volume));
+            new BitmaskSliceTask(
+                start, mid, width, combinedTransform, voxelRatio, columns, raster, volume),
+            new BitmaskSliceTask(
+                mid, end, width, combinedTransform, voxelRatio, columns, raster, volume));
       }
     }
   }
@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.codec.utils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.weasis.core.util.StringUtil;
+
+/**
+ * Standard DICOM data element dictionary from which {@code TagD} builds its tags.
+ *
+ * <p>The dictionary is {@code /dataelements.xml} of dcm4che. Parsing it is on the path of the first
+ * DICOM file opened, so the build compiles it with {@link #main(String[])} into {@code
+ * /dataelements.bin}, a flat list of the elements already filtered and with their value
+ * multiplicity parsed. {@link #load()} reads the binary form and falls back to the XML when it is
+ * missing or from another format version.
+ */
+public final class DataElementDictionary {
+  private static final Logger LOGGER = LoggerFactory.getLogger(DataElementDictionary.class);
+
+  public static final String XML_RESOURCE = "/dataelements.xml"; // NON-NLS
+  public static final String BINARY_RESOURCE = "/dataelements.bin"; // NON-NLS
+
+  /** "WDD" followed by the format version. */
+  private static final int MAGIC = 0x57444401;
+
+  /**
+   * An element of the dictionary.
+   *
+   * @param tag the tag, the {@code x} of repeating groups replaced by 0
+   * @param keyword the DICOM keyword
+   * @param name the displayed name
+   * @param vr the value representation as written in the dictionary, e.g. {@code US or SS}
+   * @param vmMin the minimum value multiplicity
+   * @param vmMax the maximum value multiplicity, {@link Integer#MAX_VALUE} for {@code n}
+   * @param retired whether the element is retired
+   */
+  public record Element(
+      int tag, String keyword, String name, String vr, int vmMin, int vmMax, boolean retired) {}
+
+  private DataElementDictionary() {}
+
+  /**
+   * Returns the elements of the dictionary, from the compiled form when available.
+   *
+   * @return the elements in dictionary order, or an empty list when no dictionary can be read
+   */
+  public static List<Element> load() {
+    long start = System.nanoTime();
+    try (InputStream stream = DataElementDictionary.class.getResourceAsStream(BINARY_RESOURCE)) {
+      if (stream != null) {
+        List<Element> elements = read(stream);
+        LOGGER.debug(
+            "Read {} DICOM elements from {} in {} ms", // NON-NLS
+            elements.size(),
+            BINARY_RESOURCE,
+            (System.nanoTime() - start) / 1_000_000);
+        return elements;
+      }
+    } catch (IOException e) {
+      LOGGER.warn("Cannot read {}, parsing {} instead", BINARY_RESOURCE, XML_RESOURCE, e);
+    }
+
+    try (InputStream stream = DataElementDictionary.class.getResourceAsStream(XML_RESOURCE)) {
+      if (stream == null) {
+        LOGGER.error("Missing DICOM dictionary {}", XML_RESOURCE);
+        return List.of();
+      }
+      List<Element> elements = readXml(stream);
+      LOGGER.debug(
+          "Parsed {} DICOM elements from {} in {} ms", // NON-NLS
+          elements.size(),
+          XML_RESOURCE,
+          (System.nanoTime() - start) / 1_000_000);
+      return elements;
+    } catch (Exception e) {
+      LOGGER.error("Cannot read dataelements.xml! ", e);
+      return List.of();
+    }
+  }
+
+  /**
+   * Parses a dictionary in the dcm4che {@code dataelements.xml} format. Elements without a name,
+   * with a missing attribute or of the {@code FFFx} groups (item delimiters) are skipped.
+   */
+  public static List<Element> readXml(InputStream stream) throws XMLStreamException {
+    XMLInputFactory factory = XMLInputFactory.newInstance();
+    // disable external entities for security
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+    XMLStreamReader xmler = factory.createXMLStreamReader(stream);
+    List<Element> elements = new ArrayList<>(5000);
+    try {
+      while (xmler.hasNext()) {
+        if (xmler.next() == XMLStreamConstants.START_ELEMENT
+            && "el".equals(xmler.getName().getLocalPart())) { // NON-NLS
+          readElement(xmler, elements);
+        }
+      }
+    } finally {
+      xmler.close();
+    }
+    return elements;
+  }
+
+  private static void readElement(XMLStreamReader xmler, List<Element> elements)
+      throws XMLStreamException {
+    String tag = xmler.getAttributeValue(null, "tag"); // NON-NLS
+    String keyword = xmler.getAttributeValue(null, "keyword"); // NON-NLS
+    String vr = xmler.getAttributeValue(null, "vr"); // NON-NLS
+    String vm = xmler.getAttributeValue(null, "vm"); // NON-NLS
+    String retired = xmler.getAttributeValue(null, "retired"); // NON-NLS
+    String name = xmler.getElementText();
+
+    if (!StringUtil.hasText(name)) {
+      return;
+    }
+    if (tag == null || keyword == null || vr == null || vm == null) {
+      // Exclude delimitation tags
+      if (tag == null || !tag.startsWith("FFFEE0")) {
+        LOGGER.error("Missing attribute: {} {} {} {}", tag, keyword, vr, vm);
+      }
+      return;
+    }
+    if (tag.startsWith("F")) { // NON-NLS
+      return;
+    }
+    try {
+      int tagID = Integer.parseInt(tag.replace('x', '0'), 16); // NON-NLS
+      String[] vms = vm.split("-", 2);
+      int vmMin = getVM(vms[0]);
+      int vmMax = vms.length == 2 ? getVM(vms[1]) : vmMin;
+      elements.add(
+          new Element(tagID, keyword, name, vr, vmMin, vmMax, Boolean.parseBoolean(retired)));
+    } catch (Exception e) {
+      LOGGER.error("Cannot read {}", name, e);
+    }
+  }
+
+  private static int getVM(String val) {
+    if (val.toLowerCase().contains("n")) { // NON-NLS
+      return Integer.MAX_VALUE;
+    }
+    return Integer.parseInt(val);
+  }
+
+  /** Writes the elements in the compiled form read by {@link #read(InputStream)}. */
+  public static void write(List<Element> elements, OutputStream stream) throws IOException {
+    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+    out.writeInt(MAGIC);
+    out.writeInt(elements.size());
+    for (Element e : elements) {
+      out.writeInt(e.tag());
+      out.writeUTF(e.keyword());
+      out.writeUTF(e.name());
+      out.writeUTF(e.vr());
+      out.writeInt(e.vmMin());
+      out.writeInt(e.vmMax());
+      out.writeBoolean(e.retired());
+    }
+    out.flush();
+  }
+
+  /**
+   * Reads elements written by {@link #write(List, OutputStream)}.
+   *
+   * @throws IOException when the stream is truncated or from another format version
+   */
+  public static List<Element> read(InputStream stream) throws IOException {
+    DataInputStream in = new DataInputStream(new BufferedInputStream(stream, 64 * 1024));
+    if (in.readInt() != MAGIC) {
+      throw new IOException("Not a compiled DICOM dictionary of this version");
+    }
+    int count = in.readInt();
+    List<Element> elements = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      elements.add(
+          new Element(
+              in.readInt(),
+              in.readUTF(),
+              in.readUTF(),
+              in.readUTF(),
+              in.readInt(),
+              in.readInt(),
+              in.readBoolean()));
+    }
+    return elements;
+  }
+
+  /**
+   * Compiles {@code dataelements.xml} into its binary form. Called by the build after the
+   * dictionary is unpacked from dcm4che.
+   *
+   * @param args the XML dictionary and the binary file to write
+   */
+  public static void main(String[] args) throws IOException, XMLStreamException {
+    if (args.length != 2) {
+      throw new IllegalArgumentException("Usage: DataElementDictionary <xml> <bin>");
+    }
+    List<Element> elements;
+    try (InputStream in = Files.newInputStream(Path.of(args[0]))) {
+      elements = readXml(in);
+    }
+    if (elements.isEmpty()) {
+      throw new IOException("No DICOM element in " + args[0]);
+    }
+    try (OutputStream out = Files.newOutputStream(Path.of(args[1]))) {
+      write(elements, out);
+    }
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.codec;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.BulkData;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.img.DicomMetaData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests {@link DicomFrameIndex#groupFragments}, which assigns the fragments of encapsulated pixel
+ * data to the frames. A wrong assignment would decode a frame from the bytes of another one, so
+ * every ambiguous layout must be rejected (null) and read through the stream instead. Also tests
+ * that only multi-frame native files are indexed, that their frames are read at their offset, and
+ * that the pool of channels stays bounded.
+ */
+class DicomFrameIndexTest {
+
+  private static final int H = DicomFrameIndex.ITEM_HEADER_LENGTH;
+
+  @Test
+  void oneFragmentPerFrameWithoutOffsetTable() {
+    long[] items = {100 + H, 300 + H, 700 + H};
+    int[][] groups = DicomFrameIndex.groupFragments(items, null, 3);
+    assertArrayEquals(new int[][] {{0}, {1}, {2}}, groups);
+  }
+
+  @Test
+  void singleFrameTakesAllFragments() {
+    long[] items = {100 + H, 300 + H, 700 + H};
+    assertArrayEquals(new int[][] {{0, 1, 2}}, DicomFrameIndex.groupFragments(items, null, 1));
+  }
+
+  @Test
+  void severalFragmentsPerFrameUseTheOffsetTable() {
+    // Items start at 100, 300, 700 and 900 (offsets relative to the first item: 0, 200, 600, 800)
+    long[] items = {100 + H, 300 + H, 700 + H, 900 + H};
+    long[] offsetTable = {0, 600};
+    int[][] groups = DicomFrameIndex.groupFragments(items, offsetTable, 2);
+    assertArrayEquals(new int[][] {{0, 1}, {2, 3}}, groups);
+  }
+
+  @Test
+  void ambiguousLayoutIsRejected() {
+    long[] items = {100 + H, 300 + H, 700 + H, 900 + H};
+    // Two frames, four fragments and no offset table
+    assertNull(DicomFrameIndex.groupFragments(items, null, 2));
+    // Offset table not pointing at the start of an item
+    assertNull(DicomFrameIndex.groupFragments(items, new long[] {0, 250}, 2));
+    // No fragment
+    assertNull(DicomFrameIndex.groupFragments(new long[0], null, 1));
+  }
+
+  private static DicomMetaData nativeHeader(Path file, int frames) {
+    Attributes dcm = new Attributes();
+    dcm.setString(Tag.PhotometricInterpretation, VR.CS, "MONOCHROME2");
+    dcm.setInt(Tag.NumberOfFrames, VR.IS, frames);
+    dcm.setInt(Tag.Rows, VR.US, 2);
+    dcm.setInt(Tag.Columns, VR.US, 2);
+    dcm.setInt(Tag.SamplesPerPixel, VR.US, 1);
+    dcm.setInt(Tag.BitsAllocated, VR.US, 8);
+    dcm.setInt(Tag.BitsStored, VR.US, 8);
+    dcm.setInt(Tag.HighBit, VR.US, 7);
+    dcm.setInt(Tag.PixelRepresentation, VR.US, 0);
+    dcm.setValue(
+        Tag.PixelData, VR.OB, new BulkData(file.toUri().toString(), 16, 4 * frames, false));
+    return new DicomMetaData(dcm, UID.ExplicitVRLittleEndian);
+  }
+
+  @Test
+  void onlyMultiFrameNativeFilesAreIndexed(@TempDir Path dir) throws IOException {
+    Path file = dir.resolve("multiframe.dcm");
+    byte[] content = new byte[16 + 8];
+    for (int i = 0; i < content.length; i++) {
+      content[i] = (byte) i;
+    }
+    Files.write(file, content);
+
+    assertNull(DicomFrameIndex.build(file, nativeHeader(file, 1)), "single-frame");
+    DicomFrameIndex index = DicomFrameIndex.build(file, nativeHeader(file, 2));
+    assertNotNull(index);
+    assertEquals(2, index.getFrameCount());
+    ByteBuffer frame = index.getBytes(1);
+    byte[] bytes = new byte[frame.remaining()];
+    frame.get(bytes);
+    assertArrayEquals(new byte[] {20, 21, 22, 23}, bytes);
+    // The channel is released with the index
+    index.close();
+    Files.delete(file);
+  }
+
+  @Test
+  void channelPoolClosesTheLeastRecentlyReadFiles(@TempDir Path dir) throws IOException {
+    FileChannelPool pool = new FileChannelPool(2);
+    Path[] files = new Path[3];
+    FileChannelPool.Lease[] leases = new FileChannelPool.Lease[3];
+    for (int i = 0; i < files.length; i++) {
+      files[i] = Files.write(dir.resolve("f" + i), new byte[] {(byte) i});
+      leases[i] = pool.acquire(files[i]);
+      pool.release(leases[i]);
+    }
+    assertEquals(2, pool.size());
+    assertFalse(leases[0].channel().isOpen(), "evicted");
+    assertTrue(leases[2].channel().isOpen());
+    assertSame(leases[2].channel(), pool.acquire(files[2]).channel());
+
+    // Still in use: closed at the end of the reading
+    pool.close(files[2]);
+    assertTrue(leases[2].channel().isOpen());
+    pool.release(leases[2]);
+    assertFalse(leases[2].channel().isOpen());
+    assertEquals(1, pool.size());
+  }
+}
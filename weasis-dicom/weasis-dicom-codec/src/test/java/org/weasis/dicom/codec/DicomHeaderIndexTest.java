@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.codec;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.BulkData;
+import org.dcm4che3.data.Fragments;
+import org.dcm4che3.data.Sequence;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.img.DicomMetaData;
+import org.dcm4che3.io.DicomInputStream;
+import org.dcm4che3.io.DicomInputStream.IncludeBulkData;
+import org.dcm4che3.io.DicomOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests {@link DicomHeaderIndex}: the header rebuilt from an entry must be the one read from the
+ * file, with every bulk data element (also in nested items and encapsulated fragments) at the same
+ * location in the file, and an entry must no longer be used once the file has been modified.
+ */
+class DicomHeaderIndexTest {
+
+  private static final String SOP_UID = "1.2.3.4.5.6";
+
+  @TempDir Path tempDir;
+
+  private static byte[] bytes(int length) {
+    byte[] b = new byte[length];
+    for (int i = 0; i < b.length; i++) {
+      b[i] = (byte) (i * 31);
+    }
+    return b;
+  }
+
+  private static Attributes dataset() {
+    Attributes dataset = new Attributes();
+    dataset.setString(Tag.SOPClassUID, VR.UI, UID.CTImageStorage);
+    dataset.setString(Tag.SOPInstanceUID, VR.UI, SOP_UID);
+    dataset.setString(Tag.PatientName, VR.PN, "Doe^John");
+    dataset.setString(Tag.PhotometricInterpretation, VR.CS, "MONOCHROME2");
+    dataset.setInt(Tag.Rows, VR.US, 32);
+    dataset.setInt(Tag.Columns, VR.US, 32);
+    dataset.setInt(Tag.BitsAllocated, VR.US, 16);
+    dataset.setInt(Tag.BitsStored, VR.US, 12);
+    dataset.setInt(Tag.SamplesPerPixel, VR.US, 1);
+    // Bulk data in a nested item
+    Sequence waveforms = dataset.newSequence(Tag.WaveformSequence, 1);
+    Attributes waveform = new Attributes();
+    waveform.setInt(Tag.NumberOfWaveformChannels, VR.US, 1);
+    waveform.setBytes(Tag.WaveformData, VR.OW, bytes(128));
+    waveforms.add(waveform);
+    return dataset;
+  }
+
+  private static Path write(Path file, Attributes dataset, String tsuid) throws IOException {
+    try (DicomOutputStream dos = new DicomOutputStream(file.toFile())) {
+      dos.writeDataset(dataset.createFileMetaInformation(tsuid), dataset);
+    }
+    return file;
+  }
+
+  private static DicomMetaData parse(Path file) throws IOException {
+    try (DicomInputStream dis = new DicomInputStream(file.toFile())) {
+      dis.setIncludeBulkData(IncludeBulkData.URI);
+      dis.setURI(file.toUri().toString());
+      return new DicomMetaData(dis);
+    }
+  }
+
+  private static BasicFileAttributes attributes(Path file) throws IOException {
+    return Files.readAttributes(file, BasicFileAttributes.class);
+  }
+
+  private DicomHeaderIndex newIndex(long maxSize) {
+    return new DicomHeaderIndex(tempDir.resolve("index"), maxSize, Duration.ofDays(30));
+  }
+
+  private static void assertSameBulkData(Object expected, Object actual) {
+    BulkData e = assertInstanceOf(BulkData.class, expected);
+    BulkData a = assertInstanceOf(BulkData.class, actual);
+    assertEquals(e.offset(), a.offset());
+    assertEquals(e.length(), a.length());
+  }
+
+  @Test
+  void rebuildsTheHeaderWithTheBulkDataOfTheFile() throws IOException {
+    Attributes dataset = dataset();
+    dataset.setBytes(Tag.PixelData, VR.OW, bytes(32 * 32 * 2));
+    Path file = write(tempDir.resolve("native.dcm"), dataset, UID.ExplicitVRLittleEndian);
+    DicomMetaData parsed = parse(file);
+    DicomHeaderIndex index = newIndex(1024 * 1024);
+
+    assertNull(index.get(file, attributes(file), file));
+    index.put(file, attributes(file), parsed);
+    DicomMetaData indexed = index.get(file, attributes(file), file);
+
+    assertNotNull(indexed);
+    assertNotNull(indexed.getFileMetaInformation());
+    assertEquals(UID.ExplicitVRLittleEndian, indexed.getTransferSyntaxUID());
+    Attributes dcm = indexed.getDicomObject();
+    assertEquals(SOP_UID, dcm.getString(Tag.SOPInstanceUID));
+    assertEquals("Doe^John", dcm.getString(Tag.PatientName));
+    Attributes expected = parsed.getDicomObject();
+    assertSameBulkData(expected.getValue(Tag.PixelData), dcm.getValue(Tag.PixelData));
+    assertSameBulkData(
+        expected.getNestedDataset(Tag.WaveformSequence).getValue(Tag.WaveformData),
+        dcm.getNestedDataset(Tag.WaveformSequence).getValue(Tag.WaveformData));
+
+    // The header in the entry does not contain the pixel data
+    assertTrue(Files.size(file) > 32 * 32 * 2);
+    try (var entries = Files.walk(tempDir.resolve("index"))) {
+      long indexSize =
+          entries.filter(Files::isRegularFile).mapToLong(p -> p.toFile().length()).sum();
+      assertTrue(indexSize < 32 * 32 * 2, "Index entry size: " + indexSize);
+    }
+  }
+
+  @Test
+  void rebuildsTheFragmentsOfEncapsulatedPixelData() throws IOException {
+    Attributes dataset = dataset();
+    dataset.setInt(Tag.NumberOfFrames, VR.IS, 2);
+    Fragments fragments = dataset.newFragments(Tag.PixelData, VR.OB, 3);
+    fragments.add(new byte[0]);
+    fragments.add(bytes(100));
+    fragments.add(bytes(60));
+    Path file = write(tempDir.resolve("jpeg.dcm"), dataset, UID.JPEGBaseline8Bit);
+    DicomMetaData parsed = parse(file);
+    DicomHeaderIndex index = newIndex(1024 * 1024);
+
+    index.put(file, attributes(file), parsed);
+    DicomMetaData indexed = index.get(file, attributes(file), file);
+
+    assertNotNull(indexed);
+    assertEquals(UID.JPEGBaseline8Bit, indexed.getTransferSyntaxUID());
+    Fragments expected = (Fragments) parsed.getDicomObject().getValue(Tag.PixelData);
+    Fragments actual =
+        assertInstanceOf(Fragments.class, indexed.getDicomObject().getValue(Tag.PixelData));
+    assertEquals(expected.size(), actual.size());
+    for (int i = 1; i < expected.size(); i++) {
+      assertSameBulkData(expected.get(i), actual.get(i));
+    }
+    BulkData second = (BulkData) actual.get(2);
+    byte[] content = Files.readAllBytes(file);
+    int offset = (int) second.offset();
+    assertArrayEquals(bytes(60), Arrays.copyOfRange(content, offset, offset + second.length()));
+  }
+
+  @Test
+  void ignoresTheEntryOfAModifiedFile() throws IOException {
+    Attributes dataset = dataset();
+    dataset.setBytes(Tag.PixelData, VR.OW, bytes(32 * 32 * 2));
+    Path file = write(tempDir.resolve("modified.dcm"), dataset, UID.ExplicitVRLittleEndian);
+    DicomHeaderIndex index = newIndex(1024 * 1024);
+    index.put(file, attributes(file), parse(file));
+
+    Files.write(file, new byte[2], StandardOpenOption.APPEND);
+
+    assertNull(index.get(file, attributes(file), file));
+  }
+
+  @Test
+  void trimRemovesTheLeastRecentlyUsedEntries() throws IOException {
+    Attributes dataset = dataset();
+    dataset.setBytes(Tag.PixelData, VR.OW, bytes(32 * 32 * 2));
+    Path old = write(tempDir.resolve("old.dcm"), dataset, UID.ExplicitVRLittleEndian);
+    Path recent = write(tempDir.resolve("recent.dcm"), dataset, UID.ExplicitVRLittleEndian);
+    DicomHeaderIndex writer = newIndex(1024 * 1024);
+    writer.put(old, attributes(old), parse(old));
+    writer.put(recent, attributes(recent), parse(recent));
+    Path oldEntry = writer.getEntry(old.toAbsolutePath().toString());
+    Path recentEntry = writer.getEntry(recent.toAbsolutePath().toString());
+    Files.setLastModifiedTime(oldEntry, FileTime.from(Instant.now().minusSeconds(3600)));
+
+    // Room for a single entry
+    long entrySize = Math.max(Files.size(oldEntry), Files.size(recentEntry));
+    DicomHeaderIndex index = newIndex(entrySize * 5 / 4);
+    index.trim();
+
+    assertFalse(Files.exists(oldEntry));
+    assertTrue(Files.exists(recentEntry));
+    assertNull(index.get(old, attributes(old), old));
+    assertNotNull(index.get(recent, attributes(recent), recent));
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.codec;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the decoding order built by {@link SeriesPrefetcher#buildOrder} — the pure part of the
+ * prefetch scheduler deciding which slices are decoded, and in which order, around the displayed
+ * position.
+ */
+class SeriesPrefetcherTest {
+
+  @Test
+  void buildOrder_startsWithCurrentIndexAndHasNoDuplicate() {
+    int[] order = SeriesPrefetcher.buildOrder(50, 100, 20, 1, 10.0);
+    assertEquals(50, order[0]);
+    assertEquals(21, order.length);
+    assertEquals(order.length, Arrays.stream(order).distinct().count());
+    assertTrue(Arrays.stream(order).allMatch(i -> i >= 0 && i < 100));
+  }
+
+  @Test
+  void buildOrder_idleViewportIsCentered() {
+    int[] order = SeriesPrefetcher.buildOrder(50, 100, 4, 0, 0.0);
+    assertArrayEquals(new int[] {50, 51, 49, 52, 48}, order);
+  }
+
+  @Test
+  void buildOrder_fastScrollIsMostlyAhead() {
+    int[] order = SeriesPrefetcher.buildOrder(50, 1000, 100, -1, 100.0);
+    long ahead = Arrays.stream(order).filter(i -> i < 50).count();
+    long behind = Arrays.stream(order).filter(i -> i > 50).count();
+    assertEquals(90, ahead);
+    assertEquals(10, behind);
+    // The nearest image in the scroll direction comes right after the current one
+    assertEquals(49, order[1]);
+  }
+
+  @Test
+  void buildOrder_borderGivesRoomBack() {
+    // Scrolling forward at the end of the series: everything goes behind
+    int[] order = SeriesPrefetcher.buildOrder(99, 100, 10, 1, 50.0);
+    assertEquals(11, order.length);
+    assertTrue(Arrays.stream(order).allMatch(i -> i >= 89 && i <= 99));
+  }
+
+  @Test
+  void buildOrder_windowIsClampedToSeriesSize() {
+    int[] order = SeriesPrefetcher.buildOrder(2, 5, 1000, 1, 0.0);
+    assertEquals(5, order.length);
+    assertEquals(0, SeriesPrefetcher.buildOrder(5, 5, 10, 1, 0.0).length);
+    assertArrayEquals(new int[] {0}, SeriesPrefetcher.buildOrder(0, 1, 10, 1, 0.0));
+  }
+}
@@ -245,4 +245,14 @@ void getUID() {
     uid = TagD.getUID(Level.FRAME);
     assertEquals(TagD.get(Tag.SOPInstanceUID), uid);
   }
+
+  @Test
+  void tagsAreCreatedOnceAtTheirFirstLookup() {
+    TagW byId = TagD.get(Tag.ReferencedFrameOfReferenceSequence);
+    assertInstanceOf(TagSeq.class, byId);
+    assertEquals("ReferencedFrameOfReferenceSequence", byId.getKeyword());
+    assertSame(byId, TagW.get("ReferencedFrameOfReferenceSequence"));
+    assertSame(TagD.get(Tag.PatientName), TagD.get("PatientName"));
+    assertNull(TagW.get("NotADataElement"));
+  }
 }
@@ -71,7 +71,8 @@ void findSegmentCenterReturnsCentroidOfTheDensestSlice() {
     volume.addLabel(4, 3, 5, 1);
     volume.addLabel(5, 3, 5, 1);
 
-    // The scan is parallel, so only the totals are deterministic.
+    // The scan is parallel, so only the totals are deterministic. Only the slices spanned by the
+    // segment (1 to 5) are scanned.
     AtomicInteger scanned = new AtomicInteger();
     AtomicInteger total = new AtomicInteger();
     Vector3i center =
@@ -85,8 +86,8 @@ void findSegmentCenterReturnsCentroidOfTheDensestSlice() {
     assertNotNull(center);
     assertAll(
         () -> assertEquals(new Vector3i(5, 3, 5), center),
-        () -> assertEquals(SIZE, scanned.get()),
-        () -> assertEquals(SIZE, total.get()));
+        () -> assertEquals(5, scanned.get()),
+        () -> assertEquals(5, total.get()));
   }
 
   @Test
@@ -309,4 +310,131 @@ void exportSliceIntoMatchesTheWidenedExportInTheNativeWidth() {
     }
     assertFalse(volume.exportSliceInto(SIZE, buffer));
   }
+
+  @Test
+  void getSegmentExtentReportsBoundsAndCountIncludingOverlaps() {
+    SegmentationVolume volume = newVolume();
+    volume.addLabel(1, 2, 3, 1);
+    volume.addLabel(6, 4, 5, 1);
+    volume.addLabel(6, 4, 5, 2);
+    SegmentationVolume.SegmentExtent liverExtent = volume.getSegmentExtent(1);
+
+    // A write after the first query must be reflected: the summary is not stale.
+    volume.addLabel(0, 7, 7, 2);
+
+    assertAll(
+        () -> assertEquals(new Vector3i(1, 2, 3), liverExtent.min()),
+        () -> assertEquals(new Vector3i(6, 4, 5), liverExtent.max()),
+        () -> assertEquals(2L, liverExtent.voxelCount()),
+        () ->
+            assertEquals(
+                new SegmentationVolume.SegmentExtent(
+                    new Vector3i(0, 4, 5), new Vector3i(6, 7, 7), 2L),
+                volume.getSegmentExtent(2)),
+        () -> assertNull(volume.getSegmentExtent(9)));
+  }
+
+  @Test
+  void getSegmentExtentDuringWritesIsUpToDateOnceTheyEnd() throws InterruptedException {
+    SegmentationVolume volume = newVolume();
+    Thread writer =
+        new Thread(
+            () -> {
+              for (int z = 0; z < SIZE; z++) {
+                for (int y = 0; y < SIZE; y++) {
+                  for (int x = 0; x < SIZE; x++) {
+                    volume.addLabel(x, y, z, 1);
+                  }
+                }
+              }
+            });
+    writer.start();
+    while (writer.isAlive()) {
+      // Summaries computed while the voxels are written must not be kept
+      volume.getSegmentExtent(1);
+    }
+    writer.join();
+
+    SegmentationVolume.SegmentExtent extent = volume.getSegmentExtent(1);
+    assertNotNull(extent);
+    assertEquals((long) SIZE * SIZE * SIZE, extent.voxelCount());
+    assertEquals(new Vector3i(SIZE - 1, SIZE - 1, SIZE - 1), extent.max());
+  }
+
+  @Test
+  void aSmallLesionInALargeGridIsFoundAndCounted() {
+    Map<Integer, RegionAttributes> attributes = new LinkedHashMap<>();
+    attributes.put(1, liver);
+    // 512 x 512 x 400 voxels: a dense grid would hold 100 MB for a 27-voxel lesion.
+    SegmentationVolume volume =
+        new SegmentationVolume(
+            512,
+            512,
+            400,
+            new Vector3d(1, 1, 1),
+            new Vector3d(),
+            new Vector3d(1, 0, 0),
+            new Vector3d(0, 1, 0),
+            new Vector3d(0, 0, 1),
+            attributes);
+    assertTrue(volume.isEmpty());
+    for (int z = 299; z <= 301; z++) {
+      for (int y = 99; y <= 101; y++) {
+        for (int x = 399; x <= 401; x++) {
+          volume.addLabel(x, y, z, 1);
+        }
+      }
+    }
+    volume.applySegmentVoxelCounts();
+
+    AtomicInteger scanned = new AtomicInteger();
+    Vector3i center = volume.findSegmentCenter(1, (done, total) -> scanned.incrementAndGet());
+    assertAll(
+        () -> assertFalse(volume.isEmpty()),
+        () -> assertEquals(new Vector3i(400, 100, 299), center),
+        () -> assertEquals(3, scanned.get()),
+        () -> assertEquals(27L, liver.getNumberOfPixels()),
+        () -> assertEquals(1, volume.exportSliceBitmask(300)[100 * 512 + 400]),
+        () -> assertEquals(0, volume.exportSliceBitmask(0)[100 * 512 + 400]));
+  }
+
+  @Test
+  void promotionToShortStorageKeepsTheLabels() {
+    // 24 segments overlapping pairwise need 24 + 276 storage ids, beyond the byte range.
+    int segments = 24;
+    Map<Integer, RegionAttributes> attributes = new LinkedHashMap<>();
+    for (int s = 1; s <= segments; s++) {
+      attributes.put(s, new SegRegion<>(s, "Seg" + s, Color.RED));
+    }
+    int side = 40;
+    SegmentationVolume volume =
+        new SegmentationVolume(
+            side,
+            side,
+            side,
+            new Vector3d(1, 1, 1),
+            new Vector3d(),
+            new Vector3d(1, 0, 0),
+            new Vector3d(0, 1, 0),
+            new Vector3d(0, 0, 1),
+            attributes);
+    int voxel = 0;
+    for (int a = 1; a <= segments; a++) {
+      for (int b = a + 1; b <= segments; b++) {
+        int x = voxel % side;
+        int y = (voxel / side) % side;
+        int z = voxel / (side * side);
+        volume.addLabel(x, y, z, a);
+        volume.addLabel(x, y, z, b);
+        voxel++;
+      }
+    }
+    volume.applySegmentVoxelCounts();
+
+    assertTrue(volume.isShortMode());
+    // Each segment overlaps every other one exactly once.
+    assertAll(
+        attributes.values().stream()
+            .map(region -> () -> assertEquals(segments - 1L, region.getNumberOfPixels())));
+  }
 }
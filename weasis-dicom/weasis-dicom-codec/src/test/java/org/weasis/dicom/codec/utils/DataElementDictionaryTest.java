@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.codec.utils;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import org.dcm4che3.data.Tag;
+import org.junit.jupiter.api.Test;
+import org.weasis.dicom.codec.utils.DataElementDictionary.Element;
+
+/**
+ * Tests {@link DataElementDictionary}: the compiled dictionary must hold exactly what the XML
+ * parsing gives, so that {@code TagD} builds the same tags from either form.
+ */
+class DataElementDictionaryTest {
+
+  private static final String XML =
+      """
+      <?xml version="1.0" encoding="UTF-8"?>
+      <dataelements>
+        <el tag="00080005" keyword="SpecificCharacterSet" vr="CS" vm="1-n">Charset</el>
+        <el tag="00100010" keyword="PatientName" vr="PN" vm="1">Patient's Name</el>
+        <el tag="00280010" keyword="Rows" vr="US" vm="1">Rows</el>
+        <el tag="50xx0005" keyword="CurveDimensions" vr="US" vm="1" retired="true">Curve Dim</el>
+        <el tag="00081115" keyword="ReferencedSeriesSequence" vr="SQ" vm="1">Ref Series</el>
+        <el tag="00283006" keyword="LUTData" vr="US or OW" vm="1-n">LUT Data</el>
+        <el tag="FFFEE000" keyword="Item" vr="" vm="1">Item</el>
+        <el tag="00000000" keyword="Unnamed" vr="UL" vm="1"></el>
+      </dataelements>
+      """;
+
+  private static List<Element> parse(String xml) throws Exception {
+    return DataElementDictionary.readXml(
+        new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private static List<Element> roundTrip(List<Element> elements) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    DataElementDictionary.write(elements, out);
+    return DataElementDictionary.read(new ByteArrayInputStream(out.toByteArray()));
+  }
+
+  @Test
+  void xmlElementsAreParsedAndFiltered() throws Exception {
+    List<Element> elements = parse(XML);
+
+    assertAll(
+        () -> assertEquals(6, elements.size(), "item delimiter and unnamed element skipped"),
+        () ->
+            assertEquals(
+                new Element(
+                    Tag.SpecificCharacterSet,
+                    "SpecificCharacterSet",
+                    "Charset",
+                    "CS",
+                    1,
+                    Integer.MAX_VALUE,
+                    false),
+                elements.get(0)),
+        () -> assertEquals("Patient's Name", elements.get(1).name()),
+        () -> assertEquals(0x50000005, elements.get(3).tag(), "repeating group x replaced by 0"),
+        () -> assertEquals(true, elements.get(3).retired()),
+        () -> assertEquals("US or OW", elements.get(5).vr()));
+  }
+
+  @Test
+  void compiledFormRoundTrips() throws Exception {
+    List<Element> elements = parse(XML);
+    assertEquals(elements, roundTrip(elements));
+  }
+
+  @Test
+  void compiledFormOfTheStandardDictionaryMatchesTheXml() throws Exception {
+    List<Element> xml;
+    try (InputStream in =
+        DataElementDictionary.class.getResourceAsStream(DataElementDictionary.XML_RESOURCE)) {
+      xml = DataElementDictionary.readXml(in);
+    }
+
+    assertAll(
+        () -> assertFalse(xml.isEmpty()),
+        () -> assertEquals(xml, roundTrip(xml)),
+        () -> assertEquals(xml, DataElementDictionary.load()));
+  }
+
+  @Test
+  void otherFormatIsRejected() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    DataElementDictionary.write(List.of(), out);
+    byte[] data = out.toByteArray();
+    byte[] truncated = Arrays.copyOf(data, 2);
+    data[3]++;
+
+    assertAll(
+        () ->
+            assertThrows(
+                IOException.class,
+                () -> DataElementDictionary.read(new ByteArrayInputStream(data))),
+        () ->
+            assertThrows(
+                IOException.class,
+                () -> DataElementDictionary.read(new ByteArrayInputStream(truncated))));
+  }
+}
@@ -30,6 +30,7 @@
 import java.util.Properties;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ExecutorService;
@@ -145,6 +146,9 @@ public class DicomModel implements TreeModel, DataExplorerModel {
       Arrays.asList(TreeModelNode.ROOT, patient, study, series);
 
   private final Tree<MediaSeriesGroup> model;
+  // Study and series nodes by UID, maintained with the tree (see addHierarchyNode)
+  private final Map<Object, MediaSeriesGroup> studyIndex = new ConcurrentHashMap<>();
+  private final Map<Object, MediaSeriesGroup> seriesIndex = new ConcurrentHashMap<>();
   private PropertyChangeSupport propertyChange = null;
   private final SplittingRules splittingRules;
 
@@ -179,6 +183,17 @@ public Collection<MediaSeriesGroup> getChildren(MediaSeriesGroup node) {
   @Override
   public MediaSeriesGroup getHierarchyNode(MediaSeriesGroup parent, Object valueID) {
     if (parent != null || valueID != null) {
+      Map<Object, MediaSeriesGroup> index = parent == null ? null : getChildIndex(parent);
+      if (index != null && valueID != null) {
+        MediaSeriesGroup node = index.get(valueID);
+        if (node == null) {
+          return null;
+        }
+        if (isChild(parent, node)) {
+          return node;
+        }
+        // The same UID under another parent: look for it among the children
+      }
       for (MediaSeriesGroup node : getChildren(parent)) {
         if (node.matchIdValue(valueID)) {
           return node;
@@ -275,42 +290,95 @@ public void mergeStudyUID(String oldStudyUID, String studyUID) {
   }
 
   public MediaSeriesGroup getStudyNode(String studyUID) {
-    Objects.requireNonNull(studyUID);
-    for (MediaSeriesGroup pt : getChildren(MediaSeriesGroupNode.rootNode)) {
-      for (MediaSeriesGroup st : getChildren(pt)) {
-        if (st.matchIdValue(studyUID)) {
-          return st;
-        }
-      }
-    }
-    return null;
+    return studyIndex.get(Objects.requireNonNull(studyUID));
   }
 
   public MediaSeriesGroup getSeriesNode(String seriesUID) {
-    Objects.requireNonNull(seriesUID);
-    for (MediaSeriesGroup pt : getChildren(MediaSeriesGroupNode.rootNode)) {
-      for (MediaSeriesGroup st : getChildren(pt)) {
-        for (MediaSeriesGroup item : getChildren(st)) {
-          if (item.matchIdValue(seriesUID)) {
-            return item;
-          }
-        }
-      }
-    }
-    return null;
+    return seriesIndex.get(Objects.requireNonNull(seriesUID));
   }
 
   @Override
   public void addHierarchyNode(MediaSeriesGroup root, MediaSeriesGroup leaf) {
     model.addLeaf(root, leaf);
+    Map<Object, MediaSeriesGroup> index = getIndex(leaf);
+    Object uid = leaf == null ? null : leaf.getTagValue(leaf.getTagID());
+    if (index != null && uid != null) {
+      index.putIfAbsent(uid, leaf);
+    }
   }
 
   @Override
   public void removeHierarchyNode(MediaSeriesGroup root, MediaSeriesGroup leaf) {
     Tree<MediaSeriesGroup> tree = model.getTree(root);
     if (tree != null) {
+      // The descendants of the leaf are no longer reachable from the root either
+      List<MediaSeriesGroup> removed = new ArrayList<>();
+      collectNodes(leaf, removed);
       tree.removeLeaf(leaf);
+      removed.forEach(this::removeFromIndex);
+    }
+  }
+
+  private void collectNodes(MediaSeriesGroup node, List<MediaSeriesGroup> nodes) {
+    nodes.add(node);
+    for (MediaSeriesGroup child : getChildren(node)) {
+      collectNodes(child, nodes);
+    }
+  }
+
+  private void removeFromIndex(MediaSeriesGroup node) {
+    Map<Object, MediaSeriesGroup> index = getIndex(node);
+    Object uid = node == null ? null : node.getTagValue(node.getTagID());
+    if (index != null && uid != null && index.remove(uid, node)) {
+      // Another node with the same UID may remain in the tree
+      reindex(index, uid);
+    }
+  }
+
+  private void reindex(Map<Object, MediaSeriesGroup> index, Object uid) {
+    for (MediaSeriesGroup pt : getChildren(MediaSeriesGroupNode.rootNode)) {
+      for (MediaSeriesGroup st : getChildren(pt)) {
+        if (index == studyIndex) {
+          if (st.matchIdValue(uid)) {
+            index.putIfAbsent(uid, st);
+            return;
+          }
+        } else {
+          for (MediaSeriesGroup item : getChildren(st)) {
+            if (item.matchIdValue(uid)) {
+              index.putIfAbsent(uid, item);
+              return;
+            }
+          }
+        }
+      }
+    }
+  }
+
+  private Map<Object, MediaSeriesGroup> getIndex(MediaSeriesGroup node) {
+    if (node != null) {
+      if (study.tagElement().equals(node.getTagID())) {
+        return studyIndex;
+      } else if (series.tagElement().equals(node.getTagID())) {
+        return seriesIndex;
+      }
+    }
+    return null;
+  }
+
+  private Map<Object, MediaSeriesGroup> getChildIndex(MediaSeriesGroup parent) {
+    if (patient.tagElement().equals(parent.getTagID())) {
+      return studyIndex;
+    } else if (study.tagElement().equals(parent.getTagID())) {
+      return seriesIndex;
     }
+    return null;
+  }
+
+  private boolean isChild(MediaSeriesGroup parent, MediaSeriesGroup node) {
+    Tree<MediaSeriesGroup> tree = model.getTree(node);
+    Tree<MediaSeriesGroup> parentTree = tree == null ? null : tree.getParent();
+    return parentTree != null && Objects.equals(parentTree.getHead(), parent);
   }
 
   @Override
@@ -345,6 +413,8 @@ public void dispose() {
       }
     }
     model.clear();
+    studyIndex.clear();
+    seriesIndex.clear();
   }
 
   @Override
@@ -11,7 +11,15 @@
 
 import java.io.File;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import javax.swing.JOptionPane;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.weasis.core.api.explorer.ObservableEvent;
 import org.weasis.core.api.explorer.model.DataExplorerModel;
 import org.weasis.core.api.gui.util.AppProperties;
@@ -19,6 +27,7 @@
 import org.weasis.core.api.gui.util.GuiUtils;
 import org.weasis.core.api.media.MimeInspector;
 import org.weasis.core.api.media.data.*;
+import org.weasis.core.api.util.ThreadUtil;
 import org.weasis.core.ui.model.GraphicModel;
 import org.weasis.core.ui.serialize.XmlSerializer;
 import org.weasis.core.util.FileUtil;
@@ -30,6 +39,11 @@
 import org.weasis.dicom.explorer.imp.DicomZipMediaIO;
 
 public class LoadLocalDicom extends LoadDicom {
+  private static final Logger LOGGER = LoggerFactory.getLogger(LoadLocalDicom.class);
+
+  /** Number of files parsed ahead of their insertion into the model, and of folders listed. */
+  private static final int PARSE_AHEAD =
+      Math.max(8, 2 * Runtime.getRuntime().availableProcessors());
 
   private final File[] files;
   private final boolean recursive;
@@ -59,51 +73,111 @@ protected Boolean doInBackground() throws Exception {
     return true;
   }
 
+  /**
+   * Imports the files and the folders (recursively if required) into the model.
+   *
+   * <p>The folders are listed and the DICOM headers are parsed by concurrent tasks running ahead
+   * of this thread, which remains the only one inserting the parsed files into the model. The
+   * files are inserted in the same order as a sequential walk (the files of a folder, then its
+   * sub-folders), so the resulting model and the series opened first do not depend on the
+   * parallelism.
+   */
   protected void addSelectionAndNotify(File[] file, boolean firstLevel) {
     if (file == null || file.length < 1) {
       return;
     }
+    try (ExecutorService executor = newImportExecutor()) {
+      Listing root = list(executor, new Semaphore(PARSE_AHEAD), file, firstLevel || recursive);
+      new ImportWalk(executor, root).run();
+    }
+  }
 
-    Set<DicomSeries> uniqueSeriesSet = new LinkedHashSet<>();
-    ArrayList<File> folders = new ArrayList<>();
-    for (File value : file) {
-      if (isCancelled()) {
-        return;
-      }
-      if (value == null || !value.canRead()) {
-        continue;
-      }
+  /** Returns the executor listing the folders and parsing the files ahead of their insertion. */
+  protected ExecutorService newImportExecutor() {
+    return ThreadUtil.newVirtualThreadPerTaskExecutor("DICOM Import");
+  }
 
-      if (value.isDirectory()) {
-        if (firstLevel || recursive) {
-          folders.add(value);
+  /** Lists a folder and starts listing its sub-folders, as long as the import is not cancelled. */
+  private Listing list(
+      ExecutorService executor, Semaphore permits, File[] entries, boolean withFolders) {
+    List<File> files = new ArrayList<>();
+    List<Future<Listing>> folders = new ArrayList<>();
+    if (entries != null) {
+      for (File value : entries) {
+        if (isCancelled()) {
+          break;
         }
-      } else if (FileUtil.isFileExtensionMatching(value.toPath(), DicomCodec.FILE_EXTENSIONS)
-          || MimeInspector.isMatchingMimeTypeFromMagicNumber(value, DicomMediaIO.DICOM_MIMETYPE)) {
-        DicomMediaIO loader = new DicomMediaIO(value);
-        Reading reading = loader.getReadingStatus();
-        if (reading == Reading.READABLE) {
-          if (value.getPath().startsWith(AppProperties.APP_TEMP_DIR.toString())) {
-            loader.getFileCache().setOriginalTempFile(value.toPath());
-          }
-          uniqueSeriesSet.add(buildDicomStructure(loader));
-
-          File gpxFile = new File(value.getPath() + ".xml");
-          GraphicModel graphicModel = XmlSerializer.readPresentationModel(gpxFile);
-          if (graphicModel != null) {
-            loader.setTag(TagW.PresentationModel, graphicModel);
+        if (value == null || !value.canRead()) {
+          continue;
+        }
+        if (value.isDirectory()) {
+          if (withFolders) {
+            folders.add(executor.submit(() -> listFolder(executor, permits, value)));
           }
-        } else if (reading == Reading.ERROR) {
-          errors.incrementAndGet();
-        } else if (reading == Reading.UNSUPPORTED) {
-          unsupported.incrementAndGet();
+        } else {
+          files.add(value);
         }
-      } else if (FileUtil.isFileExtensionMatching(value.toPath(), DicomZipCodec.FILE_EXTENSIONS)
-          || MimeInspector.isMatchingMimeTypeFromMagicNumber(value, DicomZipMediaIO.MIME_TYPE)) {
-        new DicomZipMediaIO(value.toURI(), null).delegate(dicomModel);
       }
     }
+    return new Listing(files, folders);
+  }
+
+  private Listing listFolder(ExecutorService executor, Semaphore permits, File folder)
+      throws InterruptedException {
+    permits.acquire();
+    try {
+      return list(executor, permits, folder.listFiles(), recursive);
+    } finally {
+      permits.release();
+    }
+  }
+
+  /** Reads a file, without modifying the model. Returns null if the file is not supported. */
+  private LocalFile parse(File value) {
+    if (isCancelled()) {
+      return null;
+    }
+    if (FileUtil.isFileExtensionMatching(value.toPath(), DicomCodec.FILE_EXTENSIONS)
+        || MimeInspector.isMatchingMimeTypeFromMagicNumber(value, DicomMediaIO.DICOM_MIMETYPE)) {
+      DicomMediaIO loader = new DicomMediaIO(value);
+      Reading reading = loader.getReadingStatus();
+      GraphicModel graphicModel = null;
+      if (reading == Reading.READABLE) {
+        graphicModel = XmlSerializer.readPresentationModel(new File(value.getPath() + ".xml"));
+      }
+      return new LocalFile(value, loader, reading, graphicModel);
+    } else if (FileUtil.isFileExtensionMatching(value.toPath(), DicomZipCodec.FILE_EXTENSIONS)
+        || MimeInspector.isMatchingMimeTypeFromMagicNumber(value, DicomZipMediaIO.MIME_TYPE)) {
+      return new LocalFile(value, null, null, null);
+    }
+    return null;
+  }
+
+  /** Inserts a parsed file into the model, always from the import thread. */
+  private void apply(LocalFile localFile, Set<DicomSeries> uniqueSeriesSet) {
+    File value = localFile.file();
+    DicomMediaIO loader = localFile.loader();
+    if (loader == null) {
+      new DicomZipMediaIO(value.toURI(), null).delegate(dicomModel);
+      return;
+    }
+    Reading reading = localFile.reading();
+    if (reading == Reading.READABLE) {
+      if (value.getPath().startsWith(AppProperties.APP_TEMP_DIR.toString())) {
+        loader.getFileCache().setOriginalTempFile(value.toPath());
+      }
+      uniqueSeriesSet.add(buildDicomStructure(loader));
+      if (localFile.graphicModel() != null) {
+        loader.setTag(TagW.PresentationModel, localFile.graphicModel());
+      }
+    } else if (reading == Reading.ERROR) {
+      errors.incrementAndGet();
+    } else if (reading == Reading.UNSUPPORTED) {
+      unsupported.incrementAndGet();
+    }
+  }
 
+  private void notifySeries(Set<DicomSeries> uniqueSeriesSet) {
     if (openingStrategy.isFullImportSession()) {
       updateSeriesThumbnail(uniqueSeriesSet, dicomModel);
     } else {
@@ -111,9 +185,103 @@ protected void addSelectionAndNotify(File[] file, boolean firstLevel) {
         dicomModel.buildThumbnail(series);
       }
     }
+  }
+
+  private record Listing(List<File> files, List<Future<Listing>> folders) {}
+
+  private record LocalFile(
+      File file, DicomMediaIO loader, Reading reading, GraphicModel graphicModel) {}
+
+  /**
+   * Depth-first walk of the listings keeping up to {@link #PARSE_AHEAD} files being parsed ahead
+   * of their insertion into the model.
+   */
+  private final class ImportWalk {
+    // Marks the end of the files of a folder in the queue
+    private static final Object END_OF_FOLDER = new Object();
+
+    private final ExecutorService executor;
+    private final Deque<Object> ahead = new ArrayDeque<>();
+    private final Deque<Future<Listing>> toVisit = new ArrayDeque<>();
+    private Listing listing;
+    private Iterator<File> files;
 
-    for (File folder : folders) {
-      addSelectionAndNotify(folder.listFiles(), false);
+    private ImportWalk(ExecutorService executor, Listing root) {
+      this.executor = executor;
+      this.toVisit.push(CompletableFuture.completedFuture(root));
+    }
+
+    private void run() {
+      Set<DicomSeries> uniqueSeriesSet = new LinkedHashSet<>();
+      try {
+        fill();
+        while (!ahead.isEmpty()) {
+          if (isCancelled()) {
+            return;
+          }
+          Object item = ahead.poll();
+          if (item == END_OF_FOLDER) {
+            notifySeries(uniqueSeriesSet);
+            uniqueSeriesSet = new LinkedHashSet<>();
+          } else {
+            LocalFile localFile = get((Future<?>) item);
+            if (localFile != null) {
+              apply(localFile, uniqueSeriesSet);
+            }
+          }
+          fill();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        cancelAll();
+      }
+    }
+
+    private void fill() throws InterruptedException {
+      while (ahead.size() < PARSE_AHEAD && !isCancelled()) {
+        if (files != null && files.hasNext()) {
+          File file = files.next();
+          ahead.add(executor.submit(() -> parse(file)));
+        } else if (listing != null) {
+          ahead.add(END_OF_FOLDER);
+          List<Future<Listing>> folders = listing.folders();
+          for (int i = folders.size() - 1; i >= 0; i--) {
+            toVisit.push(folders.get(i));
+          }
+          listing = null;
+          files = null;
+        } else if (!toVisit.isEmpty()) {
+          listing = get(toVisit.pop());
+          files = listing == null ? null : listing.files().iterator();
+        } else {
+          break;
+        }
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T get(Future<?> future) throws InterruptedException {
+      try {
+        return (T) future.get();
+      } catch (ExecutionException e) {
+        errors.incrementAndGet();
+        LOGGER.error("Cannot import a DICOM file", e.getCause());
+      } catch (CancellationException e) {
+        // Import cancelled
+      }
+      return null;
+    }
+
+    private void cancelAll() {
+      for (Object item : ahead) {
+        if (item instanceof Future<?> future) {
+          future.cancel(true);
+        }
+      }
+      ahead.clear();
+      toVisit.forEach(f -> f.cancel(true));
+      toVisit.clear();
     }
   }
 
@@ -17,16 +17,31 @@
 import java.awt.image.BufferedImage;
 import java.awt.image.IndexColorModel;
 import java.awt.image.Raster;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.Set;
 import java.util.Vector;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 import javax.swing.BorderFactory;
 import javax.swing.DefaultComboBoxModel;
 import javax.swing.JButton;
@@ -71,6 +86,7 @@
 import org.weasis.core.api.media.data.Series;
 import org.weasis.core.api.media.data.TagW;
 import org.weasis.core.api.util.FontItem;
+import org.weasis.core.api.util.ThreadUtil;
 import org.weasis.core.ui.model.GraphicModel;
 import org.weasis.core.ui.serialize.XmlSerializer;
 import org.weasis.core.util.FileUtil;
@@ -78,7 +94,6 @@
 import org.weasis.core.util.StreamUtil;
 import org.weasis.core.util.StringUtil;
 import org.weasis.core.util.StringUtil.Suffix;
-import org.weasis.core.util.ZipUtil;
 import org.weasis.dicom.codec.DcmMediaReader;
 import org.weasis.dicom.codec.DicomElement;
 import org.weasis.dicom.codec.DicomElement.DicomExportParameters;
@@ -501,9 +516,10 @@ protected Boolean doInBackground() throws Exception {
                             AppProperties.buildAccessibleTempDirectory(
                                 "tmp", Format.DICOM_ZIP.extension))
                         .toFile(); // NON-NLS
-                writeDicom(this, writeDir, model, pref);
-                try {
-                  ZipUtil.zip(writeDir.toPath(), exportDir.toPath());
+                try (ZipOutputStream zip =
+                    new ZipOutputStream(
+                        new BufferedOutputStream(Files.newOutputStream(exportDir.toPath())))) {
+                  writeDicom(this, writeDir, zip, model, pref);
                 } catch (Exception e) {
                   LOGGER.error("Cannot export DICOM ZIP file: {}", exportDir, e);
                 } finally {
@@ -655,12 +671,30 @@ private static Attributes getUIDs(DefaultAttributeEditor editor, MediaElement dc
         Tag.SeriesInstanceUID, VR.UI, TagD.getTagValue(dcm, Tag.SeriesInstanceUID, String.class));
     uidTags.setString(
         Tag.SOPInstanceUID, VR.UI, TagD.getTagValue(dcm, Tag.SOPInstanceUID, String.class));
-    editor.apply(uidTags, null);
+    // Same lock as the transcoding workers, which apply the editor concurrently
+    synchronized (editor) {
+      editor.apply(uidTags, null);
+    }
     return uidTags;
   }
 
   protected void writeDicom(
       ExplorerTask task, File exportDir, CheckTreeModel model, Properties pref) throws IOException {
+    writeDicom(task, exportDir, null, model, pref);
+  }
+
+  /**
+   * Writes the selected DICOM files. The instances are transcoded on a bounded worker pool, while
+   * the DICOMDIR records and the ZIP entries are written by the calling thread in the order of the
+   * tree, so the output does not depend on the scheduling of the workers.
+   *
+   * @param exportDir the output folder. With a ZIP stream, it is a temporary folder receiving the
+   *     DICOMDIR and the files being transcoded, each file is deleted once added to the ZIP.
+   * @param zip the stream receiving the files, or null to write them only into {@code exportDir}
+   */
+  protected void writeDicom(
+      ExplorerTask task, File exportDir, ZipOutputStream zip, CheckTreeModel model, Properties pref)
+      throws IOException {
     boolean keepNames;
     boolean writeDicomdir;
     boolean cdCompatible;
@@ -691,14 +725,15 @@ protected void writeDicom(
     cdCompatible = Boolean.parseBoolean(pref.getProperty(CD_COMPATIBLE, Boolean.FALSE.toString()));
 
     DicomDirWriter writer = null;
+    File dcmdirFile = new File(exportDir, "DICOMDIR");
+    ExportPipeline pipeline = new ExportPipeline(exportDir, zip);
     try {
       if (writeDicomdir) {
-        File dcmdirFile = new File(exportDir, "DICOMDIR");
         writer = DicomDirLoader.open(dcmdirFile);
       }
 
       synchronized (exportTree) {
-        ArrayList<String> uids = new ArrayList<>();
+        Set<String> uids = new HashSet<>();
         TreePath[] paths = model.getCheckingPaths();
         for (TreePath treePath : paths) {
           if (task.isCancelled()) {
@@ -709,10 +744,7 @@ protected void writeDicom(
           if (node.getUserObject() instanceof DicomImageElement img) {
             Attributes uidTags = getUIDs(editor, img);
             String iuid = uidTags.getString(Tag.SOPInstanceUID);
-            int index = uids.indexOf(iuid);
-            if (index == -1) {
-              uids.add(iuid);
-            } else {
+            if (!uids.add(iuid)) {
               // Write only once the file for multiframe
               continue;
             }
@@ -730,13 +762,18 @@ protected void writeDicom(
             DicomExportParameters dicomExportParameters =
                 new DicomExportParameters(
                     tsuid, onlyRaw, dicomEditors, jpegQuality, compressionRatio);
-            Attributes attributes = img.saveToFile(destinationFile, dicomExportParameters);
-            if (attributes != null) {
-              if (attributes.isEmpty()) {
-                attributes = img.getMediaReader().getDicomObject();
-              }
-              writeInDicomDir(writer, attributes, node, iuid, destinationFile);
-            }
+            pipeline.submit(
+                writer,
+                node,
+                iuid,
+                destinationFile,
+                () -> {
+                  Attributes attributes = img.saveToFile(destinationFile, dicomExportParameters);
+                  if (attributes != null && attributes.isEmpty()) {
+                    attributes = img.getMediaReader().getDicomObject();
+                  }
+                  return attributes;
+                });
           } else if (node.getUserObject() instanceof DicomElement dcm) {
             Attributes uidTags = getUIDs(editor, (MediaElement) dcm);
             String iuid = uidTags.getString(Tag.SOPInstanceUID);
@@ -752,18 +789,25 @@ protected void writeDicom(
             DicomExportParameters dicomExportParameters =
                 new DicomExportParameters(
                     null, onlyRaw, getAttributeEditors(editor), jpegQuality, compressionRatio);
-            Attributes attributes = dcm.saveToFile(destinationFile, dicomExportParameters);
-            if (attributes != null) {
-              if (attributes.isEmpty()) {
-                attributes = dcm.getMediaReader().getDicomObject();
-              }
-              writeInDicomDir(writer, attributes, node, iuid, destinationFile);
-            }
+            pipeline.submit(
+                writer,
+                node,
+                iuid,
+                destinationFile,
+                () -> {
+                  Attributes attributes = dcm.saveToFile(destinationFile, dicomExportParameters);
+                  if (attributes != null && attributes.isEmpty()) {
+                    attributes = dcm.getMediaReader().getDicomObject();
+                  }
+                  return attributes;
+                });
           } else if (node.getUserObject() instanceof Series) {
             MediaSeries<?> s = (MediaSeries<?>) node.getUserObject();
             if (LangUtil.nullToFalse((Boolean) s.getTagValue(TagW.ObjectToSave))) {
               Series<?> series = (Series<?>) s.getTagValue(CheckTreeModel.SourceSeriesForPR);
               if (series != null) {
+                // Keep the DICOMDIR records in the order of the tree
+                pipeline.completeAll();
                 String seriesInstanceUID = UIDUtils.createUID();
                 for (MediaElement dcm : series.getMedias(null, null)) {
                   GraphicModel grModel = (GraphicModel) dcm.getTagValue(TagW.PresentationModel);
@@ -780,6 +824,7 @@ protected void writeDicom(
                             seriesInstanceUID);
                     if (outputFile != null) {
                       File f = new File(outputFile);
+                      pipeline.addToZip(f, false);
                       DicomModel.LOADING_EXECUTOR.execute(
                           new LoadLocalDicom(
                               new File[] {f},
@@ -793,22 +838,162 @@ protected void writeDicom(
             }
           }
         }
+        pipeline.completeAll();
       }
     } catch (IOException e) {
       throw e;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
     } catch (Exception e) {
       LOGGER.error("Cannot export DICOM", e);
     } finally {
+      pipeline.close();
       if (writer != null) {
         // Commit DICOMDIR changes and close the file
         writer.close();
+        if (!task.isCancelled()) {
+          try {
+            pipeline.addToZip(dcmdirFile, true);
+          } catch (IOException e) {
+            // Do not hide the exception of the export
+            LOGGER.error("Cannot add the DICOMDIR to the archive", e);
+          }
+        }
       }
+      pipeline.logTimings();
+    }
+  }
+
+  /** An instance being transcoded, written into the DICOMDIR and the ZIP once completed. */
+  private record PendingInstance(
+      Future<Attributes> result,
+      DicomDirWriter writer,
+      DefaultMutableTreeNode node,
+      String iuid,
+      File destinationFile) {}
+
+  /**
+   * Transcodes the instances on a bounded worker pool and completes them in the order of
+   * submission. At most two instances per worker are in progress, which bounds the memory and, for
+   * a ZIP, the temporary disk space.
+   */
+  private static final class ExportPipeline {
+    private final File exportDir;
+    private final ZipOutputStream zip;
+    private final int maxPending;
+    private final ExecutorService executor;
+    private final Deque<PendingInstance> pending = new ArrayDeque<>();
+    private final AtomicLong transcodingNanos = new AtomicLong();
+    private final long startTime = System.nanoTime();
+    private long dicomdirNanos;
+    private long zipNanos;
+    private int instances;
+
+    ExportPipeline(File exportDir, ZipOutputStream zip) {
+      this.exportDir = exportDir;
+      this.zip = zip;
+      int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+      this.maxPending = 2 * threads;
+      this.executor = ThreadUtil.newFixedThreadPool(threads, "DICOM Export"); // NON-NLS
+    }
+
+    void submit(
+        DicomDirWriter writer,
+        DefaultMutableTreeNode node,
+        String iuid,
+        File destinationFile,
+        Callable<Attributes> transcoding)
+        throws IOException, InterruptedException {
+      while (pending.size() >= maxPending) {
+        complete(pending.removeFirst());
+      }
+      Future<Attributes> result =
+          executor.submit(
+              () -> {
+                long start = System.nanoTime();
+                try {
+                  return transcoding.call();
+                } finally {
+                  transcodingNanos.addAndGet(System.nanoTime() - start);
+                }
+              });
+      pending.addLast(new PendingInstance(result, writer, node, iuid, destinationFile));
+    }
+
+    void completeAll() throws IOException, InterruptedException {
+      while (!pending.isEmpty()) {
+        complete(pending.removeFirst());
+      }
+    }
+
+    private void complete(PendingInstance instance) throws IOException, InterruptedException {
+      Attributes attributes;
+      try {
+        attributes = instance.result().get();
+      } catch (ExecutionException e) {
+        LOGGER.error("Cannot export {}", instance.destinationFile(), e.getCause());
+        return;
+      }
+      if (attributes != null) {
+        long start = System.nanoTime();
+        writeInDicomDir(
+            instance.writer(),
+            attributes,
+            instance.node(),
+            instance.iuid(),
+            instance.destinationFile());
+        dicomdirNanos += System.nanoTime() - start;
+        addToZip(instance.destinationFile(), true);
+        instances++;
+      }
+    }
+
+    /** Adds a file to the ZIP, with its path relative to the export folder as name. */
+    void addToZip(File file, boolean delete) throws IOException {
+      if (zip == null || !file.isFile()) {
+        return;
+      }
+      long start = System.nanoTime();
+      Path relative = exportDir.toPath().relativize(file.toPath());
+      zip.putNextEntry(new ZipEntry(relative.toString().replace(File.separatorChar, '/')));
+      Files.copy(file.toPath(), zip);
+      zip.closeEntry();
+      if (delete) {
+        Files.delete(file.toPath());
+      }
+      zipNanos += System.nanoTime() - start;
+    }
+
+    /** Stops the workers, the instances not completed are not written. */
+    void close() {
+      for (PendingInstance instance : pending) {
+        instance.result().cancel(true);
+      }
+      pending.clear();
+      executor.shutdownNow();
+    }
+
+    void logTimings() {
+      LOGGER.info(
+          "DICOM export of {} instances in {} ms: transcoding {} ms (cumulated on the workers), "
+              + "DICOMDIR {} ms, ZIP {} ms",
+          instances,
+          TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime),
+          TimeUnit.NANOSECONDS.toMillis(transcodingNanos.get()),
+          TimeUnit.NANOSECONDS.toMillis(dicomdirNanos),
+          TimeUnit.NANOSECONDS.toMillis(zipNanos));
     }
   }
 
   private static List<AttributeEditor> getAttributeEditors(DefaultAttributeEditor editor) {
     if (editor.isGenerateUIDs() || editor.getTagToOverride() != null) {
-      return List.of(editor);
+      // The editor keeps the generated UIDs, it is shared by the transcoding workers
+      return List.of(
+          (data, context) -> {
+            synchronized (editor) {
+              editor.apply(data, context);
+            }
+          });
     }
     return Collections.emptyList();
   }
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.explorer.wado;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Predicate;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.img.DicomMetaData;
+import org.dcm4che3.io.DicomInputStream;
+import org.dcm4che3.io.DicomInputStream.IncludeBulkData;
+import org.weasis.core.util.FileUtil;
+
+/**
+ * Writes a DICOM part of a multipart response to a file while parsing its header in the same pass.
+ *
+ * <p>The bytes read by the parser are copied to the file as they come, and the bulk data (pixel
+ * data, overlays...) are skipped by the parser and referenced by their offset in that file, exactly
+ * as when the header is read from the file. The returned header can therefore be given to the
+ * reader of the file, which then does not need to parse it again.
+ *
+ * <p>The SOP Instance UID of the file meta information is checked before anything is written, so
+ * an instance already loaded is neither written to the disk nor parsed.
+ */
+final class DicomPartSpool {
+
+  private DicomPartSpool() {}
+
+  /**
+   * Parses a DICOM stream while writing it to a file.
+   *
+   * @param in the DICOM stream (a Part 10 file)
+   * @param target the file to write, replaced if it exists
+   * @param skipInstance tells if the instance with the given SOP Instance UID must be skipped
+   * @return the header with the bulk data referencing the file, or null when the instance has been
+   *     skipped (nothing is then written)
+   * @throws IOException if the stream cannot be read or written, the file is then deleted
+   */
+  static DicomMetaData spool(InputStream in, Path target, Predicate<String> skipInstance)
+      throws IOException {
+    TeeInputStream tee = new TeeInputStream(in);
+    try (DicomInputStream dis = new DicomInputStream(tee)) {
+      // Bulk data are referenced in the target file instead of being spooled to temporary files
+      dis.setIncludeBulkData(IncludeBulkData.URI);
+      dis.setURI(target.toUri().toString());
+      Attributes fmi = dis.readFileMetaInformation();
+      String sopUID = fmi == null ? null : fmi.getString(Tag.MediaStorageSOPInstanceUID);
+      if (sopUID != null && skipInstance.test(sopUID)) {
+        return null;
+      }
+      try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(target))) {
+        tee.open(out);
+        Attributes dataset = dis.readDataset();
+        // Copy the trailing bytes not consumed by the parser (e.g. padding after the dataset)
+        tee.transferTo(OutputStream.nullOutputStream());
+        return new DicomMetaData(dataset, dis.getTransferSyntax());
+      }
+    } catch (IOException | RuntimeException e) {
+      FileUtil.delete(target);
+      throw e;
+    }
+  }
+
+  /**
+   * Copies the bytes read (or skipped) from the stream to an output stream. The bytes read before
+   * the output is opened are kept in memory and written first.
+   */
+  static final class TeeInputStream extends FilterInputStream {
+    private ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private OutputStream out;
+
+    TeeInputStream(InputStream in) {
+      super(in);
+    }
+
+    void open(OutputStream output) throws IOException {
+      pending.writeTo(output);
+      pending = null;
+      this.out = output;
+    }
+
+    private OutputStream sink() {
+      return out == null ? pending : out;
+    }
+
+    @Override
+    public int read() throws IOException {
+      int b = super.read();
+      if (b >= 0) {
+        sink().write(b);
+      }
+      return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      int n = super.read(b, off, len);
+      if (n > 0) {
+        sink().write(b, off, n);
+      }
+      return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      // Skipped bytes (the bulk data) must reach the output as well
+      byte[] buf = new byte[(int) Math.min(n, 8192)];
+      long remaining = n;
+      while (remaining > 0) {
+        int r = read(buf, 0, (int) Math.min(buf.length, remaining));
+        if (r < 0) {
+          break;
+        }
+        remaining -= r;
+      }
+      return n - remaining;
+    }
+
+    @Override
+    public boolean markSupported() {
+      return false;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+      // Not supported: a reset would duplicate the copied bytes
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+      throw new IOException("mark/reset not supported");
+    }
+  }
+}
@@ -34,6 +34,7 @@
 import org.dcm4che3.data.ElementDictionary;
 import org.dcm4che3.data.Tag;
 import org.dcm4che3.data.UID;
+import org.dcm4che3.img.DicomMetaData;
 import org.dcm4che3.img.util.DicomUtils;
 import org.dcm4che3.io.DicomInputStream;
 import org.dcm4che3.io.DicomInputStream.IncludeBulkData;
@@ -542,14 +543,19 @@ private int downloadSeriesMultipart(HttpStream httpStream) throws IOException {
         boolean isFirstImage =
             dicomSeries.size(null) == 0 && seriesInitialized.compareAndSet(false, true);
         Path tempFile = createTempFile();
+        if (overrideList == null) {
+          // Resume re-streams the whole series: instances already stored are neither written nor
+          // parsed.
+          if (ingestPart(reader, tempFile, isFirstImage)) {
+            parts++;
+          }
+          continue;
+        }
         boolean written;
         try (var partStream = reader.newPartInputStream()) {
           InputStream monitored = new SeriesProgressMonitor(dicomSeries, partStream);
           // -1 means fully written; anything else means interrupted/failed (temp file deleted).
-          written =
-              overrideList == null
-                  ? FileUtil.writeStream(monitored, tempFile, false) == -1
-                  : writeFileWithOverrides(monitored, tempFile, overrideList) == -1;
+          written = writeFileWithOverrides(monitored, tempFile, overrideList) == -1;
         }
         if (!written) {
           // Interrupted or failed part: drop the temp file (the override path already deleted it).
@@ -571,6 +577,38 @@ private int downloadSeriesMultipart(HttpStream httpStream) throws IOException {
     return parts;
   }
 
+  /**
+   * Writes a part to the cache file while parsing its header, then reads the instance into the
+   * model from that header without parsing the file again.
+   *
+   * @return true if the part has been fully received (stored or already present)
+   */
+  private boolean ingestPart(MultipartReader reader, Path tempFile, boolean isFirstImage) {
+    DicomMetaData header;
+    try (var partStream = reader.newPartInputStream()) {
+      InputStream monitored = new SeriesProgressMonitor(dicomSeries, partStream);
+      header = DicomPartSpool.spool(monitored, tempFile, this::isAlreadyStored);
+    } catch (InterruptedIOException e) {
+      LOGGER.error("Interrupted while writing: {}", e.getMessage());
+      return false;
+    } catch (IOException e) {
+      if (loadSeries.isCancelled()) {
+        return false;
+      }
+      // A malformed part does not stop the series: the multipart stream goes on at the boundary
+      dicomSeries.setTag(LoadSeries.DOWNLOAD_ERRORS, errors.incrementAndGet());
+      LOGGER.error("Failed to read a series part", e);
+      return false;
+    }
+    if (header == null) {
+      FileUtil.delete(tempFile);
+      incrementProgressBarValue();
+      return true;
+    }
+    ingest(new DicomMediaIO(tempFile, header), tempFile, isFirstImage, true);
+    return true;
+  }
+
   private int writeFileWithOverrides(InputStream in, Path targetFile, int[] overrideList)
       throws StreamIOException {
     try (DicomInputStream dis = new DicomInputStream(in)) {
@@ -649,7 +687,11 @@ private void cleanupBulkDataFiles(DicomInputStream dis) {
 
   /** Reads a downloaded DICOM file into the model and refreshes the UI. */
   private void ingest(Path file, boolean isFirstImage, boolean skipIfExists) throws IOException {
-    DicomMediaIO dicomReader = new DicomMediaIO(file.toFile());
+    ingest(new DicomMediaIO(file.toFile()), file, isFirstImage, skipIfExists);
+  }
+
+  private void ingest(
+      DicomMediaIO dicomReader, Path file, boolean isFirstImage, boolean skipIfExists) {
     if (skipIfExists && dicomReader.isReadableDicom() && isAlreadyStored(dicomReader)) {
       dicomReader.close();
       FileUtil.delete(file);
@@ -664,7 +706,10 @@ private void ingest(Path file, boolean isFirstImage, boolean skipIfExists) throw
   }
 
   private boolean isAlreadyStored(DicomMediaIO reader) {
-    String sopUID = TagD.getTagValue(reader, Tag.SOPInstanceUID, String.class);
+    return isAlreadyStored(TagD.getTagValue(reader, Tag.SOPInstanceUID, String.class));
+  }
+
+  private boolean isAlreadyStored(String sopUID) {
     if (sopUID == null) {
       return false;
     }
@@ -893,6 +938,9 @@ private void ingestLocalFile(URI uri, boolean isFirstImage) throws IOException {
             }
           }
           file = moveToExportDir(tempFile);
+          // The header of an already opened source is taken from the header index
+          ingest(DicomMediaIO.ofCopy(file, localFile), file, isFirstImage, false);
+          return;
         }
         ingest(file, isFirstImage, false);
       } finally {
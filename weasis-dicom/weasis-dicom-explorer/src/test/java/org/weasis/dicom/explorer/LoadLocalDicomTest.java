@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.explorer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.io.DicomOutputStream;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator.ReplaceUnderscores;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.weasis.core.api.media.data.MediaElement;
+import org.weasis.core.api.media.data.MediaSeriesGroup;
+import org.weasis.core.api.media.data.MediaSeriesGroupNode;
+import org.weasis.dicom.codec.DicomSeries;
+import org.weasis.dicom.codec.TagD;
+import org.weasis.dicom.explorer.HangingProtocols.OpeningViewer;
+
+/**
+ * Imports a tree of folders with {@link LoadLocalDicom}: the files parsed concurrently must give
+ * the model of the files parsed one at a time, whatever the duplicates and the unreadable files.
+ */
+@DisplayNameGeneration(ReplaceUnderscores.class)
+class LoadLocalDicomTest {
+
+  private static final String ROOT_UID = "1.2.826.0.1.3680043.2.1143.7"; // NON-NLS
+  private static final int PATIENTS = 3;
+  private static final int SERIES = 2;
+  private static final int INSTANCES = 60;
+
+  @TempDir Path tempDir;
+
+  /** A model without thumbnails. */
+  private static final class ImportModel extends DicomModel {
+    @Override
+    public void buildThumbnail(DicomSeries dicomSeries) {
+      // No GUI
+    }
+  }
+
+  /** An import in a model, with the files parsed concurrently or one at a time. */
+  private static final class Import extends LoadLocalDicom {
+    private final boolean sequential;
+
+    Import(DicomModel model, boolean sequential) {
+      super(new File[0], true, model, new PluginOpeningStrategy(OpeningViewer.NONE, false));
+      this.sequential = sequential;
+    }
+
+    @Override
+    protected ExecutorService newImportExecutor() {
+      return sequential ? Executors.newSingleThreadExecutor() : super.newImportExecutor();
+    }
+
+    int failures() {
+      return errors.get() + unsupported.get();
+    }
+  }
+
+  private static Attributes instance(int index) {
+    int patient = index % PATIENTS;
+    int series = (index / PATIENTS) % SERIES;
+    String studyUID = ROOT_UID + "." + (patient + 1);
+    Attributes dataset = new Attributes();
+    dataset.setString(Tag.SOPClassUID, VR.UI, UID.CTImageStorage);
+    dataset.setString(Tag.SOPInstanceUID, VR.UI, studyUID + ".9." + (index + 1));
+    dataset.setString(Tag.StudyInstanceUID, VR.UI, studyUID);
+    dataset.setString(Tag.SeriesInstanceUID, VR.UI, studyUID + "." + (series + 1));
+    dataset.setString(Tag.PatientID, VR.LO, "P" + patient); // NON-NLS
+    dataset.setString(Tag.PatientName, VR.PN, "Doe^" + patient); // NON-NLS
+    dataset.setString(Tag.Modality, VR.CS, "CT"); // NON-NLS
+    dataset.setInt(Tag.SeriesNumber, VR.IS, series + 1);
+    dataset.setInt(Tag.InstanceNumber, VR.IS, index + 1);
+    dataset.setDouble(Tag.ImagePositionPatient, VR.DS, 0.0, 0.0, index);
+    dataset.setDouble(Tag.ImageOrientationPatient, VR.DS, 1.0, 0.0, 0.0, 0.0, 1.0, 0.0);
+    dataset.setString(Tag.PhotometricInterpretation, VR.CS, "MONOCHROME2"); // NON-NLS
+    dataset.setInt(Tag.Rows, VR.US, 4);
+    dataset.setInt(Tag.Columns, VR.US, 4);
+    dataset.setInt(Tag.BitsAllocated, VR.US, 16);
+    dataset.setInt(Tag.BitsStored, VR.US, 12);
+    dataset.setInt(Tag.HighBit, VR.US, 11);
+    dataset.setInt(Tag.PixelRepresentation, VR.US, 0);
+    dataset.setInt(Tag.SamplesPerPixel, VR.US, 1);
+    dataset.setBytes(Tag.PixelData, VR.OW, new byte[4 * 4 * 2]);
+    return dataset;
+  }
+
+  private static void write(Path file, Attributes dataset) throws IOException {
+    Files.createDirectories(file.getParent());
+    try (DicomOutputStream dos = new DicomOutputStream(file.toFile())) {
+      dos.writeDataset(dataset.createFileMetaInformation(UID.ExplicitVRLittleEndian), dataset);
+    }
+  }
+
+  /**
+   * Writes the instances in nested folders, some of them twice, with files that are not DICOM or
+   * that cannot be read.
+   *
+   * @return the instances expected in the model
+   */
+  private Set<String> writeTree() throws IOException {
+    Set<String> expected = new TreeSet<>();
+    for (int i = 0; i < INSTANCES; i++) {
+      Path folder = tempDir.resolve("d" + i % 4); // NON-NLS
+      for (int depth = 0; depth < i % 3; depth++) {
+        folder = folder.resolve("s" + (i + depth) % 2); // NON-NLS
+      }
+      Attributes dataset = instance(i);
+      write(folder.resolve("i" + i + ".dcm"), dataset); // NON-NLS
+      if (i % 7 == 0) {
+        // The same instance in another folder
+        write(tempDir.resolve("copies").resolve("c" + i + ".dcm"), dataset); // NON-NLS
+      }
+      expected.add(key(dataset));
+    }
+    Files.writeString(tempDir.resolve("d1").resolve("broken.dcm"), "not a DICOM file"); // NON-NLS
+    Files.write(tempDir.resolve("d2").resolve("truncated.dcm"), new byte[200]); // NON-NLS
+    Files.writeString(tempDir.resolve("d3").resolve("notes.txt"), "notes"); // NON-NLS
+    Files.createDirectories(tempDir.resolve("empty"));
+    return expected;
+  }
+
+  private static String key(Attributes dataset) {
+    return String.join(
+        "/",
+        dataset.getString(Tag.PatientID),
+        dataset.getString(Tag.StudyInstanceUID),
+        dataset.getString(Tag.SeriesInstanceUID),
+        dataset.getString(Tag.SOPInstanceUID));
+  }
+
+  /** Returns the patients, studies, series and instances of the model. */
+  private static Set<String> content(DicomModel model) {
+    Set<String> content = new TreeSet<>();
+    for (MediaSeriesGroup patient : model.getChildren(MediaSeriesGroupNode.rootNode)) {
+      for (MediaSeriesGroup study : model.getChildren(patient)) {
+        for (MediaSeriesGroup group : model.getChildren(study)) {
+          DicomSeries series = (DicomSeries) group;
+          for (MediaElement media : series.getMedias(null, null)) {
+            content.add(
+                String.join(
+                    "/",
+                    TagD.getTagValue(patient, Tag.PatientID, String.class),
+                    TagD.getTagValue(study, Tag.StudyInstanceUID, String.class),
+                    TagD.getTagValue(series, Tag.SeriesInstanceUID, String.class),
+                    TagD.getTagValue(media, Tag.SOPInstanceUID, String.class)));
+          }
+        }
+      }
+    }
+    return content;
+  }
+
+  @Test
+  void parallel_import_gives_the_model_of_the_sequential_import() throws IOException {
+    Set<String> expected = writeTree();
+
+    DicomModel sequentialModel = new ImportModel();
+    Import sequential = new Import(sequentialModel, true);
+    sequential.addSelectionAndNotify(new File[] {tempDir.toFile()}, true);
+
+    DicomModel parallelModel = new ImportModel();
+    Import parallel = new Import(parallelModel, false);
+    parallel.addSelectionAndNotify(new File[] {tempDir.toFile()}, true);
+
+    assertEquals(expected, content(sequentialModel));
+    assertEquals(expected, content(parallelModel));
+    assertEquals(PATIENTS, parallelModel.getChildren(MediaSeriesGroupNode.rootNode).size());
+    assertTrue(sequential.failures() > 0);
+    assertEquals(sequential.failures(), parallel.failures());
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.explorer.wado;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.BulkData;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.img.DicomMetaData;
+import org.dcm4che3.io.DicomOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests {@link DicomPartSpool}: the file written while parsing must be identical to the received
+ * part, with the pixel data referenced at their offset in that file, and an instance already
+ * stored must not be written at all.
+ */
+class DicomPartSpoolTest {
+
+  private static final String SOP_UID = "1.2.3.4.5.6";
+
+  @TempDir Path tempDir;
+
+  private static byte[] pixels() {
+    byte[] pixels = new byte[64 * 64 * 2];
+    for (int i = 0; i < pixels.length; i++) {
+      pixels[i] = (byte) (i * 31);
+    }
+    return pixels;
+  }
+
+  private static byte[] dicomPart(byte[] pixels) throws IOException {
+    Attributes dataset = new Attributes();
+    dataset.setString(Tag.SOPClassUID, VR.UI, UID.CTImageStorage);
+    dataset.setString(Tag.SOPInstanceUID, VR.UI, SOP_UID);
+    dataset.setString(Tag.PhotometricInterpretation, VR.CS, "MONOCHROME2");
+    dataset.setInt(Tag.Rows, VR.US, 64);
+    dataset.setInt(Tag.Columns, VR.US, 64);
+    dataset.setInt(Tag.BitsAllocated, VR.US, 16);
+    dataset.setInt(Tag.BitsStored, VR.US, 12);
+    dataset.setInt(Tag.SamplesPerPixel, VR.US, 1);
+    dataset.setBytes(Tag.PixelData, VR.OW, pixels);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (DicomOutputStream dos = new DicomOutputStream(out, UID.ExplicitVRLittleEndian)) {
+      dos.writeDataset(dataset.createFileMetaInformation(UID.ExplicitVRLittleEndian), dataset);
+    }
+    return out.toByteArray();
+  }
+
+  @Test
+  void writesThePartAndReferencesThePixelDataInTheFile() throws IOException {
+    byte[] pixels = pixels();
+    byte[] part = dicomPart(pixels);
+    Path target = tempDir.resolve("part.dcm");
+
+    DicomMetaData header =
+        DicomPartSpool.spool(new ByteArrayInputStream(part), target, uid -> false);
+
+    assertNotNull(header);
+    assertArrayEquals(part, Files.readAllBytes(target));
+    Attributes dcm = header.getDicomObject();
+    assertEquals(SOP_UID, dcm.getString(Tag.SOPInstanceUID));
+    BulkData bulkData = assertInstanceOf(BulkData.class, dcm.getValue(Tag.PixelData));
+    int offset = (int) bulkData.offset();
+    assertArrayEquals(pixels, Arrays.copyOfRange(part, offset, offset + bulkData.length()));
+  }
+
+  @Test
+  void skipsAnInstanceAlreadyStored() throws IOException {
+    Path target = tempDir.resolve("skipped.dcm");
+
+    DicomMetaData header =
+        DicomPartSpool.spool(
+            new ByteArrayInputStream(dicomPart(pixels())), target, SOP_UID::equals);
+
+    assertNull(header);
+    assertFalse(Files.exists(target));
+  }
+}
@@ -16,11 +16,13 @@
 
 import java.awt.Color;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.Set;
@@ -39,6 +41,7 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.weasis.core.api.media.data.MediaElement;
+import org.weasis.core.ui.model.graphic.imp.seg.SegContour;
 import org.weasis.dicom.codec.DicomImageElement;
 import org.weasis.dicom.codec.DicomMediaIO;
 import org.weasis.dicom.codec.DicomSeries;
@@ -47,6 +50,7 @@
 import org.weasis.dicom.codec.geometry.GeometryOfSlice;
 import org.weasis.dicom.codec.seg.LazyContourLoader;
 import org.weasis.opencv.data.ImageCV;
+import org.weasis.opencv.data.PlanarImage;
 import org.weasis.opencv.op.ImageConversion;
 
 /**
@@ -346,8 +350,8 @@ public void setDosePixLUT(DoseLut lut) {
   }
 
   /**
-   * Builds the standard set of isodose levels for the given prescribed dose and produces the
-   * corresponding contour overlays for every CT slice in the patient series.
+   * Builds the standard set of isodose levels for the given prescribed dose and registers the
+   * corresponding contour overlays, built on demand, for the CT slices of the patient series.
    */
   public void initDoseSet(double rxDose, RtSet rtSet) {
     int doseMaxLevel =
@@ -376,34 +380,40 @@ private Color withOpacity(Color base) {
     return new Color(base.getRed() / 255f, base.getGreen() / 255f, base.getBlue() / 255f, opacity);
   }
 
+  /**
+   * Registers a lazy loader of the isodose contours for each slice of the patient series covered by
+   * the dose grid. The contours are built when a slice is displayed, see {@link
+   * IsoDoseContourLoader}.
+   */
   private void buildIsoDoseContoursPerSlice(RtSet rtSet, String seriesUID) {
     Map<String, Set<LazyContourLoader>> map =
         refMap.computeIfAbsent(seriesUID, _ -> new HashMap<>());
     Set<KeyDouble> zSet = new LinkedHashSet<>();
 
-    // Reverse iteration so the largest (outermost) isodose is drawn first
+    // Reverse order so the largest (outermost) isodose is drawn first
     List<IsoDoseRegion> reverseLevels = new ArrayList<>(isoDoseSet.values());
-    for (DicomImageElement image : rtSet.getSeries().getMedias(null, null)) {
+    Collections.reverse(reverseLevels);
+    List<DicomImageElement> images = new ArrayList<>(rtSet.getSeries().getMedias(null, null));
+    images.sort(Comparator.comparingDouble(image -> image.getRawSliceGeometry().getTLHC().z));
+    // The loaders sorted by position, shared to prefetch the neighbouring slices
+    List<IsoDoseContourLoader> slices = new ArrayList<>(images.size());
+    List<KeyDouble> positions = new ArrayList<>(images.size());
+    for (DicomImageElement image : images) {
       String sopUID = TagD.getTagValue(image, Tag.SOPInstanceUID, String.class);
       KeyDouble z = new KeyDouble(image.getRawSliceGeometry().getTLHC().z);
       zSet.add(z);
-
-      PlaneContourLoader contours = new PlaneContourLoader();
-      for (ListIterator<IsoDoseRegion> it = reverseLevels.listIterator(reverseLevels.size());
-          it.hasPrevious(); ) {
-        IsoDoseRegion doseRegion = it.previous();
-        StructContour isoContour =
-            getIsoDoseContour(z, doseRegion.getAbsoluteDose(), doseRegion, rtSet);
-        if (isoContour != null) {
-          contours.addContour(isoContour);
-        }
-      }
-      if (contours.getLazyContours().isEmpty()) {
+      if (sopUID == null || !isInDoseGrid(z.getValue())) {
         map.remove(sopUID);
-      } else {
-        map.computeIfAbsent(sopUID, _ -> new LinkedHashSet<>()).add(contours);
+        continue;
       }
+      String key = getSopInstanceUid() + "_" + sopUID;
+      IsoDoseContourLoader contours =
+          new IsoDoseContourLoader(this, rtSet, z, reverseLevels, slices, slices.size(), key);
+      slices.add(contours);
+      positions.add(z);
+      map.computeIfAbsent(sopUID, _ -> new LinkedHashSet<>()).add(contours);
     }
+    countIsoDosePixels(positions, reverseLevels, rtSet);
 
     double thickness = RtSet.calculatePlaneThickness(zSet);
     for (IsoDoseRegion isoDoseLayer : isoDoseSet.values()) {
@@ -511,29 +521,59 @@ private double[] computeDosePlanesZ() {
   }
 
   public Mat getMaskedDosePlaneHist(double slicePosition, Mat mask, int maxDose) {
-    DicomImageElement dosePlane = (DicomImageElement) getDosePlaneBySlice(slicePosition);
-    Mat raw = dosePlane.getImage().toMat();
+    Mat doseMatrix = getDosePlaneCGy(slicePosition);
+    if (doseMatrix == null) {
+      return null;
+    }
+    Mat maskSrc = new Mat(mask.rows(), mask.cols(), CvType.CV_8U);
+    mask.convertTo(maskSrc, CvType.CV_8U);
+    Mat hist = calculateDoseHistogram(doseMatrix, maskSrc, maxDose);
+    ImageConversion.releaseMat(maskSrc);
+    ImageConversion.releaseMat(doseMatrix);
+    return hist;
+  }
 
+  /**
+   * Returns the dose plane closest to {@code slicePosition} (see {@link #getDosePlaneBySlice}) with
+   * its values in cGy.
+   *
+   * @return a new CV_32FC1 matrix of the size of the dose grid, or null if there is no dose plane
+   */
+  Mat getDosePlaneCGy(double slicePosition) {
+    DicomImageElement dosePlane = (DicomImageElement) getDosePlaneBySlice(slicePosition);
+    if (dosePlane == null) {
+      return null;
+    }
+    PlanarImage image = dosePlane.getImage();
+    if (image == null) {
+      return null;
+    }
+    Mat raw = image.toMat();
     Mat src = new Mat(raw.rows(), raw.cols(), CvType.CV_32FC1);
     raw.convertTo(src, CvType.CV_32FC1);
     Mat doseMatrix = new Mat(raw.rows(), raw.cols(), CvType.CV_32FC1);
     multiply(src, new Scalar(doseGridScaling * 100), doseMatrix);
     ImageConversion.releaseMat(src);
+    return doseMatrix;
+  }
 
-    Mat maskSrc = new Mat(mask.rows(), mask.cols(), CvType.CV_8U);
-    mask.convertTo(maskSrc, CvType.CV_8U);
-
+  /**
+   * Computes the histogram of the doses inside a mask, with one bin per cGy.
+   *
+   * @param doseMatrix the dose plane in cGy (CV_32FC1)
+   * @param mask the CV_8U mask of the dose grid size, non-zero inside the structure
+   * @param maxDose the number of bins
+   * @return a CV_32FC1 column of {@code maxDose} rows
+   */
+  static Mat calculateDoseHistogram(Mat doseMatrix, Mat mask, int maxDose) {
     Mat hist = new Mat();
     Imgproc.calcHist(
         List.of(doseMatrix),
         new MatOfInt(0),
-        maskSrc,
+        mask,
         hist,
         new MatOfInt(maxDose),
         new MatOfFloat(0, maxDose));
-
-    ImageConversion.releaseMat(maskSrc);
-    ImageConversion.releaseMat(doseMatrix);
     // OpenCV 4 returned calcHist as a column (maxDose rows × 1); OpenCV 5 returns a 1-row vector.
     // The DVH accumulator and readers expect a column, so normalize the shape here.
     return hist.rows() == 1 && hist.cols() > 1 ? hist.reshape(0, hist.cols()) : hist;
@@ -541,10 +581,175 @@ public Mat getMaskedDosePlaneHist(double slicePosition, Mat mask, int maxDose) {
 
   public StructContour getIsoDoseContour(
       KeyDouble slicePosition, double isoDoseThreshold, IsoDoseRegion region, RtSet rtSet) {
-    // Convert from threshold in cGy to raw pixel value threshold
-    double rawThreshold = (isoDoseThreshold / 100) / doseGridScaling;
-    DicomImageElement dosePlane = (DicomImageElement) getDosePlaneBySlice(slicePosition.getValue());
-    if (dosePlane == null || dosePlane.getImage() == null) {
+    Mat dose = resampleDosePlaneToImage(slicePosition.getValue(), rtSet);
+    if (dose == null) {
+      return null;
+    }
+    try {
+      return buildIsoDoseContour(dose, slicePosition, isoDoseThreshold, region, true);
+    } finally {
+      ImageConversion.releaseMat(dose);
+    }
+  }
+
+  /**
+   * Sets the number of pixels of each isodose region over all the slices of the patient image. The
+   * contours are only built when a slice is displayed, so the pixels are counted beforehand on the
+   * dose grid, each dose plane once, and scaled to the pixel size of the patient image: the voxel
+   * count and the volume of the regions are complete before any slice is drawn, without resampling
+   * the dose planes.
+   */
+  private void countIsoDosePixels(
+      List<KeyDouble> positions, List<IsoDoseRegion> levels, RtSet rtSet) {
+    Map<MediaElement, Mat> decoded = new HashMap<>();
+    List<Mat> planes = new ArrayList<>(positions.size());
+    for (KeyDouble z : positions) {
+      if (getDosePlaneBySlice(z.getValue()) instanceof DicomImageElement dosePlane) {
+        Mat dose =
+            decoded.computeIfAbsent(
+                dosePlane,
+                _ -> {
+                  PlanarImage image = dosePlane.getImage();
+                  return image == null ? null : image.toMat();
+                });
+        if (dose != null) {
+          planes.add(dose);
+        }
+      }
+    }
+    countIsoDosePixels(planes, levels, doseGridScaling, pixelAreaRatio(rtSet));
+  }
+
+  /**
+   * Returns the area of a pixel of the dose grid in pixels of the patient image, or 0 when the
+   * geometry cannot be used.
+   */
+  private double pixelAreaRatio(RtSet rtSet) {
+    Image patientImage = rtSet.getPatientImage();
+    if (patientImage == null || doseMmLUT == null) {
+      return 0;
+    }
+    double[] mmX = doseMmLUT.x();
+    double[] mmY = doseMmLUT.y();
+    if (mmX == null || mmY == null || mmX.length < 2 || mmY.length < 2) {
+      return 0;
+    }
+    Vector3d voxelSpacing = patientImage.getImage().getSliceGeometry().getVoxelSpacing();
+    if (voxelSpacing.x < MIN_SPACING || voxelSpacing.y < MIN_SPACING) {
+      return 0;
+    }
+    double bx = Math.abs(mmX[mmX.length - 1] - mmX[0]) / (mmX.length - 1);
+    double by = Math.abs(mmY[mmY.length - 1] - mmY[0]) / (mmY.length - 1);
+    return bx * by / (voxelSpacing.x * voxelSpacing.y);
+  }
+
+  /**
+   * Sets the number of pixels of each isodose region over the given slices.
+   *
+   * @param planes the raw dose values on the dose grid of each slice; the same matrix is given for
+   *     the slices sharing a dose plane and is thresholded only once. They are not released.
+   * @param levels the isodose levels
+   * @param doseGridScaling the scaling of the raw dose values to Gy
+   * @param pixelRatio the area of a pixel of the dose grid in pixels of the patient image
+   */
+  static void countIsoDosePixels(
+      List<Mat> planes, List<IsoDoseRegion> levels, double doseGridScaling, double pixelRatio) {
+    long[] counts = new long[levels.size()];
+    Map<Mat, long[]> planeCounts = new IdentityHashMap<>();
+    for (Mat dose : planes) {
+      long[] planeCount =
+          planeCounts.computeIfAbsent(dose, d -> countIsoDosePixels(d, levels, doseGridScaling));
+      for (int i = 0; i < counts.length; i++) {
+        counts[i] += planeCount[i];
+      }
+    }
+    for (int i = 0; i < counts.length; i++) {
+      levels.get(i).setNumberOfPixels(Math.round(counts[i] * pixelRatio));
+    }
+  }
+
+  private static long[] countIsoDosePixels(
+      Mat dose, List<IsoDoseRegion> levels, double doseGridScaling) {
+    Mat values = dose;
+    if (dose.type() != CvType.CV_32FC1) {
+      // The thresholding does not support all the pixel types of the dose grid
+      values = new Mat();
+      dose.convertTo(values, CvType.CV_32FC1);
+    }
+    long[] counts = new long[levels.size()];
+    for (int i = 0; i < counts.length; i++) {
+      Mat mask = isoDoseMask(values, levels.get(i).getAbsoluteDose(), doseGridScaling);
+      counts[i] = Core.countNonZero(mask);
+      ImageConversion.releaseMat(mask);
+    }
+    if (values != dose) {
+      ImageConversion.releaseMat(values);
+    }
+    return counts;
+  }
+
+  /**
+   * Builds the contours of several isodose levels on a slice of the patient image. The dose plane
+   * is resampled only once on the image grid and then thresholded for each level. The pixels of
+   * the contours are not added to the regions, they are counted by {@link #countIsoDosePixels}.
+   *
+   * @param slicePosition the position of the slice (in patient mm)
+   * @param levels the isodose levels, in drawing order
+   * @param rtSet the RT set providing the patient image
+   * @return the non-empty contours, in the order of the levels
+   */
+  Set<SegContour> getIsoDoseContours(
+      KeyDouble slicePosition, List<IsoDoseRegion> levels, RtSet rtSet) {
+    Mat dose = resampleDosePlaneToImage(slicePosition.getValue(), rtSet);
+    if (dose == null) {
+      return Set.of();
+    }
+    try {
+      Set<SegContour> contours = new LinkedHashSet<>();
+      for (IsoDoseRegion region : levels) {
+        StructContour contour = buildIsoDoseContour(dose, slicePosition, region, doseGridScaling);
+        if (contour != null) {
+          contours.add(contour);
+        }
+      }
+      return contours;
+    } finally {
+      ImageConversion.releaseMat(dose);
+    }
+  }
+
+  /**
+   * Returns true if the position is between the first and the last plane of the dose grid, i.e.
+   * where {@link #getDosePlaneBySlice(double)} can return a plane.
+   */
+  boolean isInDoseGrid(double slicePosition) {
+    if (gridFrameOffsetVector.length == 0) {
+      return false;
+    }
+    double minZ = Double.POSITIVE_INFINITY;
+    double maxZ = Double.NEGATIVE_INFINITY;
+    for (double z : computeDosePlanesZ()) {
+      minZ = Math.min(minZ, z);
+      maxZ = Math.max(maxZ, z);
+    }
+    return slicePosition >= minZ && slicePosition <= maxZ;
+  }
+
+  /**
+   * Resamples the raw dose values of the plane at {@code z} on the patient image grid. The nearest
+   * neighbour interpolation keeps the thresholds of the levels identical to the ones of the dose
+   * grid.
+   *
+   * @return a new CV_32FC1 matrix of the size of the patient image, or null if there is no dose
+   *     plane or no usable geometry
+   */
+  private Mat resampleDosePlaneToImage(double z, RtSet rtSet) {
+    DicomImageElement dosePlane = (DicomImageElement) getDosePlaneBySlice(z);
+    if (dosePlane == null) {
+      return null;
+    }
+    PlanarImage doseImage = dosePlane.getImage();
+    if (doseImage == null) {
       return null;
     }
 
@@ -563,39 +768,56 @@ public StructContour getIsoDoseContour(
       return null;
     }
 
-    Mat doseMask = buildBinaryDoseMask(dosePlane, rawThreshold);
-    Mat affine = buildAffineDoseToImage(geometry, mmX, mmY, voxelSpacing, slicePosition.getValue());
-    Mat resampled =
-        resampleMaskToImage(doseMask, affine, patientImage.getWidth(), patientImage.getHeight());
+    Mat dose = new Mat();
+    doseImage.toMat().convertTo(dose, CvType.CV_32FC1);
+    Mat affine = buildAffineDoseToImage(geometry, mmX, mmY, voxelSpacing, z);
+    Mat resampled = new Mat();
+    Imgproc.warpAffine(
+        dose,
+        resampled,
+        affine,
+        new Size(patientImage.getWidth(), patientImage.getHeight()),
+        Imgproc.INTER_NEAREST,
+        Core.BORDER_CONSTANT,
+        Scalar.all(0));
+    affine.release();
+    ImageConversion.releaseMat(dose);
+    return resampled;
+  }
+
+  /** Returns a new CV_8UC1 mask of the pixels above an isodose threshold, in cGy. */
+  private static Mat isoDoseMask(Mat dose, double isoDoseThreshold, double doseGridScaling) {
+    // Convert from threshold in cGy to raw pixel value threshold
+    double rawThreshold = (isoDoseThreshold / 100) / doseGridScaling;
+    Mat thr = new Mat();
+    Imgproc.threshold(dose, thr, rawThreshold, 255, Imgproc.THRESH_BINARY);
+    Mat mask = new Mat();
+    thr.convertTo(mask, CvType.CV_8UC1);
+    ImageConversion.releaseMat(thr);
+    return mask;
+  }
 
-    int nbPixels = Core.countNonZero(resampled);
+  /**
+   * Builds the contour of an isodose level on a resampled dose plane.
+   *
+   * @return the contour, or null when no pixel reaches the level
+   */
+  static StructContour buildIsoDoseContour(
+      Mat dose, KeyDouble slicePosition, IsoDoseRegion region, double doseGridScaling) {
+    Mat mask = isoDoseMask(dose, region.getAbsoluteDose(), doseGridScaling);
+    int nbPixels = Core.countNonZero(mask);
     if (nbPixels == 0) {
-      ImageConversion.releaseMat(resampled);
+      ImageConversion.releaseMat(mask);
       return null;
     }
 
     StructContour segContour =
-        new StructContour(
-            String.valueOf(slicePosition.getKey()), ImageCV.fromMat(resampled), nbPixels);
+        new StructContour(String.valueOf(slicePosition.getKey()), ImageCV.fromMat(mask), nbPixels);
     segContour.setPositionZ(slicePosition.getValue());
-    region.addPixels(segContour);
     segContour.setAttributes(region);
     return segContour;
   }
 
-  private static Mat buildBinaryDoseMask(DicomImageElement dosePlane, double rawThreshold) {
-    Mat src = dosePlane.getImage().toMat();
-    Mat srcF = new Mat();
-    src.convertTo(srcF, CvType.CV_32FC1);
-    Mat thr = new Mat();
-    Imgproc.threshold(srcF, thr, rawThreshold, 255, Imgproc.THRESH_BINARY);
-    ImageConversion.releaseMat(srcF);
-    Mat doseMask = new Mat();
-    thr.convertTo(doseMask, CvType.CV_8UC1);
-    ImageConversion.releaseMat(thr);
-    return doseMask;
-  }
-
   private static Mat buildAffineDoseToImage(
       GeometryOfSlice geometry, double[] mmX, double[] mmY, Vector3d voxelSpacing, double z) {
     // dose-grid pixel (i, j) -> patient-image pixel via mm space (TLHC/row/column/voxel spacing).
@@ -622,21 +844,6 @@ private static Mat buildAffineDoseToImage(
     return affine;
   }
 
-  private static Mat resampleMaskToImage(Mat doseMask, Mat affine, int imgW, int imgH) {
-    Mat resampled = new Mat();
-    Imgproc.warpAffine(
-        doseMask,
-        resampled,
-        affine,
-        new Size(imgW, imgH),
-        Imgproc.INTER_NEAREST,
-        Core.BORDER_CONSTANT,
-        Scalar.all(0));
-    affine.release();
-    ImageConversion.releaseMat(doseMask);
-    return resampled;
-  }
-
   public void initialiseDoseGridToImageGrid(Image patientImage) {
     double[] doseX = doseMmLUT.x();
     double[] doseY = doseMmLUT.y();
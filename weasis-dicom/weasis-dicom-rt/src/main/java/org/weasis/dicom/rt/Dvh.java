@@ -171,7 +171,41 @@ public void setPlan(Plan plan) {
    * index. A unique series name is derived from the region label to avoid collisions.
    */
   public XYChart appendChart(StructRegion region, XYChart dvhChart) {
-    if (dvhChart == null || dvhData == null || dvhData.length == 0) {
+    return addChartSeries(region, dvhChart) == null ? null : dvhChart;
+  }
+
+  /**
+   * Adds this DVH as a series on the given chart, as {@link #appendChart(StructRegion, XYChart)}.
+   *
+   * @return the name of the series, or null if the chart is null or the DVH has no data
+   */
+  public String addChartSeries(StructRegion region, XYChart dvhChart) {
+    double[][] data = getChartData(region);
+    if (dvhChart == null || data == null) {
+      return null;
+    }
+    String seriesName = uniqueSeriesName(dvhChart, region.getLabel());
+    dvhChart
+        .addSeries(seriesName, data[0], data[1])
+        .setMarker(SeriesMarkers.NONE)
+        .setLineColor(region.getColor());
+    return seriesName;
+  }
+
+  /**
+   * Replaces the data of a series added by {@link #addChartSeries(StructRegion, XYChart)} with this
+   * DVH, e.g. a DVH being computed.
+   */
+  public void updateChartSeries(StructRegion region, XYChart dvhChart, String seriesName) {
+    double[][] data = getChartData(region);
+    if (dvhChart != null && data != null) {
+      dvhChart.updateXYSeries(seriesName, data[0], data[1], null);
+    }
+  }
+
+  /** Returns the dose bin indexes and the relative volumes (%), or null if there is no data. */
+  private double[][] getChartData(StructRegion region) {
+    if (dvhData == null || dvhData.length == 0) {
       return null;
     }
 
@@ -198,13 +232,7 @@ public XYChart appendChart(StructRegion region, XYChart dvhChart) {
       x[i] = i;
       y[i] = scale * dvhData[i];
     }
-
-    String seriesName = uniqueSeriesName(dvhChart, region.getLabel());
-    dvhChart
-        .addSeries(seriesName, x, y)
-        .setMarker(SeriesMarkers.NONE)
-        .setLineColor(region.getColor());
-    return dvhChart;
+    return new double[][] {x, y};
   }
 
   private static String uniqueSeriesName(XYChart chart, String base) {
@@ -0,0 +1,329 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.rt;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.joml.Vector3d;
+import org.opencv.core.CvType;
+import org.opencv.core.Mat;
+import org.opencv.core.MatOfPoint;
+import org.opencv.core.Point;
+import org.opencv.core.Scalar;
+import org.opencv.imgproc.Imgproc;
+import org.weasis.core.api.media.data.MediaSeries.MEDIA_POSITION;
+import org.weasis.dicom.codec.DicomImageElement;
+import org.weasis.opencv.op.ImageConversion;
+
+/**
+ * Computes the DVHs of several structures from the dose grids, with the experimental algorithm
+ * derived from dicompyler (see {@link RtSet#computeDvhOnDemand(StructRegion)}).
+ *
+ * <p>The work is split by dose plane: a plane is read and scaled to cGy once, then the largest
+ * contour of each structure on this plane is rasterised on the dose grid to accumulate the
+ * histogram of the structure. The planes are processed in parallel on a fork/join pool. While the
+ * computation runs, {@link #getDvh(StructRegion)} returns the DVH of the planes already completed,
+ * and {@link #cancel()} stops the remaining planes.
+ */
+public final class DvhEngine {
+
+  /** Receives the progress of the computation, called from the worker threads. */
+  @FunctionalInterface
+  public interface ProgressListener {
+    /**
+     * @param completedPlanes the number of planes completed
+     * @param totalPlanes the number of planes to compute
+     */
+    void planeCompleted(int completedPlanes, int totalPlanes);
+  }
+
+  /** The structures whose DVH is calculated from a dose of a plan. */
+  record Job(Plan plan, Dose dose, List<StructRegion> regions) {}
+
+  private record Contour(Histogram histogram, StructContour contour) {}
+
+  private record PlaneTask(Dose dose, double z, List<Contour> contours) {}
+
+  /**
+   * The differential histogram of a structure, with one bin per cGy, accumulated from the planes.
+   */
+  static final class Histogram {
+    private final float[] bins;
+    private final double sliceVoxelVolume;
+
+    /**
+     * @param nbBins the number of bins, 0 for a structure without plane
+     * @param sliceVoxelVolume the volume of a voxel of the dose grid, in mm³
+     */
+    Histogram(int nbBins, double sliceVoxelVolume) {
+      this.bins = new float[nbBins];
+      this.sliceVoxelVolume = sliceVoxelVolume;
+    }
+
+    int size() {
+      return bins.length;
+    }
+
+    synchronized void add(float[] planeBins) {
+      int n = Math.min(bins.length, planeBins.length);
+      for (int i = 0; i < n; i++) {
+        bins[i] += planeBins[i];
+      }
+    }
+
+    /** Returns the cumulative DVH in cm³: each bin is the volume receiving at least its dose. */
+    synchronized double[] toCumulative() {
+      double sum = 0.0;
+      for (float v : bins) {
+        sum += v;
+      }
+      // Volume units are given in cm^3
+      double volume = sum * sliceVoxelVolume / 1000;
+      double scale = volume / (sum == 0.0 ? 1.0 : sum);
+      double[] cumDvh = new double[bins.length];
+      double tail = 0;
+      for (int i = bins.length - 1; i >= 0; i--) {
+        tail += (float) (bins[i] * scale);
+        cumDvh[i] = tail;
+      }
+      return cumDvh;
+    }
+  }
+
+  private final List<Job> jobs;
+  private final List<Map<StructRegion, Histogram>> histograms = new ArrayList<>();
+  private final List<PlaneTask> planes = new ArrayList<>();
+  private final AtomicInteger completed = new AtomicInteger();
+  private volatile boolean cancelled;
+
+  DvhEngine(List<Job> jobs) {
+    this.jobs = List.copyOf(jobs);
+    for (Job job : this.jobs) {
+      Map<StructRegion, Histogram> map = new LinkedHashMap<>();
+      Map<KeyDouble, List<Contour>> contoursByPlane = new LinkedHashMap<>();
+      for (StructRegion region : job.regions()) {
+        Histogram histogram = newHistogram(region, job.dose());
+        map.put(region, histogram);
+        if (histogram.size() == 0) {
+          continue;
+        }
+        for (Map.Entry<KeyDouble, List<StructContour>> entry : region.getPlanes().entrySet()) {
+          List<StructContour> planeContours = entry.getValue();
+          if (planeContours.isEmpty()) {
+            continue;
+          }
+          // Only the largest contour of a plane is counted in the DVH
+          // TODO: add or subtract the other contours depending on their location
+          int largest = region.calculateLargestContour(planeContours).index();
+          contoursByPlane
+              .computeIfAbsent(entry.getKey(), _ -> new ArrayList<>())
+              .add(new Contour(histogram, planeContours.get(largest)));
+        }
+      }
+      histograms.add(map);
+      contoursByPlane.forEach(
+          (z, contours) -> planes.add(new PlaneTask(job.dose(), z.getValue(), contours)));
+    }
+  }
+
+  private static Histogram newHistogram(StructRegion region, Dose dose) {
+    if (region.getPlanes() == null || region.getPlanes().isEmpty()) {
+      return new Histogram(0, 0.0);
+    }
+    DicomImageElement doseImage = dose.getSeries().getMedia(MEDIA_POSITION.FIRST, null, null);
+    Vector3d doseImageSpacing = doseImage.getRawSliceGeometry().getVoxelSpacing();
+    double maxDose = dose.getDoseMax() * dose.getDoseGridScaling() * 100;
+    double sliceVoxelVolume = doseImageSpacing.x * doseImageSpacing.y * region.getThickness();
+    return new Histogram((int) maxDose, sliceVoxelVolume);
+  }
+
+  public int getTotalPlanes() {
+    return planes.size();
+  }
+
+  /** Stops the computation: the planes not started yet are skipped and no DVH is attached. */
+  public void cancel() {
+    cancelled = true;
+  }
+
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+  /**
+   * Computes the DVHs, then stores them in the DVH maps of the doses and attaches them to the
+   * structures.
+   *
+   * @param listener the listener of the progress, can be null
+   * @return the structures that received a calculated DVH
+   * @throws CancellationException if the computation has been cancelled
+   */
+  public List<StructRegion> compute(ProgressListener listener) {
+    computePlanes(listener);
+    Set<StructRegion> computed = new LinkedHashSet<>();
+    for (int i = 0; i < jobs.size(); i++) {
+      Job job = jobs.get(i);
+      for (Map.Entry<StructRegion, Histogram> entry : histograms.get(i).entrySet()) {
+        StructRegion region = entry.getKey();
+        Dvh dvh = newCalculatedDvh(region, entry.getValue());
+        job.dose().getDvhMap().put(region.getId(), dvh);
+        dvh.setPlan(job.plan());
+        region.setDvh(dvh);
+        computed.add(region);
+        RtSet.logDvhSummary(job.plan(), region, dvh);
+      }
+    }
+    return new ArrayList<>(computed);
+  }
+
+  /**
+   * Returns the DVH of a structure from the planes completed so far. When the structure is computed
+   * for several doses, the DVH is the one of the last dose, as the DVH attached by {@link
+   * #compute(ProgressListener)}.
+   *
+   * @return the DVH, or null if the structure is not computed by this engine
+   */
+  public Dvh getDvh(StructRegion region) {
+    for (int i = histograms.size() - 1; i >= 0; i--) {
+      Histogram histogram = histograms.get(i).get(region);
+      if (histogram != null) {
+        return newCalculatedDvh(region, histogram);
+      }
+    }
+    return null;
+  }
+
+  void computePlanes(ProgressListener listener) {
+    if (!planes.isEmpty() && !cancelled) {
+      List<Callable<Void>> tasks = new ArrayList<>(planes.size());
+      for (PlaneTask plane : planes) {
+        tasks.add(
+            () -> {
+              computePlane(plane, listener);
+              return null;
+            });
+      }
+      int threads = Math.min(Runtime.getRuntime().availableProcessors(), tasks.size());
+      ForkJoinPool pool = new ForkJoinPool(threads);
+      try {
+        for (Future<Void> future : pool.invokeAll(tasks)) {
+          future.get();
+        }
+      } catch (InterruptedException e) {
+        cancel();
+        Thread.currentThread().interrupt();
+      } catch (ExecutionException e) {
+        cancel();
+        if (e.getCause() instanceof RuntimeException re) {
+          throw re;
+        }
+        throw new IllegalStateException("Computing the DVH", e.getCause());
+      } finally {
+        pool.shutdown();
+      }
+    }
+    if (cancelled) {
+      throw new CancellationException("DVH computation cancelled");
+    }
+  }
+
+  private void computePlane(PlaneTask plane, ProgressListener listener) {
+    if (cancelled) {
+      return;
+    }
+    Mat doseMatrix = plane.dose().getDosePlaneCGy(plane.z());
+    if (doseMatrix != null) {
+      try {
+        DoseLut doseMmLUT = plane.dose().getDoseMmLUT();
+        for (Contour contour : plane.contours()) {
+          if (cancelled) {
+            return;
+          }
+          Histogram histogram = contour.histogram();
+          Mat mask = calculateContourMask(doseMmLUT, contour.contour());
+          Mat hist = Dose.calculateDoseHistogram(doseMatrix, mask, histogram.size());
+          float[] buf = new float[hist.rows()];
+          hist.get(0, 0, buf);
+          histogram.add(buf);
+          ImageConversion.releaseMat(mask);
+          ImageConversion.releaseMat(hist);
+        }
+      } finally {
+        ImageConversion.releaseMat(doseMatrix);
+      }
+    }
+    int done = completed.incrementAndGet();
+    if (listener != null && !cancelled) {
+      listener.planeCompleted(done, planes.size());
+    }
+  }
+
+  private static Dvh newCalculatedDvh(StructRegion region, Histogram histogram) {
+    Dvh dvh = new Dvh();
+    dvh.setReferencedRoiNumber(region.getId());
+    dvh.setDvhSource(DataSource.CALCULATED);
+    dvh.setType("CUMULATIVE");
+    dvh.setDoseUnit("CGY");
+    dvh.setDvhVolumeUnit("CM3");
+    dvh.setDvhDoseScaling(1.0);
+    double[] cumHistogram = histogram.toCumulative();
+    dvh.setDvhData(cumHistogram);
+    dvh.setDvhNumberOfBins(cumHistogram.length);
+    return dvh;
+  }
+
+  /**
+   * Computes a binary {@code CV_8UC1} mask (255 inside the polygon, 0 outside) for the given
+   * contour, using the dose-grid mm LUT to convert patient coordinates into pixel indices.
+   */
+  private static Mat calculateContourMask(DoseLut doseMmLUT, StructContour contour) {
+    double[] xLut = doseMmLUT.x();
+    double[] yLut = doseMmLUT.y();
+    int cols = xLut.length;
+    int rows = yLut.length;
+
+    Mat mask = Mat.zeros(rows, cols, CvType.CV_8UC1);
+    double[] points = contour.getPoints();
+    if (points == null || points.length < 6 || points.length % 3 != 0) {
+      return mask;
+    }
+
+    // Linear mm -> pixel mapping derived from the (regularly-spaced) LUT.
+    double xOrigin = xLut[0];
+    double yOrigin = yLut[0];
+    double dx = (xLut[cols - 1] - xOrigin) / (cols - 1);
+    double dy = (yLut[rows - 1] - yOrigin) / (rows - 1);
+    if (dx == 0.0 || dy == 0.0) {
+      return mask;
+    }
+
+    Point[] pixelPoints = new Point[points.length / 3];
+    for (int i = 0, p = 0; i < points.length; i += 3, p++) {
+      pixelPoints[p] =
+          new Point(
+              Math.round((points[i] - xOrigin) / dx), Math.round((points[i + 1] - yOrigin) / dy));
+    }
+
+    MatOfPoint poly = new MatOfPoint(pixelPoints);
+    Imgproc.fillPoly(mask, List.of(poly), new Scalar(255));
+    poly.release();
+    return mask;
+  }
+}
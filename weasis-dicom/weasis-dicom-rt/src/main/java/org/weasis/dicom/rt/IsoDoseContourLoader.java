@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.rt;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.weasis.core.api.util.MemoryManager;
+import org.weasis.core.api.util.ThreadUtil;
+import org.weasis.core.ui.model.graphic.imp.seg.SegContour;
+import org.weasis.dicom.codec.seg.LazyContourLoader;
+import org.weasis.opencv.data.PlanarImage;
+
+/**
+ * Lazy loader of the isodose contours of a slice of the patient image.
+ *
+ * <p>All the levels are built together on the first {@link #getLazyContours()} call, from a single
+ * resampling of the dose plane (see {@link Dose#getIsoDoseContours}). Each call also prefetches
+ * the contours of the neighbouring slices in the background, so scrolling finds them ready.
+ *
+ * <p>The contours are raster masks of the size of the patient image. They are kept in a cache
+ * shared by all the doses, reported to the {@link MemoryManager}: the least recently used slices
+ * are evicted when the cache exceeds {@link #MAX_MEMORY} or when the global native memory budget
+ * is exceeded, and are built again when displayed.
+ */
+final class IsoDoseContourLoader implements LazyContourLoader {
+  private static final Logger LOGGER = LoggerFactory.getLogger(IsoDoseContourLoader.class);
+
+  /** Number of slices prefetched on each side of a displayed slice. */
+  static final int PREFETCH_EXTENT = 3;
+
+  /** Maximum native memory of the cached contours, in bytes. */
+  static final long MAX_MEMORY = 128L * 1024 * 1024;
+
+  /** The displayed slice and its prefetched neighbours are never evicted by each other. */
+  private static final int MIN_ENTRIES = 2 * PREFETCH_EXTENT + 1;
+
+  private static final Map<String, Entry> CACHE = new LinkedHashMap<>(64, 0.75f, true);
+  private static final Set<String> PENDING = ConcurrentHashMap.newKeySet();
+  private static final AtomicLong USED_MEMORY = new AtomicLong();
+  private static final ExecutorService PREFETCH =
+      ThreadUtil.newImageProcessingThreadPool("IsoDose prefetch"); // NON-NLS
+
+  static {
+    MemoryManager.getInstance().register(USED_MEMORY::get);
+  }
+
+  private record Entry(Set<SegContour> contours, long memory) {}
+
+  private final Dose dose;
+  private final RtSet rtSet;
+  private final KeyDouble slicePosition;
+  private final List<IsoDoseRegion> levels;
+  private final List<IsoDoseContourLoader> slices;
+  private final int index;
+  private final String key;
+
+  /**
+   * @param dose the dose providing the dose planes
+   * @param rtSet the RT set providing the patient image
+   * @param slicePosition the position of the slice (in patient mm)
+   * @param levels the isodose levels, in drawing order
+   * @param slices the loaders of the slices sorted by position, used for prefetching
+   * @param index the index of this loader in {@code slices}
+   * @param key the unique key of the slice in the cache
+   */
+  IsoDoseContourLoader(
+      Dose dose,
+      RtSet rtSet,
+      KeyDouble slicePosition,
+      List<IsoDoseRegion> levels,
+      List<IsoDoseContourLoader> slices,
+      int index,
+      String key) {
+    this.dose = dose;
+    this.rtSet = rtSet;
+    this.slicePosition = slicePosition;
+    this.levels = levels;
+    this.slices = slices;
+    this.index = index;
+    this.key = key;
+  }
+
+  @Override
+  public Set<SegContour> getLazyContours() {
+    Set<SegContour> contours = getCached(key);
+    if (contours == null) {
+      contours = build();
+    }
+    prefetchNeighbours();
+    return contours;
+  }
+
+  private Set<SegContour> build() {
+    Set<SegContour> contours = dose.getIsoDoseContours(slicePosition, levels, rtSet);
+    return put(key, contours);
+  }
+
+  private void prefetchNeighbours() {
+    for (int d = 1; d <= PREFETCH_EXTENT; d++) {
+      prefetch(index + d);
+      prefetch(index - d);
+    }
+  }
+
+  private void prefetch(int i) {
+    if (i < 0 || i >= slices.size()) {
+      return;
+    }
+    IsoDoseContourLoader loader = slices.get(i);
+    if (isCached(loader.key) || !PENDING.add(loader.key)) {
+      return;
+    }
+    PREFETCH.execute(
+        () -> {
+          try {
+            if (!isCached(loader.key)) {
+              loader.build();
+            }
+          } catch (Exception e) {
+            LOGGER.error("Cannot build the isodose contours at {}", loader.slicePosition, e);
+          } finally {
+            PENDING.remove(loader.key);
+          }
+        });
+  }
+
+  private static boolean isCached(String key) {
+    synchronized (CACHE) {
+      return CACHE.containsKey(key);
+    }
+  }
+
+  private static Set<SegContour> getCached(String key) {
+    synchronized (CACHE) {
+      Entry entry = CACHE.get(key);
+      return entry == null ? null : entry.contours();
+    }
+  }
+
+  private static Set<SegContour> put(String key, Set<SegContour> contours) {
+    synchronized (CACHE) {
+      Entry existing = CACHE.get(key);
+      if (existing != null) {
+        // Built concurrently by the prefetch and the display: keep the first one
+        contours.forEach(IsoDoseContourLoader::release);
+        return existing.contours();
+      }
+      long memory = contours.stream().mapToLong(IsoDoseContourLoader::getMemory).sum();
+      CACHE.put(key, new Entry(contours, memory));
+      USED_MEMORY.addAndGet(memory);
+      evict();
+      return contours;
+    }
+  }
+
+  /**
+   * Removes the least recently used slices. Their masks are not released here because a view may
+   * still be drawing them, they are freed with the contours.
+   */
+  private static void evict() {
+    MemoryManager memoryManager = MemoryManager.getInstance();
+    Iterator<Entry> it = CACHE.values().iterator();
+    while (CACHE.size() > MIN_ENTRIES
+        && (USED_MEMORY.get() > MAX_MEMORY || !memoryManager.isMemoryAvailable())) {
+      USED_MEMORY.addAndGet(-it.next().memory());
+      it.remove();
+    }
+  }
+
+  private static long getMemory(SegContour contour) {
+    PlanarImage mask = contour.getFractionalMask();
+    return mask == null ? 0 : mask.physicalBytes();
+  }
+
+  private static void release(SegContour contour) {
+    PlanarImage mask = contour.getFractionalMask();
+    if (mask != null) {
+      mask.release();
+    }
+  }
+}
@@ -28,6 +28,8 @@
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 import javax.swing.BorderFactory;
 import javax.swing.BoxLayout;
@@ -50,6 +52,8 @@
 import org.knowm.xchart.XYChart;
 import org.knowm.xchart.XYChartBuilder;
 import org.knowm.xchart.XYSeries;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.weasis.core.api.gui.Insertable;
 import org.weasis.core.api.gui.util.GuiUtils;
 import org.weasis.core.api.gui.util.JSliderW;
@@ -100,6 +104,8 @@ public class RtDisplayTool extends PluginTool implements SeriesViewerListener, S
    */
   public static final String P_DVH_RECALCULATE = "weasis.rt.dvh.recalculate.enable";
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(RtDisplayTool.class);
+
   private static final String GRAPHIC_OPACITY = Messages.getString("graphic.opacity");
   private static final SoftHashMap<String, RtSet> RT_SET_CACHE = new SoftHashMap<>();
 
@@ -133,6 +139,7 @@ public class RtDisplayTool extends PluginTool implements SeriesViewerListener, S
   private final JLabel txtRtPlanDoseValue = new JLabel();
 
   private RtSet rtSet;
+  private DvhEngine dvhEngine;
   private boolean initPathSelection;
 
   private final Map<String, Map<String, Boolean>> structureSetSelections = new HashMap<>();
@@ -517,38 +524,90 @@ private void promptAndComputeMissingDvh(
       return;
     }
 
-    SwingWorker<List<StructRegion>, Void> task = getListVoidSwingWorker(withDvh, withoutDvh);
+    cancelDvhComputation();
+    DvhEngine engine = rtSet.createDvhEngine(withoutDvh);
+    dvhEngine = engine;
+    SwingWorker<List<StructRegion>, Integer> task = newDvhWorker(engine, withDvh, withoutDvh);
     progressBar.setVisible(true);
-    progressBar.setIndeterminate(true);
+    progressBar.setIndeterminate(engine.getTotalPlanes() == 0);
+    progressBar.setMaximum(engine.getTotalPlanes());
+    progressBar.setValue(0);
     task.execute();
   }
 
-  private SwingWorker<List<StructRegion>, Void> getListVoidSwingWorker(
-      List<StructRegion> withDvh, List<StructRegion> withoutDvh) {
+  /** Cancels the DVH computation in progress, e.g. when the selected structures change. */
+  private void cancelDvhComputation() {
+    if (dvhEngine != null) {
+      dvhEngine.cancel();
+      dvhEngine = null;
+    }
+  }
+
+  /**
+   * Returns a worker computing the missing DVHs. The chart is shown as soon as the first planes are
+   * completed, and its curves are updated with the partial DVHs until the computation ends. A
+   * cancelled computation closes the chart.
+   */
+  private SwingWorker<List<StructRegion>, Integer> newDvhWorker(
+      DvhEngine engine, List<StructRegion> withDvh, List<StructRegion> withoutDvh) {
     final List<StructRegion> all = new ArrayList<>(withDvh);
     return new SwingWorker<>() {
+      private DvhChart chart;
+
       @Override
       protected List<StructRegion> doInBackground() {
+        return engine.compute((completedPlanes, _) -> publish(completedPlanes));
+      }
+
+      @Override
+      protected void process(List<Integer> chunks) {
+        if (engine.isCancelled()) {
+          return;
+        }
+        progressBar.setValue(chunks.getLast());
+        if (chart == null) {
+          chart = new DvhChart();
+          withDvh.forEach(region -> chart.setDvh(region, region.getDvh()));
+        }
         for (StructRegion region : withoutDvh) {
-          if (rtSet.computeDvhOnDemand(region) && region.getDvh() != null) {
-            all.add(region);
+          Dvh dvh = engine.getDvh(region);
+          if (dvh != null) {
+            chart.setDvh(region, dvh);
           }
         }
-        return all;
+        chart.show();
       }
 
       @Override
       protected void done() {
+        if (dvhEngine == engine) {
+          dvhEngine = null;
+        }
         progressBar.setVisible(false);
-        buildAndShowChart(all);
+        try {
+          all.addAll(get());
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+          if (!(e.getCause() instanceof CancellationException)) {
+            LOGGER.error("Cannot compute the DVH", e.getCause());
+          }
+        }
+        if (engine.isCancelled()) {
+          if (chart != null) {
+            chart.dispose();
+          }
+        } else if (chart == null) {
+          buildAndShowChart(all);
+        } else {
+          all.forEach(region -> chart.setDvh(region, region.getDvh()));
+          chart.show();
+        }
       }
     };
   }
 
-  private void buildAndShowChart(List<StructRegion> regions) {
-    if (regions.isEmpty()) {
-      return;
-    }
+  private static XYChart newDvhChart() {
     XYChart chart =
         new XYChartBuilder()
             .width(800)
@@ -557,9 +616,15 @@ private void buildAndShowChart(List<StructRegion> regions) {
             .xAxisTitle(Messages.getString("dose.cgy"))
             .yAxisTitle(Messages.getString("volume") + " (%)")
             .build();
-
     chart.getStyler().setDefaultSeriesRenderStyle(XYSeries.XYSeriesRenderStyle.Line);
+    return chart;
+  }
 
+  private void buildAndShowChart(List<StructRegion> regions) {
+    if (regions.isEmpty()) {
+      return;
+    }
+    XYChart chart = newDvhChart();
     for (StructRegion region : regions) {
       Dvh dvh = region.getDvh();
       if (dvh != null) {
@@ -570,12 +635,52 @@ private void buildAndShowChart(List<StructRegion> regions) {
     showChartDialog(chart);
   }
 
-  private void showChartDialog(XYChart chart) {
+  private JDialog showChartDialog(XYChart chart) {
     JDialog dialog = new JDialog(WinUtil.getParentWindow(this), Messages.getString("dvh.chart"));
     XChartPanel<XYChart> chartPanel = new XChartPanel<>(chart);
     dialog.getContentPane().add(chartPanel, BorderLayout.CENTER);
     dialog.pack();
     GuiUtils.showCenterScreen(dialog);
+    return dialog;
+  }
+
+  /** A DVH chart whose curves can be updated while the DVHs are computed. */
+  private final class DvhChart {
+    private final XYChart chart = newDvhChart();
+    private final Map<StructRegion, String> seriesNames = new HashMap<>();
+    private JDialog dialog;
+
+    void setDvh(StructRegion region, Dvh dvh) {
+      if (dvh == null) {
+        return;
+      }
+      String name = seriesNames.get(region);
+      if (name == null) {
+        name = dvh.addChartSeries(region, chart);
+        if (name != null) {
+          seriesNames.put(region, name);
+        }
+      } else {
+        dvh.updateChartSeries(region, chart, name);
+      }
+    }
+
+    void show() {
+      if (seriesNames.isEmpty()) {
+        return;
+      }
+      if (dialog == null) {
+        dialog = showChartDialog(chart);
+      } else {
+        dialog.repaint();
+      }
+    }
+
+    void dispose() {
+      if (dialog != null) {
+        dialog.dispose();
+      }
+    }
   }
 
   /**
@@ -636,6 +741,9 @@ private void handleTreeChecking(SegRegionTree tree, TreeCheckingEvent e) {
     if (initPathSelection) {
       return;
     }
+    if (tree == treeStructures) {
+      cancelDvhComputation();
+    }
     recordUserToggle(tree, e.getPath());
     persistCurrentSelection(tree);
     updateVisibleNode();
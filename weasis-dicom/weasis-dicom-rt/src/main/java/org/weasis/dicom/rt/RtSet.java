@@ -9,14 +9,11 @@
  */
 package org.weasis.dicom.rt;
 
-import static org.opencv.core.Core.add;
-import static org.opencv.core.Core.multiply;
-
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -25,22 +22,14 @@
 import org.dcm4che3.data.Tag;
 import org.dcm4che3.img.util.DicomUtils;
 import org.joml.Vector3d;
-import org.opencv.core.CvType;
-import org.opencv.core.Mat;
-import org.opencv.core.MatOfPoint;
-import org.opencv.core.Point;
-import org.opencv.core.Scalar;
-import org.opencv.imgproc.Imgproc;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.weasis.core.api.media.data.MediaElement;
 import org.weasis.core.api.media.data.MediaSeries.MEDIA_POSITION;
-import org.weasis.core.ui.model.graphic.imp.seg.SegContour;
 import org.weasis.core.util.MathUtil;
 import org.weasis.core.util.StringUtil;
 import org.weasis.dicom.codec.DicomImageElement;
 import org.weasis.dicom.codec.DicomSeries;
-import org.weasis.opencv.op.ImageConversion;
 
 /**
  * RtSet is a collection of linked DICOM-RT entities that form the whole treatment case (Plans,
@@ -149,10 +138,7 @@ private void attachStoredDvh(Plan plan, Dose dose, StructRegion region) {
     }
     structureDvh.setPlan(plan);
     region.setDvh(structureDvh);
-
-    if (LOGGER.isDebugEnabled()) {
-      logDvhSummary(plan, region, structureDvh);
-    }
+    logDvhSummary(plan, region, structureDvh);
   }
 
   /**
@@ -165,31 +151,42 @@ private void attachStoredDvh(Plan plan, Dose dose, StructRegion region) {
    *     DVH for at least one dose belonging to the loaded plans)
    */
   public boolean computeDvhOnDemand(StructRegion region) {
-    boolean computed = false;
+    return !createDvhEngine(List.of(region)).compute(null).isEmpty();
+  }
+
+  /**
+   * Creates an engine computing, in parallel, the DVHs of several regions for the doses of the
+   * loaded plans. As {@link #computeDvhOnDemand(StructRegion)}, the DVHs stored in the RTDOSE files
+   * are kept and not computed again.
+   */
+  public DvhEngine createDvhEngine(Collection<StructRegion> regions) {
+    List<DvhEngine.Job> jobs = new ArrayList<>();
     for (Plan plan : plans) {
       for (Dose dose : plan.getDoses()) {
         if (dose.getDoseMax() <= 0) {
           continue;
         }
-        Dvh existing = dose.getDvhMap().get(region.getId());
-        if (existing != null && existing.getDvhSource().equals(DataSource.PROVIDED)) {
-          // Keep the stored DVH untouched.
-          continue;
-        }
-        Dvh dvh = initCalculatedDvh(region, dose);
-        dose.getDvhMap().put(region.getId(), dvh);
-        dvh.setPlan(plan);
-        region.setDvh(dvh);
-        computed = true;
-        if (LOGGER.isDebugEnabled()) {
-          logDvhSummary(plan, region, dvh);
+        List<StructRegion> missing =
+            regions.stream()
+                .filter(
+                    region -> {
+                      Dvh existing = dose.getDvhMap().get(region.getId());
+                      return existing == null
+                          || !existing.getDvhSource().equals(DataSource.PROVIDED);
+                    })
+                .toList();
+        if (!missing.isEmpty()) {
+          jobs.add(new DvhEngine.Job(plan, dose, missing));
         }
       }
     }
-    return computed;
+    return new DvhEngine(jobs);
   }
 
-  private static void logDvhSummary(Plan plan, StructRegion region, Dvh dvh) {
+  static void logDvhSummary(Plan plan, StructRegion region, Dvh dvh) {
+    if (!LOGGER.isDebugEnabled()) {
+      return;
+    }
     LOGGER.debug(
         "Structure: {}, {} Volume: {} cm³",
         region.getLabel(),
@@ -369,94 +366,9 @@ static double calculatePlaneThickness(Set<KeyDouble> planesSet) {
   }
 
   public Dvh initCalculatedDvh(StructRegion region, Dose dose) {
-    Dvh dvh = new Dvh();
-    dvh.setReferencedRoiNumber(region.getId());
-    dvh.setDvhSource(DataSource.CALCULATED);
-    dvh.setType("CUMULATIVE");
-    dvh.setDoseUnit("CGY");
-    dvh.setDvhVolumeUnit("CM3");
-    dvh.setDvhDoseScaling(1.0);
-
-    Mat difHistogram = calculateDifferentialDvh(region, dose);
-    double[] cumHistogram = convertDifferentialToCumulativeDvh(difHistogram);
-    dvh.setDvhData(cumHistogram);
-    dvh.setDvhNumberOfBins(cumHistogram.length);
-    return dvh;
-  }
-
-  private Mat calculateDifferentialDvh(StructRegion region, Dose dose) {
-    if (region.getPlanes() == null || region.getPlanes().isEmpty()) {
-      return null;
-    }
-    DicomImageElement doseImage = dose.getSeries().getMedia(MEDIA_POSITION.FIRST, null, null);
-    Vector3d doseImageSpacing = doseImage.getRawSliceGeometry().getVoxelSpacing();
-    double maxDose = dose.getDoseMax() * dose.getDoseGridScaling() * 100;
-
-    double volume = 0.0;
-    Mat histogram = new Mat((int) maxDose, 1, CvType.CV_32FC1, new Scalar(0.0));
-    double sliceVoxelVolume = doseImageSpacing.x * doseImageSpacing.y * region.getThickness();
-
-    for (Entry<KeyDouble, List<StructContour>> entry : region.getPlanes().entrySet()) {
-      KeyDouble z = entry.getKey();
-      List<StructContour> planeContours = entry.getValue();
-      int maxContourIndex = region.calculateLargestContour(planeContours).index();
-      if (dose.getDosePlaneBySlice(z.getValue()) == null) {
-        continue;
-      }
-
-      for (int c = 0; c < planeContours.size(); c++) {
-        Mat contourMask = calculateContourMask(dose.getDoseMmLUT(), planeContours.get(c));
-        Mat hist = dose.getMaskedDosePlaneHist(z.getValue(), contourMask, (int) maxDose);
-
-        double vol = sumColumn0(hist) * sliceVoxelVolume;
-        if (c == maxContourIndex) {
-          volume += vol;
-          add(histogram, hist, histogram);
-        }
-        // TODO: otherwise add or subtract depending on contour location
-        ImageConversion.releaseMat(contourMask);
-        ImageConversion.releaseMat(hist);
-      }
-    }
-
-    // Volume units are given in cm^3
-    volume /= 1000;
-
-    double sumHistogram = sumColumn0(histogram);
-    multiply(histogram, new Scalar(volume / (sumHistogram == 0.0 ? 1.0 : sumHistogram)), histogram);
-
-    return histogram;
-  }
-
-  private static double sumColumn0(Mat singleColumn) {
-    int rows = singleColumn.rows();
-    if (rows == 0) {
-      return 0.0;
-    }
-    // Bulk-read the whole column in one JNI call instead of one call per element.
-    float[] buf = new float[rows];
-    singleColumn.get(0, 0, buf);
-    double sum = 0.0;
-    for (float v : buf) {
-      sum += v;
-    }
-    return sum;
-  }
-
-  private double[] convertDifferentialToCumulativeDvh(Mat difHistogram) {
-    if (difHistogram == null) {
-      return new double[0];
-    }
-    int size = difHistogram.rows();
-    float[] buf = new float[size];
-    difHistogram.get(0, 0, buf);
-    double[] cumDvh = new double[size];
-    double tail = 0;
-    for (int i = size - 1; i >= 0; i--) {
-      tail += buf[i];
-      cumDvh[i] = tail;
-    }
-    return cumDvh;
+    DvhEngine engine = new DvhEngine(List.of(new DvhEngine.Job(null, dose, List.of(region))));
+    engine.computePlanes(null);
+    return engine.getDvh(region);
   }
 
   private DoseLut calculatePixelLookupTable(DicomImageElement dicomImage) {
@@ -481,60 +393,4 @@ private DoseLut calculatePixelLookupTable(DicomImageElement dicomImage) {
     }
     return new DoseLut(x, y);
   }
-
-  /**
-   * Computes a binary {@code CV_32FC1} mask (255 inside the polygon, 0 outside) for the given
-   * contour, using the dose-grid mm LUT to convert patient coordinates into pixel indices.
-   *
-   * <p>Implementation: previously this performed an {@code Imgproc.pointPolygonTest} per pixel
-   * (O(rows · cols · vertices)). It now rasterises the polygon once with {@code fillPoly}.
-   */
-  private Mat calculateContourMask(DoseLut doseMmLUT, SegContour contour) {
-    double[] xLut = doseMmLUT.x();
-    double[] yLut = doseMmLUT.y();
-    int cols = xLut.length;
-    int rows = yLut.length;
-
-    Mat binaryMask = Mat.zeros(rows, cols, CvType.CV_32FC1);
-    if (!(contour instanceof StructContour structContour)) {
-      return binaryMask;
-    }
-    double[] points = structContour.getPoints();
-    if (points == null || points.length < 6 || points.length % 3 != 0) {
-      return binaryMask;
-    }
-
-    // Linear mm -> pixel mapping derived from the (regularly-spaced) LUT.
-    double xOrigin = xLut[0];
-    double yOrigin = yLut[0];
-    double dx = (xLut[cols - 1] - xOrigin) / (cols - 1);
-    double dy = (yLut[rows - 1] - yOrigin) / (rows - 1);
-    if (dx == 0.0 || dy == 0.0) {
-      return binaryMask;
-    }
-
-    int n = points.length / 3;
-    Point[] pixelPoints = new Point[n];
-    for (int i = 0, p = 0; i < points.length; i += 3, p++) {
-      pixelPoints[p] = new Point((points[i] - xOrigin) / dx, (points[i + 1] - yOrigin) / dy);
-    }
-
-    MatOfPoint poly = new MatOfPoint();
-    poly.fromArray(roundPoints(pixelPoints));
-
-    Mat byteMask = Mat.zeros(rows, cols, CvType.CV_8UC1);
-    Imgproc.fillPoly(byteMask, java.util.List.of(poly), new Scalar(255));
-    byteMask.convertTo(binaryMask, CvType.CV_32FC1);
-    poly.release();
-    ImageConversion.releaseMat(byteMask);
-    return binaryMask;
-  }
-
-  private static org.opencv.core.Point[] roundPoints(Point[] in) {
-    Point[] out = new Point[in.length];
-    for (int i = 0; i < in.length; i++) {
-      out[i] = new Point(Math.round(in[i].x), Math.round(in[i].y));
-    }
-    return out;
-  }
 }
@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.rt;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.awt.Color;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import org.joml.Vector3d;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator.ReplaceUnderscores;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.opencv.core.Core;
+import org.opencv.core.CvType;
+import org.opencv.core.Mat;
+import org.opencv.core.MatOfPoint;
+import org.opencv.core.Point;
+import org.opencv.core.Scalar;
+import org.opencv.imgproc.Imgproc;
+import org.weasis.core.api.media.data.MediaSeries.MEDIA_POSITION;
+import org.weasis.core.ui.test.utils.OpenCVExtension;
+import org.weasis.dicom.codec.DicomImageElement;
+import org.weasis.dicom.codec.DicomSeries;
+import org.weasis.dicom.codec.geometry.GeometryOfSlice;
+
+/**
+ * Computes the DVHs of structures on a synthetic dose grid with {@link DvhEngine} and compares them
+ * with the former serial computation, which projected each contour of each plane with {@link
+ * Dose#getMaskedDosePlaneHist(double, Mat, int)} and kept the histogram of the largest one.
+ *
+ * <p>These require the OpenCV native library; when it cannot be located the class is skipped.
+ */
+@DisplayNameGeneration(ReplaceUnderscores.class)
+@ExtendWith(OpenCVExtension.class)
+class DvhEngineDoseTest {
+
+  private static final int SIDE = 20;
+  private static final double SPACING = 2.5;
+  private static final double ORIGIN = -10.0;
+  private static final double THICKNESS = 3.0;
+
+  /** The dose planes are at z = 0, 3 and 6 mm, the structures also have a plane at 9 mm. */
+  private static final int DOSE_PLANES = 3;
+
+  /** Raw maximum of 60 with a scaling of 0.01 Gy: 60 bins of 1 cGy. */
+  private static final double DOSE_MAX = 60;
+
+  private static final double SCALING = 0.01;
+
+  /** The histograms are scaled in float by OpenCV and in double by the engine. */
+  private static final double FLOAT_PRECISION = 1e-5;
+
+  /** A dose plane in cGy, as returned by {@link Dose#getDosePlaneCGy(double)}. */
+  private static Mat dosePlaneCGy(double z) {
+    int p = (int) Math.round(z / THICKNESS);
+    if (p < 0 || p >= DOSE_PLANES || Math.abs(z - p * THICKNESS) > 1e-6) {
+      return null;
+    }
+    Mat plane = new Mat(SIDE, SIDE, CvType.CV_32FC1);
+    float[] data = new float[SIDE * SIDE];
+    for (int y = 0; y < SIDE; y++) {
+      for (int x = 0; x < SIDE; x++) {
+        data[y * SIDE + x] = (3 * x + 2 * y + 7 * p) % (int) DOSE_MAX + 0.5f;
+      }
+    }
+    plane.put(0, 0, data);
+    return plane;
+  }
+
+  private static Dose dose() {
+    double[] lut = new double[SIDE];
+    for (int i = 0; i < SIDE; i++) {
+      lut[i] = ORIGIN + i * SPACING;
+    }
+    GeometryOfSlice geometry =
+        new GeometryOfSlice(
+            new Vector3d(1, 0, 0),
+            new Vector3d(0, 1, 0),
+            new Vector3d(ORIGIN, ORIGIN, 0),
+            new Vector3d(SPACING, SPACING, THICKNESS),
+            THICKNESS,
+            new Vector3d(SIDE, SIDE, 1));
+    DicomImageElement image = mock(DicomImageElement.class);
+    when(image.getRawSliceGeometry()).thenReturn(geometry);
+    DicomSeries series = mock(DicomSeries.class);
+    when(series.getMedia(MEDIA_POSITION.FIRST, null, null)).thenReturn(image);
+
+    Dose dose = mock(Dose.class);
+    when(dose.getSeries()).thenReturn(series);
+    when(dose.getDoseMax()).thenReturn(DOSE_MAX);
+    when(dose.getDoseGridScaling()).thenReturn(SCALING);
+    when(dose.getDoseMmLUT()).thenReturn(new DoseLut(lut, lut));
+    when(dose.getDosePlaneCGy(anyDouble()))
+        .thenAnswer(invocation -> dosePlaneCGy(invocation.getArgument(0)));
+    when(dose.getMaskedDosePlaneHist(anyDouble(), any(), anyInt())).thenCallRealMethod();
+    return dose;
+  }
+
+  private static StructContour contour(double area, double... xy) {
+    double[] points = new double[xy.length / 2 * 3];
+    for (int i = 0, j = 0; i < xy.length; i += 2, j += 3) {
+      points[j] = xy[i];
+      points[j + 1] = xy[i + 1];
+    }
+    StructContour contour = mock(StructContour.class);
+    when(contour.getPoints()).thenReturn(points);
+    when(contour.getArea()).thenReturn(area);
+    return contour;
+  }
+
+  private static StructRegion region(int id, Map<KeyDouble, List<StructContour>> planes) {
+    StructRegion region = new StructRegion(id, "ROI " + id, Color.RED);
+    region.setThickness(THICKNESS);
+    region.setPlanes(planes);
+    return region;
+  }
+
+  /** A target with two contours by plane, the smaller one being ignored, and an organ at risk. */
+  private static List<StructRegion> regions() {
+    Map<KeyDouble, List<StructContour>> target = new LinkedHashMap<>();
+    for (int p = 0; p <= DOSE_PLANES; p++) {
+      double shift = p * SPACING;
+      target.put(
+          new KeyDouble(p * THICKNESS),
+          List.of(
+              contour(8.0, 30, 30, 37, 30, 33, 36),
+              contour(750.0, -5 + shift, -5, 25 + shift, -5, 25, 20 + shift, -5, 20)));
+    }
+    Map<KeyDouble, List<StructContour>> organ = new LinkedHashMap<>();
+    organ.put(new KeyDouble(THICKNESS), List.of(contour(150.0, 0, 10, 15, 0, 20, 25)));
+    organ.put(new KeyDouble(2 * THICKNESS), List.of(contour(120.0, 2, 12, 15, 2, 18, 22)));
+    return List.of(region(1, target), region(2, organ), region(3, Map.of()));
+  }
+
+  /** The former {@code RtSet.calculateDifferentialDvh} and cumulative conversion. */
+  private static double[] serialCumulativeDvh(StructRegion region, Dose dose) {
+    if (region.getPlanes() == null || region.getPlanes().isEmpty()) {
+      return new double[0];
+    }
+    double maxDose = dose.getDoseMax() * dose.getDoseGridScaling() * 100;
+    double volume = 0.0;
+    Mat histogram = new Mat((int) maxDose, 1, CvType.CV_32FC1, new Scalar(0.0));
+    double sliceVoxelVolume = SPACING * SPACING * region.getThickness();
+
+    for (Entry<KeyDouble, List<StructContour>> entry : region.getPlanes().entrySet()) {
+      List<StructContour> planeContours = entry.getValue();
+      int maxContourIndex = region.calculateLargestContour(planeContours).index();
+      for (int c = 0; c < planeContours.size(); c++) {
+        Mat contourMask = serialContourMask(dose.getDoseMmLUT(), planeContours.get(c));
+        Mat hist =
+            dose.getMaskedDosePlaneHist(entry.getKey().getValue(), contourMask, (int) maxDose);
+        contourMask.release();
+        if (hist == null) {
+          continue;
+        }
+        if (c == maxContourIndex) {
+          volume += sumColumn0(hist) * sliceVoxelVolume;
+          Core.add(histogram, hist, histogram);
+        }
+        hist.release();
+      }
+    }
+    volume /= 1000;
+    double sumHistogram = sumColumn0(histogram);
+    Core.multiply(
+        histogram, new Scalar(volume / (sumHistogram == 0.0 ? 1.0 : sumHistogram)), histogram);
+
+    float[] buf = new float[histogram.rows()];
+    histogram.get(0, 0, buf);
+    histogram.release();
+    double[] cumDvh = new double[buf.length];
+    double tail = 0;
+    for (int i = buf.length - 1; i >= 0; i--) {
+      tail += buf[i];
+      cumDvh[i] = tail;
+    }
+    return cumDvh;
+  }
+
+  /** The former {@code CV_32FC1} contour mask. */
+  private static Mat serialContourMask(DoseLut doseMmLUT, StructContour contour) {
+    double[] points = contour.getPoints();
+    Point[] pixelPoints = new Point[points.length / 3];
+    for (int i = 0, p = 0; i < points.length; i += 3, p++) {
+      pixelPoints[p] =
+          new Point(
+              Math.round((points[i] - doseMmLUT.x()[0]) / SPACING),
+              Math.round((points[i + 1] - doseMmLUT.y()[0]) / SPACING));
+    }
+    MatOfPoint poly = new MatOfPoint(pixelPoints);
+    Mat byteMask = Mat.zeros(SIDE, SIDE, CvType.CV_8UC1);
+    Imgproc.fillPoly(byteMask, List.of(poly), new Scalar(255));
+    Mat binaryMask = new Mat();
+    byteMask.convertTo(binaryMask, CvType.CV_32FC1);
+    poly.release();
+    byteMask.release();
+    return binaryMask;
+  }
+
+  private static double sumColumn0(Mat singleColumn) {
+    float[] buf = new float[singleColumn.rows()];
+    singleColumn.get(0, 0, buf);
+    double sum = 0.0;
+    for (float v : buf) {
+      sum += v;
+    }
+    return sum;
+  }
+
+  @Test
+  void engine_gives_the_dvh_of_the_former_serial_computation() {
+    Dose dose = dose();
+    List<StructRegion> regions = regions();
+
+    List<StructRegion> computed =
+        new DvhEngine(List.of(new DvhEngine.Job(mock(Plan.class), dose, regions))).compute(null);
+    assertEquals(regions, computed);
+
+    for (StructRegion region : regions) {
+      double[] expected = serialCumulativeDvh(region, dose);
+      Dvh dvh = region.getDvh();
+      assertEquals(DataSource.CALCULATED, dvh.getDvhSource());
+      assertEquals(expected.length, dvh.getDvhNumberOfBins());
+      assertArrayEquals(expected, dvh.getDvhData(), FLOAT_PRECISION, region.getLabel());
+      if (expected.length == 0) {
+        continue;
+      }
+      assertTrue(expected[0] > 0.0, region.getLabel());
+
+      Dvh serial = new Dvh();
+      serial.setType("CUMULATIVE");
+      serial.setDvhData(expected);
+      // The first bin is the volume of the structure
+      assertEquals(expected[0], dvh.getDvhData()[0], FLOAT_PRECISION);
+      assertEquals(serial.calculateDvhMin(), dvh.getDvhMinimumDose(), FLOAT_PRECISION);
+      assertEquals(serial.calculateDvhMean(), dvh.getDvhMeanDose(), FLOAT_PRECISION);
+      assertEquals(serial.calculateDvhMax(), dvh.getDvhMaximumDose(), FLOAT_PRECISION);
+    }
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.rt;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator.ReplaceUnderscores;
+import org.junit.jupiter.api.Test;
+
+@DisplayNameGeneration(ReplaceUnderscores.class)
+class DvhEngineTest {
+
+  /** Voxel of 2.5 x 2.5 mm with planes of 3 mm. */
+  private static final double VOXEL_VOLUME = 2.5 * 2.5 * 3.0;
+
+  @Test
+  void cumulative_dvh_is_the_volume_receiving_at_least_each_dose() {
+    DvhEngine.Histogram histogram = new DvhEngine.Histogram(4, VOXEL_VOLUME);
+    histogram.add(new float[] {10, 0, 20, 30});
+
+    double voxelCm3 = VOXEL_VOLUME / 1000;
+    assertArrayEquals(
+        new double[] {60 * voxelCm3, 50 * voxelCm3, 50 * voxelCm3, 30 * voxelCm3},
+        histogram.toCumulative(),
+        1e-6);
+  }
+
+  @Test
+  void planes_accumulated_in_any_order_give_the_same_dvh() {
+    List<float[]> planes =
+        IntStream.range(0, 12)
+            .mapToObj(p -> new float[] {p % 3, 7 - p % 5, p, p * p % 11, 2})
+            .toList();
+    DvhEngine.Histogram forward = new DvhEngine.Histogram(5, VOXEL_VOLUME);
+    planes.forEach(forward::add);
+    DvhEngine.Histogram parallel = new DvhEngine.Histogram(5, VOXEL_VOLUME);
+    planes.reversed().parallelStream().forEach(parallel::add);
+
+    assertArrayEquals(forward.toCumulative(), parallel.toCumulative(), 0.0);
+  }
+
+  @Test
+  void dvh_of_empty_histogram_is_zero() {
+    DvhEngine.Histogram histogram = new DvhEngine.Histogram(3, VOXEL_VOLUME);
+    assertArrayEquals(new double[3], histogram.toCumulative(), 0.0);
+    assertEquals(0, new DvhEngine.Histogram(0, 0.0).toCumulative().length);
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.rt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator.ReplaceUnderscores;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.opencv.core.CvType;
+import org.opencv.core.Mat;
+import org.opencv.core.Size;
+import org.opencv.imgproc.Imgproc;
+import org.weasis.core.ui.test.utils.OpenCVExtension;
+
+/**
+ * The isodose contours are built lazily per displayed slice, so the pixels of the isodose regions
+ * are counted beforehand on the dose grid and scaled to the pixel size of the patient image. The
+ * counts must be the ones of the full volume before any contour is built, and building the
+ * contours must not change them.
+ *
+ * <p>These require the OpenCV native library; when it cannot be located the class is skipped.
+ */
+@DisplayNameGeneration(ReplaceUnderscores.class)
+@ExtendWith(OpenCVExtension.class)
+class IsoDosePixelCountTest {
+
+  private static final double SCALING = 0.001;
+  private static final int SLICES = 5;
+  private static final int SIDE = 16;
+
+  /** The patient image pixels are twice smaller than the dose grid ones. */
+  private static final int ZOOM = 2;
+
+  /** A dose plane on the dose grid: a peak at the center. */
+  private static Mat plane(int slice) {
+    Mat dose = new Mat(SIDE, SIDE, CvType.CV_32FC1);
+    float[] data = new float[SIDE * SIDE];
+    double peak = 60_000.0 * (1.0 - Math.abs(slice - SLICES / 2) * 0.3);
+    for (int y = 0; y < SIDE; y++) {
+      for (int x = 0; x < SIDE; x++) {
+        double d = Math.hypot(x - SIDE / 2.0, y - SIDE / 2.0) / SIDE;
+        data[y * SIDE + x] = (float) (peak * Math.max(0.0, 1.0 - 1.5 * d));
+      }
+    }
+    dose.put(0, 0, data);
+    return dose;
+  }
+
+  /** The dose plane resampled on the image grid, as for drawing the contours. */
+  private static Mat resampled(Mat dose) {
+    Mat image = new Mat();
+    Imgproc.resize(dose, image, new Size(SIDE * ZOOM, SIDE * ZOOM), 0, 0, Imgproc.INTER_NEAREST);
+    return image;
+  }
+
+  @Test
+  void region_counts_are_complete_before_any_contour_is_built() {
+    List<IsoDoseRegion> levels =
+        List.of(
+            new IsoDoseRegion(90, Color.RED, "", 6000),
+            new IsoDoseRegion(50, Color.GREEN, "", 6000),
+            new IsoDoseRegion(10, Color.BLUE, "", 6000));
+    List<Mat> dosePlanes = new ArrayList<>();
+    for (int z = 0; z < SLICES; z++) {
+      dosePlanes.add(plane(z));
+    }
+    // Two image slices close to the same dose plane share it
+    List<Mat> planes = new ArrayList<>(dosePlanes);
+    planes.add(dosePlanes.get(1));
+
+    Dose.countIsoDosePixels(planes, levels, SCALING, ZOOM * ZOOM);
+
+    for (IsoDoseRegion region : levels) {
+      long total = 0;
+      for (int z = 0; z < planes.size(); z++) {
+        Mat dose = resampled(planes.get(z));
+        StructContour contour = Dose.buildIsoDoseContour(dose, new KeyDouble(z), region, SCALING);
+        dose.release();
+        if (contour != null) {
+          total += contour.getNumberOfPixels();
+          contour.getFractionalMask().release();
+        }
+      }
+      assertTrue(total > 0, region.getLabel());
+      assertEquals(total, region.getNumberOfPixels(), region.getLabel());
+    }
+    assertTrue(levels.get(0).getNumberOfPixels() < levels.get(2).getNumberOfPixels());
+    dosePlanes.forEach(Mat::release);
+  }
+}
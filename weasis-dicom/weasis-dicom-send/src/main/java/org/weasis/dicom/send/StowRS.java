@@ -24,6 +24,10 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import javax.xml.parsers.ParserConfigurationException;
 import org.dcm4che3.data.Attributes;
@@ -40,6 +44,7 @@
 import org.weasis.core.api.net.auth.AuthMethod;
 import org.weasis.core.api.net.auth.BodySupplier;
 import org.weasis.core.api.net.auth.FileBodyPartPayload;
+import org.weasis.core.api.util.ThreadUtil;
 import org.weasis.core.util.FileUtil;
 import org.weasis.dicom.param.DicomProgress;
 import org.weasis.dicom.param.DicomState;
@@ -51,6 +56,29 @@
 public class StowRS extends DicomStowRS {
   private static final Logger LOGGER = LoggerFactory.getLogger(StowRS.class);
 
+  /** Maximum size of the files sent in one request, in bytes. */
+  static final long MAX_BATCH_BYTES = 64L * 1024 * 1024;
+
+  /** Maximum number of instances sent in one request. */
+  static final int MAX_BATCH_INSTANCES = 200;
+
+  /** Number of requests sent at the same time. */
+  static final int CONCURRENT_BATCHES = 3;
+
+  /** Number of attempts of a request failing with a network error or a server unavailability. */
+  static final int MAX_ATTEMPTS = 3;
+
+  private static final long RETRY_DELAY_MS = 1000;
+
+  /** The files sent in one request. */
+  record Batch(List<File> files, long bytes) {}
+
+  /**
+   * The outcome of a batch: the response of the server (null when all the instances are stored),
+   * or the failure of the request.
+   */
+  private record BatchResult(Batch batch, Attributes response, Exception failure) {}
+
   /**
    * @param requestURL the URL of the STOW service
    * @param contentType the value of the type in the Content-Type HTTP property
@@ -62,14 +90,13 @@ public StowRS(
     super(requestURL, contentType, agentName, headers);
   }
 
-  private OAuthRequest prepareAuthConnection(List<String> filesOrFolders, boolean recursive) {
+  private OAuthRequest prepareAuthConnection(Batch batch) {
     OAuthRequest authRequest = new OAuthRequest(Verb.POST, getRequestURL());
-    MultipartPayload multipart = getMultipartPayload(filesOrFolders, recursive);
-    authRequest.setMultipartPayload(multipart);
+    authRequest.setMultipartPayload(getMultipartPayload(batch));
     return authRequest;
   }
 
-  private MultipartPayload getMultipartPayload(List<String> filesOrFolders, boolean recursive) {
+  private MultipartPayload getMultipartPayload(Batch batch) {
     Map<String, String> headers = new HashMap<>();
     headers.put(
         "Content-Type", // NON-NLS
@@ -80,20 +107,51 @@ private MultipartPayload getMultipartPayload(List<String> filesOrFolders, boolea
     headers.put("Accept", MultipartConstants.DicomContentType.XML.toString()); // NON-NLS
 
     MultipartPayload multipart = new MultipartPayload(DEFAULT_BOUNDARY, headers);
+    for (File file : batch.files()) {
+      addMultipartFile(multipart, file);
+    }
+    return multipart;
+  }
 
+  private static List<File> getFiles(List<String> filesOrFolders, boolean recursive) {
+    List<File> files = new ArrayList<>();
     for (String entry : filesOrFolders) {
       File file = new File(entry);
       if (file.isDirectory()) {
         List<Path> fileList = new ArrayList<>();
         FileUtil.getAllFilesInDirectory(file.toPath(), fileList, recursive);
         for (Path f : fileList) {
-          addMultipartFile(multipart, f.toFile());
+          files.add(f.toFile());
         }
       } else {
-        addMultipartFile(multipart, file);
+        files.add(file);
       }
     }
-    return multipart;
+    return files;
+  }
+
+  /**
+   * Splits the files into batches of at most {@code maxInstances} files and {@code maxBytes} bytes.
+   * A file larger than {@code maxBytes} is sent alone.
+   */
+  static List<Batch> splitInBatches(List<File> files, long maxBytes, int maxInstances) {
+    List<Batch> batches = new ArrayList<>();
+    List<File> current = new ArrayList<>();
+    long bytes = 0;
+    for (File file : files) {
+      long length = file.length();
+      if (!current.isEmpty() && (current.size() >= maxInstances || bytes + length > maxBytes)) {
+        batches.add(new Batch(current, bytes));
+        current = new ArrayList<>();
+        bytes = 0;
+      }
+      current.add(file);
+      bytes += length;
+    }
+    if (!current.isEmpty()) {
+      batches.add(new Batch(current, bytes));
+    }
+    return batches;
   }
 
   private void addMultipartFile(MultipartPayload multipart, File file) {
@@ -114,34 +172,177 @@ public long length() {
             null));
   }
 
+  /**
+   * Uploads the files in batches bounded by {@link #MAX_BATCH_BYTES} and {@link
+   * #MAX_BATCH_INSTANCES}, each batch being streamed from the disk in its own request. The first
+   * batch is sent alone to validate the connection and the authentication, then the others are
+   * sent concurrently. A batch failing with a network error or a server unavailability is sent
+   * again, up to {@link #MAX_ATTEMPTS} times.
+   *
+   * @return the state merging the responses of all the batches
+   */
   public DicomState uploadDicom(
       List<String> filesOrFolders, boolean recursive, AuthMethod authMethod) {
     DicomState state = new DicomState(new DicomProgress());
-    String url = getRequestURL();
-    OAuthRequest authRequest = prepareAuthConnection(filesOrFolders, recursive);
-    int nbFile = authRequest.getMultipartPayload().getBodyParts().size();
-
-    try (HttpStream httpCon =
-        HttpUtils.getHttpResponse(
-            url, new URLParameters(getHeaders(), true), authMethod, authRequest)) {
-      int code = httpCon.getResponseCode();
-      if (code >= HttpURLConnection.HTTP_OK && code < HttpURLConnection.HTTP_BAD_REQUEST) {
-        return buildErrorMessage(getResponseOutput(httpCon), state, nbFile);
+    List<Batch> batches =
+        splitInBatches(getFiles(filesOrFolders, recursive), MAX_BATCH_BYTES, MAX_BATCH_INSTANCES);
+    if (batches.isEmpty()) {
+      state.setStatus(Status.Success);
+      return DicomState.buildMessage(state, "no file to transfer", null); // NON-NLS
+    }
+
+    long start = System.nanoTime();
+    List<BatchResult> results = new ArrayList<>(batches.size());
+    BatchResult first = sendBatch(batches.getFirst(), authMethod);
+    results.add(first);
+    if (first.failure() == null && batches.size() > 1) {
+      List<Callable<BatchResult>> tasks = new ArrayList<>();
+      for (Batch batch : batches.subList(1, batches.size())) {
+        tasks.add(() -> sendBatch(batch, authMethod));
       }
-      if (code == HttpURLConnection.HTTP_UNAUTHORIZED && authMethod != null) {
-        authMethod.resetToken();
+      int threads = Math.min(CONCURRENT_BATCHES, tasks.size());
+      ExecutorService executor = ThreadUtil.newFixedThreadPool(threads, "STOW-RS"); // NON-NLS
+      try {
+        for (Future<BatchResult> future : executor.invokeAll(tasks)) {
+          results.add(future.get());
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (ExecutionException e) {
+        LOGGER.error("STOW-RS: error when posting data", e.getCause());
+      } finally {
+        executor.shutdownNow();
       }
-      return buildHttpFailure(state, httpCon, code);
-    } catch (Exception e) {
-      LOGGER.error("STOW-RS: error when posting data", e);
-      return DicomState.buildMessage(state, e.getMessage(), null);
     }
+    return buildReport(state, batches, results, System.nanoTime() - start);
+  }
+
+  private BatchResult sendBatch(Batch batch, AuthMethod authMethod) {
+    for (int attempt = 1; ; attempt++) {
+      Exception failure;
+      boolean retry = false;
+      try (HttpStream httpCon =
+          HttpUtils.getHttpResponse(
+              getRequestURL(),
+              new URLParameters(getHeaders(), true),
+              authMethod,
+              prepareAuthConnection(batch))) {
+        int code = httpCon.getResponseCode();
+        if (code >= HttpURLConnection.HTTP_OK && code < HttpURLConnection.HTTP_BAD_REQUEST) {
+          return new BatchResult(batch, getResponseOutput(httpCon), null);
+        }
+        if (code == HttpURLConnection.HTTP_UNAUTHORIZED && authMethod != null) {
+          authMethod.resetToken();
+        }
+        retry = isRetryable(code);
+        failure = buildHttpFailure(httpCon, code);
+      } catch (IOException e) {
+        LOGGER.error("STOW-RS: error when posting data", e);
+        retry = true;
+        failure = e;
+      } catch (Exception e) {
+        LOGGER.error("STOW-RS: error when posting data", e);
+        failure = e;
+      }
+
+      if (!retry || attempt >= MAX_ATTEMPTS) {
+        return new BatchResult(batch, null, failure);
+      }
+      LOGGER.warn(
+          "STOW-RS: sending again {} files (attempt {}/{})",
+          batch.files().size(),
+          attempt + 1,
+          MAX_ATTEMPTS);
+      try {
+        Thread.sleep(RETRY_DELAY_MS * attempt);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return new BatchResult(batch, null, failure);
+      }
+    }
+  }
+
+  private static boolean isRetryable(int code) {
+    return code == HttpURLConnection.HTTP_CLIENT_TIMEOUT
+        || code == 429 // Too Many Requests
+        || code == HttpURLConnection.HTTP_BAD_GATEWAY
+        || code == HttpURLConnection.HTTP_UNAVAILABLE
+        || code == HttpURLConnection.HTTP_GATEWAY_TIMEOUT;
+  }
+
+  private static DicomState buildReport(
+      DicomState state, List<Batch> batches, List<BatchResult> results, long elapsedNanos) {
+    int nbFiles = batches.stream().mapToInt(b -> b.files().size()).sum();
+    long sentBytes = 0;
+    int nbFailed = 0;
+    int nbSent = 0;
+    boolean withResponse = false;
+    Exception requestFailure = null;
+    Attributes failed = new Attributes();
+    Sequence failedSeq = failed.newSequence(Tag.FailedSOPSequence, 0);
+    for (BatchResult result : results) {
+      nbSent += result.batch().files().size();
+      if (result.failure() != null) {
+        requestFailure = result.failure();
+        nbFailed += result.batch().files().size();
+        continue;
+      }
+      sentBytes += result.batch().bytes();
+      if (result.response() == null) {
+        continue;
+      }
+      withResponse = true;
+      Sequence seq = result.response().getSequence(Tag.FailedSOPSequence);
+      if (seq != null) {
+        nbFailed += seq.size();
+        for (Attributes item : seq) {
+          failedSeq.add(new Attributes(item));
+        }
+      }
+    }
+    int nbRemaining = nbFiles - nbSent;
+
+    double seconds = elapsedNanos / 1.0e9;
+    double megaBytes = sentBytes / (1024.0 * 1024.0);
+    String throughput =
+        String.format(
+            "%d files in %d requests, %.1f MB in %.1f s (%.2f MB/s)", // NON-NLS
+            nbFiles,
+            results.size(),
+            megaBytes,
+            seconds,
+            seconds > 0 ? megaBytes / seconds : 0.0);
+    LOGGER.info("STOW-RS: {}", throughput);
+
+    if (nbFailed == 0 && nbRemaining == 0 && !withResponse) {
+      return buildErrorMessage(null, state, throughput);
+    }
+    DicomProgress p = state.getProgress();
+    if (p != null) {
+      Attributes cmd = Optional.ofNullable(p.getAttributes()).orElseGet(Attributes::new);
+      cmd.setInt(Tag.Status, VR.US, Status.OneOrMoreFailures);
+      cmd.setInt(Tag.NumberOfCompletedSuboperations, VR.US, nbSent - nbFailed);
+      cmd.setInt(Tag.NumberOfFailedSuboperations, VR.US, nbFailed);
+      cmd.setInt(Tag.NumberOfWarningSuboperations, VR.US, 0);
+      cmd.setInt(Tag.NumberOfRemainingSuboperations, VR.US, nbRemaining);
+      p.setAttributes(cmd);
+    }
+    if (requestFailure != null && failedSeq.isEmpty()) {
+      // Some requests have failed (e.g. authentication or server error): report the last error
+      boolean noneStored = nbFailed + nbRemaining == nbFiles;
+      state.setStatus(noneStored ? Status.UnableToProcess : Status.OneOrMoreFailures);
+      if (requestFailure instanceof HttpServerErrorException) {
+        return DicomState.buildMessage(state, null, requestFailure);
+      }
+      return DicomState.buildMessage(state, requestFailure.getMessage(), null);
+    }
+    return buildErrorMessage(failed, state, throughput);
   }
 
   private static final int MAX_BODY_LOG = 2048;
   private static final int MAX_BODY_DIALOG = 200;
 
-  private static DicomState buildHttpFailure(DicomState state, HttpStream httpCon, int code) {
+  private static HttpServerErrorException buildHttpFailure(HttpStream httpCon, int code) {
     String reason = httpCon.getResponseMessage();
     String body = readBodyQuietly(httpCon);
     String header =
@@ -153,10 +354,9 @@ private static DicomState buildHttpFailure(DicomState state, HttpStream httpCon,
     } else {
       LOGGER.error(header);
     }
-    state.setStatus(Status.UnableToProcess);
     String dialogMessage =
         body != null && !body.isBlank() ? header + " - " + truncate(body, MAX_BODY_DIALOG) : header;
-    return DicomState.buildMessage(state, null, new HttpServerErrorException(dialogMessage));
+    return new HttpServerErrorException(dialogMessage);
   }
 
   private static String truncate(String s, int max) {
@@ -177,37 +377,28 @@ private static String readBodyQuietly(HttpStream httpCon) {
     }
   }
 
-  private DicomState buildErrorMessage(Attributes error, DicomState state, int nbFile) {
+  private static DicomState buildErrorMessage(
+      Attributes error, DicomState state, String throughput) {
     String message;
     if (error == null) {
       state.setStatus(Status.Success);
-      message = "all the files has been transferred"; // NON-NLS
+      message = "all the files has been transferred: " + throughput; // NON-NLS
     } else {
       message = "one or more files has not been transferred"; // NON-NLS
       state.setStatus(Status.OneOrMoreFailures);
-      DicomProgress p = state.getProgress();
-      if (p != null) {
-        Sequence seq = error.getSequence(Tag.FailedSOPSequence);
-        if (seq != null && !seq.isEmpty()) {
-          Attributes cmd = Optional.ofNullable(p.getAttributes()).orElseGet(Attributes::new);
-          cmd.setInt(Tag.Status, VR.US, Status.OneOrMoreFailures);
-          cmd.setInt(Tag.NumberOfCompletedSuboperations, VR.US, nbFile);
-          cmd.setInt(Tag.NumberOfFailedSuboperations, VR.US, seq.size());
-          cmd.setInt(Tag.NumberOfWarningSuboperations, VR.US, 0);
-          cmd.setInt(Tag.NumberOfRemainingSuboperations, VR.US, 0);
-          p.setAttributes(cmd);
-          message =
-              seq.stream()
-                  .map(
-                      s ->
-                          s.getString(Tag.ReferencedSOPInstanceUID, "Unknown SopUID") // NON-NLS
-                              + " -> "
-                              + s.getString(Tag.FailureReason))
-                  .collect(Collectors.joining(", "));
-          LOGGER.error("STOW-RS error: {}", message);
-          return DicomState.buildMessage(
-              state, null, new RuntimeException("Failed instances: " + message));
-        }
+      Sequence seq = error.getSequence(Tag.FailedSOPSequence);
+      if (seq != null && !seq.isEmpty()) {
+        message =
+            seq.stream()
+                .map(
+                    s ->
+                        s.getString(Tag.ReferencedSOPInstanceUID, "Unknown SopUID") // NON-NLS
+                            + " -> "
+                            + s.getString(Tag.FailureReason))
+                .collect(Collectors.joining(", "));
+        LOGGER.error("STOW-RS error: {}", message);
+        return DicomState.buildMessage(
+            state, null, new RuntimeException("Failed instances: " + message));
       }
       LOGGER.error("STOW-RS error: {}", message);
     }
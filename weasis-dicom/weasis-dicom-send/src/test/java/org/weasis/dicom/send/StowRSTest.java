@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.send;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the splitting of a STOW-RS upload into batches: each request must respect the instance
+ * and the byte limits, and every file must be sent once in the original order.
+ */
+class StowRSTest {
+
+  @TempDir Path tempDir;
+
+  private List<File> createFiles(int... sizes) throws IOException {
+    List<File> files = new ArrayList<>();
+    for (int i = 0; i < sizes.length; i++) {
+      Path file = tempDir.resolve("file" + i + ".dcm");
+      Files.write(file, new byte[sizes[i]]);
+      files.add(file.toFile());
+    }
+    return files;
+  }
+
+  private static List<File> flatten(List<StowRS.Batch> batches) {
+    return batches.stream().flatMap(b -> b.files().stream()).toList();
+  }
+
+  @Test
+  void splitsByInstanceCount() throws IOException {
+    List<File> files = createFiles(10, 10, 10, 10, 10, 10, 10);
+
+    List<StowRS.Batch> batches = StowRS.splitInBatches(files, 1000, 3);
+
+    assertEquals(List.of(3, 3, 1), batches.stream().map(b -> b.files().size()).toList());
+    assertEquals(List.of(30L, 30L, 10L), batches.stream().map(StowRS.Batch::bytes).toList());
+    assertEquals(files, flatten(batches));
+  }
+
+  @Test
+  void splitsBySize() throws IOException {
+    List<File> files = createFiles(40, 40, 40, 90, 10);
+
+    List<StowRS.Batch> batches = StowRS.splitInBatches(files, 100, 10);
+
+    assertEquals(List.of(80L, 40L, 100L), batches.stream().map(StowRS.Batch::bytes).toList());
+    assertEquals(files, flatten(batches));
+  }
+
+  @Test
+  void sendsAFileLargerThanTheLimitAlone() throws IOException {
+    List<File> files = createFiles(10, 500, 10);
+
+    List<StowRS.Batch> batches = StowRS.splitInBatches(files, 100, 10);
+
+    assertEquals(List.of(1, 1, 1), batches.stream().map(b -> b.files().size()).toList());
+    assertEquals(files, flatten(batches));
+  }
+
+  @Test
+  void noBatchWithoutFile() {
+    assertTrue(StowRS.splitInBatches(List.of(), 100, 10).isEmpty());
+  }
+}
@@ -68,6 +68,7 @@
 import org.weasis.core.api.image.op.ByteLutCollection;
 import org.weasis.core.api.image.util.KernelData;
 import org.weasis.core.api.image.util.Unit;
+import org.weasis.core.api.media.data.ImageElement;
 import org.weasis.core.api.media.data.MediaElement;
 import org.weasis.core.api.media.data.MediaSeries;
 import org.weasis.core.api.media.data.Series;
@@ -506,6 +507,22 @@ private double getImageCineRate(
         return 0.0;
       }
 
+      @Override
+      protected Object loadCineFrame(int value) {
+        if (selectedView2dContainer instanceof MprContainer) {
+          // MPR planes are computed from the volume when displayed
+          return value;
+        }
+        return preloadCineImage(value);
+      }
+
+      @Override
+      protected void releaseCineFrame(Object handle) {
+        if (handle instanceof ImageElement image) {
+          image.unpinFromCache();
+        }
+      }
+
       @Override
       public void mouseWheelMoved(MouseWheelEvent e) {
         if (isActionEnabled() && !e.isConsumed()) {
@@ -103,10 +103,12 @@
 import org.weasis.core.util.LangUtil;
 import org.weasis.core.util.MathUtil;
 import org.weasis.dicom.codec.DicomImageElement;
+import org.weasis.dicom.codec.DicomSeries;
 import org.weasis.dicom.codec.HiddenSeriesManager;
 import org.weasis.dicom.codec.KOSpecialElement;
 import org.weasis.dicom.codec.PRSpecialElement;
 import org.weasis.dicom.codec.PresentationStateReader;
+import org.weasis.dicom.codec.SeriesPrefetcher;
 import org.weasis.dicom.codec.SortSeriesStack;
 import org.weasis.dicom.codec.SpecialElementRegion;
 import org.weasis.dicom.codec.TagD;
@@ -688,6 +690,7 @@ protected void setImage(DicomImageElement img) {
       PrGraphicUtil.applyPresentationModel(img);
     }
     super.setImage(img);
+    updatePrefetching(img);
 
     if (newImg) {
       updateSegmentation(img);
@@ -696,6 +699,20 @@ protected void setImage(DicomImageElement img) {
     }
   }
 
+  private void updatePrefetching(DicomImageElement img) {
+    if (img != null && series instanceof DicomSeries dicomSeries) {
+      SeriesPrefetcher.getInstance()
+          .update(
+              this,
+              dicomSeries,
+              (Filter<DicomImageElement>) actionsInView.get(ActionW.FILTERED_SERIES.cmd()),
+              getCurrentSortComparator(),
+              getFrameIndex());
+    } else {
+      SeriesPrefetcher.getInstance().stop(this);
+    }
+  }
+
   @Override
   public void reset() {
     super.reset();
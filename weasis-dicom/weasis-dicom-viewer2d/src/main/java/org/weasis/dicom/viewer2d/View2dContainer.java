@@ -89,6 +89,7 @@
 import org.weasis.dicom.codec.KOSpecialElement;
 import org.weasis.dicom.codec.PRSpecialElement;
 import org.weasis.dicom.codec.PresentationStateReader;
+import org.weasis.dicom.codec.SeriesPrefetcher;
 import org.weasis.dicom.codec.SpecialElementRegion;
 import org.weasis.dicom.codec.TagD;
 import org.weasis.dicom.codec.TagD.Level;
@@ -389,12 +390,13 @@ public SliderChangeListener[] getActions() {
   public void setSelectedImagePaneFromFocus(ViewCanvas<DicomImageElement> viewCanvas) {
     setSelectedImagePane(viewCanvas);
     if (viewCanvas != null && viewCanvas.getSeries() instanceof DicomSeries series) {
-      DicomSeries.startPreloading(
-          series,
-          series.copyOfMedias(
+      SeriesPrefetcher.getInstance()
+          .update(
+              viewCanvas,
+              series,
               (Filter<DicomImageElement>) viewCanvas.getActionValue(ActionW.FILTERED_SERIES.cmd()),
-              viewCanvas.getCurrentSortComparator()),
-          viewCanvas.getFrameIndex());
+              viewCanvas.getCurrentSortComparator(),
+              viewCanvas.getFrameIndex());
     }
   }
 
@@ -205,6 +205,12 @@ private boolean remainsCompatibleWith(MediaSeries<? extends ImageElement> newBas
         (MediaSeries<DicomImageElement>) base, (MediaSeries<DicomImageElement>) overlay);
   }
 
+  @Override
+  public long getParamVersion() {
+    // The overlay depends on images and volumes loaded asynchronously: never reuse the output
+    return -1;
+  }
+
   @Override
   public void process() throws Exception {
     PlanarImage source = getSourceImage();
@@ -14,6 +14,11 @@
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.dcm4che3.data.Attributes;
 import org.dcm4che3.data.Tag;
 import org.dcm4che3.data.VR;
@@ -23,6 +28,7 @@
 import org.opencv.core.CvType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.weasis.core.api.gui.task.TaskInterruptionException;
 import org.weasis.core.api.gui.util.ActionW;
 import org.weasis.core.api.gui.util.AppProperties;
 import org.weasis.core.api.gui.util.Filter;
@@ -30,6 +36,7 @@
 import org.weasis.core.api.media.data.MediaSeries;
 import org.weasis.core.api.media.data.SeriesComparator;
 import org.weasis.core.api.media.data.TagW;
+import org.weasis.core.api.util.SystemMemory;
 import org.weasis.core.util.FileUtil;
 import org.weasis.core.util.Pair;
 import org.weasis.dicom.codec.DcmMediaReader;
@@ -48,6 +55,11 @@ public class SeriesBuilder {
   public static final Path MIP_CACHE_DIR =
       AppProperties.buildAccessibleTempDirectory(AppProperties.CACHE_NAME, "mip"); // NON-NLS
 
+  /** Minimum number of slab lengths in a chunk of a full-series build. */
+  private static final int MIN_CHUNK_SLABS = 4;
+
+  private static final int CANCELLED = Integer.MIN_VALUE;
+
   private static final int[] COPIED_ATTRS = {
     Tag.SpecificCharacterSet,
     Tag.TimezoneOffsetFromUTC,
@@ -104,8 +116,9 @@ private SeriesBuilder() {}
    * Computes MIP slices for the given series and appends the resulting {@link DicomImageElement}s
    * to {@code dicoms}.
    *
-   * <p>The medias iterable is materialized into a {@link List} once so that the inner loop can use
-   * O(1) random access instead of re-creating an iterator for every slice index.
+   * <p>The medias iterable is materialized into a {@link List} once so that the slices can be
+   * accessed by index. A full series is built with a sliding window over the slices (see {@link
+   * SlidingSlabProjection}) instead of projecting each slab from its source images.
    */
   @SuppressWarnings("unchecked")
   public static void applyMipParameters(
@@ -125,37 +138,185 @@ public static void applyMipParameters(
 
     var allMedia = new ArrayList<>(series.copyOfMedias(filter, sortFilter));
 
-    // For a single-slab build use the index that MipView already resolved from the received image
-    // in setImage(), so the slab centre always matches the scrolled-to position even before the
-    // EDT has had a chance to update the SCROLL_SERIES slider.
-    int curImg = view.getFrameIndex();
-    int minImg = fullSeries ? extend : curImg;
-    int maxImg = fullSeries ? allMedia.size() - extend : curImg;
-
     var img = series.getMedia(MediaSeries.MEDIA_POSITION.MIDDLE, filter, sortFilter);
     var cpTags = getMipBaseAttributes(img.getMediaReader().getDicomObject());
     adaptWindowLevel(view, cpTags);
     String seriesUID = UIDUtils.createUID();
 
-    for (int index = minImg; index <= maxImg; index++) {
-      var sources = collectSources(allMedia, index, extend);
-      if (sources.size() <= 1) continue;
+    if (fullSeries) {
+      buildFullSeries(view, allMedia, dicoms, mipType, extend, cpTags, img, seriesUID);
+      return;
+    }
 
-      var curImage = addCollectionOperation(mipType, sources.stream().map(Pair::second).toList());
-      if (curImage == null) continue;
+    // For a single-slab build use the index that MipView already resolved from the received image
+    // in setImage(), so the slab centre always matches the scrolled-to position even before the
+    // EDT has had a chance to update the SCROLL_SERIES slider.
+    int index = view.getFrameIndex();
+    var sources = collectSources(allMedia, index, extend);
+    if (sources.size() <= 1) return;
+
+    var curImage = addCollectionOperation(mipType, sources.stream().map(Pair::second).toList());
+    if (curImage == null) return;
+
+    // Tell the MipView which original-series image sits at the center
+    var imgRef = sources.get(sources.size() / 2).first();
+    view.setCenterImage(imgRef, mipType, extend);
+
+    var raw = writeMipImage(curImage, false, seriesUID, view.getCacheDir());
+    if (raw == null) return;
 
-      var imgRef = sources.get(sources.size() / 2).first();
+    var medias = sources.stream().map(Pair::first).toList();
+    dicoms.add(buildMipDicomElement(raw, cpTags, curImage, medias, imgRef, img, seriesUID, index));
+  }
+
+  /**
+   * Builds the slabs of the whole series with {@link SlidingSlabProjection}, each source slice
+   * being decoded once per chunk. The series is split in chunks of consecutive slabs projected in
+   * parallel; a chunk only reads again the slices shared with its neighbours.
+   */
+  private static void buildFullSeries(
+      MipView view,
+      List<DicomImageElement> allMedia,
+      List<DicomImageElement> dicoms,
+      Type mipType,
+      int extend,
+      Attributes cpTags,
+      DicomImageElement img,
+      String seriesUID) {
+    int minImg = extend;
+    int maxImg = allMedia.size() - extend;
+    PlanarImage reference = img.getModalityLutImage(null, null);
+    if (maxImg < minImg || reference == null) {
+      return;
+    }
+    var projection =
+        new SlidingSlabProjection(
+            mipType,
+            i -> allMedia.get(i).getUncachedModalityLutImage(null),
+            allMedia.size(),
+            extend,
+            reference);
+
+    int slabs = maxImg - minImg + 1;
+    int length = 2 * extend + 1;
+    int threads = getMaxThreads(reference, length);
+    // Large enough chunks so that the slices read twice at the borders remain a small part
+    int chunkSize = Math.max(MIN_CHUNK_SLABS * length, (slabs + threads - 1) / threads);
+    // The index of the first slab not to build: the first slab that cannot be written, or
+    // CANCELLED when the build is interrupted or fails
+    AtomicInteger end = new AtomicInteger(maxImg + 1);
+    List<Callable<List<DicomImageElement>>> tasks = new ArrayList<>();
+    for (int from = minImg; from <= maxImg; from += chunkSize) {
+      int start = from;
+      int stop = Math.min(maxImg, from + chunkSize - 1);
+      tasks.add(
+          () -> {
+            List<DicomImageElement> chunk = new ArrayList<>(stop - start + 1);
+            try {
+              if (start < end.get()) {
+                projection.project(
+                    start,
+                    stop,
+                    (index, first, last, image) -> {
+                      try {
+                        if (index >= end.get()) {
+                          return false;
+                        }
+                        var raw = writeMipImage(image, true, seriesUID, view.getCacheDir());
+                        if (raw == null) {
+                          // Stop the series at the first slab that cannot be written
+                          end.accumulateAndGet(index, Math::min);
+                          chunk.add(null);
+                          return false;
+                        }
+                        var medias = allMedia.subList(first, last + 1);
+                        chunk.add(
+                            buildMipDicomElement(
+                                raw,
+                                cpTags,
+                                image,
+                                medias,
+                                allMedia.get(index),
+                                img,
+                                seriesUID,
+                                index));
+                        return true;
+                      } finally {
+                        image.release();
+                      }
+                    });
+              }
+            } finally {
+              if (end.get() <= start) {
+                // No slab of this chunk is kept: remove the files written before it was stopped
+                disposeAll(chunk);
+                chunk.clear();
+              }
+            }
+            return chunk;
+          });
+    }
 
-      // For a single-slab build, tell the MipView which original-series image sits at the center
-      if (!fullSeries) {
-        view.setCenterImage(imgRef, mipType, extend);
+    ForkJoinPool pool = new ForkJoinPool(Math.min(threads, tasks.size()));
+    List<Future<List<DicomImageElement>>> futures = new ArrayList<>(tasks.size());
+    boolean completed = false;
+    try {
+      for (Callable<List<DicomImageElement>> task : tasks) {
+        futures.add(pool.submit(task));
+      }
+      boolean truncated = false;
+      for (Future<List<DicomImageElement>> future : futures) {
+        if (Thread.currentThread().isInterrupted()) {
+          throw new InterruptedException();
+        }
+        for (DicomImageElement dcm : future.get()) {
+          if (dcm == null) {
+            truncated = true;
+          } else if (truncated) {
+            dcm.getFileCache().dispose();
+          } else {
+            dicoms.add(dcm);
+          }
+        }
       }
+      completed = true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new TaskInterruptionException("MIP series building interrupted");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException re) {
+        throw re;
+      }
+      throw new IllegalStateException("Building the MIP series", e.getCause());
+    } finally {
+      if (!completed) {
+        // Stop the running chunks at their next slab instead of waiting for them
+        end.set(CANCELLED);
+        futures.forEach(f -> f.cancel(true));
+        FileUtil.delete(MIP_CACHE_DIR.resolve(seriesUID));
+      }
+      pool.shutdownNow();
+    }
+  }
 
-      var raw = writeMipImage(curImage, fullSeries, seriesUID, view.getCacheDir());
-      if (raw == null) return;
+  /**
+   * Returns the number of chunks of a full-series build projected at the same time. A chunk holds
+   * about three slab lengths of planes (the slices, the partial reductions and the projections),
+   * so the number of chunks is limited by the native memory budget.
+   */
+  private static int getMaxThreads(PlanarImage reference, int slabLength) {
+    long plane =
+        (long) reference.width() * reference.height() * CvType.ELEM_SIZE(reference.type());
+    long chunkBytes = Math.max(1L, 3L * slabLength * plane);
+    long chunks = SystemMemory.getNativeMemoryBudget() / chunkBytes;
+    return Math.clamp(chunks, 1, Runtime.getRuntime().availableProcessors());
+  }
 
-      dicoms.add(
-          buildMipDicomElement(raw, cpTags, curImage, sources, imgRef, img, seriesUID, index));
+  private static void disposeAll(List<DicomImageElement> dicoms) {
+    for (DicomImageElement dcm : dicoms) {
+      if (dcm != null) {
+        dcm.getFileCache().dispose();
+      }
     }
   }
 
@@ -199,7 +360,7 @@ private static DicomImageElement buildMipDicomElement(
       FileRawImage raw,
       Attributes cpTags,
       PlanarImage image,
-      List<Pair<DicomImageElement, PlanarImage>> sources,
+      List<DicomImageElement> sources,
       DicomImageElement imgRef,
       DicomImageElement img,
       String seriesUID,
@@ -214,7 +375,7 @@ private static DicomImageElement buildMipDicomElement(
     writePixelDataAttributes(CvType.channels(image.type()), image.type(), rawIO);
 
     double thickness =
-        DicomMediaUtils.getThickness(sources.getFirst().first(), sources.getLast().first());
+        DicomMediaUtils.getThickness(sources.getFirst(), sources.getLast());
     rawIO.setTag(TagD.get(Tag.SliceThickness), thickness > 0.0 ? thickness : sources.size());
 
     Double loc = (Double) imgRef.getTagValue(TagW.SlicePosition);
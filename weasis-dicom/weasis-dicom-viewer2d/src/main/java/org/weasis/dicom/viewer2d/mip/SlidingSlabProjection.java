@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.viewer2d.mip;
+
+import java.util.function.IntFunction;
+import org.opencv.core.Core;
+import org.opencv.core.CvType;
+import org.opencv.core.Mat;
+import org.weasis.dicom.viewer2d.mip.MipView.Type;
+import org.weasis.opencv.data.ImageCV;
+import org.weasis.opencv.data.PlanarImage;
+
+/**
+ * Projects the consecutive slabs of a stack in a single pass over the slices, each slice being
+ * decoded once.
+ *
+ * <p>The slab of the index {@code i} contains the slices {@code [i - extend, i + extend]}, clamped
+ * to the stack. The mean is a running sum: the slice leaving the slab is subtracted and the slice
+ * entering it is added. The minimum and the maximum use the van Herk/Gil-Werman reduction: the
+ * slices are split into blocks of the slab length, and a slab overlapping two blocks is the
+ * reduction of the suffix of the first block and of the prefix of the second one, so each slab
+ * costs a single operation whatever its thickness.
+ *
+ * <p>The slices that have not the size of the reference are ignored, as in {@link
+ * org.weasis.core.api.image.op.ImageStackOperations}, and the slices of another type (e.g. a
+ * different rescale slope) are converted to the type of the reference.
+ */
+final class SlidingSlabProjection {
+
+  /** Receives the projected slabs, in the order of their index. */
+  @FunctionalInterface
+  interface SlabConsumer {
+    /**
+     * @param index the index of the central slice of the slab
+     * @param start the index of the first slice of the slab
+     * @param stop the index of the last slice of the slab
+     * @param image the projection of the slab, owned by the consumer
+     * @return false to stop the projection
+     */
+    boolean accept(int index, int start, int stop, ImageCV image);
+  }
+
+  private final Type type;
+  private final IntFunction<PlanarImage> slices;
+  private final int size;
+  private final int extend;
+  private final PlanarImage reference;
+
+  /**
+   * @param type the projection type (MIN, MEAN or MAX)
+   * @param slices returns a new image of a slice, or null if it cannot be read. The image is
+   *     released by the projection once it is no longer in a slab.
+   * @param size the number of slices
+   * @param extend the number of slices on each side of the central slice of a slab
+   * @param reference an image with the size and the type of the slices
+   */
+  SlidingSlabProjection(
+      Type type, IntFunction<PlanarImage> slices, int size, int extend, PlanarImage reference) {
+    if (type == Type.NONE) {
+      throw new IllegalArgumentException("No projection type");
+    }
+    this.type = type;
+    this.slices = slices;
+    this.size = size;
+    this.extend = extend;
+    this.reference = reference;
+  }
+
+  int start(int index) {
+    return Math.max(0, index - extend);
+  }
+
+  int stop(int index) {
+    return Math.min(size - 1, index + extend);
+  }
+
+  /**
+   * Projects the slabs of the indexes {@code [from, to]}. Only the slices of these slabs are read.
+   *
+   * @param from the first index
+   * @param to the last index
+   * @param consumer the consumer of the projected slabs
+   */
+  void project(int from, int to, SlabConsumer consumer) {
+    if (from > to) {
+      return;
+    }
+    if (type == Type.MEAN) {
+      projectMean(from, to, consumer);
+    } else {
+      projectMinMax(from, to, consumer);
+    }
+  }
+
+  private PlanarImage readSlice(int index) {
+    PlanarImage img = slices.apply(index);
+    if (img == null || img.width() != reference.width() || img.height() != reference.height()) {
+      release(img);
+      return null;
+    }
+    if (img.type() != reference.type()) {
+      ImageCV converted = new ImageCV();
+      img.toMat().convertTo(converted, reference.type());
+      img.release();
+      return converted;
+    }
+    return img;
+  }
+
+  private void projectMean(int from, int to, SlabConsumer consumer) {
+    int channels = CvType.channels(reference.type());
+    Mat sum = Mat.zeros(reference.height(), reference.width(), CvType.CV_64FC(channels));
+    Mat slice64 = new Mat();
+    // The slices of the current slab by index modulo the slab length, null for the ignored ones
+    PlanarImage[] window = new PlanarImage[2 * extend + 1];
+    int count = 0;
+    int first = start(from);
+    int last = first - 1;
+    try {
+      for (int index = from; index <= to; index++) {
+        int start = start(index);
+        int stop = stop(index);
+        // Remove the leaving slices first: the entering slice takes the slot of the leaving one
+        for (; first < start; first++) {
+          PlanarImage img = window[first % window.length];
+          window[first % window.length] = null;
+          if (img != null) {
+            img.toMat().convertTo(slice64, CvType.CV_64F);
+            Core.subtract(sum, slice64, sum);
+            img.release();
+            count--;
+          }
+        }
+        while (last < stop) {
+          last++;
+          PlanarImage img = readSlice(last);
+          window[last % window.length] = img;
+          if (img != null) {
+            img.toMat().convertTo(slice64, CvType.CV_64F);
+            Core.add(sum, slice64, sum);
+            count++;
+          }
+        }
+        if (count > 0) {
+          ImageCV mean = new ImageCV();
+          sum.convertTo(mean, reference.type(), 1.0 / count);
+          if (!consumer.accept(index, start, stop, mean)) {
+            return;
+          }
+        }
+      }
+    } finally {
+      sum.release();
+      slice64.release();
+      releaseAll(window);
+    }
+  }
+
+  private void reduce(Mat a, Mat b, Mat dst) {
+    if (type == Type.MIN) {
+      Core.min(a, b, dst);
+    } else {
+      Core.max(a, b, dst);
+    }
+  }
+
+  /** Returns a new image reducing two images, one of which can be null. */
+  private ImageCV reduceToNew(PlanarImage a, PlanarImage b) {
+    ImageCV dst = new ImageCV();
+    if (a == null) {
+      b.toMat().copyTo(dst);
+    } else if (b == null) {
+      a.toMat().copyTo(dst);
+    } else {
+      reduce(a.toMat(), b.toMat(), dst);
+    }
+    return dst;
+  }
+
+  private void projectMinMax(int from, int to, SlabConsumer consumer) {
+    int length = 2 * extend + 1;
+    int lo = start(from);
+    int hi = stop(to);
+    // Suffix reductions of the previous block and of the current block
+    ImageCV[] previousSuffix = null;
+    ImageCV[] suffix = null;
+    ImageCV prefix = null;
+    PlanarImage[] block = null;
+    int previousStart = lo - length;
+    int index = from;
+    try {
+      for (int blockStart = lo; blockStart <= hi && index <= to; blockStart += length) {
+        int blockEnd = Math.min(blockStart + length - 1, hi);
+        int n = blockEnd - blockStart + 1;
+        block = new PlanarImage[n];
+        for (int k = 0; k < n; k++) {
+          block[k] = readSlice(blockStart + k);
+        }
+        suffix = new ImageCV[n];
+        for (int k = n - 1; k >= 0; k--) {
+          ImageCV next = k == n - 1 ? null : suffix[k + 1];
+          suffix[k] = block[k] == null && next == null ? null : reduceToNew(block[k], next);
+        }
+        for (int k = 0; k < n && index <= to; k++) {
+          if (block[k] != null) {
+            ImageCV p = reduceToNew(prefix, block[k]);
+            release(prefix);
+            prefix = p;
+          }
+          int b = blockStart + k;
+          for (; index <= to && stop(index) == b; index++) {
+            int a = start(index);
+            ImageCV slab;
+            if (a < blockStart) {
+              ImageCV left = previousSuffix[a - previousStart];
+              slab = left == null && prefix == null ? null : reduceToNew(left, prefix);
+            } else if (a == blockStart) {
+              slab = prefix == null ? null : reduceToNew(prefix, null);
+            } else if (b == blockEnd) {
+              ImageCV left = suffix[a - blockStart];
+              slab = left == null ? null : reduceToNew(left, null);
+            } else {
+              // A slab ending inside the block and starting after it: never the case when the
+              // slabs have the same length, reduced directly
+              slab = reduceRange(block, a - blockStart, k);
+            }
+            if (slab != null && !consumer.accept(index, a, b, slab)) {
+              return;
+            }
+          }
+        }
+        release(prefix);
+        prefix = null;
+        releaseAll(block);
+        block = null;
+        releaseAll(previousSuffix);
+        previousSuffix = suffix;
+        suffix = null;
+        previousStart = blockStart;
+      }
+    } finally {
+      release(prefix);
+      releaseAll(block);
+      releaseAll(suffix);
+      releaseAll(previousSuffix);
+    }
+  }
+
+  private ImageCV reduceRange(PlanarImage[] block, int from, int to) {
+    ImageCV result = null;
+    for (int k = from; k <= to; k++) {
+      if (block[k] != null) {
+        ImageCV r = reduceToNew(result, block[k]);
+        release(result);
+        result = r;
+      }
+    }
+    return result;
+  }
+
+  private static void release(PlanarImage img) {
+    if (img != null) {
+      img.release();
+    }
+  }
+
+  private static void releaseAll(PlanarImage[] images) {
+    if (images != null) {
+      for (PlanarImage img : images) {
+        release(img);
+      }
+    }
+  }
+}
@@ -30,6 +30,7 @@ public class MprAxis {
   private VolImageIO rawIO;
   private DicomImageElement imageElement;
   private int thicknessExtension;
+  private boolean preview;
 
   public MprAxis(Plane plane) {
     this.plane = plane;
@@ -235,6 +236,18 @@ public MprView getMprView() {
     return mprView;
   }
 
+  /**
+   * Returns true when the current image of the axis is a decimated plane rendered during an
+   * interaction, which must be rendered again at full resolution.
+   */
+  public boolean isPreview() {
+    return preview;
+  }
+
+  void setPreview(boolean preview) {
+    this.preview = preview;
+  }
+
   public boolean isAdjusting() {
     return mprView != null && mprView.mprController.isAdjusting();
   }
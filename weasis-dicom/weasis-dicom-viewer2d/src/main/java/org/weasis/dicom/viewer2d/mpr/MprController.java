@@ -31,6 +31,7 @@
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.stream.Stream;
+import javax.swing.SwingUtilities;
 import javax.swing.Timer;
 import org.dcm4che3.data.Tag;
 import org.joml.Quaterniond;
@@ -79,6 +80,13 @@
       Toolkit.getDefaultToolkit().createCustomCursor(cursorImg, new Point(0, 0), "invisibleCursor");
 
   private static final int PIX_TOLERANCE = 7;
+
+  /** Preference enabling the decimated planes while the user is interacting with the views. */
+  public static final String P_PROGRESSIVE_RENDERING = "weasis.mpr.progressive"; // NON-NLS
+
+  /** Delay without interaction after which the decimated planes are rendered at full resolution. */
+  private static final int REFINE_DELAY_MS = 250;
+
   private Volume<?, ?> volume;
   private final List<SegSpecialElement> segElements = new ArrayList<>();
   private final List<SegmentationVolume> segVolumes = new ArrayList<>();
@@ -104,6 +112,9 @@
   private final ComboItemListener<MipView.Type> mipTypeOption;
   private final AxesControl axesControl;
   private Timer scrollEndTimer;
+  private final Timer refineTimer;
+  private boolean refining;
+  private long previewCount;
 
   protected MprController() {
     this.axial = new MprAxis(Plane.AXIAL);
@@ -117,6 +128,8 @@ protected MprController() {
     this.mipTypeOption = newMipTypeOption();
     mipTypeOption.setSelectedItemWithoutTriggerAction(Type.MAX);
     mipTypeOption.enableAction(true);
+    this.refineTimer = new Timer(REFINE_DELAY_MS, _ -> refinePreviews(previewCount));
+    refineTimer.setRepeats(false);
   }
 
   public MprAxis getSagittal() {
@@ -459,6 +472,65 @@ public void setAdjusting(boolean adjusting) {
     this.adjusting = adjusting;
   }
 
+  /**
+   * Returns the sampling step of the planes: 1 for the full resolution, or 2 or 4 while the user is
+   * interacting with a large volume, so that only a decimated plane is resliced for each event.
+   *
+   * @return the sampling step in pixels of the plane
+   */
+  public int getPreviewDecimation() {
+    if (!adjusting
+        || refining
+        || volume == null
+        || !EventManager.getInstance()
+            .getOptions()
+            .getBooleanProperty(P_PROGRESSIVE_RENDERING, true)) {
+      return 1;
+    }
+    return getPreviewDecimation(volume.getSliceSize());
+  }
+
+  public static int getPreviewDecimation(int sliceSize) {
+    if (sliceSize >= 1024) {
+      return 4;
+    }
+    return sliceSize >= 512 ? 2 : 1;
+  }
+
+  /**
+   * Called when a decimated plane has been displayed: the full resolution planes are rendered once
+   * there is no new interaction during {@link #REFINE_DELAY_MS}.
+   */
+  void previewRendered() {
+    previewCount++;
+    refineTimer.restart();
+  }
+
+  /**
+   * Renders at full resolution the planes displayed with a decimated image, one plane per event of
+   * the dispatch thread, so that a new interaction coming in between supersedes the refinement of
+   * the remaining planes.
+   *
+   * @param count the number of previews when the refinement has been scheduled
+   */
+  private void refinePreviews(long count) {
+    if (count != previewCount) {
+      return;
+    }
+    for (MprAxis axis : List.of(axial, coronal, sagittal)) {
+      if (axis.isPreview()) {
+        refining = true;
+        try {
+          axis.updateImage();
+        } finally {
+          refining = false;
+        }
+        SwingUtilities.invokeLater(() -> refinePreviews(count));
+        return;
+      }
+    }
+  }
+
   public ComboItemListener<Type> getMipTypeOption() {
     return mipTypeOption;
   }
@@ -706,13 +778,14 @@ protected List<Point2D> getLinePoints(MprAxis viewAxis, Vector3d center, boolean
   protected void updateAdjusting() {
     if (adjusting) {
       adjusting = false;
-      if (axial.getThicknessExtension() > 0) {
+      refineTimer.stop();
+      if (axial.getThicknessExtension() > 0 || axial.isPreview()) {
         axial.updateImage();
       }
-      if (coronal.getThicknessExtension() > 0) {
+      if (coronal.getThicknessExtension() > 0 || coronal.isPreview()) {
         coronal.updateImage();
       }
-      if (sagittal.getThicknessExtension() > 0) {
+      if (sagittal.getThicknessExtension() > 0 || sagittal.isPreview()) {
         sagittal.updateImage();
       }
     }
@@ -20,10 +20,8 @@
 import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
@@ -51,7 +49,6 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.weasis.core.api.explorer.model.DataExplorerModel;
-import org.weasis.core.api.image.cv.CvUtil;
 import org.weasis.core.api.media.data.Codec;
 import org.weasis.core.api.media.data.FileCache;
 import org.weasis.core.api.media.data.MediaElement;
@@ -119,82 +116,12 @@ public void writeMetaData(MediaSeriesGroup group) {
 
   @Override
   public PlanarImage getImageFragment(MediaElement media) throws Exception {
-    MprController controller = mprAxis.getMprView().mprController;
-    Vector3d volumeCenter = controller.getCrossHairPosition();
-    int extend = mprAxis.getThicknessExtension();
-    if (extend > 0 && !mprAxis.isAdjusting()) {
-      double position = controller.getCrossHairPosition(mprAxis).z;
-      List<PlanarImage> sources = new ArrayList<>();
-      for (int i = -extend; i <= extend; i++) {
-        PlanarImage slice;
-        if (i == 0) {
-          slice = getSlice(volumeCenter);
-        } else {
-          double positionIndex = position + i;
-          Vector3d centerIndex = new Vector3d(volumeCenter);
-          mprAxis.changePositionAlongAxis(centerIndex, positionIndex);
-          slice = volume.getVolumeSlice(mprAxis, centerIndex);
-        }
-        if (slice != null) {
-          sources.add(slice);
-        }
-      }
-
-      PlanarImage image = mipStack(sources, volumeCenter);
-      image.setReleasedAfterProcessing(false);
-      return image;
-    }
+    Vector3d volumeCenter = mprAxis.getMprView().mprController.getCrossHairPosition();
     PlanarImage image = getSlice(volumeCenter);
     image.setReleasedAfterProcessing(false);
     return image;
   }
 
-  private PlanarImage mipStack(List<PlanarImage> sources, Vector3d volumeCenter) {
-    if (sources.size() > 1) {
-      Type mipType = (Type) mprAxis.getMprView().mprController.getMipTypeOption().getSelectedItem();
-      if (mipType == Type.MEAN) {
-        return meanStack(sources);
-      } else {
-        return minMaxStack(sources, mipType);
-      }
-    }
-    return getSlice(volumeCenter);
-  }
-
-  private static PlanarImage minMaxStack(List<PlanarImage> sources, Type mipType) {
-    PlanarImage firstImg = sources.getFirst();
-    ImageCV dstImg = new ImageCV();
-    firstImg.toMat().copyTo(dstImg);
-
-    for (int i = 1; i < sources.size(); i++) {
-      PlanarImage image = sources.get(i);
-      if (image instanceof Mat mat && image.width() == dstImg.width()) {
-        if (mipType == Type.MIN) {
-          Core.min(dstImg, mat, dstImg);
-        } else if (mipType == Type.MAX) {
-          Core.max(dstImg, mat, dstImg);
-        }
-      }
-    }
-    return dstImg;
-  }
-
-  public static ImageCV meanStack(List<PlanarImage> sources) {
-    PlanarImage firstImg = sources.getFirst();
-    int type = firstImg.type();
-    Mat mean = new Mat(firstImg.height(), firstImg.width(), CvType.CV_32F);
-    firstImg.toMat().convertTo(mean, CvType.CV_32F);
-    int size = sources.size();
-    for (int i = 1; i < size; i++) {
-      PlanarImage image = sources.get(i);
-      CvUtil.accumulateFloatStack(image, firstImg, mean);
-    }
-    ImageCV dstImg = new ImageCV();
-    Core.divide(mean, new Scalar(size), mean);
-    mean.convertTo(dstImg, type);
-    return dstImg;
-  }
-
   public Volume<?, ?> getVolume() {
     return volume;
   }
@@ -205,7 +132,22 @@ public PlanarImage getSlice(Vector3d volumeCenter) {
     }
     HEADER_CACHE.remove(this);
 
-    PlanarImage curImage = volume.getVolumeSlice(mprAxis, volumeCenter);
+    int extend = mprAxis.getThicknessExtension();
+    boolean thickSlab = extend > 0 && !mprAxis.isAdjusting();
+    MprController controller = mprAxis.getMprView().mprController;
+    PlanarImage curImage;
+    int decimation = 1;
+    if (thickSlab) {
+      Type mipType = (Type) controller.getMipTypeOption().getSelectedItem();
+      curImage = volume.getVolumeSlab(mprAxis, volumeCenter, extend, mipType);
+    } else {
+      decimation = controller.getPreviewDecimation();
+      curImage = volume.getVolumeSlice(mprAxis, volumeCenter, decimation);
+    }
+    mprAxis.setPreview(decimation > 1);
+    if (decimation > 1) {
+      controller.previewRendered();
+    }
     if (curImage == null) {
       return null;
     }
@@ -216,9 +158,7 @@ public PlanarImage getSlice(Vector3d volumeCenter) {
     // Tags with same values for all the Series
     this.setTag(TagD.get(Tag.Columns), curImage.width());
     this.setTag(TagD.get(Tag.Rows), curImage.height());
-    int extend = mprAxis.getThicknessExtension();
-    double thickness =
-        extend > 0 && !mprAxis.isAdjusting() ? (extend * 2 + 1) * minRatio : minRatio;
+    double thickness = thickSlab ? (extend * 2 + 1) * minRatio : minRatio;
     this.setTag(TagD.get(Tag.SliceThickness), thickness);
     this.setTag(TagD.get(Tag.PixelSpacing), pixSpacing);
 
@@ -37,6 +37,9 @@
 import org.opencv.core.Core;
 import org.opencv.core.Core.MinMaxLocResult;
 import org.opencv.core.CvType;
+import org.opencv.core.Mat;
+import org.opencv.core.Size;
+import org.opencv.imgproc.Imgproc;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.weasis.core.api.gui.util.AppProperties;
@@ -51,6 +54,7 @@
 import org.weasis.core.util.MathUtil;
 import org.weasis.dicom.codec.DicomImageElement;
 import org.weasis.dicom.codec.geometry.GeometryOfSlice;
+import org.weasis.dicom.viewer2d.mip.MipView.Type;
 import org.weasis.opencv.data.ImageCV;
 import org.weasis.opencv.data.PlanarImage;
 
@@ -76,6 +80,9 @@
   protected int byteDepth = 1;
   protected int channels;
   protected ChunkedMappedBuffer mappedBuffer;
+
+  /** Releases the entry of {@link VolumeCache} mapped by this volume, or null. */
+  Runnable cacheRelease;
   protected final JProgressBar progressBar;
   protected final boolean isSigned;
   protected boolean isTransformed = false;
@@ -158,6 +165,34 @@
     ResourceMonitor.getInstance().recordVolume(getSizeZ());
   }
 
+  Volume(
+      OriginalStack stack,
+      JProgressBar progressBar,
+      VolumeCache.Header header,
+      ChunkedMappedBuffer buffer) {
+    this.progressBar = progressBar;
+    this.translation = new Vector3d(0, 0, 0);
+    this.rotation = new Quaterniond();
+    this.size = new Vector3i(header.size());
+    this.sliceStride = (long) size.x * size.y;
+    this.pixelRatio = new Vector3d(header.pixelRatio());
+    this.stack = stack;
+    this.cvType = header.cvType();
+    this.isSigned = isSigned(CvType.depth(cvType));
+    this.channels = CvType.channels(cvType);
+    this.byteDepth = CvType.ELEM_SIZE(cvType) / channels;
+    this.minValue = convertToGeneric(header.min());
+    this.maxValue = convertToGeneric(header.max());
+    this.isBasic = header.basic();
+    this.isTransformed = header.transformed();
+    this.volumeOrigin.set(header.origin());
+    this.volumeAxisX.set(header.axisX());
+    this.volumeAxisY.set(header.axisY());
+    this.volumeAxisZ.set(header.axisZ());
+    this.mappedBuffer = buffer;
+    ResourceMonitor.getInstance().recordVolume(getSizeZ());
+  }
+
   private static boolean isSigned(int depth) {
     return depth == CvType.CV_8S
         || depth == CvType.CV_16S
@@ -601,34 +636,207 @@ public void removeData() {
       mappedBuffer.close();
       mappedBuffer = null;
     }
+    if (cacheRelease != null) {
+      cacheRelease.run();
+      cacheRelease = null;
+    }
   }
 
   public PlanarImage getVolumeSlice(MprAxis mprAxis, Vector3d volumeCenter) {
+    return getVolumeSlice(mprAxis, volumeCenter, 1);
+  }
+
+  /**
+   * Returns the plane of the axis passing through the crosshair.
+   *
+   * <p>With a decimation greater than 1, only the top-left pixel of each block of {@code
+   * decimation * decimation} pixels is resliced and replicated to the whole block. The image keeps
+   * the size and the geometry of the full resolution plane, at a fraction of the reslicing cost,
+   * which is used while the user is interacting with the views.
+   *
+   * @param mprAxis the axis of the plane
+   * @param volumeCenter the crosshair position
+   * @param decimation the sampling step in pixels of the plane
+   * @return the plane image
+   */
+  public PlanarImage getVolumeSlice(MprAxis mprAxis, Vector3d volumeCenter, int decimation) {
     if (mprAxis == null) {
       return null;
     }
-    int sliceImageSize = getSliceSize();
-    Vector3d voxelRatio = getVoxelRatio();
     Quaterniond mprRotation = mprAxis.getMprView().mprController.getRotation(mprAxis.getPlane());
     Matrix4d combinedTransform = mprAxis.getRealVolumeTransformation(mprRotation, volumeCenter);
     mprAxis.getTransformation().set(combinedTransform);
+    return getVolumeSlice(combinedTransform, decimation);
+  }
 
-    int totalPixels = sliceImageSize * sliceImageSize;
-    long totalElements = (long) totalPixels * channels;
-    ChunkedArray<A> raster = createChunkedArray(totalElements);
+  /**
+   * Returns the plane defined by a transformation from the slice image coordinates to the volume
+   * coordinates scaled by the voxel ratio, as built by {@link MprAxis#getRealVolumeTransformation}.
+   *
+   * @param combinedTransform the transformation of the plane
+   * @param decimation the sampling step in pixels of the plane
+   * @return the plane image
+   * @see #getVolumeSlice(MprAxis, Vector3d, int)
+   */
+  public PlanarImage getVolumeSlice(Matrix4d combinedTransform, int decimation) {
+    int sliceImageSize = getSliceSize();
+    Vector3d voxelRatio = getVoxelRatio();
+    int step = Math.max(1, decimation);
+    int size = (sliceImageSize + step - 1) / step;
+    Matrix4d transform =
+        step == 1 ? combinedTransform : new Matrix4d(combinedTransform).scale(step, step, 1);
+    ChunkedArray<A> raster = createChunkedArray((long) size * size * channels);
     fillRasterWithMinValue(raster);
+    reslice(raster, size, size, transform, voxelRatio);
+
+    ImageCV imageCV = new ImageCV(size, size, getCvType());
+    putRasterToImage(imageCV, raster);
+    if (step == 1) {
+      return imageCV;
+    }
+    ImageCV image = replicatePixels(imageCV, step, sliceImageSize, sliceImageSize);
+    imageCV.release();
+    return image;
+  }
+
+  /**
+   * Enlarges a decimated image by replicating each pixel to a block of {@code factor * factor}
+   * pixels, and crops it to the size of the full resolution image.
+   *
+   * @param image the decimated image
+   * @param factor the decimation of the image
+   * @param width the width of the full resolution image
+   * @param height the height of the full resolution image
+   * @return the enlarged image
+   */
+  public static ImageCV replicatePixels(Mat image, int factor, int width, int height) {
+    ImageCV scaled = new ImageCV();
+    Size scaledSize = new Size((double) image.cols() * factor, (double) image.rows() * factor);
+    Imgproc.resize(image, scaled, scaledSize, 0, 0, Imgproc.INTER_NEAREST);
+    if (scaled.cols() == width && scaled.rows() == height) {
+      return scaled;
+    }
+    ImageCV dst = new ImageCV();
+    scaled.submat(0, height, 0, width).copyTo(dst);
+    scaled.release();
+    return dst;
+  }
 
+  /**
+   * Resamples the plane of the volume into a raster. The pixel (x, y) of the raster is the
+   * trilinear interpolation of the volume at the position {@code transform * (x, y, 0)} divided by
+   * {@code voxelRatio}; the pixels outside the volume are left unchanged.
+   *
+   * @param raster the destination raster of {@code width * height * channels} elements
+   * @param width the width of the raster
+   * @param height the height of the raster
+   * @param transform the transformation from the raster coordinates to the volume coordinates
+   * @param voxelRatio the voxel ratio of the volume
+   */
+  void reslice(
+      ChunkedArray<A> raster, int width, int height, Matrix4d transform, Vector3d voxelRatio) {
     try (ForkJoinPool pool = ForkJoinPool.commonPool()) {
-      pool.invoke(
-          new VolumeSliceTask(
-              0, totalPixels, sliceImageSize, combinedTransform, voxelRatio, raster));
+      pool.invoke(new ResliceTask(raster, width, 0, height, transform, voxelRatio, null));
+    }
+  }
+
+  /**
+   * Returns the thick slab centered on the plane of the axis, reduced with the MIP type.
+   *
+   * <p>The slab covers {@code extend} crosshair positions on each side of the plane. It is computed
+   * in a single pass over the output rows: each row is sampled along the slab normal and the
+   * samples are reduced on the fly, so the memory is proportional to one output plane whatever the
+   * thickness. The step between the samples is the distance between two voxels along the normal
+   * (from the voxel ratio), so an anisotropic volume is not oversampled along its coarse axis.
+   *
+   * @param mprAxis the axis of the plane
+   * @param volumeCenter the crosshair position
+   * @param extend the number of crosshair positions on each side of the plane
+   * @param mipType the reduction of the slab samples (MIN, MEAN or MAX)
+   * @return the slab image
+   */
+  public PlanarImage getVolumeSlab(
+      MprAxis mprAxis, Vector3d volumeCenter, int extend, Type mipType) {
+    if (mprAxis == null) {
+      return null;
+    }
+    int sliceImageSize = getSliceSize();
+    Vector3d voxelRatio = getVoxelRatio();
+    MprController controller = mprAxis.getMprView().mprController;
+    Quaterniond mprRotation = controller.getRotation(mprAxis.getPlane());
+    Matrix4d combinedTransform = mprAxis.getRealVolumeTransformation(mprRotation, volumeCenter);
+    mprAxis.getTransformation().set(combinedTransform);
+
+    // Displacement of the plane (in voxels) when the crosshair moves by one position along the axis
+    double position = controller.getCrossHairPosition(mprAxis).z;
+    Vector3d center = new Vector3d(volumeCenter);
+    mprAxis.changePositionAlongAxis(center, position + 1);
+    Vector3d shift =
+        mprAxis.getRealVolumeTransformation(mprRotation, center).getTranslation(new Vector3d());
+    mprAxis.changePositionAlongAxis(center, position);
+    Matrix4d previous = mprAxis.getRealVolumeTransformation(mprRotation, center);
+    shift.sub(previous.getTranslation(new Vector3d()));
+    shift.div(voxelRatio);
+
+    // One sample per voxel crossed along the normal, but never more than one per position
+    double voxelsPerPosition =
+        Math.max(Math.abs(shift.x), Math.max(Math.abs(shift.y), Math.abs(shift.z)));
+    int samples = 0;
+    if (voxelsPerPosition > MathUtil.DOUBLE_EPSILON) {
+      double positionsPerSample = Math.max(1.0, 1.0 / voxelsPerPosition);
+      samples = (int) (extend / positionsPerSample);
+      shift.mul(positionsPerSample);
     }
 
+    int totalPixels = sliceImageSize * sliceImageSize;
+    ChunkedArray<A> raster = createChunkedArray((long) totalPixels * channels);
+    resliceSlab(
+        raster,
+        sliceImageSize,
+        sliceImageSize,
+        combinedTransform,
+        voxelRatio,
+        shift,
+        samples,
+        mipType);
+
     ImageCV imageCV = new ImageCV(sliceImageSize, sliceImageSize, getCvType());
     putRasterToImage(imageCV, raster);
     return imageCV;
   }
 
+  /**
+   * Resamples a thick slab of the volume into a raster: each pixel is the reduction of the {@code
+   * 2 * samples + 1} values sampled as in {@link #reslice} on the planes shifted by {@code k *
+   * sampleStep} (k from {@code -samples} to {@code samples}). The samples outside the volume have
+   * the background value, as in a single plane.
+   *
+   * @param raster the destination raster of {@code width * height * channels} elements
+   * @param width the width of the raster
+   * @param height the height of the raster
+   * @param transform the transformation from the raster coordinates to the volume coordinates
+   * @param voxelRatio the voxel ratio of the volume
+   * @param sampleStep the shift between two planes of the slab, in voxels
+   * @param samples the number of planes on each side of the central plane
+   * @param mipType the reduction of the samples (MIN, MEAN or MAX)
+   */
+  void resliceSlab(
+      ChunkedArray<A> raster,
+      int width,
+      int height,
+      Matrix4d transform,
+      Vector3d voxelRatio,
+      Vector3d sampleStep,
+      int samples,
+      Type mipType) {
+    ChunkedArray<A> background = createChunkedArray((long) width * channels);
+    fillRasterWithMinValue(background);
+    Slab<A> slab = new Slab<>(mipType, sampleStep, samples, background.singleChunk());
+    try (ForkJoinPool pool = ForkJoinPool.commonPool()) {
+      pool.invoke(new ResliceTask(raster, width, 0, height, transform, voxelRatio, slab));
+    }
+  }
+
   public PlanarImage getAxialSlice(int z) {
     ImageCV imageCV = new ImageCV(size.y, size.x, cvType);
     int sliceElements = size.x * size.y * channels;
@@ -645,6 +853,9 @@ public PlanarImage getAxialSlice(int z) {
   }
 
   protected T getPhotometricMinValue() {
+    if (stack == null) {
+      return minValue;
+    }
     boolean isPhotometricInverse = stack.getMiddleImage().isPhotometricInterpretationInverse(null);
     return isPhotometricInverse ? maxValue : minValue;
   }
@@ -746,6 +957,26 @@ protected long linearIndex(int x, int y, int z) {
   /** Returns the number of elements in the pixel array. */
   protected abstract int pixelArrayLength(A pixelData);
 
+  /**
+   * Reslicing kernel: samples {@code count} points of the volume with a trilinear interpolation,
+   * starting at the voxel position ({@code x}, {@code y}, {@code z}) and moving by ({@code dx},
+   * {@code dy}, {@code dz}) from one point to the next, and writes their values to {@code raster}
+   * from the element {@code offset}. The points outside the volume are left unchanged.
+   *
+   * <p>Subclasses implement it with the concrete primitive type, reading the voxels directly from
+   * the chunks or the mapped buffer, so that there is no allocation and no boxing per pixel.
+   */
+  protected abstract void resliceRow(
+      A raster,
+      int offset,
+      int count,
+      double x,
+      double y,
+      double z,
+      double dx,
+      double dy,
+      double dz);
+
   private void copyFrom(PlanarImage image, int sliceIndex, SplatContext ctx) {
     // Safety net: convert the image to the volume's expected depth if they differ.
     // This can happen when individual slices produce a different modality-LUT output type
@@ -1442,6 +1673,18 @@ private static java.util.function.IntConsumer throttledProgressListener(
       return volume;
     }
 
+    volume = VolumeCache.load(stack, progressBar, isBasic);
+    if (volume != null) {
+      if (progressBar != null) {
+        progressBar.setValue(volume.size.z + 1);
+      }
+      LOGGER.info(
+          "MPR/fusion volume: reading cached volume cvType={} for {} frames",
+          CvType.typeToString(volume.cvType),
+          stack.getSourceStack().size());
+      return volume;
+    }
+
     int cvType = getCvType(stack);
     int depth = CvType.depth(cvType);
     LOGGER.info(
@@ -1456,6 +1699,7 @@ private static java.util.function.IntConsumer throttledProgressListener(
       case CvType.CV_64F -> volume = new VolumeDouble(stack, progressBar, isBasic);
       default -> throw new IllegalArgumentException("Unsupported data type: " + depth);
     }
+    VolumeCache.store(volume);
     return volume;
   }
 
@@ -1505,15 +1749,6 @@ public boolean isSharedVolume() {
     return null;
   }
 
-  protected T interpolateVolume(Vector3d point, Vector3d voxelRatio, int channel) {
-    // Convert from world coordinates to voxel indices
-    double xIndex = point.x / voxelRatio.x;
-    double yIndex = point.y / voxelRatio.y;
-    double zIndex = point.z / voxelRatio.z;
-
-    return getInterpolatedValueFromSource(xIndex, yIndex, zIndex, channel);
-  }
-
   private double convertToUnsigned(Number n) {
     if (isSigned) {
       return n.doubleValue();
@@ -1737,6 +1972,39 @@ private static double lerp(double v0, double v1, double factor) {
     return v0 * (1 - factor) + v1 * factor;
   }
 
+  /**
+   * Returns true when the position has its 8 neighbouring voxels in the volume, which is the
+   * condition used by {@link #getInterpolatedValueFromSource} to return a value.
+   */
+  protected final boolean isInterpolable(double x, double y, double z) {
+    return x >= 0 && x < size.x - 1 && y >= 0 && y < size.y - 1 && z >= 0 && z < size.z - 1;
+  }
+
+  /**
+   * Trilinear interpolation of the 8 voxels surrounding a position, in the same order as {@link
+   * #getInterpolatedValueFromSource} so that both return the same value.
+   */
+  protected static double trilinear(
+      double v000,
+      double v100,
+      double v010,
+      double v110,
+      double v001,
+      double v101,
+      double v011,
+      double v111,
+      double fx,
+      double fy,
+      double fz) {
+    double v00 = lerp(v000, v100, fx);
+    double v01 = lerp(v001, v101, fx);
+    double v10 = lerp(v010, v110, fx);
+    double v11 = lerp(v011, v111, fx);
+    double v0 = v00 * (1 - fy) + v10 * fy;
+    double v1 = v01 * (1 - fy) + v11 * fy;
+    return v0 * (1 - fz) + v1 * fz;
+  }
+
   @SuppressWarnings("unchecked")
   T convertToGeneric(double value) {
     return switch (this) {
@@ -1748,110 +2016,196 @@ T convertToGeneric(double value) {
     };
   }
 
-  private class VolumeSliceTask extends RecursiveAction {
+  /**
+   * Reslices a range of rows of the raster. Each row is a straight line in the volume, so the
+   * position of its first pixel and the step between two pixels are computed once and the row is
+   * sampled by the {@link #resliceRow} kernel of the volume type.
+   */
+  private class ResliceTask extends RecursiveAction {
     private static final int THRESHOLD = 4096;
 
-    private final int start;
-    private final int end;
+    private final ChunkedArray<A> raster;
     private final int width;
-    private final Matrix4d combinedTransform;
+    private final int startRow;
+    private final int endRow;
+    private final Matrix4d transform;
     private final Vector3d voxelRatio;
-    private final ChunkedArray<A> raster;
+    private final Slab<A> slab;
 
-    VolumeSliceTask(
-        int start,
-        int end,
+    ResliceTask(
+        ChunkedArray<A> raster,
         int width,
-        Matrix4d combinedTransform,
+        int startRow,
+        int endRow,
+        Matrix4d transform,
         Vector3d voxelRatio,
-        ChunkedArray<A> raster) {
-      this.start = start;
-      this.end = end;
+        Slab<A> slab) {
+      this.raster = raster;
       this.width = width;
-      this.combinedTransform = combinedTransform;
+      this.startRow = startRow;
+      this.endRow = endRow;
+      this.transform = transform;
       this.voxelRatio = voxelRatio;
-      this.raster = raster;
+      this.slab = slab;
     }
 
     @Override
     protected void compute() {
-      if (end - start <= THRESHOLD) {
-        Voxel<T> voxel = channels > 1 ? new Voxel<>(channels) : null;
-        Vector3d sliceCoord = new Vector3d();
-        int x = start % width;
-        int y = start / width;
-
-        for (int i = start; i < end; i++) {
-          sliceCoord.set(x, y, 0);
-          combinedTransform.transformPosition(sliceCoord);
-
-          if (voxel != null) {
-            boolean hasValue = true;
-            for (int c = 0; c < channels; c++) {
-              T val = interpolateVolume(sliceCoord, voxelRatio, c);
-              if (val == null) {
-                hasValue = false;
-                break;
-              }
-              voxel.setValue(c, val);
-            }
-            if (hasValue) {
-              setRasterValue(x, y, voxel);
+      long work = (long) (endRow - startRow) * width * (slab == null ? 1 : 2 * slab.samples() + 1);
+      if (endRow - startRow <= 1 || work <= THRESHOLD) {
+        resliceRows();
+      } else {
+        int mid = (startRow + endRow) / 2;
+        invokeAll(
+            new ResliceTask(raster, width, startRow, mid, transform, voxelRatio, slab),
+            new ResliceTask(raster, width, mid, endRow, transform, voxelRatio, slab));
+      }
+    }
+
+    private void resliceRows() {
+      Vector3d step = transform.transformDirection(new Vector3d(1, 0, 0)).div(voxelRatio);
+      Vector3d start = new Vector3d();
+      int rowLength = width * channels;
+      // A row can span two chunks of a very large raster: it is then resliced in a buffer
+      A buffer = raster.isSingleChunk() && slab == null ? null : allocatePixelArray(width);
+      double[] values = slab == null ? null : new double[rowLength];
+      double[] result = slab == null ? null : new double[rowLength];
+      for (int y = startRow; y < endRow; y++) {
+        transform.transformPosition(start.set(0, y, 0)).div(voxelRatio);
+        long rowIndex = (long) y * rowLength;
+        if (slab != null) {
+          reduceSlabRow(buffer, values, result, start, step);
+          raster.copyFrom(rowIndex, buffer, 0, rowLength);
+        } else if (buffer == null) {
+          resliceRow(
+              raster.singleChunk(),
+              (int) rowIndex,
+              width,
+              start.x,
+              start.y,
+              start.z,
+              step.x,
+              step.y,
+              step.z);
+        } else {
+          raster.copyTo(rowIndex, buffer, 0, rowLength);
+          resliceRow(buffer, 0, width, start.x, start.y, start.z, step.x, step.y, step.z);
+          raster.copyFrom(rowIndex, buffer, 0, rowLength);
+        }
+      }
+    }
+
+    /** Samples the row on every plane of the slab and writes the reduction in {@code line}. */
+    private void reduceSlabRow(
+        A line, double[] values, double[] result, Vector3d start, Vector3d step) {
+      int length = result.length;
+      Vector3d shift = slab.sampleStep();
+      for (int k = -slab.samples(); k <= slab.samples(); k++) {
+        System.arraycopy(slab.background(), 0, line, 0, length);
+        resliceRow(
+            line,
+            0,
+            width,
+            start.x + k * shift.x,
+            start.y + k * shift.y,
+            start.z + k * shift.z,
+            step.x,
+            step.y,
+            step.z);
+        if (k == -slab.samples()) {
+          readRow(line, result);
+          continue;
+        }
+        readRow(line, values);
+        switch (slab.mipType()) {
+          case MIN -> {
+            for (int i = 0; i < length; i++) {
+              result[i] = Math.min(result[i], values[i]);
             }
-          } else {
-            T val = interpolateVolume(sliceCoord, voxelRatio, 0);
-            if (val != null) {
-              setRasterValue(x, y, val);
+          }
+          case MAX -> {
+            for (int i = 0; i < length; i++) {
+              result[i] = Math.max(result[i], values[i]);
             }
           }
-          if (++x >= width) {
-            x = 0;
-            y++;
+          default -> {
+            for (int i = 0; i < length; i++) {
+              result[i] += values[i];
+            }
           }
         }
-      } else {
-        int mid = (start + end) / 2;
-        VolumeSliceTask leftTask =
-            new VolumeSliceTask(start, mid, width, combinedTransform, voxelRatio, raster);
-        VolumeSliceTask rightTask =
-            new VolumeSliceTask(mid, end, width, combinedTransform, voxelRatio, raster);
-        invokeAll(leftTask, rightTask);
       }
+      if (slab.mipType() == Type.MEAN) {
+        int count = 2 * slab.samples() + 1;
+        for (int i = 0; i < length; i++) {
+          result[i] /= count;
+        }
+      }
+      writeRow(result, line);
     }
 
-    private void setRasterValue(int x, int y, T val) {
-      long index = (long) y * width + x;
-      int ci = raster.chunkIndex(index);
-      int co = raster.chunkOffset(index);
-      A chunk = raster.getChunk(ci);
-      switch (chunk) {
-        case byte[] arr -> arr[co] = val.byteValue();
-        case short[] arr -> arr[co] = val.shortValue();
-        case int[] arr -> arr[co] = val.intValue();
-        case float[] arr -> arr[co] = val.floatValue();
-        case double[] arr -> arr[co] = val.doubleValue();
+    private void readRow(A line, double[] values) {
+      switch (line) {
+        case byte[] a -> {
+          for (int i = 0; i < values.length; i++) {
+            values[i] = isSigned ? a[i] : Byte.toUnsignedInt(a[i]);
+          }
+        }
+        case short[] a -> {
+          for (int i = 0; i < values.length; i++) {
+            values[i] = isSigned ? a[i] : Short.toUnsignedInt(a[i]);
+          }
+        }
+        case int[] a -> {
+          for (int i = 0; i < values.length; i++) {
+            values[i] = a[i];
+          }
+        }
+        case float[] a -> {
+          for (int i = 0; i < values.length; i++) {
+            values[i] = a[i];
+          }
+        }
+        case double[] a -> System.arraycopy(a, 0, values, 0, values.length);
         default -> throw new IllegalStateException("Unsupported raster type");
       }
     }
 
-    private void setRasterValue(int x, int y, Voxel<T> voxel) {
-      long index = ((long) y * width + x) * channels;
-      int ci = raster.chunkIndex(index);
-      int co = raster.chunkOffset(index);
-      A chunk = raster.getChunk(ci);
-      switch (chunk) {
-        case byte[] arr -> {
-          for (int c = 0; c < channels; c++) {
-            arr[co + c] = voxel.getValue(c).byteValue();
+    private static void writeRow(double[] values, Object line) {
+      switch (line) {
+        case byte[] a -> {
+          for (int i = 0; i < values.length; i++) {
+            a[i] = (byte) Math.rint(values[i]);
           }
         }
-        case short[] arr -> {
-          for (int c = 0; c < channels; c++) {
-            arr[co + c] = voxel.getValue(c).shortValue();
+        case short[] a -> {
+          for (int i = 0; i < values.length; i++) {
+            a[i] = (short) Math.rint(values[i]);
           }
         }
+        case int[] a -> {
+          for (int i = 0; i < values.length; i++) {
+            a[i] = (int) Math.rint(values[i]);
+          }
+        }
+        case float[] a -> {
+          for (int i = 0; i < values.length; i++) {
+            a[i] = (float) values[i];
+          }
+        }
+        case double[] a -> System.arraycopy(values, 0, a, 0, values.length);
         default -> throw new IllegalStateException("Unsupported raster type");
       }
     }
   }
+
+  /**
+   * Parameters of a thick slab reslicing.
+   *
+   * @param mipType the reduction of the samples
+   * @param sampleStep the shift between two planes of the slab, in voxels
+   * @param samples the number of planes on each side of the central plane
+   * @param background a row filled with the background value
+   */
+  private record Slab<A>(Type mipType, Vector3d sampleStep, int samples, A background) {}
 }
@@ -16,6 +16,7 @@
 import org.joml.Vector3d;
 import org.opencv.core.CvType;
 import org.weasis.core.api.vol.ChunkedArray;
+import org.weasis.core.api.vol.ChunkedMappedBuffer;
 import org.weasis.opencv.data.PlanarImage;
 
 public final class VolumeByte extends Volume<Byte, byte[]> {
@@ -34,6 +35,14 @@ public VolumeByte(OriginalStack stack, JProgressBar progressBar, boolean isBasic
     super(stack, progressBar, isBasic);
   }
 
+  VolumeByte(
+      OriginalStack stack,
+      JProgressBar progressBar,
+      VolumeCache.Header header,
+      ChunkedMappedBuffer buffer) {
+    super(stack, progressBar, header, buffer);
+  }
+
   public VolumeByte(
       Volume<Byte, byte[]> volume, int sizeX, int sizeY, int sizeZ, Vector3d voxelRatio) {
     super(volume, sizeX, sizeY, sizeZ, voxelRatio);
@@ -96,6 +105,67 @@ protected int pixelArrayLength(byte[] pixelData) {
     return pixelData.length;
   }
 
+  @Override
+  protected void resliceRow(
+      byte[] raster,
+      int offset,
+      int count,
+      double x,
+      double y,
+      double z,
+      double dx,
+      double dy,
+      double dz) {
+    byte[] voxels = data != null && data.isSingleChunk() ? data.singleChunk() : null;
+    long nextX = channels;
+    long nextY = (long) size.x * channels;
+    long nextZ = sliceStride * channels;
+    for (int i = 0, o = offset; i < count; i++, o += channels) {
+      double px = x + i * dx;
+      double py = y + i * dy;
+      double pz = z + i * dz;
+      if (!isInterpolable(px, py, pz)) {
+        continue;
+      }
+      int x0 = (int) px;
+      int y0 = (int) py;
+      int z0 = (int) pz;
+      double fx = px - x0;
+      double fy = py - y0;
+      double fz = pz - z0;
+      long base = linearIndex(x0, y0, z0);
+      for (int c = 0; c < channels; c++) {
+        long k = base + c;
+        double v =
+            trilinear(
+                voxel(voxels, k),
+                voxel(voxels, k + nextX),
+                voxel(voxels, k + nextY),
+                voxel(voxels, k + nextX + nextY),
+                voxel(voxels, k + nextZ),
+                voxel(voxels, k + nextX + nextZ),
+                voxel(voxels, k + nextY + nextZ),
+                voxel(voxels, k + nextX + nextY + nextZ),
+                fx,
+                fy,
+                fz);
+        raster[o + c] = (byte) Math.round(v);
+      }
+    }
+  }
+
+  private double voxel(byte[] voxels, long index) {
+    byte value;
+    if (voxels != null) {
+      value = voxels[(int) index];
+    } else if (data != null) {
+      value = data.getChunk(data.chunkIndex(index))[data.chunkOffset(index)];
+    } else {
+      value = mappedBuffer.get(index);
+    }
+    return isSigned ? value : Byte.toUnsignedInt(value);
+  }
+
   @Override
   protected Byte readPrimitive(DataInputStream dis) throws IOException {
     return dis.readByte();
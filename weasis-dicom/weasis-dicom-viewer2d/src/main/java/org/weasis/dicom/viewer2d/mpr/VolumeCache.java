@@ -0,0 +1,511 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.viewer2d.mpr;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Stream;
+import javax.swing.JProgressBar;
+import org.joml.Vector3d;
+import org.joml.Vector3i;
+import org.opencv.core.CvType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.weasis.core.api.gui.util.AppProperties;
+import org.weasis.core.api.gui.util.GuiUtils;
+import org.weasis.core.api.service.WProperties;
+import org.weasis.core.api.util.ThreadUtil;
+import org.weasis.core.api.vol.ChunkedArray;
+import org.weasis.core.api.vol.ChunkedMappedBuffer;
+import org.weasis.core.util.FileUtil;
+import org.weasis.dicom.codec.DicomImageElement;
+import org.weasis.dicom.codec.geometry.GeometryOfSlice;
+
+/**
+ * Persistent cache of the built volumes, so that a stack opened again in MPR or 3D is memory-mapped
+ * instead of being decoded and rectified again.
+ *
+ * <p>An entry is keyed by a digest of the stack identity (the SOP Instance UID, frame and position
+ * of every slice, the plane and the slice spacing) and of the rectification mode. It is made of
+ * two files: the voxels in the layout of {@link ChunkedMappedBuffer} ({@code .vol}), written
+ * first, and the geometry of the volume ({@code .hdr}), written last so that a complete entry
+ * always has a header. A volume read from the cache is backed by the read-only mapping of its
+ * voxel file: the entries mapped by live volumes are not removed, so that their files are never
+ * deleted while mapped (which fails on Windows).
+ *
+ * <p>The entries are stored in {@code cache/mpr-volume} of the Weasis directory. The following
+ * system preferences configure the cache:
+ *
+ * <ul>
+ *   <li>{@value #P_ENABLE}: enables the cache (default: true)
+ *   <li>{@value #P_MAX_SIZE}: maximum size of the cache in MB (default: {@value
+ *       #DEFAULT_MAX_SIZE}) beyond which the least recently used volumes are removed
+ * </ul>
+ */
+final class VolumeCache {
+  private static final Logger LOGGER = LoggerFactory.getLogger(VolumeCache.class);
+
+  static final String P_ENABLE = "weasis.mpr.volume.cache"; // NON-NLS
+  static final String P_MAX_SIZE = "weasis.mpr.volume.cache.max.size"; // NON-NLS
+  static final int DEFAULT_MAX_SIZE = 4096;
+
+  private static final int MAGIC = 0x57564331; // "WVC1"
+  private static final String HEADER_EXTENSION = ".hdr"; // NON-NLS
+  private static final String DATA_EXTENSION = ".vol"; // NON-NLS
+  private static final int WRITE_BUFFER_SIZE = 1 << 20;
+
+  /** The geometry and the value range of a cached volume. */
+  record Header(
+      int cvType,
+      Vector3i size,
+      Vector3d pixelRatio,
+      double min,
+      double max,
+      boolean basic,
+      boolean transformed,
+      Vector3d origin,
+      Vector3d axisX,
+      Vector3d axisY,
+      Vector3d axisZ) {
+
+    long dataBytes() {
+      return (long) size.x * size.y * size.z * CvType.ELEM_SIZE(cvType);
+    }
+  }
+
+  private static final class Holder {
+    private static final VolumeCache INSTANCE = create();
+  }
+
+  private final Path directory;
+  private final long maxSize;
+  private final ExecutorService writeExecutor;
+
+  /** Number of live volumes mapping each entry, guarded by itself. */
+  private final Map<String, Integer> mapped = new HashMap<>();
+
+  VolumeCache(Path directory, long maxSize) {
+    this.directory = directory;
+    this.maxSize = maxSize;
+    this.writeExecutor = ThreadUtil.newSingleThreadDaemonExecutor("MPR Volume Cache"); // NON-NLS
+  }
+
+  private static VolumeCache create() {
+    WProperties prefs = GuiUtils.getUICore().getSystemPreferences();
+    if (!prefs.getBooleanProperty(P_ENABLE, true)) {
+      return null;
+    }
+    long maxSize = prefs.getLongProperty(P_MAX_SIZE, DEFAULT_MAX_SIZE) * 1024 * 1024;
+    if (maxSize <= 0) {
+      return null;
+    }
+    Path dir = AppProperties.WEASIS_PATH.resolve(AppProperties.CACHE_NAME).resolve("mpr-volume");
+    return new VolumeCache(dir, maxSize);
+  }
+
+  /**
+   * Returns the volume of a stack from the cache.
+   *
+   * @param stack the stack of the volume
+   * @param progressBar the progress bar of the volume
+   * @param isBasic true for a volume built without rectification
+   * @return the cached volume, or null when the cache is disabled or has no entry for the stack
+   */
+  static Volume<?, ?> load(OriginalStack stack, JProgressBar progressBar, boolean isBasic) {
+    VolumeCache cache = Holder.INSTANCE;
+    if (cache == null) {
+      return null;
+    }
+    String key = getKey(stack, isBasic);
+    return key == null ? null : cache.get(key, stack, progressBar);
+  }
+
+  /**
+   * Stores a volume that has just been built. The voxels held in memory are written in the
+   * background; a volume already backed by a temporary file is copied before returning, as this
+   * file is deleted when the volume is released.
+   *
+   * @param volume the volume built from its stack
+   */
+  static void store(Volume<?, ?> volume) {
+    VolumeCache cache = Holder.INSTANCE;
+    if (cache == null || volume.stack == null) {
+      return;
+    }
+    String key = getKey(volume.stack, volume.isBasic);
+    if (key == null) {
+      return;
+    }
+    if (volume.data != null) {
+      cache.writeExecutor.execute(() -> cache.put(key, volume));
+    } else {
+      cache.put(key, volume);
+    }
+  }
+
+  /**
+   * Returns the key of the volume of a stack, a digest of the identity and the position of its
+   * slices.
+   *
+   * @param stack the stack of the volume
+   * @param isBasic true for a volume built without rectification
+   * @return the key, or null when a slice has no identity
+   */
+  static String getKey(OriginalStack stack, boolean isBasic) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256"); // NON-NLS
+      try (DataOutputStream out =
+          new DataOutputStream(new DigestOutputStream(OutputStream.nullOutputStream(), digest))) {
+        out.writeInt(MAGIC);
+        out.writeUTF(stack.getPlane().name());
+        out.writeBoolean(isBasic);
+        out.writeDouble(stack.getSliceSpace());
+        out.writeInt(stack.getSourceStack().size());
+        for (DicomImageElement dcm : stack.getSourceStack()) {
+          String uid = dcm.toString();
+          GeometryOfSlice geometry = dcm.getSliceGeometry();
+          if (uid == null || geometry == null) {
+            return null;
+          }
+          out.writeUTF(uid);
+          out.writeUTF(String.valueOf(dcm.getKey()));
+          Vector3d tlhc = geometry.getTLHC();
+          out.writeDouble(tlhc.x);
+          out.writeDouble(tlhc.y);
+          out.writeDouble(tlhc.z);
+        }
+      }
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (IOException | NoSuchAlgorithmException e) {
+      LOGGER.debug("Cannot compute the key of the volume", e);
+      return null;
+    }
+  }
+
+  /**
+   * Returns a cached volume, backed by the read-only mapping of its voxel file. The entry is not
+   * removed by {@link #trim(long)} until {@link Volume#removeData()} releases the volume.
+   *
+   * @param key the key of the volume
+   * @param stack the stack of the volume, or null
+   * @param progressBar the progress bar of the volume
+   * @return the volume, or null when there is no valid entry for the key
+   */
+  Volume<?, ?> get(String key, OriginalStack stack, JProgressBar progressBar) {
+    // Acquired before reading the entry, so that a concurrent trim cannot remove it meanwhile
+    acquire(key);
+    Volume<?, ?> volume = null;
+    try {
+      volume = open(key, stack, progressBar);
+      if (volume != null) {
+        volume.cacheRelease = () -> release(key);
+      }
+      return volume;
+    } finally {
+      if (volume == null) {
+        release(key);
+      }
+    }
+  }
+
+  private Volume<?, ?> open(String key, OriginalStack stack, JProgressBar progressBar) {
+    Path headerFile = getEntry(key, HEADER_EXTENSION);
+    Path dataFile = getEntry(key, DATA_EXTENSION);
+    Header header;
+    try {
+      header = readHeader(Files.readAllBytes(headerFile));
+    } catch (NoSuchFileException e) {
+      return null;
+    } catch (IOException | RuntimeException e) {
+      LOGGER.debug("Invalid MPR volume cache entry {}", key, e);
+      delete(key);
+      return null;
+    }
+    ChunkedMappedBuffer buffer;
+    try {
+      buffer = ChunkedMappedBuffer.open(dataFile.toFile(), header.dataBytes());
+    } catch (IOException e) {
+      LOGGER.debug("Cannot map the MPR volume cache entry {}", key, e);
+      delete(key);
+      return null;
+    }
+    touch(headerFile);
+    return switch (CvType.depth(header.cvType())) {
+      case CvType.CV_8U, CvType.CV_8S -> new VolumeByte(stack, progressBar, header, buffer);
+      case CvType.CV_16U, CvType.CV_16S -> new VolumeShort(stack, progressBar, header, buffer);
+      case CvType.CV_32S -> new VolumeInt(stack, progressBar, header, buffer);
+      case CvType.CV_32F -> new VolumeFloat(stack, progressBar, header, buffer);
+      case CvType.CV_64F -> new VolumeDouble(stack, progressBar, header, buffer);
+      default -> {
+        buffer.close();
+        yield null;
+      }
+    };
+  }
+
+  private void acquire(String key) {
+    synchronized (mapped) {
+      mapped.merge(key, 1, Integer::sum);
+    }
+  }
+
+  private void release(String key) {
+    synchronized (mapped) {
+      mapped.computeIfPresent(key, (_, count) -> count > 1 ? count - 1 : null);
+    }
+  }
+
+  /**
+   * Writes a volume in the cache, after removing the least recently used volumes to make room for
+   * it. A volume larger than the cache is not written.
+   *
+   * @param key the key of the volume
+   * @param volume the volume
+   */
+  void put(String key, Volume<?, ?> volume) {
+    Header header =
+        new Header(
+            volume.cvType,
+            new Vector3i(volume.size),
+            new Vector3d(volume.pixelRatio),
+            volume.getMinimumAsDouble(),
+            volume.getMaximumAsDouble(),
+            volume.isBasic,
+            volume.isTransformed,
+            new Vector3d(volume.volumeOrigin),
+            new Vector3d(volume.volumeAxisX),
+            new Vector3d(volume.volumeAxisY),
+            new Vector3d(volume.volumeAxisZ));
+    long bytes = header.dataBytes();
+    if (bytes > maxSize || (volume.data == null && volume.mappedBuffer == null)) {
+      return;
+    }
+    try {
+      trim(maxSize - bytes);
+      Path dataFile = getEntry(key, DATA_EXTENSION);
+      Files.createDirectories(dataFile.getParent());
+      Path tmp = Files.createTempFile(dataFile.getParent(), null, null);
+      try {
+        if (volume.data != null) {
+          writeData(volume.data, tmp);
+        } else {
+          volume.mappedBuffer.force();
+          Files.copy(
+              volume.mappedBuffer.getBackingFile().toPath(),
+              tmp,
+              StandardCopyOption.REPLACE_EXISTING);
+        }
+        Files.move(tmp, dataFile, StandardCopyOption.REPLACE_EXISTING);
+        Files.write(tmp, writeHeader(header));
+        Files.move(
+            tmp,
+            getEntry(key, HEADER_EXTENSION),
+            StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(tmp);
+      }
+    } catch (IOException | RuntimeException e) {
+      LOGGER.warn("Cannot write the volume in the MPR volume cache", e);
+      delete(key);
+    }
+  }
+
+  Path getEntry(String key, String extension) {
+    return directory.resolve(key.substring(0, 2)).resolve(key + extension);
+  }
+
+  private void delete(String key) {
+    FileUtil.delete(getEntry(key, HEADER_EXTENSION));
+    FileUtil.delete(getEntry(key, DATA_EXTENSION));
+  }
+
+  private static void touch(Path entry) {
+    try {
+      Files.setLastModifiedTime(entry, FileTime.from(Instant.now()));
+    } catch (IOException e) {
+      LOGGER.debug("Cannot update the access time of {}", entry, e);
+    }
+  }
+
+  /**
+   * Removes the least recently used volumes until the cache is below the given size, except the
+   * volumes in use. The voxel files without header (an interrupted writing) are removed.
+   *
+   * @param targetSize the maximum size of the remaining volumes
+   */
+  void trim(long targetSize) throws IOException {
+    record EntryFiles(String key, Path header, Path data, long size, long lastUsed) {}
+    Map<String, Path> headers = new HashMap<>();
+    Map<String, Path> data = new HashMap<>();
+    try (Stream<Path> stream = Files.walk(directory, 2)) {
+      stream
+          .filter(Files::isRegularFile)
+          .forEach(
+              p -> {
+                String name = p.getFileName().toString();
+                if (name.endsWith(HEADER_EXTENSION)) {
+                  headers.put(name.substring(0, name.length() - HEADER_EXTENSION.length()), p);
+                } else if (name.endsWith(DATA_EXTENSION)) {
+                  data.put(name.substring(0, name.length() - DATA_EXTENSION.length()), p);
+                }
+              });
+    } catch (NoSuchFileException e) {
+      return;
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    List<EntryFiles> entries = new ArrayList<>();
+    long total = 0;
+    for (Map.Entry<String, Path> e : data.entrySet()) {
+      Path header = headers.get(e.getKey());
+      if (header == null) {
+        FileUtil.delete(e.getValue());
+        continue;
+      }
+      long size = Files.size(e.getValue()) + Files.size(header);
+      long lastUsed = Files.getLastModifiedTime(header).toMillis();
+      entries.add(new EntryFiles(e.getKey(), header, e.getValue(), size, lastUsed));
+      total += size;
+    }
+    entries.sort(Comparator.comparingLong(EntryFiles::lastUsed));
+    for (EntryFiles e : entries) {
+      if (total <= targetSize) {
+        break;
+      }
+      synchronized (mapped) {
+        if (mapped.containsKey(e.key())) {
+          // A mapped file cannot be deleted on Windows
+          continue;
+        }
+        FileUtil.delete(e.header());
+        FileUtil.delete(e.data());
+      }
+      total -= e.size();
+    }
+  }
+
+  private static void writeData(ChunkedArray<?> data, Path file) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+      long remaining = data.size();
+      for (int i = 0; i < data.chunkCount() && remaining > 0; i++) {
+        Object chunk = data.getChunk(i);
+        int length = (int) Math.min(remaining, java.lang.reflect.Array.getLength(chunk));
+        int elementSize = elementSize(chunk);
+        int step = WRITE_BUFFER_SIZE / elementSize;
+        for (int offset = 0; offset < length; offset += step) {
+          int n = Math.min(step, length - offset);
+          buffer.clear();
+          // Big-endian, the byte order of the mapped buffers
+          switch (chunk) {
+            case byte[] a -> buffer.put(a, offset, n);
+            case short[] a -> buffer.asShortBuffer().put(a, offset, n);
+            case int[] a -> buffer.asIntBuffer().put(a, offset, n);
+            case float[] a -> buffer.asFloatBuffer().put(a, offset, n);
+            case double[] a -> buffer.asDoubleBuffer().put(a, offset, n);
+            default -> throw new IllegalStateException("Unexpected array type");
+          }
+          buffer.position(0).limit(n * elementSize);
+          while (buffer.hasRemaining()) {
+            channel.write(buffer);
+          }
+        }
+        remaining -= length;
+      }
+    }
+  }
+
+  private static int elementSize(Object chunk) {
+    return switch (chunk) {
+      case short[] _ -> Short.BYTES;
+      case int[] _, float[] _ -> Integer.BYTES;
+      case double[] _ -> Double.BYTES;
+      default -> Byte.BYTES;
+    };
+  }
+
+  static byte[] writeHeader(Header header) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeInt(MAGIC);
+      out.writeInt(header.cvType());
+      out.writeInt(header.size().x);
+      out.writeInt(header.size().y);
+      out.writeInt(header.size().z);
+      writeVector(out, header.pixelRatio());
+      out.writeDouble(header.min());
+      out.writeDouble(header.max());
+      out.writeBoolean(header.basic());
+      out.writeBoolean(header.transformed());
+      writeVector(out, header.origin());
+      writeVector(out, header.axisX());
+      writeVector(out, header.axisY());
+      writeVector(out, header.axisZ());
+    }
+    return bytes.toByteArray();
+  }
+
+  static Header readHeader(byte[] bytes) throws IOException {
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+      if (in.readInt() != MAGIC) {
+        throw new IOException("Not an MPR volume cache header");
+      }
+      int cvType = in.readInt();
+      Vector3i size = new Vector3i(in.readInt(), in.readInt(), in.readInt());
+      return new Header(
+          cvType,
+          size,
+          readVector(in),
+          in.readDouble(),
+          in.readDouble(),
+          in.readBoolean(),
+          in.readBoolean(),
+          readVector(in),
+          readVector(in),
+          readVector(in),
+          readVector(in));
+    }
+  }
+
+  private static void writeVector(DataOutputStream out, Vector3d v) throws IOException {
+    out.writeDouble(v.x);
+    out.writeDouble(v.y);
+    out.writeDouble(v.z);
+  }
+
+  private static Vector3d readVector(DataInputStream in) throws IOException {
+    return new Vector3d(in.readDouble(), in.readDouble(), in.readDouble());
+  }
+}
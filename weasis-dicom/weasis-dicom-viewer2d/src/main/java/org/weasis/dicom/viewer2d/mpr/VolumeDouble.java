@@ -16,6 +16,7 @@
 import org.joml.Vector3d;
 import org.opencv.core.CvType;
 import org.weasis.core.api.vol.ChunkedArray;
+import org.weasis.core.api.vol.ChunkedMappedBuffer;
 import org.weasis.opencv.data.PlanarImage;
 
 public final class VolumeDouble extends Volume<Double, double[]> {
@@ -28,6 +29,14 @@ public VolumeDouble(OriginalStack stack, JProgressBar progressBar, boolean isBas
     super(stack, progressBar, isBasic);
   }
 
+  VolumeDouble(
+      OriginalStack stack,
+      JProgressBar progressBar,
+      VolumeCache.Header header,
+      ChunkedMappedBuffer buffer) {
+    super(stack, progressBar, header, buffer);
+  }
+
   @Override
   protected Double initMinValue() {
     return -Double.MAX_VALUE;
@@ -92,6 +101,67 @@ protected int pixelArrayLength(double[] pixelData) {
     return pixelData.length;
   }
 
+  @Override
+  protected void resliceRow(
+      double[] raster,
+      int offset,
+      int count,
+      double x,
+      double y,
+      double z,
+      double dx,
+      double dy,
+      double dz) {
+    double[] voxels = data != null && data.isSingleChunk() ? data.singleChunk() : null;
+    long nextX = channels;
+    long nextY = (long) size.x * channels;
+    long nextZ = sliceStride * channels;
+    for (int i = 0, o = offset; i < count; i++, o += channels) {
+      double px = x + i * dx;
+      double py = y + i * dy;
+      double pz = z + i * dz;
+      if (!isInterpolable(px, py, pz)) {
+        continue;
+      }
+      int x0 = (int) px;
+      int y0 = (int) py;
+      int z0 = (int) pz;
+      double fx = px - x0;
+      double fy = py - y0;
+      double fz = pz - z0;
+      long base = linearIndex(x0, y0, z0);
+      for (int c = 0; c < channels; c++) {
+        long k = base + c;
+        double v =
+            trilinear(
+                voxel(voxels, k),
+                voxel(voxels, k + nextX),
+                voxel(voxels, k + nextY),
+                voxel(voxels, k + nextX + nextY),
+                voxel(voxels, k + nextZ),
+                voxel(voxels, k + nextX + nextZ),
+                voxel(voxels, k + nextY + nextZ),
+                voxel(voxels, k + nextX + nextY + nextZ),
+                fx,
+                fy,
+                fz);
+        raster[o + c] = v;
+      }
+    }
+  }
+
+  private double voxel(double[] voxels, long index) {
+    double value;
+    if (voxels != null) {
+      value = voxels[(int) index];
+    } else if (data != null) {
+      value = data.getChunk(data.chunkIndex(index))[data.chunkOffset(index)];
+    } else {
+      value = mappedBuffer.getDouble(index * byteDepth);
+    }
+    return value;
+  }
+
   @Override
   protected Double readPrimitive(DataInputStream dis) throws IOException {
     return dis.readDouble();
@@ -27,6 +27,8 @@
 import org.weasis.core.ui.model.graphic.Graphic;
 import org.weasis.core.ui.model.graphic.imp.line.PolylineGraphic;
 import org.weasis.dicom.codec.DicomImageElement;
+import org.weasis.dicom.viewer2d.EventManager;
+import org.weasis.dicom.viewer2d.mpr.MprController;
 import org.weasis.dicom.viewer2d.mpr.MprView;
 import org.weasis.dicom.viewer2d.mpr.MprView.Plane;
 import org.weasis.dicom.viewer2d.mpr.Volume;
@@ -89,6 +91,7 @@ public DebugCurveData(
   private PolylineGraphic sourcePolyline;
   private PropertyChangeListener polylineListener;
   private Timer refreshTimer;
+  private int decimation = 1;
 
   /**
    * Create a new CurvedMprAxis.
@@ -279,6 +282,7 @@ public void bindPolyline(MprView sourceView, PolylineGraphic polyline) {
         evt -> {
           String name = evt.getPropertyName();
           if ("bounds".equals(name) || "move".equals(name)) { // NON-NLS
+            previewFromPolyline();
             scheduleRefresh();
           } else if (Graphic.ACTION_REMOVE.equals(name)
               || "remove.repaint".equals(name)) { // NON-NLS
@@ -304,12 +308,43 @@ public void unbindPolyline() {
 
   private void scheduleRefresh() {
     if (refreshTimer == null) {
-      refreshTimer = new Timer(REFRESH_DEBOUNCE_MS, e -> recomputeFromPolyline());
+      refreshTimer =
+          new Timer(
+              REFRESH_DEBOUNCE_MS,
+              e -> {
+                decimation = 1;
+                recomputeFromPolyline();
+              });
       refreshTimer.setRepeats(false);
     }
     refreshTimer.restart();
   }
 
+  /**
+   * Regenerates a decimated panoramic image at each polyline edit of a large volume, for a live
+   * feedback while the points are dragged. The full resolution image replaces it when the edits
+   * stop (see {@link #scheduleRefresh()}).
+   */
+  private void previewFromPolyline() {
+    boolean progressive =
+        EventManager.getInstance()
+            .getOptions()
+            .getBooleanProperty(MprController.P_PROGRESSIVE_RENDERING, true);
+    int step = progressive ? MprController.getPreviewDecimation(volume.getSliceSize()) : 1;
+    if (step > 1) {
+      decimation = step;
+      recomputeFromPolyline();
+    }
+  }
+
+  /**
+   * Returns the sampling step of the panoramic image: 1 for the full resolution, greater while the
+   * polyline is being edited.
+   */
+  public int getDecimation() {
+    return decimation;
+  }
+
   /** Re-read the polyline's handle points and regenerate the panoramic image. */
   private void recomputeFromPolyline() {
     if (sourceView == null || sourcePolyline == null) {
@@ -115,14 +115,15 @@ private PlanarImage generatePanoramicImage() {
     double pixelMm = volume.getMinPixelRatio();
     Vector3d voxelRatio = volume.getVoxelRatio();
 
-    LOGGER.info("=== generatePanoramicImage CPR ===");
-    LOGGER.info(
+    // Called for every drag event while the polyline is edited: keep the diagnostics at DEBUG
+    LOGGER.debug("=== generatePanoramicImage CPR ===");
+    LOGGER.debug(
         "curvePoints: {}, stepMm: {}, widthMm: {}, pixelMm: {}",
         curvePoints.size(),
         stepMm,
         sliceSizeMm,
         pixelMm);
-    LOGGER.info(
+    LOGGER.debug(
         "volume size: {}x{}x{}, voxelRatio: ({},{},{})",
         volume.getSize().x,
         volume.getSize().y,
@@ -152,35 +153,41 @@ private PlanarImage generatePanoramicImage() {
               curvePoints, smoothedPoints, sampledPoints, perpDirs, pixelMm));
     }
 
-    LOGGER.info("Output: {}x{} px, height={}mm", widthPx, heightPx, sliceSizeMm);
+    LOGGER.debug("Output: {}x{} px, height={}mm", widthPx, heightPx, sliceSizeMm);
 
     int cvType = volume.getCvType();
-    ImageCV dst = new ImageCV(heightPx, widthPx, cvType);
+    // While the polyline is edited, only one pixel of each block of step * step is sampled
+    int step = axis.getDecimation();
+    int cols = (widthPx + step - 1) / step;
+    int rows = (heightPx + step - 1) / step;
+    ImageCV dst = new ImageCV(rows, cols, cvType);
     Vector3d normal = axis.getPlaneNormal();
 
     // Diagnostic logging
-    int midI = widthPx / 2;
-    Vector3d midPt = sampledPoints.get(midI);
-    Vector3d midPerp = perpDirs.get(midI);
-    LOGGER.info(
-        "Middle curve point[{}]: ({},{},{})",
-        midI,
-        String.format("%.1f", midPt.x),
-        String.format("%.1f", midPt.y),
-        String.format("%.1f", midPt.z));
-    LOGGER.info(
-        "Middle perp: ({},{},{})",
-        String.format("%.3f", midPerp.x),
-        String.format("%.3f", midPerp.y),
-        String.format("%.3f", midPerp.z));
+    if (LOGGER.isDebugEnabled()) {
+      int midI = widthPx / 2;
+      Vector3d midPt = sampledPoints.get(midI);
+      Vector3d midPerp = perpDirs.get(midI);
+      LOGGER.debug(
+          "Middle curve point[{}]: ({},{},{})",
+          midI,
+          String.format("%.1f", midPt.x),
+          String.format("%.1f", midPt.y),
+          String.format("%.1f", midPt.z));
+      LOGGER.debug(
+          "Middle perp: ({},{},{})",
+          String.format("%.3f", midPerp.x),
+          String.format("%.3f", midPerp.y),
+          String.format("%.3f", midPerp.z));
+    }
 
     // For each point along the curve (horizontal axis of panoramic)
-    for (int i = 0; i < widthPx; i++) {
-      Vector3d curvePoint = sampledPoints.get(i);
+    for (int i = 0; i < cols; i++) {
+      Vector3d curvePoint = sampledPoints.get(i * step);
 
       // For each pixel in the vertical direction (along the plane normal)
-      for (int j = 0; j < heightPx; j++) {
-        double offset = j - heightPx / 2.0;
+      for (int j = 0; j < rows; j++) {
+        double offset = j * step - heightPx / 2.0;
         double sampleX = (curvePoint.x + normal.x * offset) / voxelRatio.x;
         double sampleY = (curvePoint.y + normal.y * offset) / voxelRatio.y;
         double sampleZ = (curvePoint.z + normal.z * offset) / voxelRatio.z;
@@ -192,7 +199,12 @@ private PlanarImage generatePanoramicImage() {
       }
     }
 
-    LOGGER.info("Generated CPR panoramic image");
+    if (step > 1) {
+      ImageCV image = Volume.replicatePixels(dst, step, widthPx, heightPx);
+      dst.release();
+      dst = image;
+    }
+    LOGGER.debug("Generated CPR panoramic image");
 
     setDicomTags(widthPx, heightPx);
     return dst;
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.viewer2d.mip;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.opencv.core.Core;
+import org.opencv.core.CvType;
+import org.opencv.core.Mat;
+import org.weasis.core.api.image.op.ImageStackOperations;
+import org.weasis.core.ui.test.utils.OpenCVExtension;
+import org.weasis.dicom.viewer2d.mip.MipView.Type;
+import org.weasis.opencv.data.ImageCV;
+import org.weasis.opencv.data.PlanarImage;
+
+/**
+ * Tests {@link SlidingSlabProjection}: every slab must be equal to the projection of its slices
+ * computed independently by {@link ImageStackOperations}, and every slice read must be released.
+ *
+ * <p>These require the OpenCV native library; when it cannot be located the class is skipped.
+ */
+@ExtendWith(OpenCVExtension.class)
+class SlidingSlabProjectionTest {
+
+  private static final int SIZE = 11;
+  private static final int SIDE = 8;
+
+  /** A slice counting its releases. */
+  private static final class Slice extends ImageCV {
+    int released;
+
+    Slice(int index) {
+      super(SIDE, SIDE, CvType.CV_8UC1);
+      byte[] data = new byte[SIDE * SIDE];
+      for (int i = 0; i < data.length; i++) {
+        data[i] = (byte) ((index * 37 + i * 13) % 200);
+      }
+      put(0, 0, data);
+    }
+
+    @Override
+    public void release() {
+      released++;
+      super.release();
+    }
+  }
+
+  private static PlanarImage expected(Type type, int start, int stop) {
+    List<PlanarImage> sources = new ArrayList<>();
+    for (int i = start; i <= stop; i++) {
+      sources.add(new Slice(i));
+    }
+    PlanarImage result =
+        switch (type) {
+          case MIN -> ImageStackOperations.min(sources);
+          case MAX -> ImageStackOperations.max(sources);
+          default -> ImageStackOperations.mean(sources);
+        };
+    sources.forEach(PlanarImage::release);
+    return result;
+  }
+
+  private static void assertProjection(Type type, int extend, int from, int to) {
+    List<Slice> read = new ArrayList<>();
+    SlidingSlabProjection projection =
+        new SlidingSlabProjection(
+            type,
+            i -> {
+              Slice slice = new Slice(i);
+              read.add(slice);
+              return slice;
+            },
+            SIZE,
+            extend,
+            new Slice(0));
+    List<Integer> indexes = new ArrayList<>();
+
+    projection.project(
+        from,
+        to,
+        (index, start, stop, image) -> {
+          String slab = type + " extend " + extend + " slab " + index;
+          assertEquals(projection.start(index), start, slab);
+          assertEquals(projection.stop(index), stop, slab);
+          PlanarImage expected = expected(type, start, stop);
+          Mat diff = new Mat();
+          Core.absdiff(image.toMat(), expected.toMat(), diff);
+          // The mean is accumulated in double here and in float by ImageStackOperations
+          assertTrue(Core.minMaxLoc(diff).maxVal <= 1.0, slab);
+          diff.release();
+          expected.release();
+          image.release();
+          indexes.add(index);
+          return true;
+        });
+
+    assertEquals(to - from + 1, indexes.size());
+    for (int i = 0; i < indexes.size(); i++) {
+      assertEquals(from + i, indexes.get(i));
+    }
+    for (Slice slice : read) {
+      assertEquals(1, slice.released, type + " extend " + extend + ": slice released once");
+    }
+  }
+
+  @Test
+  void slabsMatchTheProjectionOfTheirSlices() {
+    for (Type type : List.of(Type.MIN, Type.MEAN, Type.MAX)) {
+      for (int extend = 1; extend <= 4; extend++) {
+        assertProjection(type, extend, 0, SIZE - 1);
+        assertProjection(type, extend, 3, 7);
+      }
+    }
+  }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.viewer2d.mpr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests {@link VolumeCache}: a volume read from the cache must have the voxels, the value range and
+ * the geometry of the volume written, and the least recently used volumes must be removed first
+ * when the cache is full.
+ */
+class VolumeCacheTest {
+
+  private static final String KEY = "0a1b2c3d";
+  private static final String OTHER_KEY = "4e5f6071";
+
+  @TempDir Path tempDir;
+
+  private static <T extends Number, A> void fill(Volume<T, A> volume, double min, double max) {
+    Random random = new Random(3);
+    for (int z = 0; z < volume.getSizeZ(); z++) {
+      for (int y = 0; y < volume.getSizeY(); y++) {
+        for (int x = 0; x < volume.getSizeX(); x++) {
+          for (int c = 0; c < volume.channels; c++) {
+            T value = volume.convertToGeneric(min + random.nextDouble() * (max - min));
+            volume.setChannelValue(x, y, z, c, value);
+          }
+        }
+      }
+    }
+    volume.minValue = volume.convertToGeneric(min);
+    volume.maxValue = volume.convertToGeneric(max);
+    volume.pixelRatio.set(0.5, 0.5, 2.0);
+    volume.volumeOrigin.set(-120.0, -80.5, 35.0);
+    volume.volumeAxisZ.set(0, 0, -1);
+    volume.isTransformed = true;
+  }
+
+  private static void assertSameVolume(Volume<?, ?> expected, Volume<?, ?> actual) {
+    assertInstanceOf(expected.getClass(), actual);
+    assertEquals(expected.getSize(), actual.getSize());
+    assertEquals(expected.getCvType(), actual.getCvType());
+    assertEquals(expected.getPixelRatio(), actual.getPixelRatio());
+    assertEquals(expected.getMinimumAsDouble(), actual.getMinimumAsDouble());
+    assertEquals(expected.getMaximumAsDouble(), actual.getMaximumAsDouble());
+    assertEquals(expected.getVolumeOrigin(), actual.getVolumeOrigin());
+    assertEquals(expected.volumeAxisZ, actual.volumeAxisZ);
+    assertEquals(expected.isTransformed(), actual.isTransformed());
+    assertEquals(expected.isBasic(), actual.isBasic());
+    for (int z = 0; z < expected.getSizeZ(); z++) {
+      for (int y = 0; y < expected.getSizeY(); y++) {
+        for (int x = 0; x < expected.getSizeX(); x++) {
+          for (int c = 0; c < expected.channels; c++) {
+            assertEquals(expected.getValue(x, y, z, c), actual.getValue(x, y, z, c));
+          }
+        }
+      }
+    }
+  }
+
+  private VolumeCache newCache(long maxSize) {
+    return new VolumeCache(tempDir.resolve("cache"), maxSize);
+  }
+
+  private static void assertCachedVolume(VolumeCache cache, Volume<?, ?> volume) {
+    cache.put(KEY, volume);
+    Volume<?, ?> cached = cache.get(KEY, null, null);
+    try {
+      assertSameVolume(volume, cached);
+    } finally {
+      cached.removeData();
+    }
+  }
+
+  @Test
+  void readsTheVolumesWritten() {
+    VolumeCache cache = newCache(1024 * 1024);
+    assertNull(cache.get(KEY, null, null));
+
+    VolumeShort unsigned = new VolumeShort(12, 10, 8, false, 1, null);
+    fill(unsigned, 0, 65535);
+    assertCachedVolume(cache, unsigned);
+
+    VolumeByte rgb = new VolumeByte(12, 10, 8, false, 3, null);
+    fill(rgb, 0, 255);
+    assertCachedVolume(cache, rgb);
+
+    VolumeFloat pet = new VolumeFloat(12, 10, 8, 1, null);
+    fill(pet, -5.0, 50.0);
+    assertCachedVolume(cache, pet);
+  }
+
+  @Test
+  void keepsTheCachedFileWhenTheVolumeIsReleased() {
+    VolumeCache cache = newCache(1024 * 1024);
+    VolumeInt volume = new VolumeInt(12, 10, 8, 1, null);
+    fill(volume, -100000, 100000);
+    cache.put(KEY, volume);
+
+    cache.get(KEY, null, null).removeData();
+
+    assertTrue(Files.exists(cache.getEntry(KEY, ".vol")));
+    assertSameVolume(volume, cache.get(KEY, null, null));
+  }
+
+  @Test
+  void trimRemovesTheLeastRecentlyUsedVolumes() throws IOException {
+    VolumeCache cache = newCache(1024 * 1024);
+    VolumeShort volume = new VolumeShort(12, 10, 8, true, 1, null);
+    fill(volume, -1024, 3000);
+    cache.put(KEY, volume);
+    cache.put(OTHER_KEY, volume);
+    Files.setLastModifiedTime(
+        cache.getEntry(KEY, ".hdr"), FileTime.from(Instant.now().minusSeconds(3600)));
+    long entrySize =
+        Files.size(cache.getEntry(KEY, ".vol")) + Files.size(cache.getEntry(KEY, ".hdr"));
+
+    cache.trim(entrySize);
+
+    assertFalse(Files.exists(cache.getEntry(KEY, ".vol")));
+    assertNull(cache.get(KEY, null, null));
+    assertSameVolume(volume, cache.get(OTHER_KEY, null, null));
+  }
+
+  @Test
+  void trimKeepsTheVolumesInUseUntilTheyAreReleased() throws IOException {
+    VolumeCache cache = newCache(1024 * 1024);
+    VolumeShort volume = new VolumeShort(12, 10, 8, true, 1, null);
+    fill(volume, -1024, 3000);
+    cache.put(KEY, volume);
+    cache.put(OTHER_KEY, volume);
+    Volume<?, ?> inUse = cache.get(KEY, null, null);
+    Files.setLastModifiedTime(
+        cache.getEntry(KEY, ".hdr"), FileTime.from(Instant.now().minusSeconds(3600)));
+    long entrySize =
+        Files.size(cache.getEntry(KEY, ".vol")) + Files.size(cache.getEntry(KEY, ".hdr"));
+
+    cache.trim(entrySize);
+
+    // The least recently used volume is mapped: the other one is removed instead
+    assertTrue(Files.exists(cache.getEntry(KEY, ".vol")));
+    assertFalse(Files.exists(cache.getEntry(OTHER_KEY, ".vol")));
+    assertSameVolume(volume, inUse);
+
+    inUse.removeData();
+    cache.trim(0);
+    assertFalse(Files.exists(cache.getEntry(KEY, ".vol")));
+  }
+
+  @Test
+  void ignoresAVolumeLargerThanTheCache() {
+    VolumeDouble volume = new VolumeDouble(12, 10, 8, 1, null);
+    fill(volume, -5.0, 50.0);
+    VolumeCache cache = newCache(12 * 10 * 8 * Double.BYTES - 1);
+
+    cache.put(KEY, volume);
+
+    assertNull(cache.get(KEY, null, null));
+  }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.viewer2d.mpr;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Array;
+import java.util.Random;
+import org.joml.Matrix4d;
+import org.joml.Vector3d;
+import org.junit.jupiter.api.Test;
+import org.weasis.core.api.vol.ChunkedArray;
+import org.weasis.dicom.viewer2d.mip.MipView.Type;
+
+/**
+ * Tests the primitive reslicing kernels of the volume types: an oblique plane must have, at every
+ * pixel, the value returned by {@link Volume#getInterpolatedValueFromSource} at the same position,
+ * and the pixels outside the volume must be left unchanged. A thick slab must be the reduction of
+ * the planes resliced one by one.
+ */
+class VolumeResliceTest {
+
+  private static final int WIDTH = 24;
+
+  private static <T extends Number, A> void fill(Volume<T, A> volume, double min, double max) {
+    Random random = new Random(7);
+    for (int z = 0; z < volume.getSizeZ(); z++) {
+      for (int y = 0; y < volume.getSizeY(); y++) {
+        for (int x = 0; x < volume.getSizeX(); x++) {
+          for (int c = 0; c < volume.channels; c++) {
+            T value = volume.convertToGeneric(min + random.nextDouble() * (max - min));
+            volume.setChannelValue(x, y, z, c, value);
+          }
+        }
+      }
+    }
+  }
+
+  private static <T extends Number, A> void assertResliceMatchesInterpolation(
+      Volume<T, A> volume, double min, double max) {
+    fill(volume, min, max);
+    Vector3d voxelRatio = new Vector3d(1.0, 1.0, 2.0);
+    Matrix4d transform =
+        new Matrix4d()
+            .translate(6, 5, 8)
+            .rotateXYZ(0.3, -0.5, 0.7)
+            .translate(-WIDTH / 2.0, -WIDTH / 2.0, 0);
+    int channels = volume.channels;
+    ChunkedArray<A> raster = volume.createChunkedArray((long) WIDTH * WIDTH * channels);
+
+    volume.reslice(raster, WIDTH, WIDTH, transform, voxelRatio);
+
+    A pixels = raster.singleChunk();
+    Vector3d step = transform.transformDirection(new Vector3d(1, 0, 0)).div(voxelRatio);
+    Vector3d start = new Vector3d();
+    int inside = 0;
+    for (int y = 0; y < WIDTH; y++) {
+      transform.transformPosition(start.set(0, y, 0)).div(voxelRatio);
+      for (int x = 0; x < WIDTH; x++) {
+        for (int c = 0; c < channels; c++) {
+          T expected =
+              volume.getInterpolatedValueFromSource(
+                  start.x + x * step.x, start.y + x * step.y, start.z + x * step.z, c);
+          Object actual = Array.get(pixels, (y * WIDTH + x) * channels + c);
+          if (expected == null) {
+            assertEquals(0.0, ((Number) actual).doubleValue(), "Pixel " + x + "," + y);
+          } else {
+            assertEquals(expected, actual, "Pixel " + x + "," + y);
+            inside++;
+          }
+        }
+      }
+    }
+    assertTrue(inside > 0 && inside < WIDTH * WIDTH * channels, "Inside samples: " + inside);
+  }
+
+  @Test
+  void reslicesUnsignedShortVolume() {
+    assertResliceMatchesInterpolation(new VolumeShort(12, 10, 8, false, 1, null), 0, 65535);
+  }
+
+  @Test
+  void reslicesSignedShortVolume() {
+    assertResliceMatchesInterpolation(new VolumeShort(12, 10, 8, true, 1, null), -1024, 3000);
+  }
+
+  @Test
+  void reslicesMultiChannelByteVolume() {
+    assertResliceMatchesInterpolation(new VolumeByte(12, 10, 8, false, 3, null), 0, 255);
+  }
+
+  @Test
+  void reslicesIntVolume() {
+    assertResliceMatchesInterpolation(new VolumeInt(12, 10, 8, 1, null), -100000, 100000);
+  }
+
+  @Test
+  void reslicesFloatVolume() {
+    assertResliceMatchesInterpolation(new VolumeFloat(12, 10, 8, 1, null), -5.0, 50.0);
+  }
+
+  @Test
+  void reslicesDoubleVolume() {
+    assertResliceMatchesInterpolation(new VolumeDouble(12, 10, 8, 1, null), -5.0, 50.0);
+  }
+
+  /** Reslices the planes of the slab one by one, as the thick slab was built before. */
+  private static double[] reduceSlabPlanes(
+      Volume<?, ?> volume, Matrix4d transform, int samples, Type mipType) {
+    double[] result = null;
+    for (int k = -samples; k <= samples; k++) {
+      double[] plane = reslicePlane(volume, new Matrix4d(transform).translateLocal(0, 0, k));
+      if (result == null) {
+        result = plane;
+        continue;
+      }
+      for (int i = 0; i < result.length; i++) {
+        result[i] =
+            switch (mipType) {
+              case MIN -> Math.min(result[i], plane[i]);
+              case MAX -> Math.max(result[i], plane[i]);
+              default -> result[i] + plane[i];
+            };
+      }
+    }
+    if (mipType == Type.MEAN) {
+      for (int i = 0; i < result.length; i++) {
+        result[i] /= 2 * samples + 1;
+      }
+    }
+    return result;
+  }
+
+  private static <A> double[] reslicePlane(Volume<?, A> volume, Matrix4d transform) {
+    ChunkedArray<A> raster = volume.createChunkedArray((long) WIDTH * WIDTH);
+    raster.fill(volume.getPhotometricMinValue());
+    volume.reslice(raster, WIDTH, WIDTH, transform, new Vector3d(1, 1, 1));
+    return toDouble(volume, raster.singleChunk());
+  }
+
+  private static double[] toDouble(Volume<?, ?> volume, Object pixels) {
+    double[] values = new double[Array.getLength(pixels)];
+    for (int i = 0; i < values.length; i++) {
+      Number value = (Number) Array.get(pixels, i);
+      values[i] =
+          switch (value) {
+            case Short v when !volume.isSigned -> Short.toUnsignedInt(v);
+            default -> value.doubleValue();
+          };
+    }
+    return values;
+  }
+
+  private static <T extends Number, A> void assertSlabMatchesPlanes(
+      Volume<T, A> volume, double min, double max, Type mipType, double delta) {
+    fill(volume, min, max);
+    int samples = 3;
+    // A rotation around z keeps the slab samples on the same positions as the single planes
+    Matrix4d transform =
+        new Matrix4d().translate(6.25, 5.5, 3.75).rotateZ(0.6).translate(-WIDTH / 2.0, -8, 0);
+    ChunkedArray<A> raster = volume.createChunkedArray((long) WIDTH * WIDTH);
+
+    volume.resliceSlab(
+        raster,
+        WIDTH,
+        WIDTH,
+        transform,
+        new Vector3d(1, 1, 1),
+        new Vector3d(0, 0, 1),
+        samples,
+        mipType);
+
+    double[] expected = reduceSlabPlanes(volume, transform, samples, mipType);
+    if (mipType == Type.MEAN && volume instanceof VolumeShort) {
+      for (int i = 0; i < expected.length; i++) {
+        expected[i] = Math.rint(expected[i]);
+      }
+    }
+    assertArrayEquals(expected, toDouble(volume, raster.singleChunk()), delta);
+  }
+
+  @Test
+  void reducesMaximumIntensitySlab() {
+    VolumeShort volume = new VolumeShort(12, 10, 8, false, 1, null);
+    assertSlabMatchesPlanes(volume, 0, 65535, Type.MAX, 0.0);
+  }
+
+  @Test
+  void reducesMinimumIntensitySlab() {
+    VolumeShort volume = new VolumeShort(12, 10, 8, true, 1, null);
+    assertSlabMatchesPlanes(volume, -1024, 3000, Type.MIN, 0.0);
+  }
+
+  @Test
+  void reducesMeanIntensitySlab() {
+    assertSlabMatchesPlanes(new VolumeShort(12, 10, 8, false, 1, null), 0, 4095, Type.MEAN, 0.0);
+    assertSlabMatchesPlanes(new VolumeFloat(12, 10, 8, 1, null), -5.0, 50.0, Type.MEAN, 1e-4);
+  }
+}
@@ -15,15 +15,20 @@
 import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.GraphicsDevice;
 import java.awt.Paint;
+import java.awt.Rectangle;
 import java.awt.Stroke;
 import java.awt.Toolkit;
 import java.awt.event.InputEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.awt.geom.AffineTransform;
 import java.awt.geom.Line2D;
 import java.awt.geom.Path2D;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.print.PrinterGraphics;
 import java.util.ArrayList;
 import java.util.List;
 import javax.swing.JPanel;
@@ -33,6 +38,19 @@
 import org.weasis.dicom.wave.SignalMarker.Measure;
 
 public class LeadPanel extends JPanel {
+  private static final BasicStroke THIN_STROKE = new BasicStroke(0.25f);
+  private static final BasicStroke THICK_STROKE = new BasicStroke(0.5f);
+  private static final BasicStroke BORDER_STROKE = new BasicStroke(1.4f);
+  private static final BasicStroke MARKER_STROKE = new BasicStroke(0.9f);
+  private static final BasicStroke WAVE_STROKE =
+      new BasicStroke(1.2f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+
+  /** Pixels repainted on each side of a marker line. */
+  private static final int MARKER_MARGIN = 2;
+
+  private record GridKey(int width, int height, double pixelPerMm, double scaleX, double scaleY) {}
+
+  private record WaveKey(int width, int height, int sampleOffset, int sampleNumber) {}
 
   private final WaveView view;
   private final ChannelDefinition channels;
@@ -50,6 +68,11 @@ public class LeadPanel extends JPanel {
   private final Measure measureType;
   private final Font fontTitle = new Font("SanSerif", Font.BOLD, 11);
 
+  private BufferedImage gridImage;
+  private GridKey gridKey;
+  private Path2D wavePath;
+  private WaveKey waveKey;
+
   public LeadPanel(WaveView view, WaveDataReadable data, ChannelDefinition channels) {
     this.view = view;
     this.data = data;
@@ -109,6 +132,7 @@ public void mouseDragged(MouseEvent e) {
           @Override
           public void mouseMoved(MouseEvent e) {
             if (selectedPosition >= 0) {
+              Rectangle damaged = getMarkerBounds();
               if ((e.getModifiersEx() & InputEvent.BUTTON1_DOWN_MASK)
                   == InputEvent.BUTTON1_DOWN_MASK) {
                 setSignalMarker(selectedPosition, SignalMarker.Type.START);
@@ -117,7 +141,7 @@ public void mouseMoved(MouseEvent e) {
                   == InputEvent.BUTTON3_DOWN_MASK) {
                 setSignalMarker(selectedPosition, SignalMarker.Type.STOP);
               }
-              repaint();
+              repaintMarkers(damaged);
             }
           }
 
@@ -127,6 +151,7 @@ public void mouseClicked(MouseEvent e) {
               return;
             }
 
+            Rectangle damaged = getMarkerBounds();
             if (e.getButton() == MouseEvent.BUTTON1) {
               if (e.isControlDown()) {
                 setSignalMarker(selectedPosition, SignalMarker.Type.STOP);
@@ -140,7 +165,7 @@ public void mouseClicked(MouseEvent e) {
             } else if (e.getButton() == MouseEvent.BUTTON2) {
               removeAllMarkers();
             }
-            repaint();
+            repaintMarkers(damaged);
           }
         };
 
@@ -159,8 +184,9 @@ public void mouseEntered(MouseEvent e) {
           @Override
           public void mouseExited(MouseEvent e) {
             setCursor(DefaultView2d.DEFAULT_CURSOR);
+            Rectangle damaged = getMarkerBounds();
             setSelectedPosition(Integer.MIN_VALUE);
-            repaint();
+            repaintMarkers(damaged);
           }
 
           @Override
@@ -172,8 +198,9 @@ public void mouseDragged(MouseEvent e) {
           public void mouseMoved(MouseEvent e) {
             double sampleWidth = getPreferredSize().getWidth() / sampleNumber;
             double sample = e.getPoint().getX() / sampleWidth;
+            Rectangle damaged = getMarkerBounds();
             setSelectedPosition((int) Math.round(sample));
-            repaint();
+            repaintMarkers(damaged);
           }
         };
 
@@ -184,6 +211,43 @@ public void mouseMoved(MouseEvent e) {
     this.addMouseMotionListener(basicMouseListener);
   }
 
+  /**
+   * Returns the area covered by the cursor, the markers and the selected background, or null if
+   * there is none.
+   */
+  private Rectangle getMarkerBounds() {
+    double ratio = getPreferredSize().getWidth() / sampleNumber;
+    int min = Integer.MAX_VALUE;
+    int max = Integer.MIN_VALUE;
+    List<Integer> positions = new ArrayList<>(markers.size() + 1);
+    positions.add(selectedPosition);
+    markers.forEach(m -> positions.add(m.getPosition()));
+    for (int position : positions) {
+      if (position - sampleOffset >= 0) {
+        int x = (int) (ratio * (position - sampleOffset));
+        min = Math.min(min, x);
+        max = Math.max(max, x);
+      }
+    }
+    if (min > max) {
+      return null;
+    }
+    return new Rectangle(min - MARKER_MARGIN, 0, max - min + 2 * MARKER_MARGIN + 1, getHeight());
+  }
+
+  /** Repaints only the areas of the markers before and after a change. */
+  private void repaintMarkers(Rectangle before) {
+    Rectangle after = getMarkerBounds();
+    if (before == null) {
+      before = after;
+    } else if (after != null) {
+      before = before.union(after);
+    }
+    if (before != null) {
+      repaint(before);
+    }
+  }
+
   public void removeAllMarkers() {
     markers.clear();
     markerAnnotation.setStartValues(null, null);
@@ -309,70 +373,158 @@ public void paintComponent(Graphics g) {
     Paint oldColor = g2d.getPaint();
     Stroke oldStroke = g2d.getStroke();
 
-    // Rectangle originalBounds = g2.getClipBounds();
     Object[] oldRenderingHints = GuiUtils.setRenderingHints(g, true, true, true);
-    // g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
 
     g2d.setBackground(this.getBackground());
     g2d.clearRect(0, 0, getWidth(), getHeight());
 
     Dimension dim = getPreferredSize();
     this.ratioX = dim.getWidth() / this.sampleNumber;
-    // g2.setClip(this.getVisibleRect());
+    // The cached raster and the decimation are adapted to the screen, not to a printer
+    boolean printing = isPrinting(g2d);
 
     drawSelectedBackground(g2d);
-    drawGrid(g2d);
-    drawWaveData(g2d, dim);
+    if (printing) {
+      drawGrid(g2d, dim);
+    } else {
+      g2d.drawImage(getGridImage(g2d, dim), 0, 0, dim.width, dim.height, null);
+    }
+    drawWaveData(g2d, dim, printing);
     drawLeadTitle(g2d);
     drawSignalMarkers(g2d, dim);
 
     GuiUtils.resetRenderingHints(g, oldRenderingHints);
-    // g2.setClip(originalBounds);
     g2d.setPaint(oldColor);
     g2d.setStroke(oldStroke);
   }
 
-  private void drawGrid(Graphics2D g2) {
-    BasicStroke thinStroke = new BasicStroke(0.25f);
-    BasicStroke thickStroke = new BasicStroke(0.5f);
-    g2.setColor(new Color(227, 69, 56, 175));
+  private static boolean isPrinting(Graphics2D g2) {
+    return g2 instanceof PrinterGraphics
+        || g2.getDeviceConfiguration().getDevice().getType() == GraphicsDevice.TYPE_PRINTER;
+  }
 
-    double pixelPerMm =
-        Toolkit.getDefaultToolkit().getScreenResolution() / 25.4 * view.getZoomRatio();
+  private double getPixelPerMm() {
+    return Toolkit.getDefaultToolkit().getScreenResolution() / 25.4 * view.getZoomRatio();
+  }
 
-    Dimension dim = getPreferredSize();
+  /**
+   * Returns the grid rendered in a raster, built again only when the size, the zoom or the scale
+   * of the screen (HiDPI) changes.
+   */
+  private BufferedImage getGridImage(Graphics2D g2, Dimension dim) {
+    AffineTransform transform = g2.getTransform();
+    double scaleX = transform.getScaleX();
+    double scaleY = transform.getScaleY();
+    GridKey key = new GridKey(dim.width, dim.height, getPixelPerMm(), scaleX, scaleY);
+    if (gridImage == null || !key.equals(gridKey)) {
+      int width = Math.max(1, (int) Math.ceil(dim.width * key.scaleX()));
+      int height = Math.max(1, (int) Math.ceil(dim.height * key.scaleY()));
+      BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+      Graphics2D g = image.createGraphics();
+      try {
+        GuiUtils.setRenderingHints(g, true, true, true);
+        g.scale(key.scaleX(), key.scaleY());
+        drawGrid(g, dim);
+      } finally {
+        g.dispose();
+      }
+      gridImage = image;
+      gridKey = key;
+    }
+    return gridImage;
+  }
+
+  private void drawGrid(Graphics2D g2, Dimension dim) {
+    g2.setColor(new Color(227, 69, 56, 175));
+    double pixelPerMm = getPixelPerMm();
+
+    Path2D thinLines = new Path2D.Double();
+    Path2D thickLines = new Path2D.Double();
     for (int i = 0; i < dim.height / pixelPerMm; i++) {
-      g2.setStroke(i % 5 == 0 ? thickStroke : thinStroke);
-      g2.draw(new Line2D.Double(0, i * pixelPerMm, dim.getWidth(), i * pixelPerMm));
+      Path2D lines = i % 5 == 0 ? thickLines : thinLines;
+      lines.moveTo(0, i * pixelPerMm);
+      lines.lineTo(dim.getWidth(), i * pixelPerMm);
     }
 
     for (int i = 0; i < dim.width / pixelPerMm; i++) {
-      g2.setStroke(i % 5 == 0 ? thickStroke : thinStroke);
-      g2.draw(new Line2D.Double(i * pixelPerMm, 0, i * pixelPerMm, dim.getHeight()));
+      Path2D lines = i % 5 == 0 ? thickLines : thinLines;
+      lines.moveTo(i * pixelPerMm, 0);
+      lines.lineTo(i * pixelPerMm, dim.getHeight());
     }
 
-    g2.setStroke(new BasicStroke(1.4f));
+    g2.setStroke(THIN_STROKE);
+    g2.draw(thinLines);
+    g2.setStroke(THICK_STROKE);
+    g2.draw(thickLines);
+
+    g2.setStroke(BORDER_STROKE);
     g2.draw(new Rectangle2D.Double(0.7, 0.0, dim.width - 1.7, dim.height - 1.0));
   }
 
-  private void drawWaveData(Graphics2D g2, Dimension dim) {
+  private void drawWaveData(Graphics2D g2, Dimension dim, boolean printing) {
+    g2.setColor(Color.BLACK);
+    g2.setStroke(WAVE_STROKE);
+    if (printing) {
+      g2.draw(buildWavePath(dim, false));
+    } else {
+      WaveKey key = new WaveKey(dim.width, dim.height, sampleOffset, sampleNumber);
+      if (wavePath == null || !key.equals(waveKey)) {
+        wavePath = buildWavePath(dim, true);
+        waveKey = key;
+      }
+      g2.draw(wavePath);
+    }
+  }
+
+  /**
+   * Builds the path of the samples displayed. With more than two samples per pixel column and
+   * {@code decimate}, each column is reduced to its first, minimum, maximum and last samples: the
+   * drawing is the same, but the path has at most four points per column.
+   */
+  private Path2D buildWavePath(Dimension dim, boolean decimate) {
     double cellHeight = dim.getHeight() / this.mvCellCount;
     double halfHeight = dim.height / 2.0; // baseline
+    int nbSamples = Math.min(sampleNumber, data.getNbSamplesPerChannel() - sampleOffset);
+    double ratio = dim.getWidth() / sampleNumber;
 
-    g2.setColor(Color.BLACK);
-    Stroke stroke = new BasicStroke(1.2f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
-    g2.setStroke(stroke);
-
-    Path2D path = new Path2D.Double(Path2D.WIND_NON_ZERO, sampleNumber);
-    double x = 0.0;
-    double y = halfHeight - (data.getSample(sampleOffset, channels) / 1000 * cellHeight);
-    path.moveTo(x, y);
-    for (int i = 1; i < this.sampleNumber; i++) {
-      x = ratioX * i;
-      y = halfHeight - (data.getSample(sampleOffset + i, channels) / 1000 * cellHeight);
-      path.lineTo(x, y);
+    if (nbSamples <= 0) {
+      return new Path2D.Double();
+    }
+    if (!decimate || ratio * 2.0 >= 1.0) {
+      Path2D path = new Path2D.Double(Path2D.WIND_NON_ZERO, nbSamples);
+      path.moveTo(0.0, halfHeight - data.getSample(sampleOffset, channels) / 1000 * cellHeight);
+      for (int i = 1; i < nbSamples; i++) {
+        double y = halfHeight - data.getSample(sampleOffset + i, channels) / 1000 * cellHeight;
+        path.lineTo(ratio * i, y);
+      }
+      return path;
+    }
+
+    Path2D path = new Path2D.Double(Path2D.WIND_NON_ZERO, 4 * (dim.width + 1));
+    int i = 0;
+    while (i < nbSamples) {
+      int column = (int) (ratio * i);
+      double first = data.getSample(sampleOffset + i, channels);
+      double min = first;
+      double max = first;
+      double last = first;
+      for (i++; i < nbSamples && (int) (ratio * i) == column; i++) {
+        last = data.getSample(sampleOffset + i, channels);
+        min = Math.min(min, last);
+        max = Math.max(max, last);
+      }
+      double x = column;
+      double yFirst = halfHeight - first / 1000 * cellHeight;
+      if (path.getCurrentPoint() == null) {
+        path.moveTo(x, yFirst);
+      } else {
+        path.lineTo(x, yFirst);
+      }
+      path.lineTo(x, halfHeight - min / 1000 * cellHeight);
+      path.lineTo(x, halfHeight - max / 1000 * cellHeight);
+      path.lineTo(x, halfHeight - last / 1000 * cellHeight);
     }
-    g2.draw(path);
+    return path;
   }
 
   private void drawSelectedBackground(Graphics2D g2) {
@@ -400,7 +552,7 @@ private void drawSelectedBackground(Graphics2D g2) {
   private void drawSignalMarkers(Graphics2D g2, Dimension dim) {
     Color color = IconColor.ACTIONS_YELLOW.getColor().darker();
     g2.setColor(color);
-    g2.setStroke(new BasicStroke(0.9f));
+    g2.setStroke(MARKER_STROKE);
     drawMarker(g2, selectedPosition - sampleOffset, dim);
     for (SignalMarker marker : markers) {
       drawMarker(g2, marker.getPosition() - sampleOffset, dim);
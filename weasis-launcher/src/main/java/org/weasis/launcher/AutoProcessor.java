@@ -9,6 +9,10 @@
  */
 package org.weasis.launcher;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.URL;
 import java.util.HashMap;
@@ -17,6 +21,11 @@
 import java.util.Properties;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.jar.JarInputStream;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.Constants;
@@ -41,6 +50,12 @@ public class AutoProcessor {
 
   public static final String XZ_COMPRESSION = ".xz";
 
+  /**
+   * Number of bundles downloaded and decompressed at the same time. 1 downloads them one at a time.
+   * They are always installed one at a time, in the order of the list.
+   */
+  public static final String P_INSTALL_THREADS = "weasis.launch.threads";
+
   private AutoProcessor() {}
 
   /**
@@ -116,7 +131,9 @@ private static void processAutoProperties(
       }
     }
     weasisLoader.setMax(bundleList.size());
+    CdsArchive.check(bundleList.values().stream().map(BundleElement::getLocation).toList());
 
+    long phaseStart = StartupTimeline.begin();
     final Map<String, Bundle> installedBundleMap = new HashMap<>();
     Bundle[] bundles = context.getBundles();
     for (Bundle value : bundles) {
@@ -153,45 +170,80 @@ private static void processAutoProperties(
             .toString()
             .equals(System.getProperty("http.bundle.cache", Boolean.TRUE.toString()));
     int bundleIter = 0;
-
-    // Parse and install the bundles associated with the key.
+    StartupTimeline.end("Check bundle cache", phaseStart); // NON-NLS
+
+    // Download and decompress the bundles which are not in the cache in the background. They are
+    // installed below in the order of the list: the framework starts the bundles of a start level
+    // in the order of their ID, which is given at installation.
+    phaseStart = StartupTimeline.begin();
+    int threads = installThreads(configMap);
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            threads,
+            r -> {
+              Thread t = new Thread(r, "Bundle downloader"); // NON-NLS
+              t.setDaemon(true);
+              return t;
+            });
+    Map<String, Future<DownloadedBundle>> downloads = new HashMap<>();
     for (Entry<String, BundleElement> element : bundleList.entrySet()) {
-      String bundleName = element.getKey();
       BundleElement bundle = element.getValue();
-      if (bundle == null) {
-        // Should never happen
-        continue;
+      // Do not download again the same bundle version but with different location or already
+      // installed in cache from a previous version of Weasis
+      if (bundle != null && !installedBundleMap.containsKey(element.getKey())) {
+        downloads.put(
+            element.getKey(),
+            executor.submit(() -> downloadBundle(context, bundle.getLocation(), cache)));
       }
-      try {
-        weasisLoader.writeLabel(WeasisLoader.LBL_DOWNLOADING + " " + bundleName);
-        // Do not download again the same bundle version but with different location or already in
-        // installed
-        // in cache from a previous version of Weasis
-        Bundle b = installedBundleMap.get(bundleName);
-        if (b == null) {
-          b = installBundle(context, bundle.getLocation(), cache);
-          installedBundleMap.put(bundleName, b);
+    }
+    LOGGER.info("Download {} bundles with {} threads", downloads.size(), threads);
+
+    // Parse and install the bundles associated with the key.
+    try {
+      for (Entry<String, BundleElement> element : bundleList.entrySet()) {
+        String bundleName = element.getKey();
+        BundleElement bundle = element.getValue();
+        if (bundle == null) {
+          // Should never happen
+          continue;
         }
-        sl.setBundleStartLevel(b, bundle.getStartLevel());
-        loadTranslationBundle(context, b, installedBundleMap, modulesi18n, cache);
-      } catch (Exception ex) {
-        if (bundleName.contains(System.getProperty("native.library.spec"))) {
-          LOGGER.error("Cannot install a native bundle {}}", bundleName, ex);
-        } else {
-          LOGGER.error("Cannot install bundle {}}", bundleName, ex);
-          if (!Constants.FRAMEWORK_STORAGE_CLEAN_ONFIRSTINIT.equals(
-              configMap.get(Constants.FRAMEWORK_STORAGE_CLEAN))) {
-            // Reset all the old cache
-            throw new IllegalStateException("A bundle cannot be started");
+        try {
+          weasisLoader.writeLabel(WeasisLoader.LBL_DOWNLOADING + " " + bundleName);
+          Bundle b = installedBundleMap.get(bundleName);
+          if (b == null) {
+            DownloadedBundle download = getDownloadedBundle(downloads.remove(bundleName));
+            if (download == null) {
+              b = installBundle(context, bundle.getLocation(), cache);
+            } else {
+              b = context.installBundle(download.location(), download.data());
+            }
+            installedBundleMap.put(bundleName, b);
           }
+          sl.setBundleStartLevel(b, bundle.getStartLevel());
+          loadTranslationBundle(context, b, installedBundleMap, modulesi18n, cache);
+        } catch (Exception ex) {
+          if (bundleName.contains(System.getProperty("native.library.spec"))) {
+            LOGGER.error("Cannot install a native bundle {}}", bundleName, ex);
+          } else {
+            LOGGER.error("Cannot install bundle {}}", bundleName, ex);
+            if (!Constants.FRAMEWORK_STORAGE_CLEAN_ONFIRSTINIT.equals(
+                configMap.get(Constants.FRAMEWORK_STORAGE_CLEAN))) {
+              // Reset all the old cache
+              throw new IllegalStateException("A bundle cannot be started");
+            }
+          }
+        } finally {
+          bundleIter++;
+          weasisLoader.setValue(bundleIter);
         }
-      } finally {
-        bundleIter++;
-        weasisLoader.setValue(bundleIter);
       }
+    } finally {
+      executor.shutdownNow();
     }
+    StartupTimeline.end("Install bundles", phaseStart); // NON-NLS
 
     weasisLoader.writeLabel(Messages.getString("AutoProcessor.start"));
+    phaseStart = StartupTimeline.begin();
     // Now loop through the auto-start bundles and start them.
     for (Entry<String, BundleElement> element : bundleList.entrySet()) {
       String bundleName = element.getKey();
@@ -215,6 +267,40 @@ private static void processAutoProperties(
         }
       }
     }
+    StartupTimeline.end("Start bundles", phaseStart); // NON-NLS
+  }
+
+  private static int installThreads(Map<String, String> configMap) {
+    String value = System.getProperty(P_INSTALL_THREADS, configMap.get(P_INSTALL_THREADS));
+    if (Utils.hasText(value)) {
+      try {
+        return Math.max(1, Integer.parseInt(value.trim()));
+      } catch (NumberFormatException e) {
+        LOGGER.error("Invalid number of threads {}", value, e);
+      }
+    }
+    // Downloading is bound by the network and decompressing by the CPU
+    return Math.clamp(Runtime.getRuntime().availableProcessors(), 2, 8);
+  }
+
+  /**
+   * Waits for a bundle downloaded in the background.
+   *
+   * @return the downloaded bundle, or null when it has not been submitted
+   */
+  private static DownloadedBundle getDownloadedBundle(Future<DownloadedBundle> download)
+      throws Exception {
+    if (download == null) {
+      return null;
+    }
+    try {
+      return download.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof Exception cause) {
+        throw cause;
+      }
+      throw e;
+    }
   }
 
   static String getBundleNameFromLocation(String location) {
@@ -327,8 +413,21 @@ private static boolean isFragment(Bundle bundle) {
     return bundle.getHeaders().get(Constants.FRAGMENT_HOST) != null;
   }
 
+  /** A downloaded and verified bundle, ready to be installed from its location. */
+  private record DownloadedBundle(String location, InputStream data) {}
+
   private static Bundle installBundle(BundleContext context, String location, boolean httpCache)
       throws Exception {
+    DownloadedBundle bundle = downloadBundle(context, location, httpCache);
+    return context.installBundle(bundle.location(), bundle.data());
+  }
+
+  /**
+   * Downloads a bundle, decompressing it when its location ends with {@value #XZ_COMPRESSION}. It
+   * does not modify the framework, so it can run on any thread.
+   */
+  private static DownloadedBundle downloadBundle(
+      BundleContext context, String location, boolean httpCache) throws Exception {
     boolean pack = location.endsWith(XZ_COMPRESSION);
     if (pack) {
       // Remove the pack classifier from the location path
@@ -340,14 +439,33 @@ private static Bundle installBundle(BundleContext context, String location, bool
       final URL url = new URL(location + XZ_COMPRESSION);
       try (XZInputStream xzStream =
           new XZInputStream(FileUtil.getAdaptedConnection(url, httpCache).getInputStream())) {
-        return context.installBundle(location, xzStream);
+        return new DownloadedBundle(location, readBundle(xzStream, url));
       } catch (Exception e) {
         LOGGER.error("Cannot install xz compressed bundle {}", url, e);
       }
     }
-    return context.installBundle(
-        location,
-        FileUtil.getAdaptedConnection(new URI(location).toURL(), httpCache).getInputStream());
+    URL url = new URI(location).toURL();
+    try (InputStream stream = FileUtil.getAdaptedConnection(url, httpCache).getInputStream()) {
+      return new DownloadedBundle(location, readBundle(stream, url));
+    }
+  }
+
+  /**
+   * Reads a downloaded bundle and checks that it is a complete jar with a manifest, so that a
+   * truncated download or a corrupted archive is not written into the bundle cache.
+   */
+  private static InputStream readBundle(InputStream stream, URL url) throws IOException {
+    byte[] data = stream.readAllBytes();
+    try (JarInputStream jar = new JarInputStream(new ByteArrayInputStream(data), true)) {
+      if (jar.getManifest() == null) {
+        throw new IOException("No manifest in the bundle " + url);
+      }
+      while (jar.getNextJarEntry() != null) {
+        // Reading the entry checks its size, its CRC and its signature
+        jar.transferTo(OutputStream.nullOutputStream());
+      }
+    }
+    return new ByteArrayInputStream(data);
   }
 
   static class BundleElement {
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.launcher;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the class-data-sharing archive of the launch in line with the installed bundles.
+ *
+ * <p>The archive is enabled with the JVM options {@code -XX:+AutoCreateSharedArchive
+ * -XX:SharedArchiveFile=<writable file>}: the JVM maps the archive when it is valid and writes a
+ * new one at exit when it is missing, so the first launch creates it and the next ones start from
+ * it. The JVM only checks its own version and class path, so the launcher stores next to the
+ * archive a key of the bundle set and of the runtime, and deletes the archive when the key changes
+ * (e.g. after an update of Weasis) so that it is created again.
+ *
+ * <p>The key of an archive to be created is kept pending ({@value #PENDING_EXTENSION}) until the
+ * next launch finds the archive written, so a key never describes an archive that does not exist.
+ * The running JVM maps its archive, which cannot then be deleted on Windows: the stale archive is
+ * kept and its deletion is tried again at the next launches.
+ */
+final class CdsArchive {
+  private static final Logger LOGGER = LoggerFactory.getLogger(CdsArchive.class);
+
+  static final String ARCHIVE_OPTION = "-XX:SharedArchiveFile="; // NON-NLS
+  static final String AUTO_CREATE_OPTION = "-XX:+AutoCreateSharedArchive"; // NON-NLS
+  static final String KEY_EXTENSION = ".key"; // NON-NLS
+  static final String PENDING_EXTENSION = ".pending"; // NON-NLS
+
+  private CdsArchive() {}
+
+  /**
+   * Checks the archive of the running JVM against the bundle set. Does nothing when the JVM does
+   * not create its archive automatically.
+   *
+   * @param bundleLocations the locations of the bundles to install
+   */
+  static void check(Collection<String> bundleLocations) {
+    List<String> jvmArgs = ManagementFactory.getRuntimeMXBean().getInputArguments();
+    Optional<Path> archive = archiveFile(jvmArgs);
+    if (archive.isEmpty() || !jvmArgs.contains(AUTO_CREATE_OPTION)) {
+      LOGGER.debug("No auto-created CDS archive");
+      return;
+    }
+    String key =
+        bundleSetKey(
+            bundleLocations,
+            System.getProperty("java.vm.version"), // NON-NLS
+            System.getProperty("java.class.path")); // NON-NLS
+    update(archive.get(), key);
+  }
+
+  /**
+   * Deletes the archive when its key differs from {@code key}, and keeps the new key pending until
+   * the JVM has written the archive.
+   *
+   * @return {@code true} when the archive matches the key
+   */
+  static boolean update(Path archive, String key) {
+    Path keyFile = archive.resolveSibling(archive.getFileName() + KEY_EXTENSION);
+    Path pendingFile = archive.resolveSibling(keyFile.getFileName() + PENDING_EXTENSION);
+    try {
+      if (Files.exists(archive)) {
+        if (Files.isReadable(pendingFile)) {
+          // Written at the exit of the launch that stored the pending key
+          Files.move(pendingFile, keyFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+        if (key.equals(readKey(keyFile))) {
+          LOGGER.info("Start from the CDS archive {}", archive);
+          return true;
+        }
+        if (!delete(archive)) {
+          return false;
+        }
+        LOGGER.info("Bundle set changed, the CDS archive {} will be created again", archive);
+      } else {
+        LOGGER.info("The CDS archive {} will be created when closing", archive);
+      }
+      Files.deleteIfExists(keyFile);
+      Files.createDirectories(pendingFile.getParent());
+      Files.writeString(pendingFile, key, StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      LOGGER.warn("Cannot update the CDS archive {}", archive, e);
+    }
+    return false;
+  }
+
+  private static String readKey(Path keyFile) throws IOException {
+    if (!Files.isReadable(keyFile)) {
+      return null;
+    }
+    return Files.readString(keyFile, StandardCharsets.UTF_8).trim();
+  }
+
+  /**
+   * Deletes a stale archive. The archive mapped by the running JVM cannot be deleted on Windows; it
+   * is then left with its former key, so that the next launch tries again.
+   */
+  private static boolean delete(Path archive) {
+    try {
+      Files.deleteIfExists(archive);
+      return true;
+    } catch (IOException e) {
+      LOGGER.info("The stale CDS archive {} is in use, deleted at a next launch", archive);
+      LOGGER.debug("Cannot delete the CDS archive", e);
+      return false;
+    }
+  }
+
+  /** Returns the file given by the last {@code -XX:SharedArchiveFile} option. */
+  static Optional<Path> archiveFile(List<String> jvmArgs) {
+    Path file = null;
+    for (String arg : jvmArgs) {
+      if (arg.startsWith(ARCHIVE_OPTION) && arg.length() > ARCHIVE_OPTION.length()) {
+        // A dynamic archive may be given after the base one, separated by the path separator
+        String[] files = arg.substring(ARCHIVE_OPTION.length()).split(File.pathSeparator);
+        file = Path.of(files[files.length - 1]).toAbsolutePath();
+      }
+    }
+    return Optional.ofNullable(file);
+  }
+
+  /** Returns a digest of the bundle locations, whatever their order, and of the runtime. */
+  static String bundleSetKey(Collection<String> bundleLocations, String... runtime) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256"); // NON-NLS
+      for (String location : new TreeSet<>(bundleLocations)) {
+        digest.update(location.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '\n');
+      }
+      for (String value : runtime) {
+        digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '\n');
+      }
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.launcher;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Durations of the launch phases, from the JVM start to the framework started. Each phase is logged
+ * when it ends with the {@code *PERF*} format of the other launcher timings, and {@link #log()}
+ * prints the whole timeline once the application is up, so that two launches can be compared.
+ */
+final class StartupTimeline {
+  private static final Logger LOGGER = LoggerFactory.getLogger(StartupTimeline.class);
+
+  private record Phase(String name, long start, long duration) {}
+
+  private static final List<Phase> phases = new ArrayList<>();
+
+  /** JVM start time in ms since the epoch. */
+  private static final long ORIGIN = ManagementFactory.getRuntimeMXBean().getStartTime();
+
+  private StartupTimeline() {}
+
+  /** Returns the start of a phase, to be given to {@link #end(String, long)}. */
+  static long begin() {
+    return System.currentTimeMillis();
+  }
+
+  /**
+   * Records a phase started at {@code start}, a value of {@link #begin()}.
+   *
+   * @param name the phase name
+   * @param start the start time of the phase
+   */
+  static void end(String name, long start) {
+    long now = System.currentTimeMillis();
+    synchronized (phases) {
+      phases.add(new Phase(name, start - ORIGIN, now - start));
+    }
+    LOGGER.info("*PERF* {}, type:INIT time:{}", name, now - start);
+  }
+
+  /** Logs every phase with its offset from the JVM start, then clears the timeline. */
+  static void log() {
+    StringBuilder buf = new StringBuilder("Startup timeline (ms since JVM start):"); // NON-NLS
+    synchronized (phases) {
+      for (Phase p : phases) {
+        buf.append(String.format("%n  %7d  %7d  %s", p.start(), p.duration(), p.name())); // NON-NLS
+      }
+      phases.clear();
+    }
+    buf.append(String.format("%n  %7d  ready", System.currentTimeMillis() - ORIGIN)); // NON-NLS
+    LOGGER.info(buf.toString());
+  }
+}
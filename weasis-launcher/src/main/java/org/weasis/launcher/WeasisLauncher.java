@@ -146,7 +146,9 @@ public final void launch(Type type) throws Exception {
     serverProp.put(Constants.FRAMEWORK_STORAGE, cacheDir);
 
     // Load local properties and clean if necessary the previous version
+    long phase = StartupTimeline.begin();
     WeasisLoader loader = loadProperties(serverProp, configData.getConfigOutput());
+    StartupTimeline.end("Load properties", phase); // NON-NLS
     WeasisMainFrame mainFrame = loader.getMainFrame();
 
     String minVersion = System.getProperty(ConfigData.P_WEASIS_MIN_NATIVE_VERSION);
@@ -188,9 +190,11 @@ public final void launch(Type type) throws Exception {
         return;
       }
       // Now create an instance of the framework with our configuration properties.
+      phase = StartupTimeline.begin();
       mFelix = new Felix(serverProp);
       // Initialize the framework but don't start it yet.
       mFelix.init();
+      StartupTimeline.end("Framework init", phase); // NON-NLS
 
       // Use the system bundle context to process the auto-deploy
       // and auto-install/auto-start properties.
@@ -207,11 +211,14 @@ public final void launch(Type type) throws Exception {
         return;
       }
       // Start the framework.
+      phase = StartupTimeline.begin();
       mFelix.start();
+      StartupTimeline.end("Framework start", phase); // NON-NLS
 
       // End of splash screen
       loader.close();
       loader = null;
+      StartupTimeline.log();
 
       String logActivation = serverProp.get("org.apache.sling.commons.log.file");
       if (Utils.hasText(logActivation)) {
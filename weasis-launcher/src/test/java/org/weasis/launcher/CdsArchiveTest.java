@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.launcher;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests {@link CdsArchive}: the archive must be kept while the bundle set is the same and deleted
+ * as soon as it changes, and a key must be stored only once its archive has been written.
+ */
+class CdsArchiveTest {
+
+  @Test
+  void bundleSetKeyDependsOnTheBundlesNotOnTheirOrder() {
+    List<String> bundles = List.of("file:a-1.0.jar", "file:b-2.0.jar");
+    String key = CdsArchive.bundleSetKey(bundles, "25");
+
+    assertAll(
+        () -> assertEquals(key, CdsArchive.bundleSetKey(bundles.reversed(), "25")),
+        () -> assertNotEquals(key, CdsArchive.bundleSetKey(List.of("file:a-1.0.jar"), "25")),
+        () -> assertNotEquals(key, CdsArchive.bundleSetKey(bundles, "26")));
+  }
+
+  @Test
+  void archiveFileIsTheLastOption() {
+    String option = CdsArchive.ARCHIVE_OPTION;
+    String dynamic = option + "base.jsa" + File.pathSeparator + "dynamic.jsa";
+
+    assertAll(
+        () -> assertEquals(Optional.empty(), CdsArchive.archiveFile(List.of("-Xmx1g", option))),
+        () ->
+            assertEquals(
+                Optional.of(Path.of("b.jsa").toAbsolutePath()),
+                CdsArchive.archiveFile(List.of(option + "a.jsa", option + "b.jsa"))),
+        () ->
+            assertEquals(
+                Optional.of(Path.of("dynamic.jsa").toAbsolutePath()),
+                CdsArchive.archiveFile(List.of(dynamic))));
+  }
+
+  private static Path keyFile(Path archive) {
+    return archive.resolveSibling(archive.getFileName() + CdsArchive.KEY_EXTENSION);
+  }
+
+  @Test
+  void archiveIsDeletedWhenTheKeyChanges(@TempDir Path dir) throws IOException {
+    Path archive = dir.resolve("cds").resolve("weasis.jsa");
+
+    assertFalse(CdsArchive.update(archive, "k1"), "no archive yet");
+    assertFalse(Files.exists(keyFile(archive)), "key pending until the archive is written");
+    Files.writeString(archive, "archive written by the JVM at exit");
+    assertTrue(CdsArchive.update(archive, "k1"));
+    assertTrue(Files.exists(archive));
+    assertEquals("k1", Files.readString(keyFile(archive)));
+
+    assertFalse(CdsArchive.update(archive, "k2"));
+    assertFalse(Files.exists(archive));
+    assertFalse(Files.exists(keyFile(archive)));
+    Files.writeString(archive, "archive written by the JVM at exit");
+    assertTrue(CdsArchive.update(archive, "k2"));
+    assertEquals("k2", Files.readString(keyFile(archive)));
+  }
+
+  @Test
+  void archiveInUseIsDeletedAtANextLaunch(@TempDir Path dir) throws IOException {
+    Path archive = dir.resolve("weasis.jsa");
+    assertFalse(CdsArchive.update(archive, "k1"));
+    Files.writeString(archive, "archive written by the JVM at exit");
+    assertTrue(CdsArchive.update(archive, "k1"));
+
+    // A folder that is not empty cannot be deleted, like an archive mapped on Windows
+    Files.delete(archive);
+    Files.writeString(Files.createDirectory(archive).resolve("mapped"), "");
+    assertFalse(CdsArchive.update(archive, "k2"));
+    assertTrue(Files.exists(archive));
+    assertEquals("k1", Files.readString(keyFile(archive)), "the stale archive keeps its key");
+
+    Files.delete(archive.resolve("mapped"));
+    assertFalse(CdsArchive.update(archive, "k2"));
+    assertFalse(Files.exists(archive));
+  }
+}